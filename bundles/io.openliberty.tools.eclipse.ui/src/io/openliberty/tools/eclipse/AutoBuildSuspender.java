@@ -0,0 +1,213 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Suspends the workspace auto-build while dev mode sessions that compile on their own are running, so that Eclipse and
+ * dev mode do not both compile every saved change into the same output directory. Eclipse builds are workspace wide, so
+ * the suspension is shared: auto-build is turned off when the first such session starts and turned back on when the
+ * last one ends. Auto-build is only turned back on if it was on before, and if it is still off. The suspension is
+ * recorded in the preferences so that auto-build is turned back on by the next workbench session if the workbench
+ * ended abruptly.
+ */
+public class AutoBuildSuspender {
+
+    /** The projects whose dev mode session suspended the auto-build. */
+    private final Set<String> holders = new HashSet<String>();
+
+    /** True if the auto-build was turned off by this class and must be turned back on. */
+    private boolean restoreAutoBuild;
+
+    /** AutoBuildSuspender instance. */
+    private static AutoBuildSuspender instance;
+
+    /**
+     * Constructor.
+     */
+    private AutoBuildSuspender() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized AutoBuildSuspender getInstance() {
+        if (instance == null) {
+            instance = new AutoBuildSuspender();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Suspends the workspace auto-build until the input session ends.
+     *
+     * @param projectName The name of the project whose dev mode session compiles on its own.
+     * @param session The dev mode session of the project. If null or ended, nothing is done.
+     */
+    public void suspendWhileRunning(String projectName, DevModeSession session) {
+        if (session == null || session.isExited()) {
+            return;
+        }
+
+        suspend(projectName);
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                    release(projectName);
+                }
+            }
+        });
+    }
+
+    /**
+     * Suspends the workspace auto-build on behalf of the input project.
+     *
+     * @param projectName The project name.
+     */
+    public synchronized void suspend(String projectName) {
+        if (!holders.add(projectName) || holders.size() > 1) {
+            return;
+        }
+
+        restoreAutoBuild = setAutoBuilding(false);
+        setRecorded(restoreAutoBuild);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Workspace auto-build suspended for the dev mode session of project " + projectName + ". " + this);
+        }
+    }
+
+    /**
+     * Ends the auto-build suspension of the input project. Auto-build is turned back on if no other project needs it
+     * suspended.
+     *
+     * @param projectName The project name.
+     */
+    public synchronized void release(String projectName) {
+        if (!holders.remove(projectName) || !holders.isEmpty()) {
+            return;
+        }
+
+        if (restoreAutoBuild) {
+            setAutoBuilding(true);
+            restoreAutoBuild = false;
+        }
+        setRecorded(false);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Workspace auto-build suspension ended by project " + projectName + ". " + this);
+        }
+    }
+
+    /**
+     * Ends all auto-build suspensions.
+     */
+    public synchronized void releaseAll() {
+        for (String projectName : new HashSet<String>(holders)) {
+            release(projectName);
+        }
+    }
+
+    /**
+     * Turns the workspace auto-build back on if an earlier workbench session ended while it was suspended.
+     */
+    public synchronized void restoreAfterAbruptEnd() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (holders.isEmpty() && plugin != null
+                && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.AUTO_BUILD_SUSPENDED)) {
+            setAutoBuilding(true);
+            setRecorded(false);
+        }
+    }
+
+    /**
+     * Returns true if the workspace auto-build is suspended on behalf of the input project. False, otherwise.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if the workspace auto-build is suspended on behalf of the input project. False, otherwise.
+     */
+    public synchronized boolean isSuspendedFor(String projectName) {
+        return holders.contains(projectName);
+    }
+
+    /**
+     * Turns the workspace auto-build on or off.
+     *
+     * @param autoBuilding True to turn the auto-build on. False to turn it off.
+     *
+     * @return True if the auto-build setting was changed. False if it already had the input value or could not be
+     *         changed.
+     */
+    private boolean setAutoBuilding(boolean autoBuilding) {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IWorkspaceDescription description = workspace.getDescription();
+        if (description.isAutoBuilding() == autoBuilding) {
+            return false;
+        }
+
+        try {
+            description.setAutoBuilding(autoBuilding);
+            workspace.setDescription(description);
+            return true;
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to set the workspace auto-build to " + autoBuilding, e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Records in the preferences whether the auto-build must be turned back on.
+     *
+     * @param suspended True if the auto-build was turned off by this class. False, otherwise.
+     */
+    private void setRecorded(boolean suspended) {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin != null) {
+            plugin.getPreferenceStore().setValue(LibertyToolsPreferenceInitializer.AUTO_BUILD_SUSPENDED, suspended);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Holders: ").append(holders).append(", ");
+        sb.append("RestoreAutoBuild: ").append(restoreAutoBuild);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+
+/**
+ * Named sets of build tool options that shorten the dev mode build. The options are appended to the dev mode start
+ * parameters. Options already present in the start parameters are not added again.
+ */
+public enum BuildAccelerationProfile {
+
+    /** No additional options. */
+    NONE("None", new String[0], new String[0], false),
+
+    /** Builds modules, or projects, in parallel and reuses the Gradle build cache. */
+    PARALLEL("Parallel", new String[] { "-T 1C" }, new String[] { "--parallel", "--build-cache" }, false),
+
+    /** Uses the dependencies already resolved instead of checking remote repositories. */
+    OFFLINE("Offline", new String[] { "-o" }, new String[] { "--offline" }, true),
+
+    /** Combines the parallel and offline profiles and skips checks that do not affect the running application. */
+    FAST("Fast", new String[] { "-T 1C", "-o", "-Denforcer.skip=true", "-Dcheckstyle.skip=true", "-Dmaven.javadoc.skip=true" },
+            new String[] { "--parallel", "--build-cache", "--offline" }, true);
+
+    /** The profile label. */
+    private final String label;
+
+    /** The Maven options. */
+    private final String[] mavenOptions;
+
+    /** The Gradle options. */
+    private final String[] gradleOptions;
+
+    /** True if the profile runs the build tool offline. */
+    private final boolean offline;
+
+    /**
+     * Constructor.
+     *
+     * @param label The profile label.
+     * @param mavenOptions The Maven options.
+     * @param gradleOptions The Gradle options.
+     * @param offline True if the profile runs the build tool offline.
+     */
+    private BuildAccelerationProfile(String label, String[] mavenOptions, String[] gradleOptions, boolean offline) {
+        this.label = label;
+        this.mavenOptions = mavenOptions;
+        this.gradleOptions = gradleOptions;
+        this.offline = offline;
+    }
+
+    /**
+     * Returns the profile label.
+     *
+     * @return The profile label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns true if the profile runs the build tool offline. False, otherwise.
+     *
+     * @return True if the profile runs the build tool offline. False, otherwise.
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Returns the options of this profile for the input build type.
+     *
+     * @param buildType The build type.
+     *
+     * @return The options of this profile for the input build type.
+     */
+    public String[] getOptions(BuildType buildType) {
+        return (buildType == BuildType.GRADLE) ? gradleOptions.clone() : mavenOptions.clone();
+    }
+
+    /**
+     * Returns the profile with the input name.
+     *
+     * @param name The profile name, as returned by {@link #name()}.
+     *
+     * @return The profile with the input name, or {@link #NONE} if there is none.
+     */
+    public static BuildAccelerationProfile fromName(String name) {
+        if (name != null) {
+            for (BuildAccelerationProfile profile : values()) {
+                if (profile.name().equals(name)) {
+                    return profile;
+                }
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Returns the start parameters with the options of this profile added. Options that are already present in the start
+     * parameters are not added again. For options with a value, such as {@code -T 1C}, only the option name is compared.
+     *
+     * @param buildType The build type.
+     * @param startParms The start parameters.
+     *
+     * @return The start parameters with the options of this profile added.
+     */
+    public String addToStartParms(BuildType buildType, String startParms) {
+        StringBuilder parms = new StringBuilder(startParms);
+        String padded = " " + startParms + " ";
+        for (String option : getOptions(buildType)) {
+            String name = option.split("[ =]")[0];
+            if (padded.contains(" " + name + " ") || padded.contains(" " + name + "=")) {
+                continue;
+            }
+
+            parms.append(parms.length() == 0 ? "" : " ").append(option);
+        }
+
+        return parms.toString();
+    }
+
+    /**
+     * Returns the reason why this profile may make the dev mode build of the input project fail.
+     *
+     * @param project The project.
+     *
+     * @return The reason why this profile may make the dev mode build of the input project fail, or null if no problem
+     *         was found.
+     */
+    public String checkCompatibility(Project project) {
+        // The artifacts needed by the build must have been downloaded by an earlier online build.
+        return offline ? LocalDependencyIndex.getInstance().getMissingArtifacts(project) : null;
+    }
+}
@@ -0,0 +1,398 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * JVM option presets for the Maven or Gradle JVM that runs dev mode. The options are passed through the MAVEN_OPTS or
+ * GRADLE_OPTS environment variable. Options that the project or the workbench environment already set, through the
+ * .mvn/jvm.config file, the org.gradle.jvmargs property, or the environment variable itself, take precedence.
+ */
+public enum BuildToolJvmPreset {
+
+    /** The build tool JVM defaults. */
+    NONE("Default", new String[0]),
+
+    /** Shortens the build tool JVM startup and warm up at the cost of peak performance. */
+    FAST_STARTUP("Fast startup", new String[] { "-XX:TieredStopAtLevel=1", "-Xshare:auto", "-XX:+UseSerialGC" }),
+
+    /** Suits build tool JVMs that run dev mode for hours. */
+    LONG_SESSION("Long session", new String[] { "-XX:+UseG1GC", "-XX:+UseStringDeduplication", "-Xms256m", "-Xmx1g" });
+
+    /** Maven project JVM options file, relative to the Maven project base directory. */
+    public static final String MAVEN_JVM_CONFIG_PATH = ".mvn/jvm.config";
+
+    /** Gradle properties file name. */
+    public static final String GRADLE_PROPERTIES_FILE = "gradle.properties";
+
+    /** Gradle property holding the options of the JVM that runs the build. */
+    public static final String GRADLE_JVM_ARGS_PROPERTY = "org.gradle.jvmargs";
+
+    /** Option key shared by the options that select the garbage collector. */
+    private static final String GC_OPTION_KEY = "GC";
+
+    /** The preset label. */
+    private final String label;
+
+    /** The preset options. */
+    private final String[] options;
+
+    /**
+     * Constructor.
+     *
+     * @param label The preset label.
+     * @param options The preset options.
+     */
+    private BuildToolJvmPreset(String label, String[] options) {
+        this.label = label;
+        this.options = options;
+    }
+
+    /**
+     * Returns the preset label.
+     *
+     * @return The preset label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the preset options.
+     *
+     * @return The preset options.
+     */
+    public String[] getOptions() {
+        return options.clone();
+    }
+
+    /**
+     * Returns the preset with the input name.
+     *
+     * @param name The preset name, as returned by {@link #name()}.
+     *
+     * @return The preset with the input name, or {@link #NONE} if there is none.
+     */
+    public static BuildToolJvmPreset fromName(String name) {
+        if (name != null) {
+            for (BuildToolJvmPreset preset : values()) {
+                if (preset.name().equals(name)) {
+                    return preset;
+                }
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Returns the preset selected in the Liberty preferences.
+     *
+     * @return The preset selected in the Liberty preferences.
+     */
+    public static BuildToolJvmPreset getPreferred() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return (plugin == null) ? NONE
+                : fromName(plugin.getPreferenceStore().getString(LibertyToolsPreferenceInitializer.BUILD_TOOL_JVM_PRESET));
+    }
+
+    /**
+     * Adds the options of this preset to the build tool JVM options variable of the input environment. If the variable is
+     * not in the environment, its value is taken from the workbench environment. The effective options are traced.
+     *
+     * @param project The project to start.
+     * @param envs The environment variables, in name=value form, of the process that runs dev mode.
+     */
+    public void addToEnv(Project project, List<String> envs) {
+        BuildType buildType = project.getBuildType();
+        String name = (buildType == BuildType.GRADLE) ? DevModeMemoryBudget.GRADLE_OPTS : DevModeMemoryBudget.MAVEN_OPTS;
+        int index = -1;
+        for (int i = 0; i < envs.size(); i++) {
+            if (envs.get(i).startsWith(name + "=")) {
+                index = i;
+                break;
+            }
+        }
+
+        String current = (index >= 0) ? envs.get(index).substring(name.length() + 1) : System.getenv(name);
+        current = (current == null) ? "" : current.trim();
+        List<String> projectOptions = getProjectOptions(project);
+
+        // Gradle runs the build in a separate JVM configured by org.gradle.jvmargs. If the project or the workbench
+        // environment sets it, it is kept as is. If it was set for this start, for example to limit the heap, it is extended.
+        String workbenchOptions = System.getenv(name);
+        boolean projectOverride = buildType == BuildType.GRADLE
+                && (!projectOptions.isEmpty() || (workbenchOptions != null && getGradleJvmArgs(workbenchOptions) != null));
+        String gradleJvmArgs = (buildType == BuildType.GRADLE) ? getGradleJvmArgs(current) : null;
+
+        List<String> added = new ArrayList<String>();
+        if (!projectOverride) {
+            List<String> existing = new ArrayList<String>(splitOptions((buildType == BuildType.GRADLE)
+                    ? ((gradleJvmArgs == null) ? "" : gradleJvmArgs) : current));
+            existing.addAll(projectOptions);
+            added = getOptionsToAdd(existing);
+        }
+
+        String value = current;
+        if (!added.isEmpty()) {
+            String addedOptions = String.join(" ", added);
+            if (buildType == BuildType.GRADLE) {
+                value = setGradleJvmArgs(current,
+                        (gradleJvmArgs == null || gradleJvmArgs.isBlank()) ? addedOptions : gradleJvmArgs + " " + addedOptions);
+            } else {
+                value = current.isEmpty() ? addedOptions : current + " " + addedOptions;
+            }
+            if (index >= 0) {
+                envs.set(index, name + "=" + value);
+            } else {
+                envs.add(name + "=" + value);
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Build tool JVM options of project " + project.getName() + ". Preset: " + this
+                    + ". " + name + ": " + value + ". Project options: " + projectOptions + ". Added by the preset: " + added);
+        }
+    }
+
+    /**
+     * Returns the options of this preset that do not conflict with the input options. Options conflict if they set the
+     * same JVM setting, for example two maximum heap sizes, or two garbage collectors.
+     *
+     * @param existingOptions The options that are already set.
+     *
+     * @return The options of this preset that do not conflict with the input options.
+     */
+    public List<String> getOptionsToAdd(List<String> existingOptions) {
+        Set<String> existingKeys = new HashSet<String>();
+        for (String option : existingOptions) {
+            existingKeys.add(getOptionKey(option));
+        }
+
+        List<String> added = new ArrayList<String>();
+        for (String option : options) {
+            if (!existingKeys.contains(getOptionKey(option))) {
+                added.add(option);
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Returns the build tool JVM options set by the input project. For Maven, they are read from the .mvn/jvm.config
+     * file of the Maven project base directory. For Gradle, they are read from the org.gradle.jvmargs property of the
+     * gradle.properties file of the Gradle user home, or of the project or one of its parent build directories.
+     *
+     * @param project The project.
+     *
+     * @return The build tool JVM options set by the input project. An empty list if there are none.
+     */
+    public static List<String> getProjectOptions(Project project) {
+        String projectPath = project.getPath();
+        if (projectPath == null) {
+            return Collections.emptyList();
+        }
+
+        try {
+            if (project.getBuildType() == BuildType.GRADLE) {
+                String gradleUserHome = System.getenv("GRADLE_USER_HOME");
+                if (gradleUserHome == null || gradleUserHome.isBlank()) {
+                    gradleUserHome = new File(System.getProperty("user.home"), ".gradle").getPath();
+                }
+
+                String jvmArgs = readGradleJvmArgs(new File(gradleUserHome, GRADLE_PROPERTIES_FILE));
+                for (File dir = new File(projectPath); jvmArgs == null && dir != null; dir = dir.getParentFile()) {
+                    jvmArgs = readGradleJvmArgs(new File(dir, GRADLE_PROPERTIES_FILE));
+                    if (new File(dir, "settings.gradle").exists() || new File(dir, "settings.gradle.kts").exists()) {
+                        break;
+                    }
+                }
+
+                return (jvmArgs == null) ? Collections.emptyList() : splitOptions(jvmArgs);
+            }
+
+            // Maven uses the closest directory, starting with the project directory, that contains a .mvn directory.
+            for (File dir = new File(projectPath); dir != null; dir = dir.getParentFile()) {
+                File jvmConfig = new File(dir, MAVEN_JVM_CONFIG_PATH);
+                if (jvmConfig.getParentFile().isDirectory()) {
+                    if (!jvmConfig.isFile()) {
+                        break;
+                    }
+
+                    List<String> jvmOptions = new ArrayList<String>();
+                    for (String line : Files.readAllLines(jvmConfig.toPath())) {
+                        if (!line.trim().startsWith("#")) {
+                            jvmOptions.addAll(splitOptions(line));
+                        }
+                    }
+                    return jvmOptions;
+                }
+            }
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the build tool JVM options of project " + project.getName(),
+                        e);
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the value of the org.gradle.jvmargs property in the input properties file.
+     *
+     * @param propertiesFile The properties file.
+     *
+     * @return The value of the org.gradle.jvmargs property in the input properties file, or null if the file or the
+     *         property does not exist.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    private static String readGradleJvmArgs(File propertiesFile) throws IOException {
+        if (!propertiesFile.isFile()) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(propertiesFile)) {
+            properties.load(reader);
+        }
+
+        return properties.getProperty(GRADLE_JVM_ARGS_PROPERTY);
+    }
+
+    /**
+     * Returns the value of the org.gradle.jvmargs property set in the input GRADLE_OPTS value.
+     *
+     * @param gradleOpts The GRADLE_OPTS value.
+     *
+     * @return The value of the org.gradle.jvmargs property, or null if the property is not set.
+     */
+    static String getGradleJvmArgs(String gradleOpts) {
+        String property = "-D" + GRADLE_JVM_ARGS_PROPERTY + "=";
+        int start = gradleOpts.indexOf(property);
+        if (start < 0) {
+            return null;
+        }
+
+        // A value that holds several options is quoted as a whole.
+        boolean quoted = start > 0 && gradleOpts.charAt(start - 1) == '"';
+        int valueStart = start + property.length();
+        int end = quoted ? gradleOpts.indexOf('"', valueStart) : findWhitespace(gradleOpts, valueStart);
+        return gradleOpts.substring(valueStart, (end < 0) ? gradleOpts.length() : end);
+    }
+
+    /**
+     * Returns the input GRADLE_OPTS value with the org.gradle.jvmargs property set to the input options. The property is
+     * replaced if it is already set, or added otherwise.
+     *
+     * @param gradleOpts The GRADLE_OPTS value.
+     * @param jvmArgs The options of the JVM that runs the build.
+     *
+     * @return The GRADLE_OPTS value with the org.gradle.jvmargs property set to the input options.
+     */
+    static String setGradleJvmArgs(String gradleOpts, String jvmArgs) {
+        String property = "\"-D" + GRADLE_JVM_ARGS_PROPERTY + "=" + jvmArgs + "\"";
+        String current = getGradleJvmArgs(gradleOpts);
+        if (current == null) {
+            return gradleOpts.isEmpty() ? property : gradleOpts + " " + property;
+        }
+
+        int start = gradleOpts.indexOf("-D" + GRADLE_JVM_ARGS_PROPERTY + "=");
+        int end = start + ("-D" + GRADLE_JVM_ARGS_PROPERTY + "=").length() + current.length();
+        if (start > 0 && gradleOpts.charAt(start - 1) == '"') {
+            start--;
+            end = Math.min(end + 1, gradleOpts.length());
+        }
+
+        return gradleOpts.substring(0, start) + property + gradleOpts.substring(end);
+    }
+
+    /**
+     * Returns the index of the first whitespace character at or after the input index.
+     *
+     * @param text The text.
+     * @param fromIndex The index to start from.
+     *
+     * @return The index of the first whitespace character at or after the input index, or -1 if there is none.
+     */
+    private static int findWhitespace(String text, int fromIndex) {
+        for (int i = fromIndex; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the key that identifies the JVM setting of the input option. For example, -Xmx512m and -Xmx1g have the same
+     * key, and so do -XX:+UseG1GC and -XX:+UseSerialGC.
+     *
+     * @param option The JVM option.
+     *
+     * @return The key that identifies the JVM setting of the input option.
+     */
+    static String getOptionKey(String option) {
+        if (option.startsWith("-XX:")) {
+            String setting = option.substring(4);
+            if (setting.startsWith("+") || setting.startsWith("-")) {
+                setting = setting.substring(1);
+            }
+            if (setting.startsWith("Use") && setting.endsWith("GC")) {
+                return GC_OPTION_KEY;
+            }
+            int equalsIndex = setting.indexOf('=');
+            return "-XX:" + ((equalsIndex < 0) ? setting : setting.substring(0, equalsIndex));
+        }
+
+        for (String prefix : new String[] { "-Xmx", "-Xms", "-Xss", "-Xmn", "-Xshare" }) {
+            if (option.startsWith(prefix)) {
+                return prefix;
+            }
+        }
+
+        int equalsIndex = option.indexOf('=');
+        return (equalsIndex < 0) ? option : option.substring(0, equalsIndex);
+    }
+
+    /**
+     * Returns the whitespace separated options in the input string.
+     *
+     * @param options The options.
+     *
+     * @return The whitespace separated options in the input string.
+     */
+    private static List<String> splitOptions(String options) {
+        String trimmed = options.trim();
+        return trimmed.isEmpty() ? Collections.emptyList() : Arrays.asList(trimmed.split("\\s+"));
+    }
+}
@@ -15,9 +15,6 @@ package io.openliberty.tools.eclipse;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
-import java.net.ConnectException;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -26,7 +23,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -60,7 +61,6 @@ import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
-import io.openliberty.tools.eclipse.ui.terminal.TerminalListener;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
 
 public class DebugModeHandler {
@@ -89,6 +89,21 @@ public class DebugModeHandler {
     /** Job status return code indicating that an error took place while attempting to attach the debugger to the JVM. */
     public static int JOB_STATUS_DEBUGGER_CONN_ERROR = 1;
 
+    /** Maximum time in seconds to wait for the server JVM to accept debugger connections. */
+    private static final int ATTACH_TIMEOUT_SECONDS = 180;
+
+    /** Time in milliseconds to wait for a readiness signal from dev mode before the debug port is probed. */
+    private static final long PROBE_GRACE_PERIOD_MS = 60 * 1000;
+
+    /** Initial delay in milliseconds between debug port probes. */
+    private static final long PROBE_INITIAL_DELAY_MS = 500;
+
+    /** Maximum delay in milliseconds between debug port probes. */
+    private static final long PROBE_MAX_DELAY_MS = 8000;
+
+    /** The JDWP handshake written to the debug port by probes. */
+    private static final byte[] JDWP_HANDSHAKE = "JDWP-Handshake".getBytes(StandardCharsets.US_ASCII);
+
     /** Instance to this class. */
     private LaunchConfigurationHelper launchConfigHelper = LaunchConfigurationHelper.getInstance();
 
@@ -189,12 +204,17 @@ public class DebugModeHandler {
             }
         }
 
-        // 2. Get a random port.
-        if (debugPort == null) {
-            try (ServerSocket socket = new ServerSocket(0)) {
-                int randomPort = socket.getLocalPort();
-                debugPort = String.valueOf(randomPort);
+        // 2. Reserve the port. A port specified by the user must be free. Otherwise, a free port that is not reserved by
+        // another dev mode instance is used.
+        PortReservationManager portManager = PortReservationManager.getInstance();
+        String projectName = project.getIProject().getName();
+        if (debugPort != null) {
+            int userPort = PortReservationManager.parsePort(debugPort);
+            if (userPort > 0) {
+                portManager.reserveExact(projectName, userPort);
             }
+        } else {
+            debugPort = String.valueOf(portManager.reserve(projectName, -1));
         }
 
         if (Trace.isEnabled()) {
@@ -206,16 +226,119 @@ public class DebugModeHandler {
     }
 
     /**
-     * Starts the job that will attempt to connect the debugger with the server's JVM.
+     * Waits for the server's JVM to accept debugger connections and then starts the job that connects the debugger to it. No
+     * thread is held while waiting. The wait ends as soon as dev mode reports the debug port or reports that the server is
+     * ready. The debug port is only probed, with increasing delays, if no such signal arrives within a grace period, or
+     * right away if there is no session to report the signals, because each probe connects to the server JVM.
      * 
      * @param project The project for which the debugger needs to be attached.
      * @param debugPort The debug port to use to attach the debugger to.
-     * 
-     * @throws Exception
+     * @param session The dev mode session running the project. The wait is cancelled when the session is stopped or ends.
      */
-    public void startDebugAttacher(Project project, String debugPort) {
-        String projectName = project.getIProject().getName();
+    public void startDebugAttacher(Project project, String debugPort, DevModeSession session) {
+        // Completed with the port to attach to when dev mode reports the debug port or reports that the server is ready.
+        CompletableFuture<String> readySignal = new CompletableFuture<String>();
+
+        // Fallback for when no readiness signal is received. Probing starts after the grace period, unless the wait ended.
+        CompletableFuture<Void> probe = new CompletableFuture<Void>();
+        long probeDelayMs = (session == null) ? 0 : PROBE_GRACE_PERIOD_MS;
+        CompletableFuture.delayedExecutor(probeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (probe.isDone()) {
+                return;
+            }
+
+            CompletableFuture<Void> connect = WaitService.getInstance().waitForConnect(DEFAULT_ATTACH_HOST, Integer.parseInt(debugPort),
+                    JDWP_HANDSHAKE, PROBE_INITIAL_DELAY_MS, PROBE_MAX_DELAY_MS);
+            probe.whenComplete((v, t) -> connect.cancel(false));
+            connect.whenComplete((v, t) -> {
+                if (t == null) {
+                    probe.complete(null);
+                } else {
+                    probe.completeExceptionally(t);
+                }
+            });
+        });
+
+        CompletableFuture<String> portFuture = readySignal.applyToEither(probe.thenApply(v -> debugPort), port -> port)
+                .orTimeout(ATTACH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Register a session listener. This listener signals that the server is ready, and it cancels the wait when dev mode is
+        // stopped or ends.
+        DevModeSessionListener sessionListener = new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.STOPPING || newState == DevModeSession.State.EXITED) {
+                    portFuture.cancel(false);
+                }
+            }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void debugPortReported(DevModeSession s, int reportedPort) {
+                readySignal.complete(String.valueOf(reportedPort));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                readySignal.complete(debugPort);
+            }
+        };
+        if (session != null) {
+            session.addListener(sessionListener);
+        }
+
+        portFuture.whenComplete((portToConnect, t) -> {
+            boolean signaled = readySignal.isDone() && !readySignal.isCompletedExceptionally();
+            probe.cancel(false);
+            readySignal.cancel(false);
+            if (session != null) {
+                session.removeListener(sessionListener);
+            }
+
+            if (t == null) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The server JVM of project " + project.getName()
+                            + " is ready for debugger connections on port " + portToConnect + ". Signaled by dev mode: " + signaled);
+                }
+                scheduleAttachJob(project, portToConnect, session);
+                return;
+            }
+
+            Throwable cause = (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+            if (cause instanceof CancellationException) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Debugger attach cancelled for project " + project.getName());
+                }
+                return;
+            }
+
+            Exception e = (cause instanceof TimeoutException) ? new Exception("Timed out trying to attach the debugger to JVM on host: "
+                    + DEFAULT_ATTACH_HOST + " and port: " + debugPort
+                    + ".  If the server starts later you might try to manually create a Remote Java Application debug configuration and attach to the server.  You can confirm the debug port used in the terminal output looking for a message like  'Liberty debug port: [ 63624 ]'.")
+                    : new Exception("An error was detected while attaching the debugger to the JVM.", cause);
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, e.getMessage(), e);
+            }
+            ErrorHandler.processErrorMessage(e.getMessage(), e, false);
+        });
+    }
+
+    /**
+     * Starts the job that connects the debugger with the server's JVM.
+     * 
+     * @param project The project for which the debugger needs to be attached.
+     * @param port The debug port to attach the debugger to.
+     * @param session The dev mode session running the project.
+     */
+    private void scheduleAttachJob(Project project, String port, DevModeSession session) {
         Job job = new Job("Attaching Debugger to JVM...") {
             @Override
             protected IStatus run(IProgressMonitor monitor) {
@@ -224,12 +347,12 @@ public class DebugModeHandler {
                         return Status.CANCEL_STATUS;
                     }
 
-                    String portToConnect = waitForSocketActivation(project, DEFAULT_ATTACH_HOST, debugPort, monitor);
-                    if (portToConnect == null) {
+                    // Skip the attach if dev mode was stopped in the meantime.
+                    if (session != null && session.getState().compareTo(DevModeSession.State.STOPPING) >= 0) {
                         return Status.CANCEL_STATUS;
                     }
 
-                    createRemoteJavaAppDebugConfig(project, DEFAULT_ATTACH_HOST, portToConnect, monitor);
+                    createRemoteJavaAppDebugConfig(project, DEFAULT_ATTACH_HOST, port, monitor);
 
                 } catch (Exception e) {
                     return new Status(IStatus.ERROR, LibertyDevPlugin.PLUGIN_ID, JOB_STATUS_DEBUGGER_CONN_ERROR,
@@ -240,24 +363,10 @@ public class DebugModeHandler {
             }
         };
 
-        // Register a listener with the terminal tab controller. This listener handles cleanup when the terminal or terminal tab is
-        // terminated while actively processing work.
-        TerminalListener terminalListener = new TerminalListener() {
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public void cleanup() {
-                job.cancel();
-            }
-        };
-        devModeOps.registerTerminalListener(project.getIProject().getName(), terminalListener);
-
         // Register a job change listener. This listener performs job completion processing.
         job.addJobChangeListener(new JobChangeAdapter() {
             @Override
             public void done(IJobChangeEvent event) {
-                devModeOps.unregisterTerminalListener(projectName, terminalListener);
                 IStatus result = event.getResult();
                 IWorkbench workbench = PlatformUI.getWorkbench();
                 Display display = workbench.getDisplay();
@@ -282,6 +391,8 @@ public class DebugModeHandler {
             }
         });
 
+        // Attach in order with the other operations on the project. A stop requested first prevents the attach.
+        job.setRule(ProjectOperationJob.getRule(project.getName()));
         job.schedule();
     }
 
@@ -346,20 +457,16 @@ public class DebugModeHandler {
      * @throws Exception
      */
     private Path getServerEnvPath(Project project) throws Exception {
-        Path basePath = null;
         Project serverProj = getLibertyServerProject(project);
-        String projectPath = serverProj.getPath();
         String projectName = serverProj.getName();
         BuildType buildType = serverProj.getBuildType();
+        String serversPath = serverProj.getLibertyServersPath();
 
-        if (buildType == Project.BuildType.MAVEN) {
-            basePath = Paths.get(projectPath, "target", "liberty", "wlp", "usr", "servers");
-        } else if (buildType == Project.BuildType.GRADLE) {
-            basePath = Paths.get(projectPath, "build", "wlp", "usr", "servers");
-        } else {
+        if (serversPath == null) {
             throw new Exception("Unexpected project build type: " + buildType + ". Project" + projectName
                     + "does not appear to be a Maven or Gradle built project.");
         }
+        Path basePath = Paths.get(serversPath);
 
         // Make sure the base path exists. If not return null.
         File basePathFile = new File(basePath.toString());
@@ -515,61 +622,6 @@ public class DebugModeHandler {
         return updatedConfig.launch(ILaunchManager.DEBUG_MODE, monitor);
     }
 
-    /**
-     * Waits for the JDWP socket on the JVM to start listening for connections.
-     * 
-     * @param host The host to connect to.
-     * @param port The port to connect to.
-     * @param monitor The progress monitor instance.
-     * 
-     * @returns The port that the debugger actually connected to.
-     * 
-     * @throws Exception
-     */
-    private String waitForSocketActivation(Project project, String host, String port, IProgressMonitor monitor) throws Exception {
-        byte[] handshakeString = "JDWP-Handshake".getBytes(StandardCharsets.US_ASCII);
-        int retryLimit = 180;
-        int envReadInterval = 2;
-
-        for (int retryCount = 0; retryCount < retryLimit; retryCount++) {
-
-            // Check if the job was cancelled.
-            if (monitor.isCanceled()) {
-                return null;
-            }
-
-            // Check if the terminal was marked as closed, but to reduce contention on the UI thread,
-            // not every time through the loop. We don't have a clean callback/notification that the
-            // terminal session has been marked closed; we're actually going to read the UI element text
-            if (retryCount % envReadInterval == 0) {
-                IWorkbench workbench = PlatformUI.getWorkbench();
-                Display display = workbench.getDisplay();
-                DataHolder data = new DataHolder();
-
-                display.syncExec(new Runnable() {
-                    public void run() {
-                        boolean isClosed = devModeOps.isProjectTerminalTabMarkedClosed(project.getIProject().getName());
-                        data.closed = isClosed;
-                    }
-                });
-
-                if (data.closed == true) {
-                    return null;
-                }
-            }
-
-            try (Socket socket = new Socket(host, Integer.valueOf(port))) {
-                socket.getOutputStream().write(handshakeString);
-                return port;
-            } catch (ConnectException ce) {
-                TimeUnit.SECONDS.sleep(1);
-            }
-        }
-
-        throw new Exception("Timed out trying to attach the debugger to JVM on host: " + host + " and port: " + port
-                + ".  If the server starts later you might try to manually create a Remote Java Application debug configuration and attach to the server.  You can confirm the debug port used in the terminal output looking for a message like  'Liberty debug port: [ 63624 ]'.");
-    }
-
     /**
      * Returns the liberty server module project associated with the input project.
      * 
@@ -594,8 +646,4 @@ public class DebugModeHandler {
 
         return project;
     }
-
-    private class DataHolder {
-        boolean closed;
-    }
 }
@@ -0,0 +1,401 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Stops dev mode instances that have been idle for longer than the idle timeout set in their launch configuration. An
+ * instance is active while files in its project change, while its server writes HTTP access log entries, and while
+ * users run Liberty Tools actions on it. A stopped idle instance is parked: the dashboard shows it as such and it can be
+ * restarted with the configuration it was started with.
+ */
+public class DevModeIdleMonitor extends Job implements IResourceChangeListener {
+
+    /** Delay in milliseconds between idle checks. */
+    private static final long CHECK_INTERVAL_MS = 60000;
+
+    /** HTTP access log file name. */
+    public static final String ACCESS_LOG_FILE_NAME = "http_access.log";
+
+    /** DevModeIdleMonitor instance. */
+    private static DevModeIdleMonitor instance;
+
+    /** Monitored instances keyed by project name. */
+    private final Map<String, Monitored> monitored = new HashMap<String, Monitored>();
+
+    /** Restarts of parked instances keyed by project name. */
+    private final Map<String, Runnable> parked = new HashMap<String, Runnable>();
+
+    /** Listeners notified when an instance is parked or restarted. */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<Runnable>();
+
+    /** True if the monitor was stopped. */
+    private volatile boolean stopped = true;
+
+    /**
+     * Constructor.
+     */
+    private DevModeIdleMonitor() {
+        super("Checking for idle Liberty dev mode instances");
+        setSystem(true);
+        setPriority(Job.DECORATE);
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized DevModeIdleMonitor getInstance() {
+        if (instance == null) {
+            instance = new DevModeIdleMonitor();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Starts tracking workspace changes and checking the monitored instances.
+     */
+    public void start() {
+        stopped = false;
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+        schedule(CHECK_INTERVAL_MS);
+    }
+
+    /**
+     * Stops tracking workspace changes and checking the monitored instances.
+     */
+    public void stop() {
+        stopped = true;
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+        cancel();
+    }
+
+    /**
+     * Monitors the input session for inactivity. Any parked state of the project is cleared.
+     *
+     * @param projectName The project name.
+     * @param session The dev mode session of the project.
+     * @param idleMinutes The number of minutes of inactivity after which the session is stopped. If zero or less, the
+     *        session is not monitored.
+     * @param restart Restarts the project with the configuration it was started with.
+     */
+    public void monitor(String projectName, DevModeSession session, int idleMinutes, Runnable restart) {
+        boolean wasParked;
+        synchronized (this) {
+            wasParked = parked.remove(projectName) != null;
+            if (session != null && !session.isExited() && idleMinutes > 0) {
+                Monitored entry = new Monitored(session, TimeUnit.MINUTES.toMillis(idleMinutes), restart);
+                monitored.put(projectName, entry);
+                session.addListener(entry);
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Monitoring project " + projectName + " for inactivity. " + this);
+        }
+
+        if (wasParked) {
+            fireChanged();
+        }
+    }
+
+    /**
+     * Records activity on the input project.
+     *
+     * @param projectName The project name.
+     */
+    public synchronized void touch(String projectName) {
+        Monitored entry = monitored.get(projectName);
+        if (entry != null) {
+            entry.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Returns true if the input project was stopped because it was idle and was not restarted since. False, otherwise.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if the input project is parked. False, otherwise.
+     */
+    public synchronized boolean isParked(String projectName) {
+        return parked.containsKey(projectName);
+    }
+
+    /**
+     * Restarts the input parked project with the configuration it was started with.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if the project was parked and was restarted. False, otherwise.
+     */
+    public boolean restart(String projectName) {
+        Runnable restart;
+        synchronized (this) {
+            restart = parked.remove(projectName);
+        }
+
+        if (restart == null) {
+            return false;
+        }
+
+        fireChanged();
+        restart.run();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            IResource iResource = projectDelta.getResource();
+            if (iResource.getType() != IResource.PROJECT) {
+                continue;
+            }
+
+            String projectName = ((IProject) iResource).getName();
+            synchronized (this) {
+                if (!monitored.containsKey(projectName)) {
+                    continue;
+                }
+            }
+
+            // Output written by builds is derived and does not count as activity.
+            boolean[] changed = new boolean[1];
+            try {
+                projectDelta.accept(d -> {
+                    IResource r = d.getResource();
+                    if (r.isDerived() || r.isTeamPrivateMember()) {
+                        return false;
+                    }
+                    if (r.getType() == IResource.FILE) {
+                        changed[0] = true;
+                    }
+                    return !changed[0];
+                });
+            } catch (CoreException e) {
+                changed[0] = true;
+            }
+
+            if (changed[0]) {
+                touch(projectName);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        List<String> idle = new ArrayList<String>();
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            for (Map.Entry<String, Monitored> entry : monitored.entrySet()) {
+                Monitored m = entry.getValue();
+                m.lastActivity = Math.max(m.lastActivity, getLastAccessTime(entry.getKey()));
+                boolean running = m.session.getState() == DevModeSession.State.RUNNING && m.session.isServerReady();
+                if (running && !m.parking && !m.session.isSuspended() && now - m.lastActivity >= m.idleMillis) {
+                    m.parking = true;
+                    idle.add(entry.getKey());
+                }
+            }
+        }
+
+        for (String projectName : idle) {
+            park(projectName);
+        }
+
+        if (!stopped && !monitor.isCanceled()) {
+            schedule(CHECK_INTERVAL_MS);
+        }
+
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Stops the input idle project through the stop action processing.
+     *
+     * @param projectName The project name.
+     */
+    private void park(String projectName) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Stopping idle project " + projectName + ". " + this);
+        }
+
+        IProject iProject = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        new ProjectOperationJob(projectName, "Stopping idle Liberty dev mode for " + projectName,
+                () -> DevModeOperations.getInstance().stop(iProject)).schedule();
+    }
+
+    /**
+     * Returns the last time the servers of the input project wrote to their HTTP access log.
+     *
+     * @param projectName The project name.
+     *
+     * @return The last modification time of the HTTP access logs of the project. Zero if there are none.
+     */
+    private long getLastAccessTime(String projectName) {
+        Project project = DevModeOperations.getInstance().getProjectModel().getProject(projectName);
+        String serversPath = (project == null) ? null : project.getLibertyServersPath();
+        File[] servers = (serversPath == null) ? null : new File(serversPath).listFiles(File::isDirectory);
+        if (servers == null) {
+            return 0;
+        }
+
+        long lastAccess = 0;
+        for (File server : servers) {
+            lastAccess = Math.max(lastAccess, new File(new File(server, "logs"), ACCESS_LOG_FILE_NAME).lastModified());
+        }
+
+        return lastAccess;
+    }
+
+    /**
+     * Registers a listener notified when an instance is parked or restarted. Notifications may be delivered on any thread.
+     *
+     * @param listener The listener.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Unregisters the input listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Notifies the change listeners.
+     */
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error while notifying an idle monitor listener.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Monitored: ").append(monitored.keySet()).append(", ");
+        sb.append("Parked: ").append(parked.keySet());
+        return sb.toString();
+    }
+
+    /**
+     * A monitored dev mode instance. When its session ends, the instance stops being monitored and, if it was stopped
+     * because it was idle, it is parked.
+     */
+    private class Monitored implements DevModeSessionListener {
+
+        /** The dev mode session. */
+        private final DevModeSession session;
+
+        /** The number of milliseconds of inactivity after which the session is stopped. */
+        private final long idleMillis;
+
+        /** Restarts the project with the configuration it was started with. */
+        private final Runnable restart;
+
+        /** The last time activity was recorded. */
+        private long lastActivity = System.currentTimeMillis();
+
+        /** True if the session is being stopped because it was idle. */
+        private boolean parking;
+
+        /**
+         * Constructor.
+         *
+         * @param session The dev mode session.
+         * @param idleMillis The number of milliseconds of inactivity after which the session is stopped.
+         * @param restart Restarts the project with the configuration it was started with.
+         */
+        private Monitored(DevModeSession session, long idleMillis, Runnable restart) {
+            this.session = session;
+            this.idleMillis = idleMillis;
+            this.restart = restart;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+            if (newState != DevModeSession.State.EXITED) {
+                return;
+            }
+
+            s.removeListener(this);
+            boolean wasParked = false;
+            synchronized (DevModeIdleMonitor.this) {
+                String projectName = s.getProjectName();
+                if (monitored.get(projectName) == this) {
+                    monitored.remove(projectName);
+                    if (parking) {
+                        parked.put(projectName, restart);
+                        wasParked = true;
+                    }
+                }
+            }
+
+            if (wasParked) {
+                fireChanged();
+            }
+        }
+    }
+}
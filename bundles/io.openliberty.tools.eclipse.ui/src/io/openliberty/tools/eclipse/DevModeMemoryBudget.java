@@ -0,0 +1,407 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.osgi.util.NLS;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Divides a user defined memory budget among the dev mode instances started from the workspace. Each instance is
+ * allocated part of the budget when it starts. Half of the allocation is used as the maximum heap of the server JVM, a
+ * quarter as the maximum heap of the build tool JVM, and the rest is left for the non-heap memory of both JVMs. The
+ * allocation is returned to the budget when the instance ends.
+ */
+public class DevModeMemoryBudget {
+
+    /** Allocation in MB given to an instance when the budget has room for it. */
+    public static final int INSTANCE_ALLOCATION_MB = 1536;
+
+    /** Smallest allocation in MB given to an instance. */
+    public static final int MIN_INSTANCE_ALLOCATION_MB = 512;
+
+    /** Maven build tool JVM options environment variable. */
+    public static final String MAVEN_OPTS = "MAVEN_OPTS";
+
+    /** Gradle build tool JVM options environment variable. */
+    public static final String GRADLE_OPTS = "GRADLE_OPTS";
+
+    /** Property through which dev mode adds the server maximum heap option to the server's jvm.options file. */
+    public static final String SERVER_HEAP_PROPERTY = "liberty.jvm.maxHeap";
+
+    /** Maximum heap size option. */
+    private static final String XMX = "-Xmx";
+
+    /** DevModeMemoryBudget instance. */
+    private static DevModeMemoryBudget instance;
+
+    /** Allocations in MB keyed by project name. */
+    private final Map<String, Integer> allocations = new LinkedHashMap<String, Integer>();
+
+    /** Budget in MB used instead of the preference. Used by tests. */
+    private int budgetOverride = -1;
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized DevModeMemoryBudget getInstance() {
+        if (instance == null) {
+            instance = new DevModeMemoryBudget();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the memory budget in MB.
+     *
+     * @return The memory budget in MB. Zero if no budget is set.
+     */
+    public int getBudget() {
+        if (budgetOverride >= 0) {
+            return budgetOverride;
+        }
+
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return (plugin == null) ? 0 : Math.max(0, plugin.getPreferenceStore().getInt(LibertyToolsPreferenceInitializer.MEMORY_BUDGET));
+    }
+
+    /**
+     * Sets the memory budget, overriding the preference.
+     *
+     * @param budgetMb The budget in MB. A negative value restores the preference.
+     */
+    public synchronized void setBudget(int budgetMb) {
+        budgetOverride = budgetMb;
+    }
+
+    /**
+     * Allocates part of the budget to the input project.
+     *
+     * @param projectName The project name.
+     * @param force True if the smallest allocation should be made even if it exceeds the budget.
+     *
+     * @return The allocation in MB. Zero if no budget is set. -1 if the allocation would exceed the budget and it was not
+     *         forced.
+     */
+    public synchronized int allocate(String projectName, boolean force) {
+        int budget = getBudget();
+        if (budget <= 0) {
+            return 0;
+        }
+
+        allocations.remove(projectName);
+        int remaining = budget - getAllocated();
+        int allocation = Math.min(remaining, INSTANCE_ALLOCATION_MB);
+        if (allocation < MIN_INSTANCE_ALLOCATION_MB) {
+            if (!force) {
+                return -1;
+            }
+            allocation = MIN_INSTANCE_ALLOCATION_MB;
+        }
+
+        allocations.put(projectName, allocation);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, allocation + " MB allocated to project " + projectName + ". " + this);
+        }
+
+        return allocation;
+    }
+
+    /**
+     * Returns the allocation of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The allocation in MB. Zero if the project has no allocation.
+     */
+    public synchronized int getAllocation(String projectName) {
+        Integer allocation = allocations.get(projectName);
+        return (allocation == null) ? 0 : allocation;
+    }
+
+    /**
+     * Returns the sum of the allocations.
+     *
+     * @return The sum of the allocations in MB.
+     */
+    public synchronized int getAllocated() {
+        int allocated = 0;
+        for (int allocation : allocations.values()) {
+            allocated += allocation;
+        }
+
+        return allocated;
+    }
+
+    /**
+     * Gives the allocation of the input project back to the budget.
+     *
+     * @param projectName The project name.
+     */
+    public synchronized void release(String projectName) {
+        if (allocations.remove(projectName) != null && Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Memory allocation of project " + projectName + " released. " + this);
+        }
+    }
+
+    /**
+     * Gives the allocation of the input project back to the budget when the input session ends.
+     *
+     * @param projectName The project name.
+     * @param session The dev mode session of the project. If null, the allocation is released immediately.
+     */
+    public void releaseOnExit(String projectName, DevModeSession session) {
+        if (session == null || session.isExited()) {
+            release(projectName);
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                    release(projectName);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the start parameters that set the maximum heap of the server JVM of the input project to its share of the
+     * allocation. The parameters are returned unchanged if the project has no allocation, or if the maximum heap is
+     * already set through the start parameters, the jvm.options file, or the server.env file.
+     *
+     * @param project The project.
+     * @param startParms The start parameters.
+     *
+     * @return The start parameters, including the server maximum heap.
+     */
+    public String addServerHeapToStartParms(Project project, String startParms) {
+        int allocation = getAllocation(project.getIProject().getName());
+        if (allocation <= 0 || startParms.contains(XMX) || isHeapConfigured(project)) {
+            return startParms;
+        }
+
+        String prefix = (project.getBuildType() == BuildType.GRADLE) ? "-P" : "-D";
+        String heapParm = prefix + SERVER_HEAP_PROPERTY + "=" + XMX + getServerHeap(allocation) + "m";
+        return startParms.isEmpty() ? heapParm : startParms + " " + heapParm;
+    }
+
+    /**
+     * Returns the environment variable that sets the maximum heap of the build tool JVM of the input project to its share
+     * of the allocation. Options already set in the environment of the workbench are preserved. For Gradle, the build runs
+     * in a separate JVM, so the maximum heap is set through the org.gradle.jvmargs property. The property replaces the one
+     * in the gradle.properties files, so the options that the project sets there are carried over.
+     *
+     * @param project The project.
+     *
+     * @return The environment variable in name=value form. Null if the project has no allocation, or if the maximum heap of
+     *         the build tool JVM is already set.
+     */
+    public String getBuildToolHeapEnv(Project project) {
+        int allocation = getAllocation(project.getIProject().getName());
+        if (allocation <= 0) {
+            return null;
+        }
+
+        String heapOpt = XMX + getBuildToolHeap(allocation) + "m";
+        if (project.getBuildType() == BuildType.GRADLE) {
+            String current = System.getenv(GRADLE_OPTS);
+            current = (current == null) ? "" : current.trim();
+            if (BuildToolJvmPreset.getGradleJvmArgs(current) != null) {
+                return null;
+            }
+
+            List<String> jvmArgs = new ArrayList<String>(BuildToolJvmPreset.getProjectOptions(project));
+            for (String option : jvmArgs) {
+                if (option.startsWith(XMX)) {
+                    return null;
+                }
+            }
+            jvmArgs.add(heapOpt);
+
+            return GRADLE_OPTS + "=" + BuildToolJvmPreset.setGradleJvmArgs(current, String.join(" ", jvmArgs));
+        }
+
+        String current = System.getenv(MAVEN_OPTS);
+        if (current != null && current.contains(XMX)) {
+            return null;
+        }
+
+        return MAVEN_OPTS + "=" + ((current == null || current.isBlank()) ? heapOpt : current.trim() + " " + heapOpt);
+    }
+
+    /**
+     * Returns a report of the memory allocated to and used by the input sessions, compared to the budget.
+     *
+     * @param sessions The dev mode sessions keyed by project name.
+     *
+     * @return A report of the memory allocated to and used by the input sessions.
+     */
+    public String getUsageReport(Map<String, DevModeSession> sessions) {
+        StringBuilder projects = new StringBuilder();
+        long totalResident = 0;
+        for (Map.Entry<String, DevModeSession> entry : sessions.entrySet()) {
+            long resident = getResidentMemory(entry.getValue());
+            totalResident += Math.max(0, resident);
+            String allocation = String.valueOf(getAllocation(entry.getKey()));
+            projects.append("\n").append((resident < 0) ? NLS.bind(Messages.memory_usage_project_no_rss, entry.getKey(), allocation)
+                    : NLS.bind(Messages.memory_usage_project, new String[] { entry.getKey(), allocation, String.valueOf(resident) }));
+        }
+
+        int budget = getBudget();
+        String summary = (budget > 0)
+                ? NLS.bind(Messages.memory_usage_summary,
+                        new String[] { String.valueOf(budget), String.valueOf(getAllocated()), String.valueOf(totalResident) })
+                : NLS.bind(Messages.memory_usage_no_budget, String.valueOf(totalResident));
+
+        return summary + "\n" + projects;
+    }
+
+    /**
+     * Returns the server JVM maximum heap for the input allocation.
+     *
+     * @param allocation The allocation in MB.
+     *
+     * @return The server JVM maximum heap in MB.
+     */
+    public static int getServerHeap(int allocation) {
+        return allocation / 2;
+    }
+
+    /**
+     * Returns the build tool JVM maximum heap for the input allocation.
+     *
+     * @param allocation The allocation in MB.
+     *
+     * @return The build tool JVM maximum heap in MB.
+     */
+    public static int getBuildToolHeap(int allocation) {
+        return allocation / 4;
+    }
+
+    /**
+     * Returns the resident memory used by the processes of the input session.
+     *
+     * @param session The dev mode session.
+     *
+     * @return The resident memory in MB of the session's process and its descendants. -1 if it cannot be determined.
+     */
+    public static long getResidentMemory(DevModeSession session) {
+        ProcessHandle process = (session == null) ? null : session.getProcessHandle();
+        if (process == null || !process.isAlive()) {
+            return -1;
+        }
+
+        List<ProcessHandle> handles = DevModeProcessTree.getTree(process);
+
+        long totalKb = 0;
+        for (ProcessHandle handle : handles) {
+            long kb = readResidentKb(handle.pid());
+            if (kb < 0) {
+                return -1;
+            }
+            totalKb += kb;
+        }
+
+        return totalKb / 1024;
+    }
+
+    /**
+     * Reads the resident set size of the input process from the proc file system.
+     *
+     * @param pid The process id.
+     *
+     * @return The resident set size in KB. -1 if it cannot be read. Zero if the process ended.
+     */
+    private static long readResidentKb(long pid) {
+        if (!Files.isDirectory(Paths.get("/proc"))) {
+            return -1;
+        }
+
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // The process ended.
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns true if the maximum heap of the server JVM is set in the jvm.options or server.env files of the input project.
+     *
+     * @param project The project.
+     *
+     * @return True if the maximum heap of the server JVM is set in the project's server configuration. False, otherwise.
+     */
+    private boolean isHeapConfigured(Project project) {
+        String projectPath = project.getPath();
+        if (projectPath == null) {
+            return false;
+        }
+
+        for (String fileName : new String[] { "jvm.options", "server.env" }) {
+            Path file = Paths.get(projectPath, "src", "main", "liberty", "config", fileName);
+            try {
+                if (Files.isRegularFile(file) && new String(Files.readAllBytes(file), StandardCharsets.UTF_8).contains(XMX)) {
+                    return true;
+                }
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read " + file, e);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Budget: ").append(getBudget()).append(", ");
+        sb.append("Allocations: ").append(allocations);
+        return sb.toString();
+    }
+}
@@ -12,15 +12,17 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -69,6 +71,7 @@ public class DevModeOperations {
 
     public static final String DEVMODE_COMMAND_EXIT = "exit" + System.lineSeparator();
     public static final String DEVMODE_COMMAND_RUN_TESTS = System.lineSeparator();
+    public static final String DEVMODE_COMMAND_RESTART = "r" + System.lineSeparator();
 
     public static final String BROWSER_MVN_IT_REPORT_NAME_SUFFIX = "failsafe report";
     public static final String BROWSER_MVN_UT_REPORT_NAME_SUFFIX = "surefire report";
@@ -88,6 +91,16 @@ public class DevModeOperations {
      */
     private ProjectTabController projectTabController;
 
+    /**
+     * Controller of the dev mode processes that run without a terminal.
+     */
+    private HeadlessDevModeController headlessDevModeController;
+
+    /**
+     * Controller of the dev mode processes that were not started by this workbench session.
+     */
+    private ReattachedDevModeController reattachedDevModeController;
+
     /**
      * Dashboard object reference.
      */
@@ -118,6 +131,8 @@ public class DevModeOperations {
      */
     public DevModeOperations() {
         projectTabController = ProjectTabController.getInstance();
+        headlessDevModeController = HeadlessDevModeController.getInstance();
+        reattachedDevModeController = ReattachedDevModeController.getInstance();
         projectModel = new WorkspaceProjectsModel();
         pathEnv = System.getenv("PATH");
         debugModeHandler = new DebugModeHandler(this);
@@ -137,7 +152,7 @@ public class DevModeOperations {
      * 
      * @return An instance of this class.
      */
-    public static DevModeOperations getInstance() {
+    public static synchronized DevModeOperations getInstance() {
         if (instance == null) {
             instance = new DevModeOperations();
         }
@@ -146,32 +161,88 @@ public class DevModeOperations {
     }
 
     /**
+     * Starts the Liberty server in dev mode on a terminal.
+     * 
+     * @param iProject The project instance to associate with this action.
+     * @param parms The configuration parameters to be used when starting dev mode.
+     * @param javaHomePath The configuration java installation home to be set in the terminal running dev mode.
+     * @param mode The configuration mode.
+     *
+     * @return The dev mode session created by this start, or null if dev mode was not started.
+     */
+    public DevModeSession start(IProject iProject, String parms, String javaHomePath, String mode) {
+        return start(iProject, parms, javaHomePath, mode, new DevModeStartOptions());
+    }
+
+    /**
+     * Starts the Liberty server in dev mode in a container on a terminal.
+     * 
      * @param iProject The project instance to associate with this action.
      * @param parms The configuration parameters to be used when starting dev mode.
      * @param javaHomePath The configuration java installation home to be set in the terminal running dev mode.
      * @param mode The configuration mode.
+     *
+     * @return The dev mode session created by this start, or null if dev mode was not started.
+     */
+    public DevModeSession startInContainer(IProject iProject, String parms, String javaHomePath, String mode) {
+        DevModeStartOptions options = new DevModeStartOptions();
+        options.setRunInContainer(true);
+        return start(iProject, parms, javaHomePath, mode, options);
+    }
+
+    /**
+     * Starts the Liberty server in dev mode, in a container or not, on a terminal or as a headless process, as set in the
+     * input options. Failures, and starts of projects whose dev mode is already running, are reported to the user.
+     * 
+     * @param iProject The project instance to associate with this action.
+     * @param parms The configuration parameters to be used when starting dev mode.
+     * @param javaHomePath The configuration java installation home to be set in the process running dev mode.
+     * @param mode The configuration mode.
+     * @param options The start options.
+     *
+     * @return The dev mode session created by this start, or null if dev mode was not started. Null is also returned if
+     *         dev mode was already running, so that the caller does not act on the session of the earlier start.
      */
-    public void start(IProject iProject, String parms, String javaHomePath, String mode) {
+    public DevModeSession start(IProject iProject, String parms, String javaHomePath, String mode, DevModeStartOptions options) {
 
         if (Trace.isEnabled()) {
-            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { iProject, parms, javaHomePath, mode });
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { iProject, parms, javaHomePath, mode, options });
         }
 
+        boolean container = options.isRunInContainer();
+        boolean headless = options.isHeadless();
+        String request = container ? "start in container" : "start";
+
         if (iProject == null) {
-            String msg = "An error was detected when the start request was processed. The object that represents the selected project was not found.";
+            String msg = "An error was detected when the " + request
+                    + " request was processed. The object that represents the selected project was not found.";
             if (Trace.isEnabled()) {
                 Trace.getTracer().trace(Trace.TRACE_TOOLS, msg + " No-op.");
             }
-            ErrorHandler.processErrorMessage(NLS.bind(Messages.start_no_project_found, null), true);
-            return;
+            ErrorHandler.processErrorMessage(
+                    NLS.bind(container ? Messages.start_container_no_project_found : Messages.start_no_project_found, null), true);
+            return null;
         }
 
         // Check if the start action has already been issued.
         String projectName = iProject.getName();
+        String alreadyIssuedMessage = NLS.bind(container ? Messages.start_container_already_issued : Messages.start_already_issued,
+                projectName);
+
+        // Check if dev mode is already running without a terminal.
+        if (headlessDevModeController.isActive(projectName) || reattachedDevModeController.isActive(projectName)) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "The " + request + " request was already issued on project " + projectName
+                        + ". Dev mode is running without a terminal. No-op. HeadlessDevModeController: " + headlessDevModeController);
+            }
+            DevModeStartMetrics.discard(projectName);
+            ErrorHandler.processErrorMessage(alreadyIssuedMessage, true);
+            return null;
+        }
 
         // Check if the start action has already been issued.
         State terminalState = projectTabController.getTerminalState(projectName);
-        if (terminalState != null && terminalState == ProjectTab.State.STARTED) {
+        if (terminalState != null && (terminalState == ProjectTab.State.STARTED || terminalState == ProjectTab.State.SUSPENDED)) {
             // Check if the terminal tab associated with this call was marked as closed. This scenario may occur if a previous
             // attempt to start the server in dev mode was issued successfully, but there was a failure in the process or
             // there was an unexpected case that caused the terminal process to end. If that is the case, cleanup the objects
@@ -179,22 +250,24 @@ public class DevModeOperations {
             if (projectTabController.isProjectTabMarkedClosed(projectName)) {
                 if (Trace.isEnabled()) {
                     Trace.getTracer().trace(Trace.TRACE_TOOLS,
-                            "The start request was already processed on project " + projectName
+                            "The " + request + " request was already processed on project " + projectName
                                     + ". The terminal tab for this project is marked as closed. Cleaning up. ProjectTabController: "
                                     + projectTabController);
                 }
                 projectTabController.processTerminalTabCleanup(projectName);
             } else {
                 if (Trace.isEnabled()) {
-                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The start request was already issued on project " + projectName
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The " + request + " request was already issued on project " + projectName
                             + ". No-op. ProjectTabController: " + projectTabController);
                 }
-                ErrorHandler.processErrorMessage(NLS.bind(Messages.start_already_issued, projectName), true);
-                return;
+                DevModeStartMetrics.discard(projectName);
+                ErrorHandler.processErrorMessage(alreadyIssuedMessage, true);
+                return null;
             }
         }
 
         Project project = null;
+        DevModeSession session = null;
 
         try {
             project = projectModel.getProject(projectName);
@@ -208,8 +281,19 @@ public class DevModeOperations {
                 throw new Exception("Unable to find the path to selected project " + projectName);
             }
 
-            // If in debug mode, adjust the start parameters.
+            DevModeStartMetrics metrics = DevModeStartMetrics.forProject(projectName);
+
+            // Let background provisioning give way to this start.
+            LibertyRuntimeProvisioner.getInstance().userStarting(projectName);
+
+            // End any server left running by an earlier session of this project, so that its ports and memory are freed.
+            DevModeProcessRegistry.getInstance().reapOrphans(Collections.singletonList(projectName));
+
+            // Do not rebuild the upstream modules of an aggregated project that are installed and unchanged.
             String userParms = (parms == null) ? "" : parms.trim();
+            userParms = ReactorUpToDateChecker.getInstance().skipCurrentModules(project, userParms);
+
+            // If in debug mode, adjust the start parameters.
             String startParms = null;
             String debugPort = null;
             if (ILaunchManager.DEBUG_MODE.equals(mode)) {
@@ -219,153 +303,136 @@ public class DevModeOperations {
                 startParms = userParms;
             }
 
-            // Prepare the Liberty plugin container dev mode command.
+            // Reserve the server's HTTP and HTTPS ports so that they do not conflict with other dev mode instances. The ports
+            // of a server that runs in a container are mapped by the container.
+            if (!container) {
+                startParms = PortReservationManager.getInstance().addServerPortsToStartParms(project, startParms);
+            }
+
+            // Size the server and build tool JVMs within the dev mode memory budget.
+            if (!allocateMemory(projectName)) {
+                DevModeStartMetrics.discard(projectName);
+                PortReservationManager.getInstance().release(projectName);
+                return null;
+            }
+            startParms = DevModeMemoryBudget.getInstance().addServerHeapToStartParms(project, startParms);
+
+            // Add the options of the build acceleration profile, if the project can use them.
+            BuildAccelerationProfile profile = checkBuildProfile(project, options.getBuildProfile());
+            startParms = profile.addToStartParms(project.getBuildType(), startParms);
+            metrics.setBuildProfile(profile);
+
+            // Start offline if the artifacts needed by the build are available locally. A failed offline start is retried online.
+            LocalDependencyIndex dependencyIndex = LocalDependencyIndex.getInstance();
+            boolean autoOffline = false;
+            if (!profile.isOffline() && LocalDependencyIndex.isAutoOfflineEnabled() && dependencyIndex.isOfflineReady(project)) {
+                String offlineParms = BuildAccelerationProfile.OFFLINE.addToStartParms(project.getBuildType(), startParms);
+                autoOffline = !offlineParms.equals(startParms);
+                startParms = offlineParms;
+            }
+
+            // The runtime of a server that runs in a container is installed in the container image.
+            if (!container) {
+                // Use the shared installation of the project's Liberty runtime, if enabled.
+                startParms = SharedRuntimeCache.getInstance().addToStartParms(project, startParms);
+
+                // Put back the feature artifacts that the local Maven repository lost, so that they are not downloaded again.
+                FeatureRepositoryCache.getInstance().prepareStart(project);
+            }
+
+            // Prepare the Liberty plugin dev mode command.
             String cmd = "";
             BuildType buildType = project.getBuildType();
             if (buildType == Project.BuildType.MAVEN) {
-                cmd = CommandBuilder.getMavenCommandLine(projectPath, "io.openliberty.tools:liberty-maven-plugin:dev " + startParms,
-                        pathEnv, true);
+                cmd = CommandBuilder.getMavenCommandLine(projectPath,
+                        "io.openliberty.tools:liberty-maven-plugin:" + (container ? "devc " : "dev ") + startParms, pathEnv, !headless);
             } else if (buildType == Project.BuildType.GRADLE) {
-                cmd = CommandBuilder.getGradleCommandLine(projectPath, "libertyDev " + startParms, pathEnv, true);
+                cmd = CommandBuilder.getGradleCommandLine(projectPath, (container ? "libertyDevc " : "libertyDev ") + startParms, pathEnv,
+                        !headless);
             } else {
                 throw new Exception("Unexpected project build type: " + buildType + ". Project " + projectName
                         + "does not appear to be a Maven or Gradle built project.");
             }
 
+            // Add the development configuration overlay to the existing servers before they start. The servers of container
+            // starts run inside the container, so only overlays left behind by earlier starts are removed for them.
+            Set<String> overlaidServers = ServerConfigOverlay.getInstance().prepareStart(project, options.isConfigOverlay() && !container);
+
+            metrics.endStage(DevModeStartMetrics.Stage.PREPARE);
+
+            // Run the application in dev mode on a terminal or as a headless process.
+            startDevMode(cmd, projectName, projectPath, javaHomePath, headless);
+
+            // The output of headless processes is parsed directly. For terminal sessions, the server messages are read from
+            // the server's messages.log file instead so that server readiness is reported.
+            session = getSession(projectName);
+            metrics.launched(session);
+            PortReservationManager.getInstance().releaseOnExit(projectName, session);
+            DevModeMemoryBudget.getInstance().releaseOnExit(projectName, session);
+            if (!container) {
+                SharedRuntimeCache.getInstance().releaseOnExit(project, session);
+                FeatureRepositoryCache.getInstance().collectOnReady(project, session);
+            }
+            DevModeProcessRegistry.getInstance().track(projectName, session);
+            ServerConfigOverlay.getInstance().applyWhileRunning(project, session, overlaidServers);
+            if (options.isSuspendAutoBuild()) {
+                AutoBuildSuspender.getInstance().suspendWhileRunning(projectName, session);
+            }
+            if (autoOffline) {
+                Runnable onlineRetry = options.getOnlineRetry();
+                if (onlineRetry == null) {
+                    onlineRetry = () -> new ProjectOperationJob(projectName, "Starting Liberty dev mode online for " + projectName,
+                            () -> start(iProject, parms, javaHomePath, mode, options)).schedule();
+                }
+                dependencyIndex.retryOnlineOnFailure(projectName, session, onlineRetry);
+            } else {
+                dependencyIndex.onlineStarted(projectName, session);
+            }
+            if (!headless) {
+                ServerMessagesLogTailer.start(project, session);
+            }
+
             // If there is a debugPort, start the job to attach the debugger to the Liberty server JVM.
             if (debugPort != null) {
-                debugModeHandler.startDebugAttacher(project, debugPort);
+                debugModeHandler.startDebugAttacher(project, debugPort, session);
             }
-
-            // Start a terminal and run the application in dev mode.
-            startDevMode(cmd, projectName, projectPath, javaHomePath);
         } catch (CommandNotFoundException e) {
+            releaseStartResources(projectName, project);
             String msg = "Maven or Gradle command not found for project " + projectName;
             if (Trace.isEnabled()) {
                 Trace.getTracer().trace(Trace.TRACE_TOOLS, msg, e);
             }
-            return;
+            return null;
         } catch (Exception e) {
+            releaseStartResources(projectName, project);
             if (Trace.isEnabled()) {
-                Trace.getTracer().trace(Trace.TRACE_TOOLS, "An error was detected during the start request on project " + projectName, e);
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "An error was detected during the " + request + " request on project " + projectName, e);
             }
-            ErrorHandler.processErrorMessage(NLS.bind(Messages.start_general_error, projectName), e, true);
-            return;
+            ErrorHandler.processErrorMessage(
+                    NLS.bind(container ? Messages.start_container_general_error : Messages.start_general_error, projectName), e, true);
+            return null;
         }
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_TOOLS, project);
         }
+
+        return session;
     }
 
     /**
-     * Starts the Liberty server in dev mode in a container.
+     * Releases the resources held for a start of the input project that did not launch dev mode.
      * 
-     * @param iProject The project instance to associate with this action.
-     * @param parms The configuration parameters to be used when starting dev mode.
-     * @param javaHomePath The configuration java installation home to be set in the terminal running dev mode.
-     * @param mode The configuration mode.
+     * @param projectName The project name.
+     * @param project The project, or null if it was not found.
      */
-    public void startInContainer(IProject iProject, String parms, String javaHomePath, String mode) {
-
-        if (Trace.isEnabled()) {
-            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { iProject, parms, javaHomePath, mode });
-        }
-
-        if (iProject == null) {
-            String msg = "An error was detected when the start in container request was processed. The object that represents the selected project was not found.";
-            if (Trace.isEnabled()) {
-                Trace.getTracer().trace(Trace.TRACE_TOOLS, msg + " No-op.");
-            }
-            ErrorHandler.processErrorMessage(NLS.bind(Messages.start_container_no_project_found, null), true);
-            return;
-        }
-
-        // Check if the start action has already been issued.
-        String projectName = iProject.getName();
-
-        // Check if the start action has already been issued.
-        State terminalState = projectTabController.getTerminalState(projectName);
-        if (terminalState != null && terminalState == ProjectTab.State.STARTED) {
-            // Check if the terminal tab associated with this call was marked as closed. This scenario may occur if a previous
-            // attempt to start the server in dev mode was issued successfully, but there was a failure in the process or
-            // there was an unexpected case that caused the terminal process to end. If that is the case, cleanup the objects
-            // associated with the previous instance to allow users to restart dev mode.
-            if (projectTabController.isProjectTabMarkedClosed(projectName)) {
-                if (Trace.isEnabled()) {
-                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
-                            "The start in container request was already processed on project " + projectName
-                                    + ". The terminal tab for this project is marked as closed. Cleaning up. ProjectTabController: "
-                                    + projectTabController);
-                }
-                projectTabController.processTerminalTabCleanup(projectName);
-            } else {
-                if (Trace.isEnabled()) {
-                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The start in container request was already issued on project " + projectName
-                            + ". No-op. ProjectTabController: " + projectTabController);
-                }
-                ErrorHandler.processErrorMessage(NLS.bind(Messages.start_container_already_issued, projectName), true);
-                return;
-            }
-        }
-
-        Project project = null;
-
-        try {
-            project = projectModel.getProject(projectName);
-            if (project == null) {
-                throw new Exception("Unable to find internal instance of project " + projectName);
-            }
-
-            // Get the absolute path to the application project.
-            String projectPath = project.getPath();
-            if (projectPath == null) {
-                throw new Exception("Unable to find the path to selected project " + projectName);
-            }
-
-            // If in debug mode, adjust the start parameters.
-            String userParms = (parms == null) ? "" : parms.trim();
-            String startParms = null;
-            String debugPort = null;
-            if (ILaunchManager.DEBUG_MODE.equals(mode)) {
-                debugPort = debugModeHandler.calculateDebugPort(project, userParms);
-                startParms = debugModeHandler.addDebugDataToStartParms(project, debugPort, userParms);
-            } else {
-                startParms = userParms;
-            }
-
-            // Prepare the Liberty plugin container dev mode command.
-            String cmd = "";
-            BuildType buildType = project.getBuildType();
-            if (buildType == Project.BuildType.MAVEN) {
-                cmd = CommandBuilder.getMavenCommandLine(projectPath, "io.openliberty.tools:liberty-maven-plugin:devc " + startParms,
-                        pathEnv, true);
-            } else if (buildType == Project.BuildType.GRADLE) {
-                cmd = CommandBuilder.getGradleCommandLine(projectPath, "libertyDevc " + startParms, pathEnv, true);
-            } else {
-                throw new Exception("Unexpected project build type: " + buildType + ". Project " + projectName
-                        + "does not appear to be a Maven or Gradle built project.");
-            }
-
-            // If there is a debugPort, start the job to attach the debugger to the Liberty server JVM.
-            if (debugPort != null) {
-                debugModeHandler.startDebugAttacher(project, debugPort);
-            }
-
-            // Start a terminal and run the application in dev mode.
-            startDevMode(cmd, projectName, projectPath, javaHomePath);
-        } catch (Exception e) {
-            String msg = "An error was detected during the start in container request on project " + projectName;
-            if (Trace.isEnabled()) {
-                Trace.getTracer().trace(Trace.TRACE_TOOLS, msg, e);
-            }
-            ErrorHandler.processErrorMessage(NLS.bind(Messages.start_container_general_error, projectName), e, true);
-            return;
-        }
-
-        if (Trace.isEnabled()) {
-            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, project);
-        }
+    private void releaseStartResources(String projectName, Project project) {
+        DevModeStartMetrics.discard(projectName);
+        ServerConfigOverlay.getInstance().release(project);
+        PortReservationManager.getInstance().release(projectName);
+        DevModeMemoryBudget.getInstance().release(projectName);
+        SharedRuntimeCache.getInstance().release(projectName);
     }
 
     /**
@@ -396,6 +463,53 @@ public class DevModeOperations {
 
         String projectName = iProject.getName();
 
+        // Suspended processes cannot process the exit command.
+        DevModeSession suspendedSession = getSession(projectName);
+        if (suspendedSession != null && suspendedSession.isSuspended()) {
+            resume(iProject);
+        }
+
+        // If dev mode is running without a terminal, issue the exit command to the process directly.
+        if (headlessDevModeController.isActive(projectName)) {
+            try {
+                headlessDevModeController.getSession(projectName).transition(DevModeSession.State.STOPPING);
+                headlessDevModeController.write(projectName, DEVMODE_COMMAND_EXIT.getBytes());
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "An error was detected when the stop request was processed on project "
+                            + projectName + ". HeadlessDevModeController: " + headlessDevModeController, e);
+                }
+                handleStopActionError(projectName, NLS.bind(Messages.stop_general_error, projectName));
+                return;
+            }
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().traceExit(Trace.TRACE_TOOLS, projectName);
+            }
+            return;
+        }
+
+        // If dev mode was started by an earlier workbench session or outside of the IDE, end it through its processes.
+        boolean terminalActive = projectTabController.getProjectConnector(projectName) != null
+                && !projectTabController.isProjectTabMarkedClosed(projectName);
+        if (!terminalActive && reattachedDevModeController.reattach(projectName) != null) {
+            try {
+                reattachedDevModeController.stop(projectName);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "An error was detected when the stop request was processed on project "
+                            + projectName + ". ReattachedDevModeController: " + reattachedDevModeController, e);
+                }
+                handleStopActionError(projectName, NLS.bind(Messages.stop_general_error, projectName));
+                return;
+            }
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().traceExit(Trace.TRACE_TOOLS, projectName);
+            }
+            return;
+        }
+
         // Check if the stop action has already been issued of if a start action was never issued before.
         if (projectTabController.getProjectConnector(projectName) == null) {
             String msg = NLS.bind(Messages.stop_already_issued, projectName);
@@ -445,6 +559,92 @@ public class DevModeOperations {
         }
     }
 
+    /**
+     * Suspends the processes running dev mode for the input project: the terminal shell or build tool process, the build
+     * tool JVM, and the Liberty server JVM. The processes keep their ports and memory, so resuming them is immediate.
+     *
+     * @param inputProject The project instance to associate with this action.
+     */
+    public void suspend(IProject inputProject) {
+        signalSessionProcesses(inputProject, true);
+    }
+
+    /**
+     * Resumes the suspended processes running dev mode for the input project.
+     *
+     * @param inputProject The project instance to associate with this action.
+     */
+    public void resume(IProject inputProject) {
+        signalSessionProcesses(inputProject, false);
+    }
+
+    /**
+     * Suspends or resumes the processes running dev mode for the input project.
+     *
+     * @param inputProject The project instance to associate with this action.
+     * @param suspend True to suspend the processes. False to resume them.
+     */
+    private void signalSessionProcesses(IProject inputProject, boolean suspend) {
+        IProject iProject = inputProject;
+        if (iProject == null) {
+            iProject = getSelectedDashboardProject();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { iProject, suspend });
+        }
+
+        if (iProject == null) {
+            return;
+        }
+
+        String projectName = iProject.getName();
+        if (!DevModeProcessTree.isSignalSupported()) {
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.suspend_not_supported, null), true);
+            return;
+        }
+
+        DevModeSession session = getSession(projectName);
+        ProcessHandle process = (session == null || session.isExited()) ? null : session.getProcessHandle();
+        if (process == null || !process.isAlive()) {
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.suspend_not_running, projectName), true);
+            return;
+        }
+
+        if (session.isSuspended() == suspend) {
+            return;
+        }
+
+        try {
+            // Suspend parents before their children so that dev mode does not react to its server being suspended. Resume in
+            // the reverse order.
+            List<ProcessHandle> tree = DevModeProcessTree.getTree(process);
+            if (!suspend) {
+                Collections.reverse(tree);
+            }
+            DevModeProcessTree.signal(tree, suspend ? DevModeProcessTree.SIGSTOP : DevModeProcessTree.SIGCONT);
+
+            session.setSuspended(suspend);
+            if (projectTabController.getProjectConnector(projectName) != null) {
+                projectTabController.setTerminalState(projectName, suspend ? ProjectTab.State.SUSPENDED : ProjectTab.State.STARTED);
+            }
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "An error was detected when the " + (suspend ? "suspend" : "resume") + " request was processed on project "
+                                + projectName,
+                        e);
+            }
+            String msg = suspend ? Messages.suspend_general_error : Messages.resume_general_error;
+            ErrorHandler.processErrorMessage(NLS.bind(msg, projectName), e, true);
+            return;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, session);
+        }
+    }
+
     /**
      * Runs the tests provided by the application.
      * 
@@ -472,6 +672,26 @@ public class DevModeOperations {
         }
 
         String projectName = iProject.getName();
+        DevModeIdleMonitor.getInstance().touch(projectName);
+
+        // If dev mode is running without a terminal, issue the run tests command to the process directly.
+        if (headlessDevModeController.isActive(projectName)) {
+            try {
+                headlessDevModeController.write(projectName, DEVMODE_COMMAND_RUN_TESTS.getBytes());
+            } catch (Exception e) {
+                String msg = "An error was detected when the run tests request was processed on project " + projectName + ".";
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, msg, e);
+                }
+                ErrorHandler.processErrorMessage(NLS.bind(Messages.run_tests_general_error, projectName), e, true);
+                return;
+            }
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().traceExit(Trace.TRACE_TOOLS, projectName);
+            }
+            return;
+        }
 
         // Check if the stop action has already been issued of if a start action was never issued before.
         if (projectTabController.getProjectConnector(projectName) == null) {
@@ -517,6 +737,88 @@ public class DevModeOperations {
         }
     }
 
+    /**
+     * Restarts the Liberty server through dev mode's restart command. Unlike a stop and start, the build tool process keeps
+     * running, so dependency resolution and runtime checks are not repeated.
+     * 
+     * @param inputProject The project instance to associate with this action.
+     */
+    public void restartServer(IProject inputProject) {
+        restartServer(inputProject, false);
+    }
+
+    /**
+     * Restarts the Liberty server through dev mode's restart command.
+     * 
+     * @param inputProject The project instance to associate with this action.
+     * @param automatic True if the restart was triggered by a file change rather than by the user. Automatic restarts are
+     *        skipped without error if dev mode is not running or its server is not ready, since dev mode may already be
+     *        restarting it.
+     */
+    void restartServer(IProject inputProject, boolean automatic) {
+        IProject iProject = inputProject;
+        if (iProject == null) {
+            iProject = getSelectedDashboardProject();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { iProject, automatic });
+        }
+
+        if (iProject == null) {
+            return;
+        }
+
+        String projectName = iProject.getName();
+        DevModeIdleMonitor.getInstance().touch(projectName);
+
+        // The restart command is written to the input of dev mode, which is not available to reattached sessions.
+        DevModeSession session = getSession(projectName);
+        boolean headless = headlessDevModeController.isActive(projectName);
+        boolean terminal = projectTabController.getProjectConnector(projectName) != null
+                && !projectTabController.isProjectTabMarkedClosed(projectName);
+        if (session == null || session.getState() != DevModeSession.State.RUNNING || (!headless && !terminal)) {
+            if (!automatic) {
+                ErrorHandler.processErrorMessage(NLS.bind(Messages.restart_server_not_running, projectName), true);
+            }
+            return;
+        }
+
+        DevModeServerRestarter restarter = DevModeServerRestarter.getInstance();
+        if (restarter.isRestarting(projectName) || (automatic && !session.isServerReady())) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "The server of project " + projectName + " is already restarting. No-op.");
+            }
+            return;
+        }
+
+        // Suspended processes cannot process the restart command.
+        if (session.isSuspended()) {
+            resume(iProject);
+        }
+
+        try {
+            restarter.watch(projectName, session);
+            if (headless) {
+                headlessDevModeController.write(projectName, DEVMODE_COMMAND_RESTART.getBytes());
+            } else {
+                projectTabController.writeToTerminalStream(projectName, DEVMODE_COMMAND_RESTART.getBytes());
+            }
+        } catch (Exception e) {
+            restarter.cancel(projectName);
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "An error was detected when the restart server request was processed on project " + projectName, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.restart_server_general_error, projectName), e, true);
+            return;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, projectName);
+        }
+    }
+
     /**
      * Open Maven integration test report.
      * 
@@ -544,6 +846,7 @@ public class DevModeOperations {
         }
 
         String projectName = iProject.getName();
+        DevModeIdleMonitor.getInstance().touch(projectName);
         Project project = null;
 
         try {
@@ -618,6 +921,7 @@ public class DevModeOperations {
         }
 
         String projectName = iProject.getName();
+        DevModeIdleMonitor.getInstance().touch(projectName);
         Project project = null;
 
         try {
@@ -690,6 +994,7 @@ public class DevModeOperations {
         }
 
         String projectName = iProject.getName();
+        DevModeIdleMonitor.getInstance().touch(projectName);
         Project project = null;
 
         try {
@@ -749,6 +1054,23 @@ public class DevModeOperations {
      * @throws Exception If an error occurs while displaying the test report.
      */
     public void openTestReport(String projectName, Path path, String browserId, String name, String toolTip) throws Exception {
+        // Browsers can only be opened on the UI thread. Report requests are processed on background jobs.
+        if (Display.getCurrent() == null) {
+            Exception[] error = new Exception[1];
+            Display.getDefault().syncExec(() -> {
+                try {
+                    openTestReport(projectName, path, browserId, name, toolTip);
+                } catch (Exception e) {
+                    error[0] = e;
+                }
+            });
+
+            if (error[0] != null) {
+                throw error[0];
+            }
+            return;
+        }
+
         URL url = path.toUri().toURL();
         IWorkbenchBrowserSupport bSupport = PlatformUI.getWorkbench().getBrowserSupport();
         IWebBrowser browser = null;
@@ -772,6 +1094,22 @@ public class DevModeOperations {
      * @throws Exception If an error occurs while running the specified command.
      */
     public void startDevMode(String cmd, String projectName, String projectPath, String javaInstallPath) throws Exception {
+        startDevMode(cmd, projectName, projectPath, javaInstallPath, false);
+    }
+
+    /**
+     * Runs the specified command on a terminal or, if requested, as a process without a terminal.
+     *
+     * @param cmd The command to run.
+     * @param projectName The name of the project currently being processed.
+     * @param projectPath The project's path.
+     * @param javaInstallPath The java installation home to be set in the environment running dev mode.
+     * @param headless True if the command should run without a terminal. False, otherwise.
+     *
+     * @throws Exception If an error occurs while running the specified command.
+     */
+    public void startDevMode(String cmd, String projectName, String projectPath, String javaInstallPath, boolean headless)
+            throws Exception {
         // Determine the environment properties to be set in the terminal prior to running dev mode.
         List<String> envs = new ArrayList<String>(1);
 
@@ -779,7 +1117,163 @@ public class DevModeOperations {
         // the java installation to be custom defined, execution environment defined, or workspace defined.
         envs.add("JAVA_HOME=" + javaInstallPath);
 
-        projectTabController.runOnTerminal(projectName, projectPath, cmd, envs);
+        // Limit the build tool JVM heap to its share of the dev mode memory budget.
+        Project project = projectModel.getProject(projectName);
+        if (project != null) {
+            String buildToolHeapEnv = DevModeMemoryBudget.getInstance().getBuildToolHeapEnv(project);
+            if (buildToolHeapEnv != null) {
+                envs.add(buildToolHeapEnv);
+            }
+
+            // Tune the build tool JVM with the preferred preset, keeping the options set by the project.
+            BuildToolJvmPreset.getPreferred().addToEnv(project, envs);
+        }
+
+        // Let the Liberty feature utility install features from the local feature repository.
+        FeatureRepositoryCache.getInstance().addToEnv(envs);
+
+        if (headless) {
+            headlessDevModeController.run(projectName, projectPath, cmd, envs);
+        } else if (Display.getCurrent() != null) {
+            projectTabController.runOnTerminal(projectName, projectPath, cmd, envs);
+        } else {
+            // Terminal creation is the only part of the start that must run on the UI thread.
+            Display.getDefault().syncExec(() -> projectTabController.runOnTerminal(projectName, projectPath, cmd, envs));
+        }
+    }
+
+    /**
+     * Returns the current dev mode session associated with the input project. A session for dev mode running without a
+     * terminal takes precedence over a terminal session if it is still active.
+     *
+     * @param projectName The name of the project.
+     *
+     * @return The current dev mode session associated with the input project. Null if there is none.
+     */
+    public DevModeSession getSession(String projectName) {
+        if (headlessDevModeController.isActive(projectName)) {
+            return headlessDevModeController.getSession(projectName);
+        }
+
+        if (reattachedDevModeController.isActive(projectName)) {
+            return reattachedDevModeController.getSession(projectName);
+        }
+
+        DevModeSession session = projectTabController.getSession(projectName);
+        if (session == null) {
+            session = headlessDevModeController.getSession(projectName);
+        }
+
+        return session;
+    }
+
+    /**
+     * Returns true if dev mode is running without a terminal for the input project. False, otherwise.
+     *
+     * @param projectName The name of the project.
+     *
+     * @return True if dev mode is running without a terminal for the input project. False, otherwise.
+     */
+    public boolean isHeadlessDevModeActive(String projectName) {
+        return headlessDevModeController.isActive(projectName);
+    }
+
+    /**
+     * Shows the output of dev mode running without a terminal for the input project.
+     *
+     * @param inputProject The project instance to associate with this action.
+     */
+    public void showHeadlessOutput(IProject inputProject) {
+        IProject iProject = inputProject;
+        if (iProject == null) {
+            iProject = getSelectedDashboardProject();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, iProject);
+        }
+
+        if (iProject == null) {
+            return;
+        }
+
+        String projectName = iProject.getName();
+        DevModeIdleMonitor.getInstance().touch(projectName);
+        try {
+            headlessDevModeController.showOutput(projectName);
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to show the dev mode output of project " + projectName, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.headless_output_not_found, projectName), e, true);
+            return;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, projectName);
+        }
+    }
+
+    /**
+     * Allocates part of the dev mode memory budget to the input project. If the budget is exhausted, users are asked
+     * whether or not to start the project anyway.
+     *
+     * @param projectName The name of the project to start.
+     *
+     * @return True if the start should proceed. False, otherwise.
+     */
+    private boolean allocateMemory(String projectName) {
+        DevModeMemoryBudget memoryBudget = DevModeMemoryBudget.getInstance();
+        if (memoryBudget.allocate(projectName, false) >= 0) {
+            return true;
+        }
+
+        String msg = NLS.bind(Messages.memory_budget_exceeded,
+                new String[] { projectName, String.valueOf(memoryBudget.getBudget()), String.valueOf(memoryBudget.getAllocated()) });
+        Integer response = ErrorHandler.processWarningMessage(msg, true, new String[] { "Yes", "No" }, 1);
+        if (response != null && response == 0) {
+            memoryBudget.allocate(projectName, true);
+            return true;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "The start of project " + projectName + " was cancelled. " + memoryBudget);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the build acceleration profile to use for the input project. If the input profile may make the dev mode build
+     * of the project fail, users are asked whether or not to use it anyway.
+     *
+     * @param project The project to start.
+     * @param buildProfile The requested build acceleration profile. Null is treated as no profile.
+     *
+     * @return The build acceleration profile to use.
+     */
+    private BuildAccelerationProfile checkBuildProfile(Project project, BuildAccelerationProfile buildProfile) {
+        if (buildProfile == null || buildProfile == BuildAccelerationProfile.NONE) {
+            return BuildAccelerationProfile.NONE;
+        }
+
+        String problem = buildProfile.checkCompatibility(project);
+        if (problem == null) {
+            return buildProfile;
+        }
+
+        String msg = NLS.bind(Messages.build_profile_incompatible, new String[] { buildProfile.getLabel(), project.getName(), problem });
+        Integer response = ErrorHandler.processWarningMessage(msg, true, new String[] { "Yes", "No" }, 1);
+        if (response != null && response == 0) {
+            return buildProfile;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Project " + project.getName() + " is started without build acceleration profile " + buildProfile + ". " + problem);
+        }
+
+        return BuildAccelerationProfile.NONE;
     }
 
     /**
@@ -852,6 +1346,12 @@ public class DevModeOperations {
              */
             Job job = new Job("Stopping server via " + buildTypeName + " plugin") {
 
+                /** The process running the stop command. */
+                private volatile Process process;
+
+                /** True if the job was cancelled while waiting for the stop command. */
+                private volatile boolean cancelled;
+
                 @Override
                 protected IStatus run(IProgressMonitor monitor) {
 
@@ -859,40 +1359,56 @@ public class DevModeOperations {
                         return Status.CANCEL_STATUS;
                     }
 
+                    File outputFile;
                     try {
-                        Process p = pb.start();
-
-                        boolean completed = false;
+                        // The output goes to a file so that the process can never block on a full pipe.
+                        outputFile = File.createTempFile("liberty-stop-", ".log");
+                        pb.redirectOutput(outputFile);
+                        process = pb.start();
+                    } catch (Exception e) {
+                        ErrorHandler.processErrorMessage(NLS.bind(Messages.plugin_stop_issue_error, null), e, false);
+                        return Status.OK_STATUS;
+                    }
 
-                        for (int elapsed = 0; completed == false && elapsed < STOP_TIMEOUT_SECONDS; elapsed++) {
-                            if (monitor.isCanceled()) {
-                                p.destroy();
-                                return Status.CANCEL_STATUS;
+                    // Wait for the process to exit without holding a worker thread. The job remains active until then.
+                    Process p = process;
+                    WaitService.getInstance().waitForExit(p).orTimeout(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS).whenComplete((exited, t) -> {
+                        try {
+                            if (cancelled) {
+                                done(Status.CANCEL_STATUS);
+                                return;
                             }
-                            completed = p.waitFor(1, TimeUnit.SECONDS);
-                        }
 
-                        if (!completed) {
-                            setProperty(STOP_JOB_COMPLETION_TIMEOUT, Boolean.TRUE);
-                        } else {
-                            setProperty(STOP_JOB_COMPLETION_EXIT_CODE, p.exitValue());
-                            if (p.exitValue() != 0) {
-                                BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()));
-                                StringBuilder builder = new StringBuilder();
-                                String line = null;
-                                while ((line = reader.readLine()) != null) {
-                                    builder.append(line);
-                                    builder.append(System.getProperty("line.separator"));
+                            if (t != null) {
+                                // Do not leave the stop command running after giving up on it.
+                                p.destroyForcibly();
+                                setProperty(STOP_JOB_COMPLETION_TIMEOUT, Boolean.TRUE);
+                            } else {
+                                setProperty(STOP_JOB_COMPLETION_EXIT_CODE, p.exitValue());
+                                if (p.exitValue() != 0) {
+                                    setProperty(STOP_JOB_COMPLETION_OUTPUT,
+                                            new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
                                 }
-                                setProperty(STOP_JOB_COMPLETION_OUTPUT, builder.toString());
                             }
+                        } catch (Exception e) {
+                            ErrorHandler.processErrorMessage(NLS.bind(Messages.plugin_stop_issue_error, null), e, false);
+                        } finally {
+                            outputFile.delete();
                         }
-                    } catch (Exception e) {
-                        ErrorHandler.processErrorMessage(NLS.bind(Messages.plugin_stop_issue_error, null), e, false);
-                    }
-                    return Status.OK_STATUS;
+                        done(Status.OK_STATUS);
+                    });
+
+                    return ASYNC_FINISH;
                 }
 
+                @Override
+                protected void canceling() {
+                    cancelled = true;
+                    Process p = process;
+                    if (p != null) {
+                        p.destroy();
+                    }
+                }
             };
 
             job.addJobChangeListener(new JobChangeAdapter() {
@@ -946,6 +1462,7 @@ public class DevModeOperations {
             });
 
             job.setUser(true);
+            job.setRule(ProjectOperationJob.getRule(projectName));
             runningJobs.put(job, Boolean.TRUE);
             job.schedule();
         } catch (Exception e) {
@@ -1007,6 +1524,36 @@ public class DevModeOperations {
         return path;
     }
 
+    /**
+     * Returns the projects selected on the dashboard.
+     * 
+     * @return The projects selected on the dashboard. The list is empty if there is no selection.
+     */
+    public List<IProject> getSelectedDashboardProjects() {
+        List<IProject> iProjects = new ArrayList<IProject>();
+        IWorkbenchWindow w = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+
+        if (w != null) {
+            ISelection selection = w.getSelectionService().getSelection();
+            if (selection instanceof IStructuredSelection) {
+                for (Object element : ((IStructuredSelection) selection).toList()) {
+                    if (element instanceof String) {
+                        Project project = projectModel.getProject((String) element);
+                        if (project != null) {
+                            iProjects.add(project.getIProject());
+                        }
+                    }
+                }
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Selected dashboard projects: " + iProjects);
+        }
+
+        return iProjects;
+    }
+
     /**
      * Returns the project instance associated with the currently selected view object in the workspace.
      *
@@ -0,0 +1,116 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes the dev mode and Liberty server output lines that mark dev mode lifecycle events.
+ */
+public class DevModeOutputMarkers {
+
+    /** Message ID logged by the server when it is ready to run applications. */
+    public static final String SERVER_READY_MSG_ID = "CWWKF0011I";
+
+    /** Message ID logged by the server when it stopped. */
+    public static final String SERVER_STOPPED_MSG_ID = "CWWKE0036I";
+
+    /** Dev mode output line reporting the debug port. For example: Liberty debug port: [ 7777 ]. */
+    private static final Pattern DEBUG_PORT_PATTERN = Pattern.compile("Liberty debug port:\\s*\\[\\s*(\\d+)\\s*\\]");
+
+    /** Server ready message text reporting the startup time. For example: The defaultServer server started in 5.432 seconds. */
+    private static final Pattern STARTUP_TIME_PATTERN = Pattern.compile("started in (\\d+(?:[.,]\\d+)?) seconds");
+
+    /**
+     * Returns true if the input line may contain a marker. Used to skip most output lines cheaply.
+     *
+     * @param line The output line.
+     *
+     * @return True if the input line may contain a marker. False, otherwise.
+     */
+    public static boolean isCandidate(String line) {
+        return line != null && (line.indexOf("CWWK") >= 0 || line.indexOf("debug port") >= 0);
+    }
+
+    /**
+     * Returns the debug port reported by the input line.
+     *
+     * @param line The output line.
+     *
+     * @return The debug port reported by the input line. -1 if the line does not report the debug port.
+     */
+    public static int parseDebugPort(String line) {
+        if (line == null) {
+            return -1;
+        }
+
+        Matcher matcher = DEBUG_PORT_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns true if the input line reports that the server is ready. False, otherwise.
+     *
+     * @param line The output line.
+     *
+     * @return True if the input line reports that the server is ready. False, otherwise.
+     */
+    public static boolean isServerReady(String line) {
+        return line != null && line.contains(SERVER_READY_MSG_ID);
+    }
+
+    /**
+     * Returns true if the input line reports that the server stopped. False, otherwise.
+     *
+     * @param line The output line.
+     *
+     * @return True if the input line reports that the server stopped. False, otherwise.
+     */
+    public static boolean isServerStopped(String line) {
+        return line != null && line.contains(SERVER_STOPPED_MSG_ID);
+    }
+
+    /**
+     * Returns the server startup time in seconds reported by the input server ready line. The time is only available when the
+     * server messages are in English.
+     *
+     * @param line The server ready output line.
+     *
+     * @return The server startup time in seconds. -1 if the time is not found.
+     */
+    public static double parseStartupSeconds(String line) {
+        if (line == null) {
+            return -1;
+        }
+
+        Matcher matcher = STARTUP_TIME_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return -1;
+        }
+
+        try {
+            return Double.parseDouble(matcher.group(1).replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Records the processes run by each dev mode session in a file under the plugin's state location, so that processes
+ * that outlive their session, such as a Liberty server JVM left behind when the IDE crashed or a terminal was killed,
+ * can be found and ended later. Only processes recorded for sessions started by the plugin are ended, so that servers
+ * started outside the IDE are never affected. A recorded process is only ended if its start time still matches the
+ * recorded one, so that processes that reuse the same process id are never affected.
+ */
+public class DevModeProcessRegistry {
+
+    /** Name of the file holding the recorded processes. */
+    public static final String REGISTRY_FILE_NAME = "devmodeprocesses.properties";
+
+    /** Directory, relative to the Liberty servers directory, holding the server process id files. */
+    public static final String SERVER_PID_DIR_NAME = ".pid";
+
+    /** Time in seconds to wait for a process to end before it is forcibly ended. */
+    private static final long REAP_TIMEOUT_SECONDS = 10;
+
+    /** DevModeProcessRegistry instance. */
+    private static DevModeProcessRegistry instance;
+
+    /** Recorded processes keyed by project name. Values are comma separated pid@startTimeMillis entries. */
+    private final Properties registry = new Properties();
+
+    /** True if the registry file was loaded. */
+    private boolean loaded;
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized DevModeProcessRegistry getInstance() {
+        if (instance == null) {
+            instance = new DevModeProcessRegistry();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Records the processes of the input session as they become known: the dev mode process when the session is running,
+     * and the whole process tree when the server is ready. The server JVM is also recorded when it is ready, from the
+     * server process id files, in case it does not run under the dev mode process. The record is removed when the session
+     * ends and none of its processes survived.
+     *
+     * @param projectName The project name.
+     * @param session The dev mode session.
+     */
+    public void track(String projectName, DevModeSession session) {
+        if (session == null) {
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                    removeIfEnded(projectName);
+                } else {
+                    record(projectName, s);
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                record(projectName, s);
+                recordServers(projectName);
+            }
+        });
+
+        record(projectName, session);
+    }
+
+    /**
+     * Ends the recorded processes of the input projects that are still alive, if the projects have no active dev mode
+     * session. Processes that were not recorded for a session started by the plugin, such as a server started outside the
+     * IDE, are left running.
+     *
+     * @param projectNames The names of the projects to check.
+     *
+     * @return The number of processes ended.
+     */
+    public int reapOrphans(Collection<String> projectNames) {
+        int reaped = 0;
+        DevModeOperations devModeOps = DevModeOperations.getInstance();
+
+        for (String projectName : projectNames) {
+            DevModeSession session = devModeOps.getSession(projectName);
+            if (session != null && !session.isExited()) {
+                continue;
+            }
+
+            List<ProcessHandle> orphans = findLiveProcesses(projectName);
+
+            // Children first, so that parents do not restart them.
+            for (int i = orphans.size() - 1; i >= 0; i--) {
+                if (end(orphans.get(i))) {
+                    reaped++;
+                }
+            }
+
+            synchronized (this) {
+                if (registry.remove(projectName) != null) {
+                    save();
+                }
+            }
+
+            if (!orphans.isEmpty() && Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Orphaned dev mode processes of project " + projectName + " ended: " + orphans);
+            }
+        }
+
+        return reaped;
+    }
+
+    /**
+     * Schedules a background job that ends the orphaned dev mode processes of the Liberty projects in the workspace.
+     */
+    public void scheduleWorkspaceReap() {
+        Job job = new Job("Ending orphaned Liberty dev mode processes") {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                List<String> projectNames = DevModeOperations.getInstance().getProjectModel().getSortedDashboardProjectList();
+                int reaped = reapOrphans(projectNames);
+
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Orphaned dev mode processes ended on startup: " + reaped);
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    /**
+     * Returns the recorded processes of the input project that are still alive.
+     *
+     * @param projectName The project name.
+     *
+     * @return The recorded processes of the input project that are still alive. Parents are listed before their descendants.
+     */
+    public List<ProcessHandle> findLiveProcesses(String projectName) {
+        List<ProcessHandle> live = new ArrayList<ProcessHandle>();
+        for (String entry : getEntries(projectName)) {
+            findProcess(entry).ifPresent(live::add);
+        }
+
+        return live;
+    }
+
+    /**
+     * Returns the recorded process entries of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The recorded process entries of the input project, in pid@startTimeMillis form.
+     */
+    public synchronized Set<String> getEntries(String projectName) {
+        load();
+        Set<String> entries = new LinkedHashSet<String>();
+        String value = registry.getProperty(projectName);
+        if (value != null) {
+            for (String entry : value.split(",")) {
+                if (!entry.isBlank()) {
+                    entries.add(entry.trim());
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Adds the live processes of the input session to the record of the input project.
+     *
+     * @param projectName The project name.
+     * @param session The dev mode session.
+     */
+    private void record(String projectName, DevModeSession session) {
+        ProcessHandle process = session.getProcessHandle();
+        if (process != null) {
+            addEntries(projectName, DevModeProcessTree.getTree(process));
+        }
+    }
+
+    /**
+     * Adds the running Liberty server processes of the input project to its record.
+     *
+     * @param projectName The project name.
+     */
+    private void recordServers(String projectName) {
+        Project project = DevModeOperations.getInstance().getProjectModel().getProject(projectName);
+        addEntries(projectName, findServerProcesses(project));
+    }
+
+    /**
+     * Adds the input processes to the record of the input project.
+     *
+     * @param projectName The project name.
+     * @param processes The processes.
+     */
+    private synchronized void addEntries(String projectName, Collection<ProcessHandle> processes) {
+        Set<String> entries = getEntries(projectName);
+        int size = entries.size();
+        for (ProcessHandle handle : processes) {
+            entries.add(toEntry(handle));
+        }
+
+        if (entries.size() != size) {
+            registry.setProperty(projectName, String.join(",", entries));
+            save();
+        }
+    }
+
+    /**
+     * Removes the record of the input project if none of its processes are alive.
+     *
+     * @param projectName The project name.
+     */
+    private synchronized void removeIfEnded(String projectName) {
+        for (String entry : getEntries(projectName)) {
+            if (findProcess(entry).isPresent()) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                            "The dev mode session of project " + projectName + " ended, but process " + entry + " is still running.");
+                }
+                return;
+            }
+        }
+
+        if (registry.remove(projectName) != null) {
+            save();
+        }
+    }
+
+    /**
+     * Returns the running Liberty server processes of the input project, as found in the server process id files. The
+     * servers may have been started outside the IDE, so they are only ended on request, never as orphans.
+     *
+     * @param project The project.
+     *
+     * @return The running Liberty server processes of the input project.
+     */
+    List<ProcessHandle> findServerProcesses(Project project) {
+        List<ProcessHandle> servers = new ArrayList<ProcessHandle>();
+        String serversPath = (project == null) ? null : project.getLibertyServersPath();
+        File[] pidFiles = (serversPath == null) ? null
+                : new File(serversPath, SERVER_PID_DIR_NAME).listFiles((dir, name) -> name.endsWith(".pid"));
+        if (pidFiles == null) {
+            return servers;
+        }
+
+        for (File pidFile : pidFiles) {
+            try {
+                long pid = Long.parseLong(new String(Files.readAllBytes(pidFile.toPath()), StandardCharsets.UTF_8).trim());
+                Optional<ProcessHandle> handle = ProcessHandle.of(pid);
+
+                // Only end the process if it is a JVM that runs from the project's Liberty installation.
+                if (handle.isPresent() && handle.get().isAlive()) {
+                    String commandLine = handle.get().info().commandLine().orElse("");
+                    if (commandLine.contains(project.getPath()) && !servers.contains(handle.get())) {
+                        servers.add(handle.get());
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read server process id file " + pidFile, e);
+                }
+            }
+        }
+
+        return servers;
+    }
+
+    /**
+     * Returns the live process matching the input entry.
+     *
+     * @param entry The entry in pid@startTimeMillis form.
+     *
+     * @return The live process matching the input entry, if its start time matches the recorded start time.
+     */
+    public static Optional<ProcessHandle> findProcess(String entry) {
+        String[] parts = entry.split("@");
+        try {
+            long pid = Long.parseLong(parts[0]);
+            long startTime = (parts.length > 1) ? Long.parseLong(parts[1]) : 0;
+            return ProcessHandle.of(pid).filter(ProcessHandle::isAlive).filter(h -> startTime > 0 && startTime == getStartTime(h));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the registry entry of the input process.
+     *
+     * @param handle The process handle.
+     *
+     * @return The registry entry of the input process, in pid@startTimeMillis form.
+     */
+    public static String toEntry(ProcessHandle handle) {
+        return handle.pid() + "@" + getStartTime(handle);
+    }
+
+    /**
+     * Returns the start time of the input process.
+     *
+     * @param handle The process handle.
+     *
+     * @return The start time of the input process in milliseconds since the epoch. Zero if not known.
+     */
+    private static long getStartTime(ProcessHandle handle) {
+        return handle.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    /**
+     * Ends the input process, forcibly if it does not end in time.
+     *
+     * @param handle The process handle.
+     *
+     * @return True if the process ended. False, otherwise.
+     */
+    private boolean end(ProcessHandle handle) {
+        if (!handle.isAlive()) {
+            return false;
+        }
+
+        try {
+            handle.destroy();
+            handle.onExit().get(REAP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            handle.destroyForcibly();
+        }
+
+        return true;
+    }
+
+    /**
+     * Loads the registry file, if not already loaded.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        File file = getRegistryFile();
+        if (file == null || !file.exists()) {
+            return;
+        }
+
+        try (Reader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            registry.load(reader);
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to load the dev mode process registry " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Saves the registry file.
+     */
+    private void save() {
+        File file = getRegistryFile();
+        if (file == null) {
+            return;
+        }
+
+        try (Writer writer = new FileWriter(file, StandardCharsets.UTF_8)) {
+            registry.store(writer, "Liberty dev mode processes");
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to save the dev mode process registry " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the registry file.
+     *
+     * @return The registry file. Null if the plugin is not active.
+     */
+    private File getRegistryFile() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return (plugin == null) ? null : plugin.getStateLocation().append(REGISTRY_FILE_NAME).toFile();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Registry: ").append(registry);
+        return sb.toString();
+    }
+}
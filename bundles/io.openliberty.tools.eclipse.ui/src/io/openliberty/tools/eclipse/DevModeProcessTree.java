@@ -0,0 +1,98 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.utils.Utils;
+
+/**
+ * Utilities to act on the tree of processes run by a dev mode session: the terminal shell or the build tool process,
+ * the build tool JVM, and the Liberty server JVM.
+ */
+public class DevModeProcessTree {
+
+    /** Signal that suspends a process. */
+    public static final String SIGSTOP = "STOP";
+
+    /** Signal that resumes a suspended process. */
+    public static final String SIGCONT = "CONT";
+
+    /** Time in seconds to wait for the kill command to complete. */
+    private static final long KILL_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Returns the live processes in the tree rooted at the input process. Parents are listed before their descendants.
+     *
+     * @param root The root process handle.
+     *
+     * @return The live processes in the tree rooted at the input process.
+     */
+    public static List<ProcessHandle> getTree(ProcessHandle root) {
+        List<ProcessHandle> tree = new ArrayList<ProcessHandle>();
+        if (root == null || !root.isAlive()) {
+            return tree;
+        }
+
+        tree.add(root);
+        root.descendants().filter(ProcessHandle::isAlive).forEach(tree::add);
+        return tree;
+    }
+
+    /**
+     * Returns true if processes can be suspended and resumed on this platform. False, otherwise.
+     *
+     * @return True if processes can be suspended and resumed on this platform. False, otherwise.
+     */
+    public static boolean isSignalSupported() {
+        return !Utils.isWindows();
+    }
+
+    /**
+     * Sends the input signal to the input processes, in the order given.
+     *
+     * @param processes The processes to signal.
+     * @param signal The signal name, such as {@link #SIGSTOP} or {@link #SIGCONT}.
+     *
+     * @throws Exception If the signal could not be sent.
+     */
+    public static void signal(List<ProcessHandle> processes, String signal) throws Exception {
+        if (processes.isEmpty()) {
+            return;
+        }
+
+        List<String> cmd = new ArrayList<String>();
+        cmd.add("kill");
+        cmd.add("-" + signal);
+        for (ProcessHandle process : processes) {
+            cmd.add(String.valueOf(process.pid()));
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Sending signal: " + cmd);
+        }
+
+        Process kill = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        if (!kill.waitFor(KILL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            kill.destroyForcibly();
+            throw new Exception("The kill -" + signal + " command timed out.");
+        }
+        if (kill.exitValue() != 0) {
+            String output = new String(kill.getInputStream().readAllBytes()).trim();
+            throw new Exception("The kill -" + signal + " command failed with exit value " + kill.exitValue() + ": " + output);
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.osgi.util.NLS;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.utils.ErrorHandler;
+
+/**
+ * Tracks the server restarts requested through dev mode's restart command. A restart is acknowledged when the server
+ * reports that it stopped, and it completes when the server reports that it is ready again. Timings are traced and
+ * appended to a CSV file under the plugin's state location. Restarts are also requested automatically when server files
+ * that are only read when the server starts are changed, unless dev mode restarts the server on its own soon after the
+ * change.
+ */
+public class DevModeServerRestarter implements IResourceChangeListener {
+
+    /** Name of the file holding the recorded restart timings. */
+    public static final String METRICS_FILE_NAME = "restartmetrics.csv";
+
+    /** Header of the file holding the recorded restart timings. */
+    private static final String METRICS_FILE_HEADER = "timestamp,project,acknowledgeMs,totalMs,serverStartupSeconds";
+
+    /** Server files, relative to the project, whose changes only take effect when the server restarts. */
+    public static final Set<String> RESTART_TRIGGER_FILES = new HashSet<String>(Arrays.asList("src/main/liberty/config/jvm.options",
+            "src/main/liberty/config/server.env", "src/main/liberty/config/bootstrap.properties"));
+
+    /** Time in seconds to wait for dev mode to acknowledge a restart request. */
+    private static final long ACKNOWLEDGE_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Delay in milliseconds between a change to a restart trigger file and the automatic restart. Lets editors finish
+     * saving and lets dev mode restart the server on its own. Dev mode restarts the server on its own when these files
+     * change, so the automatic restart is only requested if the server did not stop during the delay.
+     */
+    private static final long TRIGGER_DELAY_MS = 5000;
+
+    /** DevModeServerRestarter instance. */
+    private static DevModeServerRestarter instance;
+
+    /** Restarts in progress keyed by project name. */
+    private final Map<String, Restart> restarts = new ConcurrentHashMap<String, Restart>();
+
+    /** Names of the projects with an automatic restart waiting for the end of the trigger delay. */
+    private final Set<String> pendingTriggers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized DevModeServerRestarter getInstance() {
+        if (instance == null) {
+            instance = new DevModeServerRestarter();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Starts tracking changes to restart trigger files.
+     */
+    public void start() {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    /**
+     * Stops tracking changes to restart trigger files.
+     */
+    public void stop() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+    }
+
+    /**
+     * Starts tracking a restart of the server of the input session. Must be called before the restart command is issued.
+     *
+     * @param projectName The project name.
+     * @param session The dev mode session.
+     */
+    public void watch(String projectName, DevModeSession session) {
+        Restart restart = new Restart(projectName, session);
+        Restart previous = restarts.put(projectName, restart);
+        if (previous != null) {
+            previous.end();
+        }
+
+        session.addListener(restart);
+        CompletableFuture.delayedExecutor(ACKNOWLEDGE_TIMEOUT_SECONDS, TimeUnit.SECONDS).execute(restart::checkAcknowledged);
+    }
+
+    /**
+     * Stops tracking the restart in progress for the input project, if any. Used when the restart command could not be
+     * issued.
+     *
+     * @param projectName The project name.
+     */
+    public void cancel(String projectName) {
+        Restart restart = restarts.remove(projectName);
+        if (restart != null) {
+            restart.end();
+        }
+    }
+
+    /**
+     * Returns true if a server restart is in progress for the input project. False, otherwise.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if a server restart is in progress for the input project. False, otherwise.
+     */
+    public boolean isRestarting(String projectName) {
+        return restarts.containsKey(projectName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            IResource iResource = projectDelta.getResource();
+            if (iResource.getType() != IResource.PROJECT || !isRestartTriggered(projectDelta)) {
+                continue;
+            }
+
+            String projectName = getDevModeProjectName(iResource.getName());
+            if (projectName == null || !pendingTriggers.add(projectName)) {
+                continue;
+            }
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "A server restart trigger file of project " + iResource.getName()
+                        + " changed. The server of project " + projectName + " will be restarted if dev mode does not restart it.");
+            }
+
+            scheduleTriggeredRestart(projectName, DevModeOperations.getInstance().getSession(projectName));
+        }
+    }
+
+    /**
+     * Restarts the server of the input session after the trigger delay, unless the server stops during the delay.
+     *
+     * @param projectName The name of the project running dev mode.
+     * @param session The dev mode session.
+     */
+    private void scheduleTriggeredRestart(String projectName, DevModeSession session) {
+        if (session == null) {
+            pendingTriggers.remove(projectName);
+            return;
+        }
+
+        AtomicBoolean serverStopped = new AtomicBoolean();
+        DevModeSessionListener stopListener = new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverStopped(DevModeSession s) {
+                serverStopped.set(true);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+            }
+        };
+        session.addListener(stopListener);
+
+        IProject iProject = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        new ProjectOperationJob(projectName, "Restarting the Liberty server for " + projectName, () -> {
+            session.removeListener(stopListener);
+            pendingTriggers.remove(projectName);
+            if (serverStopped.get()) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                            "Dev mode restarted the server of project " + projectName + " on its own. No restart requested.");
+                }
+                return;
+            }
+
+            DevModeOperations.getInstance().restartServer(iProject, true);
+        }).schedule(TRIGGER_DELAY_MS);
+    }
+
+    /**
+     * Returns true if the input project delta contains a change to a restart trigger file. False, otherwise.
+     *
+     * @param projectDelta The project delta.
+     *
+     * @return True if the input project delta contains a change to a restart trigger file. False, otherwise.
+     */
+    private boolean isRestartTriggered(IResourceDelta projectDelta) {
+        boolean[] triggered = new boolean[1];
+        try {
+            projectDelta.accept(d -> {
+                IResource r = d.getResource();
+                if (r.getType() == IResource.FILE && d.getKind() != IResourceDelta.REMOVED
+                        && RESTART_TRIGGER_FILES.contains(r.getProjectRelativePath().toString())) {
+                    triggered[0] = true;
+                }
+                return !triggered[0];
+            });
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to process the changes of project " + projectDelta.getResource(), e);
+            }
+        }
+
+        return triggered[0];
+    }
+
+    /**
+     * Returns the name of the project whose running dev mode instance serves the input project. This is the project itself
+     * or, for multi-module projects, the parent project running dev mode for its server module.
+     *
+     * @param projectName The name of the changed project.
+     *
+     * @return The name of the project running dev mode, or null if dev mode is not running for the input project.
+     */
+    private String getDevModeProjectName(String projectName) {
+        DevModeOperations devModeOps = DevModeOperations.getInstance();
+        if (isRunning(devModeOps.getSession(projectName))) {
+            return projectName;
+        }
+
+        WorkspaceProjectsModel projectModel = devModeOps.getProjectModel();
+        for (String candidate : projectModel.getSortedDashboardProjectList()) {
+            Project project = projectModel.getProject(candidate);
+            if (project == null || !isRunning(devModeOps.getSession(candidate))) {
+                continue;
+            }
+
+            List<Project> serverProjects = project.getChildLibertyServerProjects();
+            for (Project serverProject : serverProjects) {
+                if (projectName.equals(serverProject.getName())) {
+                    return candidate;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns true if the input session is running. False, otherwise.
+     *
+     * @param session The dev mode session.
+     *
+     * @return True if the input session is running. False, otherwise.
+     */
+    private static boolean isRunning(DevModeSession session) {
+        return session != null && session.getState() == DevModeSession.State.RUNNING;
+    }
+
+    /**
+     * Traces the timings of a completed restart and appends them to the metrics file.
+     *
+     * @param projectName The project name.
+     * @param acknowledgeMs Milliseconds from the request until the server stopped.
+     * @param totalMs Milliseconds from the request until the server was ready again.
+     * @param startupSeconds The server startup time in seconds reported by the server, or -1 if not known.
+     */
+    private void record(String projectName, long acknowledgeMs, long totalMs, double startupSeconds) {
+        String line = String.format(Locale.ROOT, "%d,%s,%d,%d,%s", System.currentTimeMillis(), projectName, acknowledgeMs, totalMs,
+                (startupSeconds < 0) ? "" : Double.toString(startupSeconds));
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Server restart timings: " + line);
+        }
+
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin == null) {
+            return;
+        }
+
+        File metricsFile = plugin.getStateLocation().append(METRICS_FILE_NAME).toFile();
+        synchronized (DevModeServerRestarter.class) {
+            boolean newFile = !metricsFile.exists();
+            try (Writer writer = new FileWriter(metricsFile, true)) {
+                if (newFile) {
+                    writer.write(METRICS_FILE_HEADER + System.lineSeparator());
+                }
+                writer.write(line + System.lineSeparator());
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to write the server restart timings to " + metricsFile, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Restarting: ").append(restarts.keySet());
+        return sb.toString();
+    }
+
+    /**
+     * A server restart in progress.
+     */
+    private class Restart implements DevModeSessionListener {
+
+        /** The project name. */
+        private final String projectName;
+
+        /** The dev mode session. */
+        private final DevModeSession session;
+
+        /** The time when the restart was requested. */
+        private final long requestTime = System.nanoTime();
+
+        /** The time when the server stopped. Zero if the restart was not acknowledged yet. */
+        private long stopTime;
+
+        /**
+         * Constructor.
+         *
+         * @param projectName The project name.
+         * @param session The dev mode session.
+         */
+        private Restart(String projectName, DevModeSession session) {
+            this.projectName = projectName;
+            this.session = session;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void serverStopped(DevModeSession s) {
+            if (stopTime == 0) {
+                stopTime = System.nanoTime();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void serverReady(DevModeSession s, double startupSeconds) {
+            long acknowledgeMs;
+            synchronized (this) {
+                if (stopTime == 0) {
+                    return;
+                }
+                acknowledgeMs = TimeUnit.NANOSECONDS.toMillis(stopTime - requestTime);
+            }
+
+            if (restarts.remove(projectName, this)) {
+                end();
+                record(projectName, acknowledgeMs, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestTime), startupSeconds);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+            if (newState == DevModeSession.State.EXITED && restarts.remove(projectName, this)) {
+                end();
+            }
+        }
+
+        /**
+         * Reports an error if dev mode did not acknowledge the restart request in time.
+         */
+        private void checkAcknowledged() {
+            synchronized (this) {
+                if (stopTime != 0) {
+                    return;
+                }
+            }
+
+            if (restarts.remove(projectName, this)) {
+                end();
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The server restart request was not acknowledged: " + session);
+                }
+                ErrorHandler.processErrorMessage(NLS.bind(Messages.restart_server_not_acknowledged, projectName), true);
+            }
+        }
+
+        /**
+         * Stops listening to the session.
+         */
+        private void end() {
+            session.removeListener(this);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Represents a single dev mode process run for a project. The session's state only moves forward
+ * (STARTING -> RUNNING -> STOPPING -> EXITED); any state may transition directly to EXITED. State changes are pushed to
+ * registered listeners, as are the server readiness events recognized in the dev mode or server output.
+ */
+public class DevModeSession {
+
+    /** Session states. */
+    public static enum State {
+        /** The dev mode command was issued, but the process is not yet known to be running. */
+        STARTING,
+
+        /** The dev mode process is running. */
+        RUNNING,
+
+        /** A request to exit dev mode was issued. */
+        STOPPING,
+
+        /** The dev mode process ended. */
+        EXITED
+    };
+
+    /** The name of the project associated with this session. */
+    private final String projectName;
+
+    /** The current state. */
+    private volatile State state = State.STARTING;
+
+    /** The process running dev mode. Null if not known. */
+    private volatile Process process;
+
+    /** The handle of a dev mode process that was not started by this session. Null if not known. */
+    private volatile ProcessHandle processHandle;
+
+    /** The debug port reported by dev mode. -1 if not reported. */
+    private volatile int debugPort = -1;
+
+    /** True if the server reported that it is ready and did not stop since. */
+    private volatile boolean serverReady;
+
+    /** The last server startup time in seconds. -1 if not known. */
+    private volatile double startupSeconds = -1;
+
+    /** True if the processes of this session are suspended. */
+    private volatile boolean suspended;
+
+    /** Session listeners. */
+    private final List<DevModeSessionListener> listeners = new CopyOnWriteArrayList<DevModeSessionListener>();
+
+    /**
+     * Constructor.
+     *
+     * @param projectName The name of the project associated with this session.
+     */
+    public DevModeSession(String projectName) {
+        this.projectName = projectName;
+    }
+
+    /**
+     * Returns the name of the project associated with this session.
+     *
+     * @return The name of the project associated with this session.
+     */
+    public String getProjectName() {
+        return projectName;
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return The current state.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns true if the session ended. False, otherwise.
+     *
+     * @return True if the session ended. False, otherwise.
+     */
+    public boolean isExited() {
+        return state == State.EXITED;
+    }
+
+    /**
+     * Returns the process running dev mode, or null if the process is not known.
+     *
+     * @return The process running dev mode, or null if the process is not known.
+     */
+    public Process getProcess() {
+        return process;
+    }
+
+    /**
+     * Returns true if the process running dev mode is tracked by this session. If so, the EXITED state is driven by the
+     * process exit.
+     *
+     * @return True if the process running dev mode is tracked by this session. False, otherwise.
+     */
+    public boolean isProcessTracked() {
+        return process != null || processHandle != null;
+    }
+
+    /**
+     * Returns the handle of the process running dev mode, or null if the process is not known. Unlike
+     * {@link #getProcess()}, the handle is also known for dev mode processes that were not started by this session.
+     *
+     * @return The handle of the process running dev mode, or null if the process is not known or its handle cannot be
+     *         obtained.
+     */
+    public ProcessHandle getProcessHandle() {
+        Process p = process;
+        if (p == null) {
+            return processHandle;
+        }
+
+        // Process implementations other than the JDK's, such as the terminal connector's, may not support handles.
+        try {
+            return p.toHandle();
+        } catch (UnsupportedOperationException e) {
+            try {
+                return ProcessHandle.of(p.pid()).orElse(null);
+            } catch (UnsupportedOperationException e2) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The handle of the dev mode process of project " + projectName
+                            + " cannot be obtained. Process: " + p);
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Returns the debug port reported by dev mode.
+     *
+     * @return The debug port reported by dev mode. -1 if not reported.
+     */
+    public int getDebugPort() {
+        return debugPort;
+    }
+
+    /**
+     * Returns true if the server reported that it is ready and did not stop since. False, otherwise.
+     *
+     * @return True if the server reported that it is ready and did not stop since. False, otherwise.
+     */
+    public boolean isServerReady() {
+        return serverReady;
+    }
+
+    /**
+     * Returns true if the processes of this session are suspended. False, otherwise.
+     *
+     * @return True if the processes of this session are suspended. False, otherwise.
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Records whether or not the processes of this session are suspended and notifies the registered listeners of the
+     * change. Suspension is independent of the session state.
+     *
+     * @param suspended True if the processes of this session were suspended. False if they were resumed.
+     */
+    public void setSuspended(boolean suspended) {
+        synchronized (this) {
+            if (this.suspended == suspended) {
+                return;
+            }
+            this.suspended = suspended;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Dev mode session for project " + projectName + " suspended: " + suspended);
+        }
+
+        notifyListeners(listener -> listener.suspendedChanged(this, suspended));
+    }
+
+    /**
+     * Returns the last server startup time in seconds.
+     *
+     * @return The last server startup time in seconds. -1 if not known.
+     */
+    public double getStartupSeconds() {
+        return startupSeconds;
+    }
+
+    /**
+     * Processes a line of dev mode or server output. Lines that mark readiness events are pushed to the registered listeners.
+     *
+     * @param line The output line.
+     */
+    public void processOutputLine(String line) {
+        if (!DevModeOutputMarkers.isCandidate(line) || state == State.EXITED) {
+            return;
+        }
+
+        int port = DevModeOutputMarkers.parseDebugPort(line);
+        if (port > 0) {
+            debugPort = port;
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Dev mode session for project " + projectName + " reported debug port " + port);
+            }
+            notifyListeners(listener -> listener.debugPortReported(this, port));
+        } else if (DevModeOutputMarkers.isServerReady(line)) {
+            double seconds = DevModeOutputMarkers.parseStartupSeconds(line);
+            startupSeconds = seconds;
+            serverReady = true;
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "Dev mode session for project " + projectName + " reported that the server is ready. Startup seconds: " + seconds);
+            }
+            notifyListeners(listener -> listener.serverReady(this, seconds));
+        } else if (DevModeOutputMarkers.isServerStopped(line)) {
+            serverReady = false;
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Dev mode session for project " + projectName + " reported that the server stopped.");
+            }
+            notifyListeners(listener -> listener.serverStopped(this));
+        }
+    }
+
+    /**
+     * Associates the process running dev mode with this session. The session moves to the RUNNING state, and it moves to the
+     * EXITED state when the process ends.
+     *
+     * @param process The process running dev mode.
+     */
+    public void attachProcess(Process process) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectName, process });
+        }
+
+        if (process == null || this.process != null) {
+            return;
+        }
+
+        this.process = process;
+        transition(State.RUNNING);
+        process.onExit().thenRun(() -> transition(State.EXITED));
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, state);
+        }
+    }
+
+    /**
+     * Associates a dev mode process that was not started by this session, such as one left running by an earlier workbench
+     * session, with this session. The session moves to the RUNNING state, and it moves to the EXITED state when the process
+     * ends. The output of such a process cannot be read and its input cannot be written.
+     *
+     * @param handle The handle of the process running dev mode.
+     */
+    public void attachProcessHandle(ProcessHandle handle) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectName, handle });
+        }
+
+        if (handle == null || isProcessTracked()) {
+            return;
+        }
+
+        this.processHandle = handle;
+        transition(State.RUNNING);
+        handle.onExit().thenRun(() -> transition(State.EXITED));
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, state);
+        }
+    }
+
+    /**
+     * Moves the session to the input state and notifies the registered listeners. The request is ignored if the new state
+     * does not follow the current state.
+     *
+     * @param newState The new state.
+     *
+     * @return True if the state changed. False, otherwise.
+     */
+    public boolean transition(State newState) {
+        State oldState;
+        synchronized (this) {
+            oldState = state;
+            if (newState.ordinal() <= oldState.ordinal()) {
+                return false;
+            }
+            state = newState;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Dev mode session for project " + projectName + " moved from " + oldState + " to "
+                    + newState + ".");
+        }
+
+        notifyListeners(listener -> listener.stateChanged(this, oldState, newState));
+
+        return true;
+    }
+
+    /**
+     * Registers the input listener. If the session already ended, the listener is notified immediately. If the debug port
+     * was already reported or the server is already ready, the listener is notified of those events immediately as well.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(DevModeSessionListener listener) {
+        listeners.add(listener);
+
+        // Make sure late subscribers do not miss the terminal state.
+        State current = state;
+        if (current == State.EXITED && listeners.remove(listener)) {
+            listener.stateChanged(this, current, current);
+            return;
+        }
+
+        // Make sure late subscribers do not miss readiness events. Listeners may see these events twice.
+        int port = debugPort;
+        if (port > 0) {
+            listener.debugPortReported(this, port);
+        }
+        if (serverReady) {
+            listener.serverReady(this, startupSeconds);
+        }
+    }
+
+    /**
+     * Unregisters the input listener.
+     *
+     * @param listener The listener to unregister.
+     */
+    public void removeListener(DevModeSessionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Pushes an event to the registered listeners. A listener that fails does not keep the event from the others.
+     *
+     * @param event The event, applied to each listener.
+     */
+    private void notifyListeners(Consumer<DevModeSessionListener> event) {
+        for (DevModeSessionListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Session listener " + listener + " failed.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("projectName: ").append(projectName).append(", ");
+        sb.append("State: ").append(state).append(", ");
+        sb.append("ServerReady: ").append(serverReady).append(", ");
+        sb.append("Suspended: ").append(suspended).append(", ");
+        sb.append("Process: ").append(process != null ? process : processHandle);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+/**
+ * Receives dev mode session lifecycle notifications. Notifications may be delivered on any thread. Implementations that
+ * need to update the UI must do so through the display.
+ */
+public interface DevModeSessionListener {
+
+    /**
+     * Called when the state of a dev mode session changes.
+     *
+     * @param session The session whose state changed.
+     * @param oldState The previous state.
+     * @param newState The new state.
+     */
+    public void stateChanged(DevModeSession session, DevModeSession.State oldState, DevModeSession.State newState);
+
+    /**
+     * Called when dev mode reports the debug port of the server.
+     *
+     * @param session The session that reported the debug port.
+     * @param debugPort The debug port.
+     */
+    public default void debugPortReported(DevModeSession session, int debugPort) {
+    }
+
+    /**
+     * Called when the server is ready to run applications.
+     *
+     * @param session The session whose server is ready.
+     * @param startupSeconds The server startup time in seconds, or -1 if not known.
+     */
+    public default void serverReady(DevModeSession session, double startupSeconds) {
+    }
+
+    /**
+     * Called when the server stopped. Dev mode may still be running, for example, while the server restarts.
+     *
+     * @param session The session whose server stopped.
+     */
+    public default void serverStopped(DevModeSession session) {
+    }
+
+    /**
+     * Called when the processes of a dev mode session are suspended or resumed.
+     *
+     * @param session The session whose processes were suspended or resumed.
+     * @param suspended True if the processes were suspended. False if they were resumed.
+     */
+    public default void suspendedChanged(DevModeSession session, boolean suspended) {
+    }
+}
@@ -0,0 +1,409 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Records how long each stage of a dev mode start takes, from the user action to the server being ready. Timings are
+ * traced and appended to a CSV file under the plugin's state location, together with the build acceleration profile
+ * used and whether the server JVM fast startup options were used, so that the profiles and options can be compared.
+ */
+public class DevModeStartMetrics {
+
+    /** Name of the file holding the recorded timings. */
+    public static final String METRICS_FILE_NAME = "startmetrics.csv";
+
+    /** Header of the file holding the recorded timings. */
+    private static final String METRICS_FILE_HEADER = "timestamp,project,profile,resolveMs,prepareMs,launchMs,readyMs,totalMs,serverStartupSeconds,"
+            + "fastServerStartup";
+
+    /** Suffix of the file holding timings recorded in an earlier format. */
+    private static final String METRICS_FILE_BACKUP_SUFFIX = ".bak";
+
+    /** Start stages. */
+    public static enum Stage {
+        /** Launch configuration lookup and Java home resolution. */
+        RESOLVE,
+
+        /** Debug port allocation and command building. */
+        PREPARE,
+
+        /** Terminal or process creation. */
+        LAUNCH,
+
+        /** Time from launch until the server reports that it is ready. */
+        READY
+    }
+
+    /** Starts in progress that have not launched dev mode yet, keyed by project name. */
+    private static final Map<String, DevModeStartMetrics> pending = new ConcurrentHashMap<String, DevModeStartMetrics>();
+
+    /** The project name. */
+    private final String projectName;
+
+    /** The time when the start was requested. */
+    private final long startTime;
+
+    /** The time when the current stage began. */
+    private long stageStartTime;
+
+    /** The build acceleration profile used by the start. */
+    private BuildAccelerationProfile buildProfile = BuildAccelerationProfile.NONE;
+
+    /** True if the start added the server JVM fast startup options. */
+    private boolean fastServerStartup;
+
+    /** Elapsed milliseconds per completed stage. */
+    private final Map<Stage, Long> stageTimes = new EnumMap<Stage, Long>(Stage.class);
+
+    /**
+     * Constructor.
+     *
+     * @param projectName The project name.
+     */
+    private DevModeStartMetrics(String projectName) {
+        this.projectName = projectName;
+        this.startTime = System.nanoTime();
+        this.stageStartTime = startTime;
+    }
+
+    /**
+     * Begins recording a new start of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The metrics of the new start.
+     */
+    public static DevModeStartMetrics begin(String projectName) {
+        DevModeStartMetrics metrics = new DevModeStartMetrics(projectName);
+        pending.put(projectName, metrics);
+        return metrics;
+    }
+
+    /**
+     * Returns the metrics of the start in progress for the input project. A new recording begins if there is none.
+     *
+     * @param projectName The project name.
+     *
+     * @return The metrics of the start in progress for the input project.
+     */
+    public static DevModeStartMetrics forProject(String projectName) {
+        DevModeStartMetrics metrics = pending.get(projectName);
+        return (metrics != null) ? metrics : begin(projectName);
+    }
+
+    /**
+     * Discards the metrics of the start in progress for the input project. Called when the start fails before dev mode is
+     * launched.
+     *
+     * @param projectName The project name.
+     */
+    public static void discard(String projectName) {
+        pending.remove(projectName);
+    }
+
+    /**
+     * Sets the build acceleration profile used by the start.
+     *
+     * @param buildProfile The build acceleration profile used by the start.
+     */
+    public synchronized void setBuildProfile(BuildAccelerationProfile buildProfile) {
+        this.buildProfile = (buildProfile == null) ? BuildAccelerationProfile.NONE : buildProfile;
+    }
+
+    /**
+     * Sets whether the start added the server JVM fast startup options.
+     *
+     * @param fastServerStartup True if the start added the server JVM fast startup options. False, otherwise.
+     */
+    public synchronized void setFastServerStartup(boolean fastServerStartup) {
+        this.fastServerStartup = fastServerStartup;
+    }
+
+    /**
+     * Marks the end of the input stage. The next stage begins now.
+     *
+     * @param stage The stage that ended.
+     */
+    public synchronized void endStage(Stage stage) {
+        long now = System.nanoTime();
+        stageTimes.put(stage, Long.valueOf(TimeUnit.NANOSECONDS.toMillis(now - stageStartTime)));
+        stageStartTime = now;
+    }
+
+    /**
+     * Returns the elapsed milliseconds of the input stage.
+     *
+     * @param stage The stage.
+     *
+     * @return The elapsed milliseconds of the input stage. -1 if the stage did not complete.
+     */
+    public synchronized long getStageTime(Stage stage) {
+        Long time = stageTimes.get(stage);
+        return (time == null) ? -1 : time.longValue();
+    }
+
+    /**
+     * Ends the launch stage and records the timings once the server of the input session is ready, or once the session
+     * exits without the server becoming ready.
+     *
+     * @param session The session of the launched dev mode instance.
+     */
+    public void launched(DevModeSession session) {
+        endStage(Stage.LAUNCH);
+        pending.remove(projectName, this);
+
+        if (session == null) {
+            record(-1);
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /** True if the timings were recorded. */
+            private boolean recorded;
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public synchronized void serverReady(DevModeSession s, double startupSeconds) {
+                if (!recorded) {
+                    recorded = true;
+                    endStage(Stage.READY);
+                    record(startupSeconds);
+                    s.removeListener(this);
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public synchronized void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (!recorded && newState == DevModeSession.State.EXITED) {
+                    recorded = true;
+                    record(-1);
+                    s.removeListener(this);
+                }
+            }
+        });
+    }
+
+    /**
+     * Traces the timings and appends them to the metrics file.
+     *
+     * @param startupSeconds The server startup time in seconds reported by the server, or -1 if not known.
+     */
+    private void record(double startupSeconds) {
+        long totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        String line = String.format(Locale.ROOT, "%d,%s,%s,%d,%d,%d,%d,%d,%s,%b", System.currentTimeMillis(), projectName,
+                getBuildProfile().name(), getStageTime(Stage.RESOLVE), getStageTime(Stage.PREPARE), getStageTime(Stage.LAUNCH), getStageTime(Stage.READY),
+                totalMs, (startupSeconds < 0) ? "" : Double.toString(startupSeconds), isFastServerStartup());
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Dev mode start timings: " + this + ". TotalMs: " + totalMs);
+        }
+
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin == null) {
+            return;
+        }
+
+        File metricsFile = plugin.getStateLocation().append(METRICS_FILE_NAME).toFile();
+        synchronized (DevModeStartMetrics.class) {
+            // Keep timings recorded in an earlier format apart so that the columns of the file stay consistent.
+            if (metricsFile.exists() && !METRICS_FILE_HEADER.equals(readHeader(metricsFile))) {
+                File backupFile = new File(metricsFile.getPath() + METRICS_FILE_BACKUP_SUFFIX);
+                backupFile.delete();
+                metricsFile.renameTo(backupFile);
+            }
+
+            boolean newFile = !metricsFile.exists();
+            try (Writer writer = new FileWriter(metricsFile, true)) {
+                if (newFile) {
+                    writer.write(METRICS_FILE_HEADER + System.lineSeparator());
+                }
+                writer.write(line + System.lineSeparator());
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to write the dev mode start timings to " + metricsFile, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the build acceleration profile used by the start.
+     *
+     * @return The build acceleration profile used by the start.
+     */
+    private synchronized BuildAccelerationProfile getBuildProfile() {
+        return buildProfile;
+    }
+
+    /**
+     * Returns true if the start added the server JVM fast startup options. False, otherwise.
+     *
+     * @return True if the start added the server JVM fast startup options. False, otherwise.
+     */
+    private synchronized boolean isFastServerStartup() {
+        return fastServerStartup;
+    }
+
+    /**
+     * Returns the average total start time of the input project for each build acceleration profile, computed from the
+     * recorded timings. Starts during which the server did not become ready are not counted.
+     *
+     * @param projectName The project name.
+     *
+     * @return The average total start time in milliseconds, keyed by build acceleration profile. Profiles with no recorded
+     *         starts are not included.
+     */
+    public static Map<BuildAccelerationProfile, Long> getAverageTotalTimes(String projectName) {
+        Map<BuildAccelerationProfile, Long> averages = new EnumMap<BuildAccelerationProfile, Long>(BuildAccelerationProfile.class);
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin == null) {
+            return averages;
+        }
+
+        File metricsFile = plugin.getStateLocation().append(METRICS_FILE_NAME).toFile();
+        Map<BuildAccelerationProfile, long[]> sums = new HashMap<BuildAccelerationProfile, long[]>();
+        synchronized (DevModeStartMetrics.class) {
+            if (!metricsFile.exists()) {
+                return averages;
+            }
+
+            try (BufferedReader reader = new BufferedReader(new FileReader(metricsFile))) {
+                if (!METRICS_FILE_HEADER.equals(reader.readLine())) {
+                    return averages;
+                }
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split(",", -1);
+                    if (columns.length < 9 || !columns[1].equals(projectName) || columns[8].isEmpty()) {
+                        continue;
+                    }
+                    long[] sum = sums.computeIfAbsent(BuildAccelerationProfile.fromName(columns[2]), p -> new long[2]);
+                    sum[0] += Long.parseLong(columns[7]);
+                    sum[1]++;
+                }
+            } catch (IOException | NumberFormatException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the dev mode start timings from " + metricsFile, e);
+                }
+            }
+        }
+
+        for (Map.Entry<BuildAccelerationProfile, long[]> entry : sums.entrySet()) {
+            averages.put(entry.getKey(), Long.valueOf(entry.getValue()[0] / entry.getValue()[1]));
+        }
+
+        return averages;
+    }
+
+    /**
+     * Returns the average server startup time of the input project with and without the server JVM fast startup options,
+     * computed from the recorded timings. Starts during which the server did not become ready are not counted.
+     *
+     * @param projectName The project name.
+     *
+     * @return The average server startup time in seconds, keyed by whether the fast startup options were used. Keys with
+     *         no recorded starts are not included.
+     */
+    public static Map<Boolean, Double> getAverageServerStartupSeconds(String projectName) {
+        Map<Boolean, Double> averages = new HashMap<Boolean, Double>();
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin == null) {
+            return averages;
+        }
+
+        File metricsFile = plugin.getStateLocation().append(METRICS_FILE_NAME).toFile();
+        Map<Boolean, double[]> sums = new HashMap<Boolean, double[]>();
+        synchronized (DevModeStartMetrics.class) {
+            if (!metricsFile.exists()) {
+                return averages;
+            }
+
+            try (BufferedReader reader = new BufferedReader(new FileReader(metricsFile))) {
+                if (!METRICS_FILE_HEADER.equals(reader.readLine())) {
+                    return averages;
+                }
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split(",", -1);
+                    if (columns.length < 10 || !columns[1].equals(projectName) || columns[8].isEmpty()) {
+                        continue;
+                    }
+                    double[] sum = sums.computeIfAbsent(Boolean.valueOf(columns[9]), f -> new double[2]);
+                    sum[0] += Double.parseDouble(columns[8]);
+                    sum[1]++;
+                }
+            } catch (IOException | NumberFormatException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the dev mode start timings from " + metricsFile, e);
+                }
+            }
+        }
+
+        for (Map.Entry<Boolean, double[]> entry : sums.entrySet()) {
+            averages.put(entry.getKey(), Double.valueOf(entry.getValue()[0] / entry.getValue()[1]));
+        }
+
+        return averages;
+    }
+
+    /**
+     * Returns the first line of the input file.
+     *
+     * @param file The file.
+     *
+     * @return The first line of the input file, or null if it could not be read.
+     */
+    private static String readHeader(File file) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            return reader.readLine();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Project: ").append(projectName).append(", ");
+        sb.append("BuildProfile: ").append(buildProfile).append(", ");
+        sb.append("FastServerStartup: ").append(fastServerStartup).append(", ");
+        sb.append("StageTimes: ").append(stageTimes);
+        return sb.toString();
+    }
+}
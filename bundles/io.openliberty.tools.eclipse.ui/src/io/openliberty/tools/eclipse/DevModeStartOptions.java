@@ -0,0 +1,167 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+/**
+ * Options of a dev mode start, other than the start parameters, Java home, and launch mode. The defaults start dev mode
+ * outside of a container, on a terminal, with no build acceleration profile, and with the workspace auto-build left as
+ * it is.
+ */
+public class DevModeStartOptions {
+
+    /** True if dev mode runs the server in a container. */
+    private boolean runInContainer;
+
+    /** True if dev mode runs without a terminal. */
+    private boolean headless;
+
+    /** The build acceleration profile whose options are added to the build tool command. */
+    private BuildAccelerationProfile buildProfile = BuildAccelerationProfile.NONE;
+
+    /** True if the workspace auto-build is suspended until dev mode ends. */
+    private boolean suspendAutoBuild;
+
+    /** True if the development configuration overlay is added to the servers while dev mode runs. */
+    private boolean configOverlay;
+
+    /** The operation that submits the start again online if dev mode was started offline and failed. */
+    private Runnable onlineRetry;
+
+    /**
+     * Returns true if dev mode runs the server in a container. False, otherwise.
+     *
+     * @return True if dev mode runs the server in a container. False, otherwise.
+     */
+    public boolean isRunInContainer() {
+        return runInContainer;
+    }
+
+    /**
+     * Sets whether dev mode runs the server in a container.
+     *
+     * @param runInContainer True if dev mode runs the server in a container. False, otherwise.
+     */
+    public void setRunInContainer(boolean runInContainer) {
+        this.runInContainer = runInContainer;
+    }
+
+    /**
+     * Returns true if dev mode runs without a terminal. False, otherwise.
+     *
+     * @return True if dev mode runs without a terminal. False, otherwise.
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Sets whether dev mode runs without a terminal.
+     *
+     * @param headless True if dev mode runs without a terminal. False, otherwise.
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Returns the build acceleration profile whose options are added to the build tool command.
+     *
+     * @return The build acceleration profile whose options are added to the build tool command.
+     */
+    public BuildAccelerationProfile getBuildProfile() {
+        return buildProfile;
+    }
+
+    /**
+     * Sets the build acceleration profile whose options are added to the build tool command.
+     *
+     * @param buildProfile The build acceleration profile. If null, no profile is used.
+     */
+    public void setBuildProfile(BuildAccelerationProfile buildProfile) {
+        this.buildProfile = (buildProfile == null) ? BuildAccelerationProfile.NONE : buildProfile;
+    }
+
+    /**
+     * Returns true if the workspace auto-build is suspended until dev mode ends. False, otherwise.
+     *
+     * @return True if the workspace auto-build is suspended until dev mode ends. False, otherwise.
+     */
+    public boolean isSuspendAutoBuild() {
+        return suspendAutoBuild;
+    }
+
+    /**
+     * Sets whether the workspace auto-build is suspended until dev mode ends, so that only dev mode compiles the project
+     * changes.
+     *
+     * @param suspendAutoBuild True if the workspace auto-build is suspended until dev mode ends. False, otherwise.
+     */
+    public void setSuspendAutoBuild(boolean suspendAutoBuild) {
+        this.suspendAutoBuild = suspendAutoBuild;
+    }
+
+    /**
+     * Returns true if the development configuration overlay is added to the servers while dev mode runs. False, otherwise.
+     *
+     * @return True if the development configuration overlay is added to the servers while dev mode runs. False, otherwise.
+     */
+    public boolean isConfigOverlay() {
+        return configOverlay;
+    }
+
+    /**
+     * Sets whether the development configuration overlay is added to the servers while dev mode runs. The overlay is not
+     * added to servers that run in a container.
+     *
+     * @param configOverlay True if the development configuration overlay is added to the servers. False, otherwise.
+     */
+    public void setConfigOverlay(boolean configOverlay) {
+        this.configOverlay = configOverlay;
+    }
+
+    /**
+     * Returns the operation that submits the start again online if dev mode was started offline and failed.
+     *
+     * @return The operation that submits the start again online, or null if the start is repeated with these options.
+     */
+    public Runnable getOnlineRetry() {
+        return onlineRetry;
+    }
+
+    /**
+     * Sets the operation that submits the start again online if dev mode was started offline and failed. The operation
+     * runs on the thread that reports the end of the failed session, so it must schedule the start rather than run it.
+     *
+     * @param onlineRetry The operation that submits the start again online. If null, the start is repeated with these
+     *        options.
+     */
+    public void setOnlineRetry(Runnable onlineRetry) {
+        this.onlineRetry = onlineRetry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("RunInContainer: ").append(runInContainer).append(", ");
+        sb.append("Headless: ").append(headless).append(", ");
+        sb.append("BuildProfile: ").append(buildProfile).append(", ");
+        sb.append("SuspendAutoBuild: ").append(suspendAutoBuild).append(", ");
+        sb.append("ConfigOverlay: ").append(configOverlay).append(", ");
+        sb.append("OnlineRetry: ").append(onlineRetry != null);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,350 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Limits the number of dev mode instances that are starting at the same time. Each start runs a build tool JVM and a
+ * server JVM, so starting many projects at once slows all of them down. A start holds a slot from the time it is
+ * launched until its server reports that it is ready, or its session ends. Starts submitted while all slots are taken
+ * wait in submission order.
+ */
+public class DevModeStartQueue {
+
+    /** Time in minutes after which a start that did not report server readiness gives up its slot. */
+    private static final long SLOT_TIMEOUT_MINUTES = 5;
+
+    /** DevModeStartQueue instance. */
+    private static DevModeStartQueue instance;
+
+    /** Starts waiting for a slot, keyed by project name, in submission order. */
+    private final LinkedHashMap<String, Runnable> waiting = new LinkedHashMap<String, Runnable>();
+
+    /** Projects holding a slot. The value is completed when the slot is released, or null until the start launched. */
+    private final Map<String, CompletableFuture<Void>> starting = new HashMap<String, CompletableFuture<Void>>();
+
+    /** Listeners notified when the queue or the state of a queued session changes. */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<Runnable>();
+
+    /** Maximum number of slots used when no preference is available. Used by tests. */
+    private int maxConcurrentStartsOverride = -1;
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized DevModeStartQueue getInstance() {
+        if (instance == null) {
+            instance = new DevModeStartQueue();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Runs the input start as soon as a slot is available. Starts of projects that are already starting run immediately,
+     * so that the start processing reports the condition. Starts of projects that are already waiting are ignored.
+     *
+     * @param projectName The name of the project to start.
+     * @param start The start processing. It must call {@link #launched(String, DevModeSession)} or
+     *        {@link #abandoned(String)} when it completes.
+     */
+    public void submit(String projectName, Runnable start) {
+        boolean runNow = false;
+
+        synchronized (this) {
+            if (waiting.containsKey(projectName)) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The start of project " + projectName + " is already queued. No-op. " + this);
+                }
+                return;
+            }
+
+            if (starting.containsKey(projectName) || starting.size() < getMaxConcurrentStarts()) {
+                starting.putIfAbsent(projectName, null);
+                runNow = true;
+            } else {
+                waiting.put(projectName, start);
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Start of project " + projectName + " submitted. Run now: " + runNow + ". " + this);
+        }
+
+        fireChanged();
+
+        if (runNow) {
+            start.run();
+        }
+    }
+
+    /**
+     * Holds the slot of the input project until the server of the input session reports that it is ready, or the session
+     * ends.
+     *
+     * @param projectName The name of the project that was started.
+     * @param session The session of the launched dev mode instance. If null, the slot is released.
+     */
+    public void launched(String projectName, DevModeSession session) {
+        if (session == null || session.isExited()) {
+            release(projectName);
+            return;
+        }
+
+        CompletableFuture<Void> ready = new CompletableFuture<Void>();
+        synchronized (this) {
+            if (!starting.containsKey(projectName) || starting.get(projectName) != null) {
+                // The start did not hold a slot, or the slot is already waiting for the server.
+                return;
+            }
+            starting.put(projectName, ready);
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                    ready.complete(null);
+                }
+                fireChanged();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                ready.complete(null);
+                fireChanged();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverStopped(DevModeSession s) {
+                fireChanged();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void suspendedChanged(DevModeSession s, boolean suspended) {
+                fireChanged();
+            }
+        });
+
+        ready.orTimeout(SLOT_TIMEOUT_MINUTES, TimeUnit.MINUTES).whenComplete((v, t) -> release(projectName, ready));
+        fireChanged();
+    }
+
+    /**
+     * Releases the slot of the input project if its start did not launch dev mode. A slot that already waits for the
+     * server of an earlier start of the project is kept, so that a refused or failed start does not let other starts
+     * through before that server is ready.
+     *
+     * @param projectName The project name.
+     */
+    public void abandoned(String projectName) {
+        synchronized (this) {
+            if (starting.get(projectName) != null) {
+                return;
+            }
+        }
+
+        release(projectName);
+    }
+
+    /**
+     * Releases the slot held by the input project, if any, and runs the next waiting start.
+     *
+     * @param projectName The project name.
+     */
+    public void release(String projectName) {
+        release(projectName, null);
+    }
+
+    /**
+     * Releases the slot held by the input project, if it is still the input slot, and runs the next waiting start.
+     *
+     * @param projectName The project name.
+     * @param slot The slot to release. If null, any slot held by the project is released.
+     */
+    private void release(String projectName, CompletableFuture<Void> slot) {
+        List<Runnable> next = new ArrayList<Runnable>();
+
+        synchronized (this) {
+            if (!starting.containsKey(projectName) || (slot != null && starting.get(projectName) != slot)) {
+                return;
+            }
+            starting.remove(projectName);
+
+            Iterator<Map.Entry<String, Runnable>> i = waiting.entrySet().iterator();
+            while (i.hasNext() && starting.size() < getMaxConcurrentStarts()) {
+                Map.Entry<String, Runnable> entry = i.next();
+                i.remove();
+                starting.put(entry.getKey(), null);
+                next.add(entry.getValue());
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Start slot of project " + projectName + " released. " + this);
+        }
+
+        fireChanged();
+
+        for (Runnable start : next) {
+            start.run();
+        }
+    }
+
+    /**
+     * Removes the start of the input project from the queue if it has not run yet.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if a waiting start was removed. False, otherwise.
+     */
+    public boolean cancel(String projectName) {
+        boolean removed;
+        synchronized (this) {
+            removed = waiting.remove(projectName) != null;
+        }
+
+        if (removed) {
+            fireChanged();
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns the position of the input project in the queue.
+     *
+     * @param projectName The project name.
+     *
+     * @return The 1-based position of the input project in the queue. 0 if the project is not waiting.
+     */
+    public synchronized int getQueuePosition(String projectName) {
+        int position = 1;
+        for (String name : waiting.keySet()) {
+            if (name.equals(projectName)) {
+                return position;
+            }
+            position++;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns true if the input project holds a start slot. False, otherwise.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if the input project holds a start slot. False, otherwise.
+     */
+    public synchronized boolean isStarting(String projectName) {
+        return starting.containsKey(projectName);
+    }
+
+    /**
+     * Returns the maximum number of dev mode instances that may be starting at the same time.
+     *
+     * @return The maximum number of dev mode instances that may be starting at the same time.
+     */
+    public int getMaxConcurrentStarts() {
+        if (maxConcurrentStartsOverride > 0) {
+            return maxConcurrentStartsOverride;
+        }
+
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        int max = (plugin == null) ? 0 : plugin.getPreferenceStore().getInt(LibertyToolsPreferenceInitializer.MAX_CONCURRENT_STARTS);
+        return (max > 0) ? max : LibertyToolsPreferenceInitializer.getDefaultMaxConcurrentStarts();
+    }
+
+    /**
+     * Sets the maximum number of dev mode instances that may be starting at the same time, overriding the preference.
+     *
+     * @param max The maximum. A value of zero or less restores the preference.
+     */
+    public synchronized void setMaxConcurrentStarts(int max) {
+        maxConcurrentStartsOverride = max;
+    }
+
+    /**
+     * Registers a listener notified when the queue or the state of a started session changes. Notifications may be
+     * delivered on any thread.
+     *
+     * @param listener The listener.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Unregisters the input listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Notifies the change listeners.
+     */
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error while notifying a start queue listener.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Starting: ").append(starting.keySet()).append(", ");
+        sb.append("Waiting: ").append(waiting.keySet());
+        return sb.toString();
+    }
+}
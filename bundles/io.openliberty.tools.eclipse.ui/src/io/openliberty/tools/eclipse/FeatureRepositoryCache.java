@@ -0,0 +1,549 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Keeps a local repository, in Maven layout, of the Liberty feature artifacts that dev mode installed: the feature ESA
+ * files, their poms, and the feature lists. Artifacts are collected from the local Maven repository and the Gradle cache
+ * once a server is ready, and each one is stored with its SHA-256 checksum. Before a Maven dev mode start, verified
+ * artifacts that are missing from the local Maven repository are put back, so that the feature installation does not
+ * download them again. The repository is also passed to the Liberty feature utility through the FEATURE_LOCAL_REPO
+ * environment variable.
+ */
+public class FeatureRepositoryCache {
+
+    /** Environment variable that points the Liberty feature utility at a local feature repository. */
+    public static final String FEATURE_LOCAL_REPO = "FEATURE_LOCAL_REPO";
+
+    /** Groups of the Liberty feature artifacts, in Maven layout. */
+    public static final String[] FEATURE_GROUPS = { "io/openliberty/features", "com/ibm/websphere/appserver/features" };
+
+    /** Cache directory name, relative to the plugin state location. */
+    private static final String CACHE_DIR_NAME = "features";
+
+    /** Suffix of the files that hold the SHA-256 checksum of a cached artifact. */
+    private static final String CHECKSUM_SUFFIX = ".sha256";
+
+    /** Suffix of the SHA-1 checksum files that Maven downloads with an artifact. */
+    private static final String MAVEN_SHA1_SUFFIX = ".sha1";
+
+    /** Extensions of the cached artifacts. */
+    private static final String[] ARTIFACT_EXTENSIONS = { ".esa", ".pom", ".json" };
+
+    /** Runtime version files, relative to the runtime installation directory. */
+    private static final String[] VERSION_FILES = { "lib/versions/openliberty.properties",
+            "lib/versions/WebSphereApplicationServer.properties" };
+
+    /** Runtime version property. */
+    private static final String PRODUCT_VERSION_PROPERTY = "com.ibm.websphere.productVersion";
+
+    /** Runtime versions being collected. */
+    private final Set<String> collecting = ConcurrentHashMap.newKeySet();
+
+    /** FeatureRepositoryCache instance. */
+    private static FeatureRepositoryCache instance;
+
+    /**
+     * Constructor.
+     */
+    private FeatureRepositoryCache() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized FeatureRepositoryCache getInstance() {
+        if (instance == null) {
+            instance = new FeatureRepositoryCache();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if installed Liberty features are kept in the local feature repository. False, otherwise.
+     *
+     * @return True if installed Liberty features are kept in the local feature repository. False, otherwise.
+     */
+    public static boolean isEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.FEATURE_CACHE);
+    }
+
+    /**
+     * Returns the local feature repository directory.
+     *
+     * @return The local feature repository directory, or null if the plugin is not active.
+     */
+    public static File getCacheDir() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return (plugin == null) ? null : plugin.getStateLocation().append(CACHE_DIR_NAME).toFile();
+    }
+
+    /**
+     * Prepares the dev mode start of the input project to install features from the local feature repository. For Maven
+     * projects, the verified artifacts that are missing from the local Maven repository are put back.
+     *
+     * @param project The project to start.
+     */
+    public void prepareStart(Project project) {
+        File cacheDir = getCacheDir();
+        if (!isEnabled() || cacheDir == null || !cacheDir.isDirectory() || project.getBuildType() != BuildType.MAVEN) {
+            return;
+        }
+
+        int restored = restoreToMavenRepository(cacheDir, LocalDependencyIndex.getMavenRepository());
+        if (restored > 0) {
+            LocalDependencyIndex.getInstance().invalidate(project.getName());
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Restored " + restored + " feature artifacts to the local Maven repository for project " + project.getName());
+        }
+    }
+
+    /**
+     * Adds the local feature repository to the input environment of the process that runs dev mode, unless the
+     * environment or the workbench environment already sets one.
+     *
+     * @param envs The environment variables, in name=value form, of the process that runs dev mode.
+     */
+    public void addToEnv(List<String> envs) {
+        File cacheDir = getCacheDir();
+        if (!isEnabled() || cacheDir == null || !cacheDir.isDirectory() || System.getenv(FEATURE_LOCAL_REPO) != null) {
+            return;
+        }
+
+        for (String env : envs) {
+            if (env.startsWith(FEATURE_LOCAL_REPO + "=")) {
+                return;
+            }
+        }
+
+        envs.add(FEATURE_LOCAL_REPO + "=" + cacheDir.getAbsolutePath());
+    }
+
+    /**
+     * Collects the feature artifacts of the runtime of the input project into the local feature repository once the
+     * server of the input session is ready.
+     *
+     * @param project The started project.
+     * @param session The dev mode session of the project.
+     */
+    public void collectOnReady(Project project, DevModeSession session) {
+        if (session == null || !isEnabled()) {
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                s.removeListener(this);
+                scheduleCollection(project);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                }
+            }
+        });
+    }
+
+    /**
+     * Schedules the collection of the feature artifacts of the runtime of the input project.
+     *
+     * @param project The project.
+     */
+    private void scheduleCollection(Project project) {
+        File cacheDir = getCacheDir();
+        String version = getRuntimeVersion(project);
+        if (cacheDir == null || version == null || !collecting.add(version)) {
+            return;
+        }
+
+        Job job = new Job("Collecting Liberty " + version + " features") {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    int collected = collectFromMavenRepository(LocalDependencyIndex.getMavenRepository(), cacheDir, version)
+                            + collectFromGradleCache(LocalDependencyIndex.getGradleCache(), cacheDir, version);
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                                "Collected " + collected + " Liberty " + version + " feature artifacts.");
+                    }
+                } finally {
+                    collecting.remove(version);
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
+    }
+
+    /**
+     * Returns the version of the Liberty runtime installed for the input project.
+     *
+     * @param project The project.
+     *
+     * @return The version of the Liberty runtime installed for the input project, or null if it is not installed.
+     */
+    public static String getRuntimeVersion(Project project) {
+        String serversPath = project.getLibertyServersPath();
+        if (serversPath == null) {
+            return null;
+        }
+
+        File wlpDir = Paths.get(serversPath).getParent().getParent().toFile();
+        if (!new File(wlpDir, "lib").isDirectory()) {
+            wlpDir = SharedRuntimeCache.getInstance().getInstalledRuntimeDir(project);
+        }
+
+        for (String versionFile : VERSION_FILES) {
+            File file = (wlpDir == null) ? null : new File(wlpDir, versionFile);
+            if (file == null || !file.isFile()) {
+                continue;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = new FileReader(file)) {
+                properties.load(reader);
+                return properties.getProperty(PRODUCT_VERSION_PROPERTY);
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the runtime version file " + file, e);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Copies the feature artifacts of the input runtime version from the input local Maven repository into the input
+     * local feature repository. Artifacts whose Maven SHA-1 checksum does not match are skipped.
+     *
+     * @param repository The local Maven repository.
+     * @param cacheDir The local feature repository.
+     * @param version The runtime version.
+     *
+     * @return The number of artifacts added to the local feature repository.
+     */
+    public static int collectFromMavenRepository(File repository, File cacheDir, String version) {
+        int collected = 0;
+        for (String group : FEATURE_GROUPS) {
+            File[] artifactDirs = new File(repository, group).listFiles(File::isDirectory);
+            if (artifactDirs == null) {
+                continue;
+            }
+
+            for (File artifactDir : artifactDirs) {
+                File[] files = new File(artifactDir, version).listFiles(FeatureRepositoryCache::isArtifact);
+                if (files == null) {
+                    continue;
+                }
+
+                for (File file : files) {
+                    File sha1File = new File(file.getPath() + MAVEN_SHA1_SUFFIX);
+                    String expectedSha1 = readChecksum(sha1File);
+                    Path target = cacheDir.toPath().resolve(repository.toPath().relativize(file.toPath()));
+                    if (collect(file.toPath(), target, expectedSha1)) {
+                        collected++;
+                    }
+                }
+            }
+        }
+
+        return collected;
+    }
+
+    /**
+     * Copies the feature artifacts of the input runtime version from the input Gradle module cache into the input local
+     * feature repository. In the Gradle cache, each file is in a directory named after its SHA-1 checksum, which is
+     * verified.
+     *
+     * @param gradleCache The Gradle module cache.
+     * @param cacheDir The local feature repository.
+     * @param version The runtime version.
+     *
+     * @return The number of artifacts added to the local feature repository.
+     */
+    public static int collectFromGradleCache(File gradleCache, File cacheDir, String version) {
+        int collected = 0;
+        for (String group : FEATURE_GROUPS) {
+            File[] artifactDirs = new File(gradleCache, group.replace('/', '.')).listFiles(File::isDirectory);
+            if (artifactDirs == null) {
+                continue;
+            }
+
+            for (File artifactDir : artifactDirs) {
+                File[] hashDirs = new File(artifactDir, version).listFiles(File::isDirectory);
+                if (hashDirs == null) {
+                    continue;
+                }
+
+                for (File hashDir : hashDirs) {
+                    File[] files = hashDir.listFiles(FeatureRepositoryCache::isArtifact);
+                    for (File file : (files == null) ? new File[0] : files) {
+                        Path target = cacheDir.toPath().resolve(group).resolve(artifactDir.getName()).resolve(version)
+                                .resolve(file.getName());
+                        if (collect(file.toPath(), target, hashDir.getName())) {
+                            collected++;
+                        }
+                    }
+                }
+            }
+        }
+
+        return collected;
+    }
+
+    /**
+     * Puts the verified artifacts of the input local feature repository that are missing from the input local Maven
+     * repository back into it. Artifacts whose SHA-256 checksum does not match are removed from the local feature
+     * repository.
+     *
+     * @param cacheDir The local feature repository.
+     * @param repository The local Maven repository.
+     *
+     * @return The number of artifacts put back into the local Maven repository.
+     */
+    public static int restoreToMavenRepository(File cacheDir, File repository) {
+        List<Path> artifacts;
+        try (Stream<Path> paths = Files.walk(cacheDir.toPath())) {
+            artifacts = paths.filter(path -> isArtifact(path.toFile())).collect(Collectors.toList());
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the local feature repository " + cacheDir, e);
+            }
+            return 0;
+        }
+
+        int restored = 0;
+        for (Path artifact : artifacts) {
+            Path target = repository.toPath().resolve(cacheDir.toPath().relativize(artifact));
+            if (Files.exists(target)) {
+                continue;
+            }
+
+            File checksumFile = new File(artifact.toString() + CHECKSUM_SUFFIX);
+            String expected = readChecksum(checksumFile);
+            if (expected == null || !expected.equals(checksum(artifact, "SHA-256"))) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Removing feature artifact " + artifact + ". Its checksum does not match.");
+                }
+                artifact.toFile().delete();
+                checksumFile.delete();
+                continue;
+            }
+
+            try {
+                linkOrCopy(artifact, target);
+                restored++;
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to restore feature artifact " + artifact, e);
+                }
+            }
+        }
+
+        return restored;
+    }
+
+    /**
+     * Adds the input artifact to the local feature repository, with its SHA-256 checksum, if it is not there yet.
+     *
+     * @param source The artifact.
+     * @param target The location of the artifact in the local feature repository.
+     * @param expectedSha1 The expected SHA-1 checksum of the artifact, or null if it is not known.
+     *
+     * @return True if the artifact was added. False, otherwise.
+     */
+    private static boolean collect(Path source, Path target, String expectedSha1) {
+        if (Files.exists(target)) {
+            return false;
+        }
+
+        if (expectedSha1 != null && !expectedSha1.equalsIgnoreCase(checksum(source, "SHA-1"))) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Skipping feature artifact " + source + ". Its checksum does not match.");
+            }
+            return false;
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            Path tempTarget = target.resolveSibling(target.getFileName() + ".tmp");
+            linkOrCopy(source, tempTarget);
+            String sha256 = checksum(tempTarget, "SHA-256");
+            if (sha256 == null) {
+                Files.deleteIfExists(tempTarget);
+                return false;
+            }
+
+            Files.write(Paths.get(target.toString() + CHECKSUM_SUFFIX), sha256.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempTarget, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "Unable to add feature artifact " + source + " to the local feature repository.", e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Creates a hard link to the input file at the input target location, or a copy if the file system does not support
+     * it. The target directory is created if needed.
+     *
+     * @param source The file.
+     * @param target The target location.
+     *
+     * @throws IOException If neither a link nor a copy could be created.
+     */
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns true if the input file is a feature artifact. False, otherwise.
+     *
+     * @param file The file.
+     *
+     * @return True if the input file is a feature artifact. False, otherwise.
+     */
+    private static boolean isArtifact(File file) {
+        if (!file.isFile()) {
+            return false;
+        }
+
+        for (String extension : ARTIFACT_EXTENSIONS) {
+            if (file.getName().endsWith(extension)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the checksum stored in the input checksum file.
+     *
+     * @param checksumFile The checksum file.
+     *
+     * @return The checksum stored in the input checksum file, or null if the file does not exist or cannot be read.
+     */
+    private static String readChecksum(File checksumFile) {
+        if (!checksumFile.isFile()) {
+            return null;
+        }
+
+        try {
+            // Maven checksum files may be followed by the file name.
+            String content = new String(Files.readAllBytes(checksumFile.toPath()), StandardCharsets.UTF_8).trim();
+            return content.isEmpty() ? null : content.split("\\s+")[0];
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the checksum of the input file.
+     *
+     * @param file The file.
+     * @param algorithm The message digest algorithm.
+     *
+     * @return The hexadecimal checksum of the input file, or null if the file cannot be read.
+     */
+    private static String checksum(Path file, String algorithm) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance(algorithm);
+            byte[] buffer = new byte[64 * 1024];
+            for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to calculate the checksum of " + file, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Collecting: ").append(collecting);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Manages the set of dev mode processes that run without a terminal.
+ */
+public class HeadlessDevModeController {
+
+    /** Time in seconds to wait for dev mode processes to exit when the plugin is stopped. */
+    private static final int SHUTDOWN_WAIT_SECONDS = 10;
+
+    /** Headless process by project name. */
+    private final ConcurrentHashMap<String, HeadlessDevModeProcess> processMap = new ConcurrentHashMap<String, HeadlessDevModeProcess>();
+
+    /** HeadlessDevModeController instance. */
+    private static HeadlessDevModeController instance;
+
+    /**
+     * Constructor.
+     */
+    private HeadlessDevModeController() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized HeadlessDevModeController getInstance() {
+        if (instance == null) {
+            instance = new HeadlessDevModeController();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Runs the input dev mode command without a terminal. Any previous process for the project that already ended is replaced.
+     *
+     * @param projectName The application project name.
+     * @param projectPath The application project path.
+     * @param command The dev mode command.
+     * @param envs The environment variables (name=value) to be set on the process.
+     *
+     * @throws Exception If dev mode is already running for the project or the process could not be started.
+     */
+    public void run(String projectName, String projectPath, String command, List<String> envs) throws Exception {
+        HeadlessDevModeProcess headlessProcess = new HeadlessDevModeProcess(projectName);
+        HeadlessDevModeProcess previous = processMap.put(projectName, headlessProcess);
+        if (previous != null) {
+            if (!previous.getSession().isExited()) {
+                processMap.put(projectName, previous);
+                throw new Exception("Dev mode is already running without a terminal for project " + projectName);
+            }
+            previous.disposeConsole();
+        }
+
+        try {
+            headlessProcess.start(projectPath, command, envs);
+        } catch (Exception e) {
+            processMap.remove(projectName, headlessProcess);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the headless process associated with the input project.
+     *
+     * @param projectName The application project name.
+     *
+     * @return The headless process associated with the input project. Null if there is none.
+     */
+    public HeadlessDevModeProcess getProcess(String projectName) {
+        return processMap.get(projectName);
+    }
+
+    /**
+     * Returns the dev mode session of the headless process associated with the input project.
+     *
+     * @param projectName The application project name.
+     *
+     * @return The dev mode session of the headless process associated with the input project. Null if there is none.
+     */
+    public DevModeSession getSession(String projectName) {
+        HeadlessDevModeProcess headlessProcess = processMap.get(projectName);
+        return (headlessProcess == null) ? null : headlessProcess.getSession();
+    }
+
+    /**
+     * Returns true if a headless dev mode process is starting or running for the input project. False, otherwise.
+     *
+     * @param projectName The application project name.
+     *
+     * @return True if a headless dev mode process is starting or running for the input project. False, otherwise.
+     */
+    public boolean isActive(String projectName) {
+        DevModeSession session = getSession(projectName);
+        if (session == null) {
+            return false;
+        }
+
+        DevModeSession.State state = session.getState();
+        return state == DevModeSession.State.STARTING || state == DevModeSession.State.RUNNING;
+    }
+
+    /**
+     * Writes the input data to the standard input of the headless process associated with the input project.
+     *
+     * @param projectName The application project name.
+     * @param data The data to write.
+     *
+     * @throws Exception If there is no headless process for the project or the write failed.
+     */
+    public void write(String projectName, byte[] data) throws Exception {
+        HeadlessDevModeProcess headlessProcess = processMap.get(projectName);
+        if (headlessProcess == null) {
+            throw new Exception("No dev mode process running without a terminal was found for project " + projectName);
+        }
+
+        headlessProcess.write(data);
+    }
+
+    /**
+     * Shows the output of the headless process associated with the input project in a console.
+     *
+     * @param projectName The application project name.
+     *
+     * @throws Exception If there is no headless process for the project.
+     */
+    public void showOutput(String projectName) throws Exception {
+        HeadlessDevModeProcess headlessProcess = processMap.get(projectName);
+        if (headlessProcess == null) {
+            throw new Exception("No dev mode process running without a terminal was found for project " + projectName);
+        }
+
+        headlessProcess.showConsole();
+    }
+
+    /**
+     * Asks all running headless dev mode processes to exit and forcibly ends the ones that do not exit in time.
+     */
+    public void stopAll() {
+        for (HeadlessDevModeProcess headlessProcess : processMap.values()) {
+            if (headlessProcess.getSession().isExited()) {
+                continue;
+            }
+            try {
+                headlessProcess.getSession().transition(DevModeSession.State.STOPPING);
+                headlessProcess.write(DevModeOperations.DEVMODE_COMMAND_EXIT.getBytes());
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to issue the exit command to " + headlessProcess, e);
+                }
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_WAIT_SECONDS);
+        for (HeadlessDevModeProcess headlessProcess : processMap.values()) {
+            Process process = headlessProcess.getProcess();
+            if (process == null) {
+                continue;
+            }
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !process.waitFor(remaining, TimeUnit.NANOSECONDS)) {
+                    process.descendants().forEach(ProcessHandle::destroy);
+                    process.destroy();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroy();
+            }
+        }
+
+        processMap.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("processMap size: ").append(processMap.size()).append(", ");
+        sb.append("processMap: ").append(processMap);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,355 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.IOConsole;
+import org.eclipse.ui.console.IOConsoleOutputStream;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.utils.Utils;
+
+/**
+ * Runs dev mode for a project through a plain operating system process instead of a terminal. The process's standard input
+ * is kept open for dev mode commands. Its output is kept in a bounded in-memory buffer and in a log file under the plugin's
+ * state location. A console is only created when the user asks to view the output.
+ */
+public class HeadlessDevModeProcess {
+
+    /** Maximum number of output lines kept in memory. */
+    public static final int MAX_BUFFERED_LINES = 2000;
+
+    /** Name of the directory under the plugin's state location that holds dev mode output logs. */
+    public static final String OUTPUT_DIR_NAME = "devmode";
+
+    /** The NIX shell on which the dev mode command is processed. */
+    private static final String NIX_SHELL_COMMAND = "/bin/sh";
+
+    /** The Windows command processor on which the dev mode command is processed. */
+    private static final String WIN_SHELL_COMMAND = "cmd.exe";
+
+    /** The name of the project associated with this process. */
+    private final String projectName;
+
+    /** The dev mode session associated with this process. */
+    private final DevModeSession session;
+
+    /** The most recent output lines. */
+    private final ArrayDeque<String> outputBuffer = new ArrayDeque<String>();
+
+    /** The file to which the output is written. */
+    private final File outputFile;
+
+    /** The operating system process running dev mode. */
+    private Process process;
+
+    /** The process's standard input stream. */
+    private OutputStream processInput;
+
+    /** The console showing the output. Null until the user asks to view the output. */
+    private IOConsole console;
+
+    /** The console output stream. */
+    private IOConsoleOutputStream consoleStream;
+
+    /**
+     * Constructor.
+     *
+     * @param projectName The name of the project associated with this process.
+     */
+    public HeadlessDevModeProcess(String projectName) {
+        this.projectName = projectName;
+        this.session = new DevModeSession(projectName);
+        this.outputFile = getOutputFile(projectName);
+    }
+
+    /**
+     * Returns the file to which the dev mode output of the input project is written.
+     *
+     * @param projectName The project name.
+     *
+     * @return The file to which the dev mode output of the input project is written.
+     */
+    public static File getOutputFile(String projectName) {
+        File outputDir = LibertyDevPlugin.getDefault().getStateLocation().append(OUTPUT_DIR_NAME).toFile();
+        return new File(outputDir, projectName.replaceAll("[^A-Za-z0-9._-]", "_") + ".log");
+    }
+
+    /**
+     * Starts the input dev mode command.
+     *
+     * @param projectPath The application project path.
+     * @param command The dev mode command.
+     * @param envs The environment variables (name=value) to be set on the process.
+     *
+     * @throws IOException
+     */
+    public void start(String projectPath, String command, List<String> envs) throws IOException {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectName, projectPath, command, envs });
+        }
+
+        List<String> cmdLine = new ArrayList<String>();
+        if (Utils.isWindows()) {
+            cmdLine.add(WIN_SHELL_COMMAND);
+            cmdLine.add("/c");
+            cmdLine.add(command);
+        } else {
+            cmdLine.add(NIX_SHELL_COMMAND);
+            cmdLine.add("-c");
+            cmdLine.add("exec " + command);
+        }
+
+        ProcessBuilder pb = new ProcessBuilder(cmdLine);
+        pb.directory(new File(projectPath));
+        pb.redirectErrorStream(true);
+        for (String env : envs) {
+            int index = env.indexOf('=');
+            if (index > 0) {
+                pb.environment().put(env.substring(0, index), env.substring(index + 1));
+            }
+        }
+
+        outputFile.getParentFile().mkdirs();
+        Writer outputWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFile, false), StandardCharsets.UTF_8));
+
+        try {
+            process = pb.start();
+        } catch (IOException e) {
+            outputWriter.close();
+            session.transition(DevModeSession.State.EXITED);
+            throw e;
+        }
+
+        processInput = process.getOutputStream();
+        session.attachProcess(process);
+        startOutputReader(process.getInputStream(), outputWriter);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, process);
+        }
+    }
+
+    /**
+     * Starts the thread that reads the process output.
+     *
+     * @param input The process's output stream.
+     * @param outputWriter The writer to the output file.
+     */
+    private void startOutputReader(InputStream input, Writer outputWriter) {
+        Thread reader = new Thread(() -> {
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)); Writer writer = outputWriter) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    session.processOutputLine(line);
+                    appendOutput(line);
+                    writer.write(line);
+                    writer.write(System.lineSeparator());
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error reading the dev mode output of project " + projectName, e);
+                }
+            }
+        }, "Liberty dev mode output: " + projectName);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Adds the input line to the output buffer and to the console if one is attached.
+     *
+     * @param line The output line.
+     */
+    private void appendOutput(String line) {
+        IOConsoleOutputStream stream;
+        synchronized (outputBuffer) {
+            if (outputBuffer.size() == MAX_BUFFERED_LINES) {
+                outputBuffer.removeFirst();
+            }
+            outputBuffer.addLast(line);
+            stream = consoleStream;
+        }
+
+        if (stream != null) {
+            try {
+                stream.write(line + System.lineSeparator());
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error writing to the dev mode console of project " + projectName, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the input data to the process's standard input.
+     *
+     * @param data The data to write.
+     *
+     * @throws Exception
+     */
+    public void write(byte[] data) throws Exception {
+        if (processInput == null) {
+            throw new Exception("Unable to write to the dev mode process associated with project " + projectName
+                    + ". The process was not started.");
+        }
+
+        synchronized (processInput) {
+            processInput.write(data);
+            processInput.flush();
+        }
+    }
+
+    /**
+     * Returns the dev mode session associated with this process.
+     *
+     * @return The dev mode session associated with this process.
+     */
+    public DevModeSession getSession() {
+        return session;
+    }
+
+    /**
+     * Returns the operating system process running dev mode.
+     *
+     * @return The operating system process running dev mode. Null if not started.
+     */
+    public Process getProcess() {
+        return process;
+    }
+
+    /**
+     * Returns the file to which the output is written.
+     *
+     * @return The file to which the output is written.
+     */
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    /**
+     * Returns a copy of the most recent output lines.
+     *
+     * @return A copy of the most recent output lines.
+     */
+    public List<String> getBufferedOutput() {
+        synchronized (outputBuffer) {
+            return new ArrayList<String>(outputBuffer);
+        }
+    }
+
+    /**
+     * Shows the output in a console. The console is created on the first call. It is populated with the buffered output and
+     * then receives new output as it is produced. Input typed in the console is forwarded to dev mode.
+     */
+    public void showConsole() {
+        IOConsole ioConsole;
+        synchronized (outputBuffer) {
+            if (console == null) {
+                console = new IOConsole(NLS.bind(Messages.headless_console_name, projectName), null);
+                ConsolePlugin.getDefault().getConsoleManager().addConsoles(new IConsole[] { console });
+                consoleStream = console.newOutputStream();
+                try {
+                    for (String line : outputBuffer) {
+                        consoleStream.write(line + System.lineSeparator());
+                    }
+                } catch (IOException e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error writing to the dev mode console of project " + projectName, e);
+                    }
+                }
+                startConsoleInputForwarder(console.getInputStream());
+            }
+            ioConsole = console;
+        }
+
+        ConsolePlugin.getDefault().getConsoleManager().showConsoleView(ioConsole);
+    }
+
+    /**
+     * Starts the thread that forwards the input typed in the console to the dev mode process.
+     *
+     * @param consoleInput The console input stream.
+     */
+    private void startConsoleInputForwarder(InputStream consoleInput) {
+        Thread forwarder = new Thread(() -> {
+            byte[] buffer = new byte[1024];
+            try {
+                int read;
+                while ((read = consoleInput.read(buffer)) != -1 && !session.isExited()) {
+                    write(Arrays.copyOf(buffer, read));
+                }
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Stopped forwarding console input for project " + projectName, e);
+                }
+            }
+        }, "Liberty dev mode input: " + projectName);
+        forwarder.setDaemon(true);
+        forwarder.start();
+    }
+
+    /**
+     * Removes the console associated with this process, if any.
+     */
+    public void disposeConsole() {
+        IOConsole ioConsole;
+        synchronized (outputBuffer) {
+            ioConsole = console;
+            console = null;
+            consoleStream = null;
+        }
+
+        if (ioConsole != null) {
+            Display display = PlatformUI.getWorkbench().getDisplay();
+            display.asyncExec(() -> ConsolePlugin.getDefault().getConsoleManager().removeConsoles(new IConsole[] { ioConsole }));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("projectName: ").append(projectName).append(", ");
+        sb.append("Session: ").append(session.getState()).append(", ");
+        sb.append("Process: ").append(process).append(", ");
+        sb.append("OutputFile: ").append(outputFile);
+        return sb.toString();
+    }
+}
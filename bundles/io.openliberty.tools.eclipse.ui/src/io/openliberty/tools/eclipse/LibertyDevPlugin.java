@@ -90,11 +90,45 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
 
         // Register a workspace listener for cleanup.
         registerListeners();
+
+        // Reattach to the dev mode processes kept running by an earlier workbench session, or end them.
+        if (ReattachedDevModeController.isKeepRunningEnabled()) {
+            ReattachedDevModeController.getInstance().scheduleWorkspaceReattach();
+        } else {
+            DevModeProcessRegistry.getInstance().scheduleWorkspaceReap();
+        }
+
+        // Start indexing Liberty logs in the background.
+        LogIndexer.getInstance().start();
+
+        // Start checking for idle dev mode instances.
+        DevModeIdleMonitor.getInstance().start();
+
+        // Restart servers when files that are only read on server start change.
+        DevModeServerRestarter.getInstance().start();
+
+        // Turn the workspace auto-build back on if the last workbench session ended while dev mode had it suspended.
+        AutoBuildSuspender.getInstance().restoreAfterAbruptEnd();
+
+        // Track source changes to find the upstream modules that do not need to be rebuilt.
+        ReactorUpToDateChecker.getInstance().start();
+
+        // Delete the shared Liberty runtimes that were not used for a while.
+        SharedRuntimeCache.getInstance().scheduleGarbageCollection();
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
         DevModeOperations.getInstance().cancelRunningJobs();
+        LogIndexer.getInstance().stop();
+        DevModeIdleMonitor.getInstance().stop();
+        DevModeServerRestarter.getInstance().stop();
+        ReactorUpToDateChecker.getInstance().stop();
+        LibertyRuntimeProvisioner.getInstance().cancelAll();
+        AutoBuildSuspender.getInstance().releaseAll();
+        if (!ReattachedDevModeController.isKeepRunningEnabled()) {
+            HeadlessDevModeController.getInstance().stopAll();
+        }
         unregisterListeners();
         plugin = null;
         super.stop(context);
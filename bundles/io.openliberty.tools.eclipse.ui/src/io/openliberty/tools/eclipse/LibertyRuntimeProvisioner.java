@@ -0,0 +1,320 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.jdt.launching.JavaRuntime;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Installs the Liberty runtime and the server features of new Liberty server projects in the background, so that the first
+ * dev mode start of the project only needs to compile and launch. Provisioning runs at a low priority, a limited number of
+ * projects at a time, and it gives way when the user starts dev mode.
+ */
+public class LibertyRuntimeProvisioner {
+
+    /** Maximum number of projects provisioned at the same time. */
+    public static final int MAX_CONCURRENT_PROVISIONING = 2;
+
+    /** Time in milliseconds after which provisioning that gave way to a dev mode start is tried again. */
+    public static final long RESCHEDULE_DELAY_MS = 5 * 60 * 1000;
+
+    /** Time in seconds to wait for a cancelled provisioning process to end. */
+    private static final long CANCEL_TIMEOUT_SECONDS = 30;
+
+    /** Maven goals that create the server and install its features. */
+    private static final String MAVEN_PROVISIONING_GOALS = "io.openliberty.tools:liberty-maven-plugin:create "
+            + "io.openliberty.tools:liberty-maven-plugin:install-feature";
+
+    /** Gradle tasks that create the server and install its features. */
+    private static final String GRADLE_PROVISIONING_TASKS = "libertyCreate installFeature";
+
+    /** The group that bounds the number of concurrent provisioning jobs. */
+    private final JobGroup jobGroup = new JobGroup("Liberty runtime provisioning", MAX_CONCURRENT_PROVISIONING, 0);
+
+    /** Scheduled or running provisioning jobs keyed by project name. */
+    private final Map<String, ProvisioningJob> jobs = new ConcurrentHashMap<String, ProvisioningJob>();
+
+    /** Projects that were considered for provisioning during this workbench session. */
+    private final Set<String> considered = ConcurrentHashMap.newKeySet();
+
+    /** LibertyRuntimeProvisioner instance. */
+    private static LibertyRuntimeProvisioner instance;
+
+    /**
+     * Constructor.
+     */
+    private LibertyRuntimeProvisioner() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized LibertyRuntimeProvisioner getInstance() {
+        if (instance == null) {
+            instance = new LibertyRuntimeProvisioner();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if new Liberty server projects should be provisioned in the background. False, otherwise.
+     *
+     * @return True if new Liberty server projects should be provisioned in the background. False, otherwise.
+     */
+    public static boolean isEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.PROVISION_IN_BACKGROUND);
+    }
+
+    /**
+     * Returns true if the Liberty runtime of the input project is installed. False, otherwise.
+     *
+     * @param project The project.
+     *
+     * @return True if the Liberty runtime of the input project is installed. False, otherwise.
+     */
+    public static boolean isProvisioned(Project project) {
+        String serversPath = project.getLibertyServersPath();
+        if (serversPath == null) {
+            return true;
+        }
+
+        // The servers path is <wlp>/usr/servers. An installed runtime has a <wlp>/lib directory.
+        File wlpDir = Paths.get(serversPath).getParent().getParent().toFile();
+        return new File(wlpDir, "lib").isDirectory();
+    }
+
+    /**
+     * Returns the build tool arguments that create the server and install its features.
+     *
+     * @param buildType The build type.
+     *
+     * @return The build tool arguments that create the server and install its features.
+     */
+    public static String getProvisioningArgs(BuildType buildType) {
+        return (buildType == BuildType.GRADLE) ? GRADLE_PROVISIONING_TASKS : MAVEN_PROVISIONING_GOALS;
+    }
+
+    /**
+     * Schedules the provisioning of the input Liberty server projects that were not considered during this workbench session
+     * and whose runtime is not installed. Nothing is done if background provisioning is disabled.
+     *
+     * @param projects The projects.
+     */
+    public void provisionNewProjects(Collection<Project> projects) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        for (Project project : projects) {
+            if (project.isLibertyServerModule() && considered.add(project.getName()) && !isProvisioned(project)
+                    && !(SharedRuntimeCache.isEnabled() && SharedRuntimeCache.getInstance().isInstalled(project))) {
+                schedule(project, 0);
+            }
+        }
+    }
+
+    /**
+     * Makes provisioning give way to a dev mode start of the input project. Provisioning of the project is cancelled, since
+     * the start installs the runtime itself. Provisioning of other projects is cancelled and tried again later. Returns
+     * once the cancelled provisioning processes ended, or after a timeout.
+     *
+     * @param projectName The name of the project being started.
+     */
+    public void userStarting(String projectName) {
+        for (ProvisioningJob job : new ArrayList<ProvisioningJob>(jobs.values())) {
+            job.cancelAndWait();
+            if (!job.project.getName().equals(projectName)) {
+                schedule(job.project, RESCHEDULE_DELAY_MS);
+            }
+        }
+    }
+
+    /**
+     * Cancels all provisioning.
+     */
+    public void cancelAll() {
+        for (ProvisioningJob job : jobs.values()) {
+            job.cancel();
+        }
+    }
+
+    /**
+     * Schedules the provisioning of the input project.
+     *
+     * @param project The project.
+     * @param delay The delay in milliseconds before provisioning starts.
+     */
+    private void schedule(Project project, long delay) {
+        ProvisioningJob job = new ProvisioningJob(project);
+        jobs.put(project.getName(), job);
+        job.schedule(delay);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Scheduled the provisioning of project " + project.getName() + " in " + delay + " ms.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Jobs: ").append(jobs.keySet()).append(", ");
+        sb.append("Considered: ").append(considered);
+        return sb.toString();
+    }
+
+    /**
+     * Runs the build tool command that creates the server of a project and installs its features.
+     */
+    private class ProvisioningJob extends Job {
+
+        /** The project to provision. */
+        private final Project project;
+
+        /** The process running the provisioning command. */
+        private volatile Process process;
+
+        /**
+         * Constructor.
+         *
+         * @param project The project to provision.
+         */
+        ProvisioningJob(Project project) {
+            super("Provisioning the Liberty runtime for " + project.getName());
+            this.project = project;
+            setPriority(Job.DECORATE);
+            setJobGroup(jobGroup);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            String projectName = project.getName();
+            File outputFile = null;
+            try {
+                if (monitor.isCanceled() || isProvisioned(project)) {
+                    return Status.CANCEL_STATUS;
+                }
+
+                String projectPath = project.getPath();
+                String pathEnv = System.getenv("PATH");
+                String args = getProvisioningArgs(project.getBuildType());
+                String cmd = (project.getBuildType() == BuildType.GRADLE)
+                        ? CommandBuilder.getGradleCommandLine(projectPath, args, pathEnv, false)
+                        : CommandBuilder.getMavenCommandLine(projectPath, args, pathEnv, false);
+
+                // The output goes to a file so that the process can never block on a full pipe.
+                outputFile = File.createTempFile("liberty-provision-", ".log");
+                ProcessBuilder pb = new ProcessBuilder(cmd.split(" "));
+                pb.directory(new File(projectPath));
+                pb.redirectErrorStream(true);
+                pb.redirectOutput(outputFile);
+                pb.environment().put("JAVA_HOME", JavaRuntime.getDefaultVMInstall().getInstallLocation().getAbsolutePath());
+                process = pb.start();
+
+                while (!process.waitFor(1, TimeUnit.SECONDS)) {
+                    if (monitor.isCanceled()) {
+                        process.destroy();
+                        return Status.CANCEL_STATUS;
+                    }
+                }
+
+                if (process.exitValue() == 0) {
+                    LocalDependencyIndex.getInstance().invalidate(projectName);
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Provisioned the Liberty runtime of project " + projectName);
+                    }
+                } else if (Trace.isEnabled() && !monitor.isCanceled()) {
+                    String output = new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8);
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "The provisioning of project " + projectName + " failed with exit value "
+                            + process.exitValue() + ". Output: " + output);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Status.CANCEL_STATUS;
+            } catch (Exception e) {
+                // Provisioning is an optimization. The first start installs the runtime if provisioning failed.
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to provision the Liberty runtime of project " + projectName, e);
+                }
+            } finally {
+                jobs.remove(projectName, this);
+                if (outputFile != null) {
+                    outputFile.delete();
+                }
+            }
+
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void canceling() {
+            Process p = process;
+            if (p != null) {
+                p.destroy();
+            }
+        }
+
+        /**
+         * Cancels this job and waits for its process to end.
+         */
+        void cancelAndWait() {
+            jobs.remove(project.getName(), this);
+            cancel();
+            Process p = process;
+            if (p == null) {
+                return;
+            }
+
+            try {
+                if (!p.waitFor(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    p.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
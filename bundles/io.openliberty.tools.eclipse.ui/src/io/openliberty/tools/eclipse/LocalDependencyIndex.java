@@ -0,0 +1,460 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Keeps track of whether the artifacts that a dev mode build needs are in the local Maven repository or the Gradle
+ * cache: the Liberty build plugin, the Liberty runtime, and the resolved dependencies of the project. When they are, dev
+ * mode can be started offline, which avoids checking remote repositories for updates. The result of each check is kept
+ * until the project's build file changes or the check gets old.
+ */
+public class LocalDependencyIndex {
+
+    /** Time in milliseconds after which the result of a check is no longer used. */
+    public static final long MAX_CHECK_AGE_MS = 60 * 60 * 1000;
+
+    /** Liberty Maven plugin directory, relative to the local Maven repository. */
+    private static final String MAVEN_PLUGIN_PATH = "io/openliberty/tools/liberty-maven-plugin";
+
+    /** Liberty runtime artifact directory, relative to the local Maven repository. */
+    private static final String MAVEN_RUNTIME_PATH = "io/openliberty/openliberty-kernel";
+
+    /** Liberty Gradle plugin directory, relative to the Gradle module cache. */
+    private static final String GRADLE_PLUGIN_PATH = "io.openliberty.tools/liberty-gradle-plugin";
+
+    /** Liberty runtime artifact directory, relative to the Gradle module cache. */
+    private static final String GRADLE_RUNTIME_PATH = "io.openliberty/openliberty-kernel";
+
+    /** Property references in Maven settings files, such as ${user.home} or ${env.M2_REPO}. */
+    private static final Pattern SETTINGS_PROPERTY = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    /** Build files whose changes invalidate the result of a check. */
+    private static final String[] BUILD_FILES = { "pom.xml", "build.gradle", "build.gradle.kts" };
+
+    /** The results of the checks, keyed by project name. */
+    private final Map<String, Check> checks = new ConcurrentHashMap<String, Check>();
+
+    /** Projects that must be started online because an offline start failed. */
+    private final Set<String> onlineRequired = ConcurrentHashMap.newKeySet();
+
+    /** LocalDependencyIndex instance. */
+    private static LocalDependencyIndex instance;
+
+    /**
+     * Constructor.
+     */
+    private LocalDependencyIndex() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized LocalDependencyIndex getInstance() {
+        if (instance == null) {
+            instance = new LocalDependencyIndex();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if dev mode should be started offline when the artifacts its build needs are available locally. False,
+     * otherwise.
+     *
+     * @return True if dev mode should be started offline when the artifacts its build needs are available locally. False,
+     *         otherwise.
+     */
+    public static boolean isAutoOfflineEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.AUTO_OFFLINE);
+    }
+
+    /**
+     * Returns true if the input project can be started offline. False, otherwise.
+     *
+     * @param project The project.
+     *
+     * @return True if the input project can be started offline. False, otherwise.
+     */
+    public boolean isOfflineReady(Project project) {
+        return !onlineRequired.contains(project.getName()) && getMissingArtifacts(project) == null;
+    }
+
+    /**
+     * Returns a description of the artifacts needed by the dev mode build of the input project that are not available
+     * locally. The result of an earlier check is returned if it is still current.
+     *
+     * @param project The project.
+     *
+     * @return A description of the artifacts that are not available locally, or null if all of them are.
+     */
+    public String getMissingArtifacts(Project project) {
+        long buildFileStamp = getBuildFileStamp(project);
+        Check check = checks.get(project.getName());
+        if (check != null && check.buildFileStamp == buildFileStamp
+                && System.currentTimeMillis() - check.checkTime < MAX_CHECK_AGE_MS) {
+            return check.missing;
+        }
+
+        check = new Check(buildFileStamp, findMissingArtifacts(project));
+        checks.put(project.getName(), check);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Checked the local artifacts of project " + project.getName() + ". Missing: "
+                    + check.missing);
+        }
+
+        return check.missing;
+    }
+
+    /**
+     * Discards the result of the last check of the input project.
+     *
+     * @param projectName The project name.
+     */
+    public void invalidate(String projectName) {
+        checks.remove(projectName);
+    }
+
+    /**
+     * Starts dev mode online again if the input session, started offline, ends before the server is ready. The project is
+     * started online until an online start succeeds.
+     *
+     * @param projectName The project name.
+     * @param session The session started offline.
+     * @param onlineStart The operation that submits the start of the project again. It runs on the thread that reports
+     *        the end of the session, so it must not start dev mode itself.
+     */
+    public void retryOnlineOnFailure(String projectName, DevModeSession session, Runnable onlineStart) {
+        if (session == null) {
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                s.removeListener(this);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState != DevModeSession.State.EXITED) {
+                    return;
+                }
+
+                s.removeListener(this);
+
+                // A session that was asked to stop did not fail.
+                if (oldState == DevModeSession.State.STOPPING || s.isServerReady()) {
+                    return;
+                }
+
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                            "The offline dev mode start of project " + projectName + " failed. Starting it again online.");
+                }
+
+                onlineRequired.add(projectName);
+                invalidate(projectName);
+                onlineStart.run();
+            }
+        });
+    }
+
+    /**
+     * Records that the input project was started online and its server became ready. Its next start may be offline again.
+     *
+     * @param projectName The project name.
+     * @param session The session started online.
+     */
+    public void onlineStarted(String projectName, DevModeSession session) {
+        if (session == null || !onlineRequired.contains(projectName)) {
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                onlineRequired.remove(projectName);
+                invalidate(projectName);
+                s.removeListener(this);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the local Maven repository. As with Maven, the maven.repo.local system property is used first, then the
+     * localRepository setting of the user settings file, then that of the global settings file of the Maven installation.
+     *
+     * @return The local Maven repository.
+     */
+    public static File getMavenRepository() {
+        String repo = System.getProperty("maven.repo.local");
+        if (repo == null || repo.isBlank()) {
+            repo = getLocalRepositorySetting(Paths.get(System.getProperty("user.home"), ".m2", "settings.xml").toFile());
+        }
+
+        if (repo == null) {
+            String mavenHome = System.getProperty("maven.home");
+            if (mavenHome == null || mavenHome.isBlank()) {
+                mavenHome = System.getenv("MAVEN_HOME");
+            }
+            if (mavenHome != null && !mavenHome.isBlank()) {
+                repo = getLocalRepositorySetting(Paths.get(mavenHome, "conf", "settings.xml").toFile());
+            }
+        }
+
+        if (repo == null) {
+            repo = Paths.get(System.getProperty("user.home"), ".m2", "repository").toString();
+        }
+
+        return new File(repo);
+    }
+
+    /**
+     * Returns the localRepository setting of the input Maven settings file, with the ${user.home} and ${env.*} references
+     * it contains replaced by their values.
+     *
+     * @param settings The Maven settings file.
+     *
+     * @return The local Maven repository set in the input file, or null if the file does not exist, does not set it, or
+     *         could not be read.
+     */
+    static String getLocalRepositorySetting(File settings) {
+        if (!settings.isFile()) {
+            return null;
+        }
+
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Element root = factory.newDocumentBuilder().parse(settings).getDocumentElement();
+            for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child.getNodeType() != Node.ELEMENT_NODE || !"localRepository".equals(child.getNodeName())) {
+                    continue;
+                }
+
+                String repo = child.getTextContent().trim();
+                return repo.isEmpty() ? null : expandSettingsProperties(repo);
+            }
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the Maven settings file " + settings, e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the input settings value with its ${user.home}, ${env.*} and system property references replaced by their
+     * values. References without a value are left as they are.
+     *
+     * @param value The settings value.
+     *
+     * @return The input settings value with its references replaced.
+     */
+    private static String expandSettingsProperties(String value) {
+        Matcher m = SETTINGS_PROPERTY.matcher(value);
+        StringBuffer sb = new StringBuffer();
+        while (m.find()) {
+            String name = m.group(1);
+            String replacement = name.startsWith("env.") ? System.getenv(name.substring("env.".length())) : System.getProperty(name);
+            m.appendReplacement(sb, Matcher.quoteReplacement((replacement == null) ? m.group() : replacement));
+        }
+        m.appendTail(sb);
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns the Gradle module cache.
+     *
+     * @return The Gradle module cache.
+     */
+    public static File getGradleCache() {
+        String gradleUserHome = System.getenv("GRADLE_USER_HOME");
+        if (gradleUserHome == null || gradleUserHome.isBlank()) {
+            gradleUserHome = Paths.get(System.getProperty("user.home"), ".gradle").toString();
+        }
+
+        return Paths.get(gradleUserHome, "caches", "modules-2", "files-2.1").toFile();
+    }
+
+    /**
+     * Returns a description of the artifacts needed by the dev mode build of the input project that are not available
+     * locally.
+     *
+     * @param project The project.
+     *
+     * @return A description of the artifacts that are not available locally, or null if all of them are.
+     */
+    String findMissingArtifacts(Project project) {
+        boolean gradle = project.getBuildType() == BuildType.GRADLE;
+        File repository = gradle ? getGradleCache() : getMavenRepository();
+        if (!new File(repository, gradle ? GRADLE_PLUGIN_PATH : MAVEN_PLUGIN_PATH).isDirectory()) {
+            return "The Liberty " + (gradle ? "Gradle" : "Maven") + " plugin was not found in " + repository + ".";
+        }
+
+        // The runtime is not needed if an earlier build of the project installed it.
+        String serversPath = project.getLibertyServersPath();
+        boolean runtimeInstalled = serversPath != null && new File(serversPath).getParentFile().isDirectory();
+        if (!runtimeInstalled && !new File(repository, gradle ? GRADLE_RUNTIME_PATH : MAVEN_RUNTIME_PATH).isDirectory()) {
+            return "The Liberty runtime was not found in " + repository + " and is not installed in the project.";
+        }
+
+        String missingDependency = findMissingDependency(project.getIProject(), repository);
+        if (missingDependency != null) {
+            return "The project dependency " + missingDependency + " was not found in " + repository + ".";
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the first library on the resolved classpath of the input project that is expected in the input repository
+     * but is not there.
+     *
+     * @param iProject The project.
+     * @param repository The local Maven repository or Gradle cache.
+     *
+     * @return The path of the first missing library, or null if there is none or the classpath is not available.
+     */
+    private String findMissingDependency(IProject iProject, File repository) {
+        try {
+            if (iProject == null || !iProject.isOpen() || !iProject.hasNature(JavaCore.NATURE_ID)) {
+                return null;
+            }
+
+            IJavaProject javaProject = JavaCore.create(iProject);
+            String repositoryPath = repository.getAbsolutePath();
+            for (IClasspathEntry entry : javaProject.getResolvedClasspath(true)) {
+                if (entry.getEntryKind() != IClasspathEntry.CPE_LIBRARY) {
+                    continue;
+                }
+
+                File library = entry.getPath().toFile();
+                if (library.getAbsolutePath().startsWith(repositoryPath) && !library.exists()) {
+                    return library.getPath();
+                }
+            }
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the classpath of project " + iProject.getName(), e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns a value that changes when one of the build files of the input project changes.
+     *
+     * @param project The project.
+     *
+     * @return A value that changes when one of the build files of the input project changes.
+     */
+    private long getBuildFileStamp(Project project) {
+        long stamp = 0;
+        String projectPath = project.getPath();
+        if (projectPath != null) {
+            for (String buildFile : BUILD_FILES) {
+                stamp = 31 * stamp + new File(projectPath, buildFile).lastModified();
+            }
+        }
+
+        return stamp;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Checked: ").append(checks.keySet()).append(", ");
+        sb.append("OnlineRequired: ").append(onlineRequired);
+        return sb.toString();
+    }
+
+    /**
+     * The result of a check of the local artifacts of a project.
+     */
+    private static class Check {
+
+        /** The build file stamp when the check was made. */
+        final long buildFileStamp;
+
+        /** The time when the check was made. */
+        final long checkTime;
+
+        /** A description of the missing artifacts. Null if none are missing. */
+        final String missing;
+
+        /**
+         * Constructor.
+         *
+         * @param buildFileStamp The build file stamp when the check was made.
+         * @param missing A description of the missing artifacts. Null if none are missing.
+         */
+        Check(long buildFileStamp, String missing) {
+            this.buildFileStamp = buildFileStamp;
+            this.checkTime = System.currentTimeMillis();
+            this.missing = missing;
+        }
+    }
+}
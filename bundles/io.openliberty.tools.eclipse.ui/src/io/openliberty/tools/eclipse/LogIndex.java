@@ -0,0 +1,712 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact inverted index over Liberty log files. Each token maps to a sorted list of postings. A posting encodes the
+ * identifier of the indexed file and the offset of the line in which the token was found.
+ */
+public class LogIndex {
+
+    /** Index file format version. */
+    private static final int FORMAT_VERSION = 2;
+
+    /** Number of low order bits of a posting that hold the line offset. */
+    private static final int OFFSET_BITS = 40;
+
+    /** Mask used to extract the line offset from a posting. */
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    /** Minimum length of an indexed token. */
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    /** Maximum length of an indexed token. */
+    private static final int MAX_TOKEN_LENGTH = 128;
+
+    /** Maximum number of characters of a matching line returned with a search hit. */
+    private static final int MAX_LINE_TEXT_LENGTH = 512;
+
+    /** Pattern used to split log lines into raw tokens. */
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("[A-Za-z0-9_$.\\-]+");
+
+    /** Indexed files. The position of a file in this list is its identifier. */
+    private final List<IndexedFile> files = new ArrayList<IndexedFile>();
+
+    /** Identifiers of the live (not superseded) indexed files, keyed by file path. */
+    private final Map<String, Integer> liveFileIds = new HashMap<String, Integer>();
+
+    /** Token postings. */
+    private final Map<String, Postings> postings = new HashMap<String, Postings>();
+
+    /** Number of identifiers of files whose content was replaced (i.e. rotated or truncated). */
+    private int deadFileCount;
+
+    /** True if the index was updated since it was last saved. */
+    private boolean dirty;
+
+    /**
+     * Represents a file known to the index.
+     */
+    private static class IndexedFile {
+        final String path;
+        long indexedLength;
+        long lastModified;
+        String identity = "";
+        boolean dead;
+
+        IndexedFile(String path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * Growable sorted list of postings for a single token.
+     */
+    private static class Postings {
+        long[] values = new long[4];
+        int size;
+
+        void add(long posting) {
+            if (size > 0 && values[size - 1] == posting) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = posting;
+        }
+
+        /**
+         * Merges the input sorted postings into this list.
+         *
+         * @param batch The sorted postings to merge.
+         */
+        void merge(long[] batch) {
+            if (size == 0 || values[size - 1] < batch[0]) {
+                // Common case: the content was appended to the most recently indexed file.
+                if (size + batch.length > values.length) {
+                    values = Arrays.copyOf(values, Math.max(values.length * 2, size + batch.length));
+                }
+                System.arraycopy(batch, 0, values, size, batch.length);
+                size += batch.length;
+                return;
+            }
+
+            long[] merged = new long[Math.max(values.length, size + batch.length)];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < size || j < batch.length) {
+                if (j == batch.length || (i < size && values[i] <= batch[j])) {
+                    merged[count++] = values[i++];
+                } else {
+                    merged[count++] = batch[j++];
+                }
+            }
+            values = merged;
+            size = count;
+        }
+    }
+
+    /**
+     * Represents a search hit.
+     */
+    public static class Hit {
+        private final String path;
+        private final long offset;
+        private final String lineText;
+
+        Hit(String path, long offset, String lineText) {
+            this.path = path;
+            this.offset = offset;
+            this.lineText = lineText;
+        }
+
+        /**
+         * Returns the path of the file containing the hit.
+         *
+         * @return The path of the file containing the hit.
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the offset of the line containing the hit.
+         *
+         * @return The offset of the line containing the hit.
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * Returns the text of the line containing the hit.
+         *
+         * @return The text of the line containing the hit.
+         */
+        public String getLineText() {
+            return lineText;
+        }
+
+        @Override
+        public String toString() {
+            return new File(path).getName() + " [" + offset + "]: " + lineText;
+        }
+    }
+
+    /**
+     * Returns the set of searchable tokens found in the input text. Tokens are lower cased. Dotted names such as exception
+     * class names are indexed both as a whole and by their individual segments. Pure numbers (i.e. timestamps, thread IDs)
+     * are not indexed.
+     *
+     * @param text The text to tokenize.
+     *
+     * @return The set of searchable tokens found in the input text.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<String>();
+        Matcher matcher = TOKEN_PATTERN.matcher(text);
+        while (matcher.find()) {
+            String raw = trimToken(matcher.group());
+            addToken(tokens, raw);
+            if (raw.indexOf('.') != -1) {
+                for (String segment : raw.split("\\.")) {
+                    addToken(tokens, segment);
+                }
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Removes leading and trailing punctuation from the input raw token.
+     *
+     * @param raw The raw token.
+     *
+     * @return The trimmed token.
+     */
+    private static String trimToken(String raw) {
+        int start = 0;
+        int end = raw.length();
+        while (start < end && (raw.charAt(start) == '.' || raw.charAt(start) == '-')) {
+            start++;
+        }
+        while (end > start && (raw.charAt(end - 1) == '.' || raw.charAt(end - 1) == '-')) {
+            end--;
+        }
+
+        return raw.substring(start, end);
+    }
+
+    /**
+     * Adds the input token to the set if it is indexable.
+     *
+     * @param tokens The set of tokens.
+     * @param token The token to add.
+     */
+    private static void addToken(Set<String> tokens, String token) {
+        int length = token.length();
+        if (length < MIN_TOKEN_LENGTH || length > MAX_TOKEN_LENGTH) {
+            return;
+        }
+
+        boolean numeric = true;
+        for (int i = 0; i < length && numeric; i++) {
+            char c = token.charAt(i);
+            numeric = Character.isDigit(c) || c == '.' || c == '-';
+        }
+
+        if (!numeric) {
+            tokens.add(token.toLowerCase());
+        }
+    }
+
+    /**
+     * Returns the file system paths of the files known to be indexed and current.
+     *
+     * @return The file system paths of the files known to be indexed and current.
+     */
+    public synchronized Set<String> getIndexedPaths() {
+        return new LinkedHashSet<String>(liveFileIds.keySet());
+    }
+
+    /**
+     * Brings the index up to date with the content of the input file. Only content appended since the last update is read.
+     * If the file was truncated or replaced (i.e. log rotation), its previous postings are discarded and the file is
+     * indexed from the beginning. A replaced file is recognized by its file key or creation time, so that a new file that
+     * already grew past the indexed length of the old one is not mistaken for appended content. Only complete lines are
+     * indexed.
+     *
+     * @param file The file to index.
+     *
+     * @return True if the index was updated. False, otherwise.
+     *
+     * @throws IOException
+     */
+    public boolean update(File file) throws IOException {
+        String path = file.getAbsolutePath();
+        long length = file.length();
+        long lastModified = file.lastModified();
+        String identity = getFileIdentity(file);
+        long startOffset = 0;
+
+        synchronized (this) {
+            Integer fileId = liveFileIds.get(path);
+            if (fileId != null) {
+                IndexedFile indexedFile = files.get(fileId);
+                boolean sameFile = identity.equals(indexedFile.identity);
+                if (sameFile && length == indexedFile.indexedLength && lastModified == indexedFile.lastModified) {
+                    return false;
+                }
+                if (sameFile && length >= indexedFile.indexedLength) {
+                    startOffset = indexedFile.indexedLength;
+                }
+            }
+        }
+
+        // Read the new content outside of the lock so that searches are not blocked.
+        Map<String, List<Long>> newPostings = new HashMap<String, List<Long>>();
+        long indexedLength = readLines(file, startOffset, length, newPostings);
+
+        synchronized (this) {
+            Integer fileId = liveFileIds.get(path);
+            if (fileId == null || startOffset == 0) {
+                if (fileId != null) {
+                    files.get(fileId).dead = true;
+                    deadFileCount++;
+                }
+                fileId = files.size();
+                files.add(new IndexedFile(path));
+                liveFileIds.put(path, fileId);
+            }
+
+            long fileBits = ((long) fileId) << OFFSET_BITS;
+            for (Map.Entry<String, List<Long>> entry : newPostings.entrySet()) {
+                List<Long> offsets = entry.getValue();
+                long[] batch = new long[offsets.size()];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = fileBits | offsets.get(i);
+                }
+                postings.computeIfAbsent(entry.getKey(), k -> new Postings()).merge(batch);
+            }
+
+            IndexedFile indexedFile = files.get(fileId);
+            indexedFile.indexedLength = indexedLength;
+            indexedFile.lastModified = lastModified;
+            indexedFile.identity = identity;
+            dirty = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a value that changes when the input file is replaced by a new file with the same name. The file key (e.g.
+     * the inode) is used where the file system provides one, and the creation time otherwise.
+     *
+     * @param file The file.
+     *
+     * @return A value that changes when the input file is replaced by a new file with the same name. Empty if the file
+     *         attributes could not be read.
+     */
+    private static String getFileIdentity(File file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            Object fileKey = attributes.fileKey();
+            return (fileKey != null) ? fileKey.toString() : Long.toString(attributes.creationTime().toMillis());
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Reads complete lines from the input file between the specified offsets and collects the line offsets of their
+     * tokens.
+     *
+     * @param file The file to read.
+     * @param startOffset The offset at which to start reading.
+     * @param endOffset The offset at which to stop reading.
+     * @param newPostings The map in which the line offsets of each token are collected.
+     *
+     * @return The offset after the last complete line read.
+     *
+     * @throws IOException
+     */
+    private long readLines(File file, long startOffset, long endOffset, Map<String, List<Long>> newPostings) throws IOException {
+        long indexedLength = startOffset;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(startOffset);
+            byte[] buffer = new byte[64 * 1024];
+            ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+            long position = startOffset;
+            long lineStart = startOffset;
+            while (position < endOffset) {
+                int read = raf.read(buffer, 0, (int) Math.min(buffer.length, endOffset - position));
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        String line = new String(lineBytes.toByteArray(), StandardCharsets.UTF_8);
+                        for (String token : tokenize(line)) {
+                            newPostings.computeIfAbsent(token, k -> new ArrayList<Long>()).add(lineStart);
+                        }
+                        lineBytes.reset();
+                        lineStart = position + i + 1;
+                        indexedLength = lineStart;
+                    } else {
+                        lineBytes.write(b);
+                    }
+                }
+                position += read;
+            }
+        }
+
+        return indexedLength;
+    }
+
+    /**
+     * Returns the hits for lines containing all tokens of the input query.
+     *
+     * @param query The query text.
+     * @param maxHits The maximum number of hits to return.
+     *
+     * @return The hits for lines containing all tokens of the input query.
+     */
+    public List<Hit> search(String query, int maxHits) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        long[] matches = null;
+        int matchCount = 0;
+        List<String> paths = new ArrayList<String>();
+        synchronized (this) {
+            for (String token : queryTokens) {
+                Postings tokenPostings = postings.get(token);
+                if (tokenPostings == null) {
+                    return Collections.emptyList();
+                }
+                if (matches == null) {
+                    matches = Arrays.copyOf(tokenPostings.values, tokenPostings.size);
+                    matchCount = tokenPostings.size;
+                } else {
+                    matchCount = intersect(matches, matchCount, tokenPostings);
+                }
+                if (matchCount == 0) {
+                    return Collections.emptyList();
+                }
+            }
+            for (IndexedFile indexedFile : files) {
+                paths.add(indexedFile.dead ? null : indexedFile.path);
+            }
+        }
+
+        // Return the most recent entries first.
+        List<Hit> hits = new ArrayList<Hit>();
+        for (int i = matchCount - 1; i >= 0 && hits.size() < maxHits; i--) {
+            int fileId = (int) (matches[i] >>> OFFSET_BITS);
+            String path = paths.get(fileId);
+            if (path != null) {
+                long offset = matches[i] & OFFSET_MASK;
+                hits.add(new Hit(path, offset, readLineText(path, offset)));
+            }
+        }
+
+        return hits;
+    }
+
+    /**
+     * Intersects the sorted input matches with the sorted postings of a token in place.
+     *
+     * @param matches The current matches.
+     * @param matchCount The number of current matches.
+     * @param tokenPostings The postings of a token.
+     *
+     * @return The number of matches after the intersection.
+     */
+    private static int intersect(long[] matches, int matchCount, Postings tokenPostings) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < matchCount && j < tokenPostings.size) {
+            long a = matches[i];
+            long b = tokenPostings.values[j];
+            if (a == b) {
+                matches[count++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Reads the text of the line at the specified offset.
+     *
+     * @param path The path of the file.
+     * @param offset The offset of the line.
+     *
+     * @return The text of the line at the specified offset, or an empty string if it could not be read.
+     */
+    private static String readLineText(String path, long offset) {
+        try (RandomAccessFile raf = new RandomAccessFile(path, "r")) {
+            raf.seek(offset);
+            byte[] buffer = new byte[MAX_LINE_TEXT_LENGTH];
+            int read = raf.read(buffer);
+            if (read <= 0) {
+                return "";
+            }
+            int end = 0;
+            while (end < read && buffer[end] != '\n' && buffer[end] != '\r') {
+                end++;
+            }
+            return new String(buffer, 0, end, StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Removes files that no longer exist and compacts the index if a significant portion of it refers to superseded file
+     * content.
+     */
+    public synchronized void prune() {
+        for (String path : new ArrayList<String>(liveFileIds.keySet())) {
+            if (!new File(path).exists()) {
+                files.get(liveFileIds.remove(path)).dead = true;
+                deadFileCount++;
+                dirty = true;
+            }
+        }
+
+        if (deadFileCount == 0 || deadFileCount * 4 < files.size()) {
+            return;
+        }
+
+        // Renumber the live files and rewrite the postings.
+        int[] newIds = new int[files.size()];
+        List<IndexedFile> liveFiles = new ArrayList<IndexedFile>();
+        for (int i = 0; i < files.size(); i++) {
+            IndexedFile indexedFile = files.get(i);
+            if (indexedFile.dead) {
+                newIds[i] = -1;
+            } else {
+                newIds[i] = liveFiles.size();
+                liveFiles.add(indexedFile);
+            }
+        }
+
+        Map<String, Postings> newPostings = new HashMap<String, Postings>();
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            Postings oldPostings = entry.getValue();
+            Postings compacted = new Postings();
+            for (int i = 0; i < oldPostings.size; i++) {
+                int newId = newIds[(int) (oldPostings.values[i] >>> OFFSET_BITS)];
+                if (newId != -1) {
+                    compacted.add((((long) newId) << OFFSET_BITS) | (oldPostings.values[i] & OFFSET_MASK));
+                }
+            }
+            if (compacted.size > 0) {
+                newPostings.put(entry.getKey(), compacted);
+            }
+        }
+
+        files.clear();
+        files.addAll(liveFiles);
+        liveFileIds.clear();
+        for (int i = 0; i < files.size(); i++) {
+            liveFileIds.put(files.get(i).path, i);
+        }
+        postings.clear();
+        postings.putAll(newPostings);
+        deadFileCount = 0;
+        dirty = true;
+    }
+
+    /**
+     * Saves the index to the specified file if it was updated since it was last saved or loaded.
+     *
+     * @param indexFile The file to which the index is saved.
+     *
+     * @throws IOException
+     */
+    public synchronized void save(File indexFile) throws IOException {
+        if (!dirty) {
+            return;
+        }
+
+        File tmpFile = new File(indexFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(files.size());
+            for (IndexedFile indexedFile : files) {
+                out.writeUTF(indexedFile.path);
+                out.writeLong(indexedFile.indexedLength);
+                out.writeLong(indexedFile.lastModified);
+                out.writeUTF(indexedFile.identity);
+                out.writeBoolean(indexedFile.dead);
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings tokenPostings = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(tokenPostings.size);
+
+                // Postings are sorted. Store the deltas to keep the file compact.
+                long previous = 0;
+                for (int i = 0; i < tokenPostings.size; i++) {
+                    writeVarLong(out, tokenPostings.values[i] - previous);
+                    previous = tokenPostings.values[i];
+                }
+            }
+        }
+
+        Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        dirty = false;
+    }
+
+    /**
+     * Loads the index from the specified file. If the file does not exist or it cannot be read, the index is left empty.
+     *
+     * @param indexFile The file from which the index is loaded.
+     *
+     * @throws IOException
+     */
+    public synchronized void load(File indexFile) throws IOException {
+        files.clear();
+        liveFileIds.clear();
+        postings.clear();
+        deadFileCount = 0;
+        dirty = false;
+
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(indexFile))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            int fileCount = in.readInt();
+            for (int i = 0; i < fileCount; i++) {
+                IndexedFile indexedFile = new IndexedFile(in.readUTF());
+                indexedFile.indexedLength = in.readLong();
+                indexedFile.lastModified = in.readLong();
+                indexedFile.identity = in.readUTF();
+                indexedFile.dead = in.readBoolean();
+                files.add(indexedFile);
+                if (indexedFile.dead) {
+                    deadFileCount++;
+                } else {
+                    liveFileIds.put(indexedFile.path, i);
+                }
+            }
+            int tokenCount = in.readInt();
+            for (int i = 0; i < tokenCount; i++) {
+                String token = in.readUTF();
+                int size = in.readInt();
+                Postings tokenPostings = new Postings();
+                tokenPostings.values = new long[Math.max(size, 4)];
+                long previous = 0;
+                for (int j = 0; j < size; j++) {
+                    previous += readVarLong(in);
+                    tokenPostings.values[j] = previous;
+                }
+                tokenPostings.size = size;
+                postings.put(token, tokenPostings);
+            }
+        } catch (IOException e) {
+            // Start from scratch if the index cannot be read.
+            files.clear();
+            liveFileIds.clear();
+            postings.clear();
+            deadFileCount = 0;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a variable length encoded non-negative long value.
+     *
+     * @param out The output stream.
+     * @param value The value to write.
+     *
+     * @throws IOException
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a variable length encoded non-negative long value.
+     *
+     * @param in The input stream.
+     *
+     * @return The value read.
+     *
+     * @throws IOException
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= ((long) (b & 0x7F)) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+}
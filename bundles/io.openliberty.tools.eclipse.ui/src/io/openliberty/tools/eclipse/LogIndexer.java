@@ -0,0 +1,286 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Background indexer of the Liberty logs (messages and FFDC files) of all Liberty projects known to the workspace
+ * projects model. The index is persisted under the plugin's state location and updated incrementally as log files
+ * grow. Indexing can be turned off in the preferences. Searches then use the index as it was last saved.
+ */
+public class LogIndexer extends Job {
+
+    /** Name of the file holding the persisted index. */
+    public static final String INDEX_FILE_NAME = "logindex.bin";
+
+    /** Delay in milliseconds between index updates. */
+    private static final long UPDATE_INTERVAL_MS = 30000;
+
+    /** Maximum number of hits returned by a search. */
+    public static final int MAX_SEARCH_HITS = 500;
+
+    /** LogIndexer instance. */
+    private static LogIndexer instance;
+
+    /** The log index. */
+    private final LogIndex index = new LogIndex();
+
+    /** True if the persisted index was loaded. */
+    private volatile boolean loaded;
+
+    /** True if the indexer was stopped. */
+    private volatile boolean stopped;
+
+    /** Starts or stops periodic indexing when the indexing preference changes. */
+    private final IPropertyChangeListener preferenceListener = new IPropertyChangeListener() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void propertyChange(PropertyChangeEvent event) {
+            if (LibertyToolsPreferenceInitializer.LOG_INDEXING.equals(event.getProperty()) && !stopped && isEnabled()) {
+                schedule();
+            }
+        }
+    };
+
+    /**
+     * Constructor.
+     */
+    private LogIndexer() {
+        super("Indexing Liberty logs");
+        setSystem(true);
+        setPriority(Job.DECORATE);
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized LogIndexer getInstance() {
+        if (instance == null) {
+            instance = new LogIndexer();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if the Liberty logs are indexed in the background. False, otherwise.
+     *
+     * @return True if the Liberty logs are indexed in the background. False, otherwise.
+     */
+    public static boolean isEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.LOG_INDEXING);
+    }
+
+    /**
+     * Starts periodic indexing, if enabled.
+     */
+    public void start() {
+        stopped = false;
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin != null) {
+            plugin.getPreferenceStore().addPropertyChangeListener(preferenceListener);
+        }
+        if (isEnabled()) {
+            schedule();
+        }
+    }
+
+    /**
+     * Stops periodic indexing and saves the index.
+     */
+    public void stop() {
+        stopped = true;
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin != null) {
+            plugin.getPreferenceStore().removePropertyChangeListener(preferenceListener);
+        }
+        cancel();
+        try {
+            join(5000, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Nothing to do. The index is saved below.
+        }
+
+        saveIndex();
+    }
+
+    /**
+     * Returns the hits for log lines containing all the tokens of the input query. The most recent hits are returned first.
+     *
+     * @param query The query text. Message IDs, exception class names or words.
+     *
+     * @return The hits for log lines containing all the tokens of the input query.
+     */
+    public List<LogIndex.Hit> search(String query) {
+        loadIndex();
+        return index.search(query, MAX_SEARCH_HITS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        // Indexing was turned off. It is scheduled again if it is turned back on.
+        if (!isEnabled()) {
+            return Status.OK_STATUS;
+        }
+
+        try {
+            loadIndex();
+
+            boolean updated = false;
+            for (File logFile : findLogFiles()) {
+                if (monitor.isCanceled() || stopped) {
+                    break;
+                }
+                try {
+                    updated |= index.update(logFile);
+                } catch (Exception e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to index log file " + logFile, e);
+                    }
+                }
+            }
+
+            index.prune();
+            if (updated) {
+                saveIndex();
+            }
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Log indexing failed.", e);
+            }
+        } finally {
+            if (!stopped && isEnabled()) {
+                schedule(UPDATE_INTERVAL_MS);
+            }
+        }
+
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Returns the messages and FFDC log files of all Liberty projects in the workspace.
+     *
+     * @return The messages and FFDC log files of all Liberty projects in the workspace.
+     */
+    private List<File> findLogFiles() {
+        Set<String> serversPaths = new LinkedHashSet<String>();
+        WorkspaceProjectsModel projectModel = DevModeOperations.getInstance().getProjectModel();
+        for (String projectName : projectModel.getSortedDashboardProjectList()) {
+            Project project = projectModel.getProject(projectName);
+            if (project != null) {
+                String serversPath = project.getLibertyServersPath();
+                if (serversPath != null) {
+                    serversPaths.add(serversPath);
+                }
+            }
+        }
+
+        List<File> logFiles = new ArrayList<File>();
+        for (String serversPath : serversPaths) {
+            File[] serverDirs = new File(serversPath).listFiles(File::isDirectory);
+            if (serverDirs == null) {
+                continue;
+            }
+            for (File serverDir : serverDirs) {
+                File logsDir = new File(serverDir, "logs");
+                File[] messagesLogs = logsDir.listFiles((dir, name) -> name.startsWith("messages") && name.endsWith(".log"));
+                if (messagesLogs != null) {
+                    for (File messagesLog : messagesLogs) {
+                        logFiles.add(messagesLog);
+                    }
+                }
+                File[] ffdcLogs = new File(logsDir, "ffdc").listFiles((dir, name) -> name.endsWith(".log"));
+                if (ffdcLogs != null) {
+                    for (File ffdcLog : ffdcLogs) {
+                        logFiles.add(ffdcLog);
+                    }
+                }
+            }
+        }
+
+        // Index older files first so that postings are mostly appended.
+        logFiles.sort((f1, f2) -> Long.compare(f1.lastModified(), f2.lastModified()));
+
+        return logFiles;
+    }
+
+    /**
+     * Returns the file holding the persisted index.
+     *
+     * @return The file holding the persisted index.
+     */
+    private File getIndexFile() {
+        return LibertyDevPlugin.getDefault().getStateLocation().append(INDEX_FILE_NAME).toFile();
+    }
+
+    /**
+     * Loads the persisted index if not already loaded.
+     */
+    private synchronized void loadIndex() {
+        if (loaded) {
+            return;
+        }
+
+        try {
+            index.load(getIndexFile());
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to load the log index. The logs will be re-indexed.", e);
+            }
+        }
+
+        loaded = true;
+    }
+
+    /**
+     * Saves the index to the plugin's state location.
+     */
+    private synchronized void saveIndex() {
+        if (!loaded) {
+            return;
+        }
+
+        try {
+            index.save(getIndexFile());
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to save the log index.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,481 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Reserves the debug, HTTP, and HTTPS ports of the dev mode instances started from the workspace. A port handed to one
+ * instance is not handed to another until the first instance ends, even if its server has not bound the port yet. Ports
+ * are checked for availability before dev mode is launched, so that a conflict is reported before the build runs rather
+ * than after the server fails to start. If enabled in the preferences, server ports defined through configuration
+ * variables are moved to free ports instead.
+ */
+public class PortReservationManager {
+
+    /** Server configuration file location relative to the project. */
+    public static final String SERVER_XML_PATH = "src/main/liberty/config/server.xml";
+
+    /** Server bootstrap properties file location relative to the project. */
+    public static final String BOOTSTRAP_PROPERTIES_PATH = "src/main/liberty/config/bootstrap.properties";
+
+    /** Server environment file location relative to the project. */
+    public static final String SERVER_ENV_PATH = "src/main/liberty/config/server.env";
+
+    /** Prefix of the properties that dev mode passes to the server as configuration variables. */
+    public static final String LIBERTY_VAR_PREFIX = "liberty.var.";
+
+    /** Maximum number of attempts to find a free port that is not reserved. */
+    private static final int MAX_ALLOCATION_ATTEMPTS = 50;
+
+    /** HTTP endpoint port attribute. */
+    private static final Pattern HTTP_PORT_ATTR = Pattern.compile("\\shttpPort\\s*=\\s*\"([^\"]*)\"");
+
+    /** HTTPS endpoint port attribute. */
+    private static final Pattern HTTPS_PORT_ATTR = Pattern.compile("\\shttpsPort\\s*=\\s*\"([^\"]*)\"");
+
+    /** Configuration variable reference. */
+    private static final Pattern VAR_REF = Pattern.compile("^\\$\\{([^}]+)\\}$");
+
+    /** PortReservationManager instance. */
+    private static PortReservationManager instance;
+
+    /** Reserved ports and the name of the project that holds them. */
+    private final Map<Integer, String> reserved = new HashMap<Integer, String>();
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized PortReservationManager getInstance() {
+        if (instance == null) {
+            instance = new PortReservationManager();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Reserves a port for the input project. The preferred port is reserved if it is free and not reserved by another
+     * project. Otherwise, a free port chosen by the operating system is reserved.
+     *
+     * @param projectName The name of the project for which the port is reserved.
+     * @param preferredPort The preferred port. Zero or less if there is no preference.
+     *
+     * @return The reserved port.
+     *
+     * @throws IOException If no free port could be found.
+     */
+    public synchronized int reserve(String projectName, int preferredPort) throws IOException {
+        int port = -1;
+        if (preferredPort > 0 && isReservable(projectName, preferredPort)) {
+            port = preferredPort;
+        }
+
+        for (int i = 0; port < 0 && i < MAX_ALLOCATION_ATTEMPTS; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                int candidate = socket.getLocalPort();
+                if (!reserved.containsKey(candidate)) {
+                    port = candidate;
+                }
+            }
+        }
+
+        if (port < 0) {
+            throw new IOException("Unable to find a free port for project " + projectName + ".");
+        }
+
+        reserved.put(port, projectName);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Port " + port + " reserved for project " + projectName + ". " + this);
+        }
+
+        return port;
+    }
+
+    /**
+     * Reserves the input port for the input project. Used for ports that cannot be changed, such as ports explicitly set
+     * by the user.
+     *
+     * @param projectName The name of the project for which the port is reserved.
+     * @param port The port to reserve.
+     *
+     * @throws Exception If the port is reserved by another project or is in use.
+     */
+    public synchronized void reserveExact(String projectName, int port) throws Exception {
+        String owner = reserved.get(port);
+        if (owner != null && !owner.equals(projectName)) {
+            throw new Exception("Port " + port + " required by project " + projectName + " is in use by Liberty dev mode for project "
+                    + owner + ".");
+        }
+        if (owner == null && !isAvailable(port)) {
+            throw new Exception("Port " + port + " required by project " + projectName + " is in use by another process.");
+        }
+
+        reserved.put(port, projectName);
+    }
+
+    /**
+     * Releases all ports reserved for the input project.
+     *
+     * @param projectName The project name.
+     */
+    public synchronized void release(String projectName) {
+        reserved.values().removeIf(projectName::equals);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Ports of project " + projectName + " released. " + this);
+        }
+    }
+
+    /**
+     * Releases the ports reserved for the input project when the input session ends.
+     *
+     * @param projectName The project name.
+     * @param session The dev mode session of the project. If null, the ports are released immediately.
+     */
+    public void releaseOnExit(String projectName, DevModeSession session) {
+        if (session == null || session.isExited()) {
+            release(projectName);
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                    release(projectName);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the ports reserved for the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The ports reserved for the input project.
+     */
+    public synchronized Set<Integer> getReservedPorts(String projectName) {
+        Set<Integer> ports = new HashSet<Integer>();
+        for (Map.Entry<Integer, String> entry : reserved.entrySet()) {
+            if (entry.getValue().equals(projectName)) {
+                ports.add(entry.getKey());
+            }
+        }
+
+        return ports;
+    }
+
+    /**
+     * Returns true if server ports defined through configuration variables are moved to free ports when they are taken.
+     * False, otherwise.
+     *
+     * @return True if server ports defined through configuration variables are moved to free ports when they are taken.
+     *         False, otherwise.
+     */
+    public static boolean isReassignEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.REASSIGN_SERVER_PORTS);
+    }
+
+    /**
+     * Reserves the HTTP and HTTPS ports of the server of the input project and returns the start parameters that pass
+     * them to dev mode. Ports are checked for availability and reserved as they are configured. If enabled in the
+     * preferences, a port defined through a configuration variable that is taken by another instance is replaced by a free
+     * one, passed as a {@code liberty.var} property. Ports whose variable value cannot be resolved, and ports already set
+     * by the user through start parameters, are left as they are.
+     *
+     * @param project The project.
+     * @param startParms The start parameters.
+     *
+     * @return The start parameters, including the reserved ports.
+     *
+     * @throws Exception If a port that cannot be replaced is not available.
+     */
+    public String addServerPortsToStartParms(Project project, String startParms) throws Exception {
+        String projectName = project.getIProject().getName();
+        String serverXml = readServerXml(project);
+        if (serverXml == null) {
+            return startParms;
+        }
+
+        boolean reassign = isReassignEnabled();
+        StringBuilder parms = new StringBuilder(startParms);
+        for (Pattern attr : new Pattern[] { HTTP_PORT_ATTR, HTTPS_PORT_ATTR }) {
+            Matcher m = attr.matcher(serverXml);
+            if (!m.find()) {
+                continue;
+            }
+
+            String value = m.group(1).trim();
+            Matcher varRef = VAR_REF.matcher(value);
+            if (varRef.matches()) {
+                String varName = varRef.group(1).trim();
+                String property = LIBERTY_VAR_PREFIX + varName;
+                if (startParms.contains(property + "=")) {
+                    continue;
+                }
+
+                // A port whose value is not known cannot be checked, and replacing it would override the user's setting.
+                int configuredPort = parsePort(resolveVariable(project, serverXml, varName));
+                if (configuredPort <= 0) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                                "The value of port variable " + varName + " of project " + projectName + " could not be resolved.");
+                    }
+                    continue;
+                }
+
+                if (!reassign) {
+                    reserveExact(projectName, configuredPort);
+                    continue;
+                }
+
+                int port = reserve(projectName, configuredPort);
+                if (port != configuredPort) {
+                    parms.append(parms.length() == 0 ? "" : " ");
+                    parms.append(project.getBuildType() == BuildType.GRADLE ? "-P" : "-D").append(property).append("=").append(port);
+                }
+            } else {
+                int port = parsePort(value);
+                if (port > 0) {
+                    reserveExact(projectName, port);
+                }
+            }
+        }
+
+        return parms.toString();
+    }
+
+    /**
+     * Returns true if the input port is not reserved by a project other than the input project and is free.
+     *
+     * @param projectName The project name.
+     * @param port The port.
+     *
+     * @return True if the input port is not reserved by a project other than the input project and is free.
+     */
+    private boolean isReservable(String projectName, int port) {
+        String owner = reserved.get(port);
+        if (owner != null && !owner.equals(projectName)) {
+            return false;
+        }
+
+        return isAvailable(port);
+    }
+
+    /**
+     * Returns true if the input port can be bound. False, otherwise.
+     *
+     * @param port The port.
+     *
+     * @return True if the input port can be bound. False, otherwise.
+     */
+    public static boolean isAvailable(int port) {
+        try (ServerSocket socket = new ServerSocket()) {
+            socket.setReuseAddress(false);
+            socket.bind(new InetSocketAddress(port));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the value of the input configuration variable of the server of the input project. The value is looked up, in
+     * order, in the liberty.var properties of the Maven project, which dev mode passes to the server, in the value of the
+     * variable defined in the server configuration, in the bootstrap.properties and server.env files of the server, and in
+     * the default value of the variable defined in the server configuration.
+     *
+     * @param project The project.
+     * @param serverXml The server configuration.
+     * @param varName The variable name.
+     *
+     * @return The value of the variable, or null if it could not be resolved.
+     */
+    private String resolveVariable(Project project, String serverXml, String varName) {
+        String projectPath = project.getPath();
+        if (project.getBuildType() == BuildType.MAVEN) {
+            String value = getPomVariableValue(readFile(Paths.get(projectPath, "pom.xml")), varName);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        String value = getVariableAttribute(serverXml, varName, "value");
+        if (value == null) {
+            value = getPropertyValue(readFile(Paths.get(projectPath, BOOTSTRAP_PROPERTIES_PATH)), varName);
+        }
+        if (value == null) {
+            value = getPropertyValue(readFile(Paths.get(projectPath, SERVER_ENV_PATH)), varName);
+        }
+        if (value == null) {
+            value = getVariableAttribute(serverXml, varName, "defaultValue");
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the value of an attribute of the input variable defined in the input server configuration.
+     *
+     * @param serverXml The server configuration.
+     * @param varName The variable name.
+     * @param attrName The attribute name, such as value or defaultValue.
+     *
+     * @return The value of the attribute, or null if the variable or the attribute is not defined.
+     */
+    static String getVariableAttribute(String serverXml, String varName, String attrName) {
+        Matcher tag = Pattern.compile("<variable\\s[^>]*name\\s*=\\s*\"" + Pattern.quote(varName) + "\"[^>]*>").matcher(serverXml);
+        if (!tag.find()) {
+            return null;
+        }
+
+        Matcher value = Pattern.compile("\\s" + attrName + "\\s*=\\s*\"([^\"]*)\"").matcher(tag.group());
+        return value.find() ? value.group(1) : null;
+    }
+
+    /**
+     * Returns the value of the liberty.var property of the input variable in the input Maven project file.
+     *
+     * @param pomXml The content of the Maven project file. It may be null.
+     * @param varName The variable name.
+     *
+     * @return The value of the property, or null if it is not defined.
+     */
+    static String getPomVariableValue(String pomXml, String varName) {
+        if (pomXml == null) {
+            return null;
+        }
+
+        String property = Pattern.quote(LIBERTY_VAR_PREFIX + varName);
+        Matcher m = Pattern.compile("<" + property + ">([^<]*)</" + property + ">").matcher(pomXml);
+        return m.find() ? m.group(1).trim() : null;
+    }
+
+    /**
+     * Returns the value of the input name in the input name=value lines, such as the content of a bootstrap.properties or
+     * server.env file.
+     *
+     * @param text The text. It may be null.
+     * @param name The name.
+     *
+     * @return The value of the input name, or null if it is not defined.
+     */
+    static String getPropertyValue(String text, String name) {
+        if (text == null) {
+            return null;
+        }
+
+        String value = null;
+        for (String line : text.split("\\r?\\n")) {
+            String trimmed = line.trim();
+            int equalsIndex = trimmed.indexOf('=');
+            if (!trimmed.startsWith("#") && equalsIndex > 0 && trimmed.substring(0, equalsIndex).trim().equals(name)) {
+                // The last definition takes effect.
+                value = trimmed.substring(equalsIndex + 1).trim();
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the port represented by the input value.
+     *
+     * @param value The value.
+     *
+     * @return The port represented by the input value, or -1 if the value is not a port number.
+     */
+    static int parsePort(String value) {
+        if (value == null) {
+            return -1;
+        }
+
+        try {
+            int port = Integer.parseInt(value.trim());
+            return (port > 0 && port <= 65535) ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the content of the server configuration file of the input project.
+     *
+     * @param project The project.
+     *
+     * @return The content of the server configuration file of the input project, or null if it could not be read.
+     */
+    private String readServerXml(Project project) {
+        String projectPath = project.getPath();
+        return (projectPath == null) ? null : readFile(Paths.get(projectPath, SERVER_XML_PATH));
+    }
+
+    /**
+     * Returns the content of the input file.
+     *
+     * @param file The file.
+     *
+     * @return The content of the input file, or null if it does not exist or could not be read.
+     */
+    private static String readFile(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read " + file, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Reserved: ").append(reserved);
+        return sb.toString();
+    }
+}
@@ -12,6 +12,7 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -162,6 +163,28 @@ public class Project {
         return null;
     }
 
+    /**
+     * Returns the absolute path of the directory under which the Liberty servers of this project are created by dev mode
+     * (wlp/usr/servers).
+     *
+     * @return The absolute path of the Liberty servers directory of this project, or null if the path could not be
+     *         obtained or the project is not a Maven or Gradle project. The directory may not exist yet.
+     */
+    public String getLibertyServersPath() {
+        String projectPath = getPath();
+        if (projectPath == null) {
+            return null;
+        }
+
+        if (type == BuildType.MAVEN) {
+            return Paths.get(projectPath, "target", "liberty", "wlp", "usr", "servers").toString();
+        } else if (type == BuildType.GRADLE) {
+            return Paths.get(projectPath, "build", "wlp", "usr", "servers").toString();
+        }
+
+        return null;
+    }
+
     /**
      * Returns the list child projects that contain Liberty server configuration.
      * 
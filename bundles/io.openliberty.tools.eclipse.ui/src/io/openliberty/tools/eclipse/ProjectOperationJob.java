@@ -0,0 +1,124 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Runs a Liberty Tools operation (start, stop, run tests, debug attach, report display) on a project. Operations on the
+ * same project hold the same scheduling rule, so they run one at a time in the order they were scheduled. Operations on
+ * different projects run in parallel.
+ */
+public class ProjectOperationJob extends Job {
+
+    /** Scheduling rules keyed by project name. */
+    private static final ConcurrentHashMap<String, ProjectRule> rules = new ConcurrentHashMap<String, ProjectRule>();
+
+    /** The operation to run. */
+    private final Runnable operation;
+
+    /**
+     * Constructor.
+     *
+     * @param projectName The name of the project on which the operation runs.
+     * @param name The job name.
+     * @param operation The operation to run.
+     */
+    public ProjectOperationJob(String projectName, String name, Runnable operation) {
+        super(name);
+        this.operation = operation;
+        setRule(getRule(projectName));
+    }
+
+    /**
+     * Returns the scheduling rule shared by all operations on the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The scheduling rule shared by all operations on the input project.
+     */
+    public static ISchedulingRule getRule(String projectName) {
+        return rules.computeIfAbsent(projectName, ProjectRule::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+
+        try {
+            operation.run();
+        } catch (Exception e) {
+            // Operations report their own errors. This only prevents the job from failing silently.
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "An error was detected while running " + getName(), e);
+            }
+        }
+
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Scheduling rule for the operations on a single project.
+     */
+    private static class ProjectRule implements ISchedulingRule {
+
+        /** The project name. */
+        private final String projectName;
+
+        /**
+         * Constructor.
+         *
+         * @param projectName The project name.
+         */
+        private ProjectRule(String projectName) {
+            this.projectName = projectName;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isConflicting(ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "ProjectRule: " + projectName;
+        }
+    }
+}
@@ -0,0 +1,593 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Narrows the Maven reactor of aggregated dev mode starts, such as {@code -f ../pom.xml -am -pl module}. An upstream
+ * module is current if its artifact in the local Maven repository is newer than its sources and all the modules it
+ * depends on are current. Current modules are excluded from the reactor, and Maven resolves them from the local
+ * repository instead of building them. If all upstream modules are current, {@code -am} is dropped. The latest source
+ * change time of each module is kept until a resource change in the module's workspace project discards it.
+ */
+public class ReactorUpToDateChecker implements IResourceChangeListener {
+
+    /** Maven build output directory, which is not part of the module sources. */
+    private static final String BUILD_OUTPUT_DIR = "target";
+
+    /** Maven build file name. */
+    private static final String POM_FILE_NAME = "pom.xml";
+
+    /** The latest source change time of each module, keyed by module directory. */
+    private final Map<String, Long> sourceStamps = new ConcurrentHashMap<String, Long>();
+
+    /** ReactorUpToDateChecker instance. */
+    private static ReactorUpToDateChecker instance;
+
+    /**
+     * Constructor.
+     */
+    private ReactorUpToDateChecker() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized ReactorUpToDateChecker getInstance() {
+        if (instance == null) {
+            instance = new ReactorUpToDateChecker();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if upstream modules that are current are left out of aggregated dev mode starts. False, otherwise.
+     *
+     * @return True if upstream modules that are current are left out of aggregated dev mode starts. False, otherwise.
+     */
+    public static boolean isEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.SKIP_CURRENT_MODULES);
+    }
+
+    /**
+     * Starts tracking source changes.
+     */
+    public void start() {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    /**
+     * Stops tracking source changes.
+     */
+    public void stop() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+        sourceStamps.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            IResource iResource = projectDelta.getResource();
+            IPath location = iResource.getLocation();
+            if (iResource.getType() != IResource.PROJECT || location == null) {
+                continue;
+            }
+
+            // Changes to the build output do not change the sources.
+            boolean sourcesChanged = false;
+            for (IResourceDelta childDelta : projectDelta.getAffectedChildren()) {
+                if (!BUILD_OUTPUT_DIR.equals(childDelta.getResource().getName())) {
+                    sourcesChanged = true;
+                    break;
+                }
+            }
+
+            if (sourcesChanged) {
+                String projectDir = location.toFile().getAbsolutePath();
+                sourceStamps.keySet().removeIf(moduleDir -> moduleDir.startsWith(projectDir));
+            }
+        }
+    }
+
+    /**
+     * Returns the input start parameters with the current upstream modules left out of the reactor. The start parameters
+     * are returned unchanged if they do not build upstream modules with -f, -pl, and -am, or if the reactor could not be
+     * read.
+     *
+     * @param project The project to start.
+     * @param startParms The start parameters.
+     *
+     * @return The start parameters with the current upstream modules left out of the reactor.
+     */
+    public String skipCurrentModules(Project project, String startParms) {
+        if (!isEnabled() || project.getBuildType() != Project.BuildType.MAVEN || project.getPath() == null) {
+            return startParms;
+        }
+
+        return skipCurrentModules(Paths.get(project.getPath()), startParms, LocalDependencyIndex.getMavenRepository());
+    }
+
+    /**
+     * Returns the input start parameters with the current upstream modules left out of the reactor.
+     *
+     * @param projectDir The directory of the project to start.
+     * @param startParms The start parameters.
+     * @param repository The local Maven repository.
+     *
+     * @return The start parameters with the current upstream modules left out of the reactor.
+     */
+    public String skipCurrentModules(Path projectDir, String startParms, File repository) {
+        List<String> parms = new ArrayList<String>(Arrays.asList(startParms.trim().split("\\s+")));
+        int fileIndex = indexOfOption(parms, "-f", "--file");
+        int projectsIndex = indexOfOption(parms, "-pl", "--projects");
+        int alsoMakeIndex = indexOfOption(parms, "-am", "--also-make");
+        if (fileIndex < 0 || projectsIndex < 0 || alsoMakeIndex < 0 || fileIndex + 1 >= parms.size()
+                || projectsIndex + 1 >= parms.size()) {
+            return startParms;
+        }
+
+        Path aggregatorPom = projectDir.resolve(parms.get(fileIndex + 1)).normalize();
+        if (Files.isDirectory(aggregatorPom)) {
+            aggregatorPom = aggregatorPom.resolve(POM_FILE_NAME);
+        }
+        Path rootDir = aggregatorPom.getParent();
+
+        try {
+            Map<String, Module> modules = new LinkedHashMap<String, Module>();
+            readReactor(aggregatorPom, modules);
+
+            // Find the selected modules, by relative path or by :artifactId.
+            List<Module> selected = new ArrayList<Module>();
+            for (String selector : parms.get(projectsIndex + 1).split(",")) {
+                Module module = findModule(modules, rootDir, selector);
+                if (module == null) {
+                    return startParms;
+                }
+                selected.add(module);
+            }
+
+            Set<Module> upstream = new LinkedHashSet<Module>();
+            for (Module module : selected) {
+                collectUpstream(module, modules, upstream);
+            }
+            upstream.removeAll(selected);
+
+            Map<Module, Boolean> current = new HashMap<Module, Boolean>();
+            List<String> skipped = new ArrayList<String>();
+            for (Module module : upstream) {
+                if (isCurrent(module, modules, repository, current)) {
+                    skipped.add(rootDir.relativize(module.dir).toString().replace(File.separatorChar, '/'));
+                }
+            }
+
+            if (skipped.isEmpty()) {
+                return startParms;
+            }
+
+            if (skipped.size() == upstream.size()) {
+                parms.remove(alsoMakeIndex);
+            } else {
+                StringBuilder projects = new StringBuilder(parms.get(projectsIndex + 1));
+                for (String module : skipped) {
+                    projects.append(",!").append(module);
+                }
+                parms.set(projectsIndex + 1, projects.toString());
+            }
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Upstream modules " + skipped + " of " + projectDir + " are current. Upstream: "
+                        + upstream.size() + ". Start parameters: " + String.join(" ", parms));
+            }
+
+            return String.join(" ", parms);
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the reactor of " + aggregatorPom, e);
+            }
+            return startParms;
+        }
+    }
+
+    /**
+     * Returns the index of the first of the input option names in the input start parameters.
+     *
+     * @param parms The start parameters.
+     * @param names The option names.
+     *
+     * @return The index of the first of the input option names in the input start parameters, or -1 if none is there.
+     */
+    private int indexOfOption(List<String> parms, String... names) {
+        for (String name : names) {
+            int index = parms.indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Reads the input pom and the poms of its modules, recursively.
+     *
+     * @param pom The pom.
+     * @param modules The modules read so far, keyed by groupId:artifactId.
+     *
+     * @throws Exception If a pom could not be read.
+     */
+    private void readReactor(Path pom, Map<String, Module> modules) throws Exception {
+        Module module = readModule(pom);
+        if (modules.putIfAbsent(module.key, module) != null) {
+            return;
+        }
+
+        for (String moduleName : module.modules) {
+            Path modulePom = module.dir.resolve(moduleName).normalize();
+            if (Files.isDirectory(modulePom)) {
+                modulePom = modulePom.resolve(POM_FILE_NAME);
+            }
+            readReactor(modulePom, modules);
+        }
+    }
+
+    /**
+     * Returns the module with the input selector. Selectors are module paths relative to the reactor root, or
+     * :artifactId.
+     *
+     * @param modules The reactor modules.
+     * @param rootDir The reactor root directory.
+     * @param selector The selector.
+     *
+     * @return The module with the input selector, or null if there is none.
+     */
+    private Module findModule(Map<String, Module> modules, Path rootDir, String selector) {
+        for (Module module : modules.values()) {
+            if (selector.startsWith(":") ? module.key.endsWith(selector) : module.dir.equals(rootDir.resolve(selector).normalize())) {
+                return module;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds the reactor modules that the input module depends on, recursively, to the input set.
+     *
+     * @param module The module.
+     * @param modules The reactor modules.
+     * @param upstream The upstream modules found so far.
+     */
+    private void collectUpstream(Module module, Map<String, Module> modules, Set<Module> upstream) {
+        for (String dependency : module.dependencies) {
+            Module dependencyModule = modules.get(dependency);
+            if (dependencyModule != null && upstream.add(dependencyModule)) {
+                collectUpstream(dependencyModule, modules, upstream);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the artifact of the input module in the local Maven repository is newer than its sources, and all
+     * the reactor modules it depends on are current. False, otherwise.
+     *
+     * @param module The module.
+     * @param modules The reactor modules.
+     * @param repository The local Maven repository.
+     * @param current The modules checked so far.
+     *
+     * @return True if the input module is current. False, otherwise.
+     */
+    private boolean isCurrent(Module module, Map<String, Module> modules, File repository, Map<Module, Boolean> current) {
+        Boolean result = current.get(module);
+        if (result != null) {
+            return result;
+        }
+
+        // Guards against dependency cycles.
+        current.put(module, Boolean.FALSE);
+
+        boolean isCurrent = false;
+        File artifact = module.getArtifact(repository);
+        if (artifact != null && artifact.isFile() && artifact.lastModified() >= getSourceStamp(module.dir)) {
+            isCurrent = true;
+            for (String dependency : module.dependencies) {
+                Module dependencyModule = modules.get(dependency);
+                if (dependencyModule != null && !isCurrent(dependencyModule, modules, repository, current)) {
+                    isCurrent = false;
+                    break;
+                }
+            }
+        }
+
+        current.put(module, isCurrent);
+        return isCurrent;
+    }
+
+    /**
+     * Returns the latest modification time of the pom and the source files of the input module.
+     *
+     * @param moduleDir The module directory.
+     *
+     * @return The latest modification time of the pom and the source files of the input module.
+     */
+    private long getSourceStamp(Path moduleDir) {
+        String key = moduleDir.toAbsolutePath().toString();
+        Long cachedStamp = sourceStamps.get(key);
+        if (cachedStamp != null) {
+            return cachedStamp;
+        }
+
+        long stamp = moduleDir.resolve(POM_FILE_NAME).toFile().lastModified();
+        Path srcDir = moduleDir.resolve("src");
+        if (Files.isDirectory(srcDir)) {
+            try (Stream<Path> paths = Files.walk(srcDir)) {
+                stamp = Math.max(stamp, paths.mapToLong(path -> path.toFile().lastModified()).max().orElse(0));
+            } catch (IOException e) {
+                // A module whose sources cannot be read is never current.
+                return Long.MAX_VALUE;
+            }
+        }
+
+        // Only the changes of modules in the workspace are seen. The stamps of other modules are not kept.
+        if (isInWorkspace(moduleDir)) {
+            sourceStamps.put(key, stamp);
+        }
+
+        return stamp;
+    }
+
+    /**
+     * Returns true if the input directory is in a workspace project. False, otherwise.
+     *
+     * @param dir The directory.
+     *
+     * @return True if the input directory is in a workspace project. False, otherwise.
+     */
+    private boolean isInWorkspace(Path dir) {
+        try {
+            return ResourcesPlugin.getWorkspace().getRoot().findContainersForLocationURI(dir.toUri()).length > 0;
+        } catch (IllegalStateException e) {
+            // The workspace is closed.
+            return false;
+        }
+    }
+
+    /**
+     * Reads the coordinates, modules, and reactor dependencies of the input pom.
+     *
+     * @param pom The pom.
+     *
+     * @return The module described by the input pom.
+     *
+     * @throws Exception If the pom could not be read.
+     */
+    private static Module readModule(Path pom) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document document = builder.parse(pom.toFile());
+        Element project = document.getDocumentElement();
+        Element parent = getChild(project, "parent");
+
+        String groupId = getChildText(project, "groupId");
+        String version = getChildText(project, "version");
+        if (parent != null) {
+            groupId = (groupId == null) ? getChildText(parent, "groupId") : groupId;
+            version = (version == null) ? getChildText(parent, "version") : version;
+        }
+
+        String packaging = getChildText(project, "packaging");
+        Module module = new Module(pom.getParent(), groupId, getChildText(project, "artifactId"), version,
+                (packaging == null) ? "jar" : packaging);
+
+        // A reactor parent must be built or installed before its children.
+        if (parent != null) {
+            module.dependencies.add(getChildText(parent, "groupId") + ":" + getChildText(parent, "artifactId"));
+        }
+
+        Element modules = getChild(project, "modules");
+        if (modules != null) {
+            for (Element child : getChildren(modules, "module")) {
+                module.modules.add(child.getTextContent().trim());
+            }
+        }
+
+        Element dependencies = getChild(project, "dependencies");
+        if (dependencies != null) {
+            for (Element dependency : getChildren(dependencies, "dependency")) {
+                String dependencyGroupId = getChildText(dependency, "groupId");
+                if ("${project.groupId}".equals(dependencyGroupId) || "${pom.groupId}".equals(dependencyGroupId)) {
+                    dependencyGroupId = groupId;
+                }
+                module.dependencies.add(dependencyGroupId + ":" + getChildText(dependency, "artifactId"));
+            }
+        }
+
+        return module;
+    }
+
+    /**
+     * Returns the first child element of the input element with the input name.
+     *
+     * @param element The element.
+     * @param name The child element name.
+     *
+     * @return The first child element with the input name, or null if there is none.
+     */
+    private static Element getChild(Element element, String name) {
+        List<Element> children = getChildren(element, name);
+        return children.isEmpty() ? null : children.get(0);
+    }
+
+    /**
+     * Returns the trimmed text of the first child element of the input element with the input name.
+     *
+     * @param element The element.
+     * @param name The child element name.
+     *
+     * @return The trimmed text of the first child element with the input name, or null if there is none.
+     */
+    private static String getChildText(Element element, String name) {
+        Element child = getChild(element, name);
+        return (child == null) ? null : child.getTextContent().trim();
+    }
+
+    /**
+     * Returns the child elements of the input element with the input name.
+     *
+     * @param element The element.
+     * @param name The child element name.
+     *
+     * @return The child elements with the input name.
+     */
+    private static List<Element> getChildren(Element element, String name) {
+        List<Element> children = new ArrayList<Element>();
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.ELEMENT_NODE && name.equals(node.getNodeName())) {
+                children.add((Element) node);
+            }
+        }
+
+        return children;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("SourceStamps: ").append(sourceStamps.keySet());
+        return sb.toString();
+    }
+
+    /**
+     * A module of a Maven reactor.
+     */
+    private static class Module {
+
+        /** The module directory. */
+        final Path dir;
+
+        /** The groupId:artifactId of the module. */
+        final String key;
+
+        /** The module groupId. */
+        final String groupId;
+
+        /** The module artifactId. */
+        final String artifactId;
+
+        /** The module version. */
+        final String version;
+
+        /** The module packaging. */
+        final String packaging;
+
+        /** The groupId:artifactId of the artifacts the module depends on. */
+        final List<String> dependencies = new ArrayList<String>();
+
+        /** The paths of the modules aggregated by the module. */
+        final List<String> modules = new ArrayList<String>();
+
+        /**
+         * Constructor.
+         *
+         * @param dir The module directory.
+         * @param groupId The module groupId.
+         * @param artifactId The module artifactId.
+         * @param version The module version.
+         * @param packaging The module packaging.
+         */
+        Module(Path dir, String groupId, String artifactId, String version, String packaging) {
+            this.dir = dir;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.packaging = packaging;
+            this.key = groupId + ":" + artifactId;
+        }
+
+        /**
+         * Returns the main artifact of the module in the input local Maven repository.
+         *
+         * @param repository The local Maven repository.
+         *
+         * @return The main artifact of the module, or null if its coordinates use properties that are not resolved.
+         */
+        File getArtifact(File repository) {
+            if (groupId == null || artifactId == null || version == null || (groupId + artifactId + version).contains("${")) {
+                return null;
+            }
+
+            String extension;
+            switch (packaging) {
+            case "pom":
+            case "war":
+            case "ear":
+                extension = packaging;
+                break;
+            default:
+                extension = "jar";
+                break;
+            }
+
+            return Paths.get(repository.getPath(), groupId.replace('.', File.separatorChar), artifactId, version,
+                    artifactId + "-" + version + "." + extension).toFile();
+        }
+    }
+}
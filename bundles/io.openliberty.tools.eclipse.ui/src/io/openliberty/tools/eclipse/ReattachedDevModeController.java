@@ -0,0 +1,250 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Manages the dev mode processes that were not started by this workbench session, such as the ones left running by an
+ * earlier workbench session when dev mode is kept running, or the ones started outside of the IDE. The processes are
+ * found through the dev mode process registry or the server process id files. Their status is tracked, their server
+ * messages are tailed, and they can be stopped. Their input and output are not available.
+ */
+public class ReattachedDevModeController {
+
+    /** Time in seconds to wait for dev mode to exit after it was asked to before its remaining processes are ended. */
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    /** Command line fragments that identify the build tool process running dev mode. */
+    private static final String[] DEV_MODE_COMMAND_MARKERS = { "liberty-maven-plugin:dev", "libertyDev" };
+
+    /** Maximum number of ancestors of a server process that are checked for the dev mode process. */
+    private static final int MAX_ANCESTOR_DEPTH = 4;
+
+    /** Reattached sessions by project name. */
+    private final ConcurrentHashMap<String, DevModeSession> sessionMap = new ConcurrentHashMap<String, DevModeSession>();
+
+    /** ReattachedDevModeController instance. */
+    private static ReattachedDevModeController instance;
+
+    /**
+     * Constructor.
+     */
+    private ReattachedDevModeController() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized ReattachedDevModeController getInstance() {
+        if (instance == null) {
+            instance = new ReattachedDevModeController();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if dev mode should be kept running without a terminal when the workbench closes. False, otherwise.
+     *
+     * @return True if dev mode should be kept running without a terminal when the workbench closes. False, otherwise.
+     */
+    public static boolean isKeepRunningEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.KEEP_DEV_MODE_RUNNING);
+    }
+
+    /**
+     * Reattaches to the dev mode process of the input project if it is still running.
+     *
+     * @param projectName The project name.
+     *
+     * @return The session of the reattached process, or null if no dev mode process was found for the project.
+     */
+    public synchronized DevModeSession reattach(String projectName) {
+        DevModeSession session = getSession(projectName);
+        if (session != null && !session.isExited()) {
+            return session;
+        }
+
+        Project project = DevModeOperations.getInstance().getProjectModel().getProject(projectName);
+        Optional<ProcessHandle> root = findDevModeProcess(projectName, project);
+        if (root.isEmpty()) {
+            return null;
+        }
+
+        session = new DevModeSession(projectName);
+        sessionMap.put(projectName, session);
+        session.attachProcessHandle(root.get());
+        DevModeProcessRegistry.getInstance().track(projectName, session);
+        if (project != null) {
+            ServerMessagesLogTailer.start(project, session, true);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Reattached to dev mode process of project " + projectName + ": " + session);
+        }
+
+        return session;
+    }
+
+    /**
+     * Schedules a background job that reattaches to the dev mode processes of the Liberty projects in the workspace that
+     * are still running.
+     */
+    public void scheduleWorkspaceReattach() {
+        Job job = new Job("Reattaching to running Liberty dev mode processes") {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                reattachAll(DevModeOperations.getInstance().getProjectModel().getSortedDashboardProjectList());
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    /**
+     * Reattaches to the dev mode processes of the input projects that are still running.
+     *
+     * @param projectNames The project names.
+     */
+    public void reattachAll(Collection<String> projectNames) {
+        for (String projectName : projectNames) {
+            reattach(projectName);
+        }
+    }
+
+    /**
+     * Returns the reattached session of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The reattached session of the input project. Null if there is none.
+     */
+    public DevModeSession getSession(String projectName) {
+        return sessionMap.get(projectName);
+    }
+
+    /**
+     * Returns true if a reattached dev mode process is running for the input project. False, otherwise.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if a reattached dev mode process is running for the input project. False, otherwise.
+     */
+    public boolean isActive(String projectName) {
+        DevModeSession session = getSession(projectName);
+        return session != null && session.getState() == DevModeSession.State.RUNNING;
+    }
+
+    /**
+     * Stops the reattached dev mode process of the input project. The process is asked to end, which lets dev mode stop
+     * the server. Processes of the session still running after a timeout are ended.
+     *
+     * @param projectName The project name.
+     *
+     * @throws Exception If there is no reattached dev mode process for the project.
+     */
+    public void stop(String projectName) throws Exception {
+        DevModeSession session = getSession(projectName);
+        ProcessHandle root = (session == null) ? null : session.getProcessHandle();
+        if (root == null || !root.isAlive()) {
+            throw new Exception("No reattached dev mode process was found for project " + projectName);
+        }
+
+        List<ProcessHandle> tree = DevModeProcessTree.getTree(root);
+        session.transition(DevModeSession.State.STOPPING);
+        root.destroy();
+
+        // Processes that outlive dev mode are asked to end. If dev mode itself did not exit in time, they are ended forcibly.
+        root.onExit().completeOnTimeout(root, STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS).thenRun(() -> {
+            boolean timedOut = root.isAlive();
+            for (ProcessHandle handle : tree) {
+                if (handle.isAlive()) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Ending process " + handle.pid() + " of project " + projectName);
+                    }
+                    if (timedOut) {
+                        handle.destroyForcibly();
+                    } else {
+                        handle.destroy();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the running dev mode process of the input project. The process recorded in the dev mode process registry is
+     * used if it is still alive. Otherwise, the running server of the project is looked up, and the build tool process that
+     * runs it in dev mode, if any, is used. If the server is not run by dev mode, the server process itself is used.
+     *
+     * @param projectName The project name.
+     * @param project The project.
+     *
+     * @return The running dev mode process of the input project, if any.
+     */
+    private Optional<ProcessHandle> findDevModeProcess(String projectName, Project project) {
+        DevModeProcessRegistry registry = DevModeProcessRegistry.getInstance();
+        List<ProcessHandle> recorded = registry.findLiveProcesses(projectName);
+        if (!recorded.isEmpty()) {
+            return Optional.of(recorded.get(0));
+        }
+
+        for (ProcessHandle server : registry.findServerProcesses(project)) {
+            Optional<ProcessHandle> ancestor = server.parent();
+            for (int i = 0; i < MAX_ANCESTOR_DEPTH && ancestor.isPresent(); i++) {
+                String commandLine = ancestor.get().info().commandLine().orElse("");
+                for (String marker : DEV_MODE_COMMAND_MARKERS) {
+                    if (commandLine.contains(marker)) {
+                        return ancestor;
+                    }
+                }
+                ancestor = ancestor.get().parent();
+            }
+
+            return Optional.of(server);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("Sessions: ").append(sessionMap.values());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Adds a development configuration overlay to the Liberty servers of a project while dev mode runs. The overlay is a
+ * server configuration file in the configDropins/overrides directory of each server. It lowers the rate at which the
+ * server polls its configuration and applications, and resets the trace specification and log file sizes, which are
+ * often left at debugging values. The overlay is written before dev mode is launched if the server already exists, or as
+ * soon as the server is ready otherwise, and it is removed when dev mode ends.
+ */
+public class ServerConfigOverlay {
+
+    /** Name of the overlay file in the configDropins/overrides directory of a server. */
+    public static final String OVERLAY_FILE_NAME = "liberty-tools-dev.xml";
+
+    /** Content of the overlay file. */
+    public static final String OVERLAY_CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<!-- Generated by Liberty Tools while dev mode runs. Removed when dev mode ends. -->\n" + "<server>\n"
+            + "    <config updateTrigger=\"polled\" monitorInterval=\"2s\"/>\n"
+            + "    <applicationMonitor updateTrigger=\"polled\" pollingRate=\"1s\"/>\n"
+            + "    <logging traceSpecification=\"*=info\" maxFileSize=\"20\" maxFiles=\"2\"/>\n" + "</server>\n";
+
+    /** ServerConfigOverlay instance. */
+    private static ServerConfigOverlay instance;
+
+    /**
+     * Constructor.
+     */
+    private ServerConfigOverlay() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized ServerConfigOverlay getInstance() {
+        if (instance == null) {
+            instance = new ServerConfigOverlay();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Adds the overlay to the existing servers of the input project before dev mode is launched, so that the servers read it
+     * when they start rather than as a configuration change. If the overlay is not enabled, overlays left behind by an
+     * earlier session that did not end cleanly are removed instead.
+     *
+     * @param project The project.
+     * @param enabled True if the overlay was requested for this start. False, otherwise.
+     *
+     * @return The names of the servers to which the overlay was written, or null if the overlay is not enabled.
+     */
+    public Set<String> prepareStart(Project project, boolean enabled) {
+        String serversPath = (project == null) ? null : project.getLibertyServersPath();
+        if (serversPath == null) {
+            return enabled ? Collections.<String> emptySet() : null;
+        }
+
+        File serversDir = new File(serversPath);
+        if (!enabled) {
+            removeOverlays(serversDir);
+            return null;
+        }
+
+        Set<String> written = new HashSet<String>();
+        writeOverlays(serversDir, Collections.<String> emptySet(), written);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Development configuration overlay written before start for servers " + written + " of project " + project.getName());
+        }
+
+        return written;
+    }
+
+    /**
+     * Keeps the overlay on the servers of the input project until the input session ends. Servers created by this start did
+     * not exist when {@link #prepareStart(Project, boolean)} ran, so the overlay is added to them once the server is ready.
+     *
+     * @param project The project.
+     * @param session The dev mode session of the project.
+     * @param preparedServers The servers returned by {@link #prepareStart(Project, boolean)}. If null, nothing is done.
+     */
+    public void applyWhileRunning(Project project, DevModeSession session, Set<String> preparedServers) {
+        String serversPath = (project == null) ? null : project.getLibertyServersPath();
+        if (serversPath == null || preparedServers == null) {
+            return;
+        }
+
+        File serversDir = new File(serversPath);
+        if (session == null || session.isExited()) {
+            removeOverlays(serversDir);
+            return;
+        }
+
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                writeOverlays(serversDir, preparedServers, null);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                    removeOverlays(serversDir);
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes the overlay from the servers of the input project. Used when a start that wrote the overlay did not launch dev
+     * mode.
+     *
+     * @param project The project.
+     */
+    public void release(Project project) {
+        String serversPath = (project == null) ? null : project.getLibertyServersPath();
+        if (serversPath != null) {
+            removeOverlays(new File(serversPath));
+        }
+    }
+
+    /**
+     * Writes the overlay file to each server under the input directory that has a server.xml file. The overlay is not
+     * written to a server that does not exist yet, because the server create command fails if the server directory
+     * exists.
+     *
+     * @param serversDir The wlp/usr/servers directory.
+     *
+     * @return The number of servers whose overlay file was written or was already current.
+     */
+    public static int writeOverlays(File serversDir) {
+        return writeOverlays(serversDir, Collections.<String> emptySet(), null);
+    }
+
+    /**
+     * Writes the overlay file to each server under the input directory that has a server.xml file, except the skipped
+     * servers.
+     *
+     * @param serversDir The wlp/usr/servers directory.
+     * @param skippedServers The names of the servers whose overlay file is not written.
+     * @param written The set to which the names of the servers whose overlay file was written or was already current are
+     *        added, or null.
+     *
+     * @return The number of servers whose overlay file was written or was already current.
+     */
+    private static int writeOverlays(File serversDir, Set<String> skippedServers, Set<String> written) {
+        File[] serverDirs = serversDir.listFiles(File::isDirectory);
+        if (serverDirs == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (File serverDir : serverDirs) {
+            if (skippedServers.contains(serverDir.getName()) || !new File(serverDir, "server.xml").isFile()) {
+                continue;
+            }
+
+            File overlay = getOverlayFile(serverDir);
+            try {
+                // Rewriting an unchanged overlay would make the server read its configuration again.
+                if (!overlay.isFile() || !OVERLAY_CONTENT.equals(Files.readString(overlay.toPath(), StandardCharsets.UTF_8))) {
+                    Files.createDirectories(overlay.toPath().getParent());
+                    Files.writeString(overlay.toPath(), OVERLAY_CONTENT, StandardCharsets.UTF_8);
+                }
+                count++;
+                if (written != null) {
+                    written.add(serverDir.getName());
+                }
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to write the development configuration overlay " + overlay, e);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes the overlay file from each server under the input directory. The configDropins/overrides directory, and its
+     * configDropins parent, are also removed if they are left empty.
+     *
+     * @param serversDir The wlp/usr/servers directory.
+     *
+     * @return The number of overlay files removed.
+     */
+    public static int removeOverlays(File serversDir) {
+        File[] serverDirs = serversDir.listFiles(File::isDirectory);
+        if (serverDirs == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (File serverDir : serverDirs) {
+            File overlay = getOverlayFile(serverDir);
+            if (overlay.isFile() && overlay.delete()) {
+                count++;
+
+                // File.delete does not remove directories that are not empty.
+                File overridesDir = overlay.getParentFile();
+                if (overridesDir.delete()) {
+                    overridesDir.getParentFile().delete();
+                }
+            }
+        }
+
+        if (count > 0 && Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Development configuration overlay removed from " + count + " server(s) under " + serversDir);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the overlay file of the input server.
+     *
+     * @param serverDir The server directory.
+     *
+     * @return The overlay file of the input server.
+     */
+    private static File getOverlayFile(File serverDir) {
+        return new File(new File(new File(serverDir, "configDropins"), "overrides"), OVERLAY_FILE_NAME);
+    }
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Adds options that shorten the startup of the Liberty server JVM that dev mode runs. The options are passed through
+ * liberty.jvm.* properties, which dev mode writes to the jvm.options file of the server it creates. Options whose
+ * setting the project already configures, in the start parameters or in the jvm.options or server.env file of its
+ * server configuration, are not added.
+ */
+public class ServerJvmFastStartup {
+
+    /** Options keyed by the liberty.jvm.* property through which they are added. */
+    public static final Map<String, String> OPTIONS = new LinkedHashMap<String, String>();
+
+    static {
+        // Stops JIT compilation at the first tier, which compiles faster but produces slower code.
+        OPTIONS.put("liberty.jvm.fastStartTiered", "-XX:TieredStopAtLevel=1");
+        // Maps the class data sharing archive of the JVM when it is available.
+        OPTIONS.put("liberty.jvm.fastStartShare", "-Xshare:auto");
+        // Uses the garbage collector with the least startup and footprint cost for small heaps.
+        OPTIONS.put("liberty.jvm.fastStartGc", "-XX:+UseSerialGC");
+    }
+
+    /** Largest maximum heap in MB for which the serial garbage collector is added. */
+    public static final long SERIAL_GC_MAX_HEAP_MB = 1024;
+
+    /** Maximum heap size option. */
+    private static final String XMX = "-Xmx";
+
+    /**
+     * Constructor.
+     */
+    private ServerJvmFastStartup() {
+    }
+
+    /**
+     * Returns the start parameters with the fast startup options of the server JVM added.
+     *
+     * @param project The project.
+     * @param startParms The start parameters. It may be null.
+     *
+     * @return The start parameters with the fast startup options of the server JVM added.
+     */
+    public static String addToStartParms(Project project, String startParms) {
+        String parms = (startParms == null) ? "" : startParms.trim();
+        if (project == null || project.getBuildType() == BuildType.UNKNOWN) {
+            return parms;
+        }
+
+        List<String> configured = new ArrayList<String>(getServerJvmOptions(parms));
+        String projectPath = project.getPath();
+        if (projectPath != null) {
+            for (String fileName : new String[] { "jvm.options", "server.env" }) {
+                Path file = Paths.get(projectPath, "src", "main", "liberty", "config", fileName);
+                try {
+                    if (Files.isRegularFile(file)) {
+                        configured.addAll(getJvmOptions(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+                    }
+                } catch (IOException e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read " + file, e);
+                    }
+                }
+            }
+        }
+
+        String updated = addToStartParms(project.getBuildType(), parms, configured);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Fast server JVM startup options for project " + project.getName() + ". Start parameters: " + updated);
+        }
+
+        return updated;
+    }
+
+    /**
+     * Returns the start parameters with the fast startup options of the server JVM added, leaving out the options whose
+     * setting is already configured.
+     *
+     * @param buildType The build type.
+     * @param startParms The start parameters.
+     * @param configured The server JVM options that the project already configures.
+     *
+     * @return The start parameters with the fast startup options of the server JVM added.
+     */
+    public static String addToStartParms(BuildType buildType, String startParms, List<String> configured) {
+        Set<String> configuredKeys = new HashSet<String>();
+        long maxHeapMb = -1;
+        for (String option : configured) {
+            configuredKeys.add(BuildToolJvmPreset.getOptionKey(option));
+            if (option.startsWith(XMX)) {
+                maxHeapMb = Math.max(maxHeapMb, getSizeMb(option.substring(XMX.length())));
+            }
+        }
+
+        String prefix = (buildType == BuildType.GRADLE) ? "-P" : "-D";
+        StringBuilder parms = new StringBuilder(startParms);
+        for (Map.Entry<String, String> entry : OPTIONS.entrySet()) {
+            String option = entry.getValue();
+            if (configuredKeys.contains(BuildToolJvmPreset.getOptionKey(option)) || startParms.contains(entry.getKey() + "=")) {
+                continue;
+            }
+
+            // The serial collector pauses the application for too long on large heaps.
+            if (option.endsWith("SerialGC") && maxHeapMb > SERIAL_GC_MAX_HEAP_MB) {
+                continue;
+            }
+
+            parms.append(parms.length() == 0 ? "" : " ").append(prefix).append(entry.getKey()).append("=").append(option);
+        }
+
+        return parms.toString();
+    }
+
+    /**
+     * Returns the server JVM options set in the input start parameters through liberty.jvm.* properties.
+     *
+     * @param startParms The start parameters.
+     *
+     * @return The server JVM options set in the input start parameters.
+     */
+    private static List<String> getServerJvmOptions(String startParms) {
+        List<String> options = new ArrayList<String>();
+        for (String parm : startParms.split("\\s+")) {
+            if (parm.startsWith("-Dliberty.jvm.") || parm.startsWith("-Pliberty.jvm.")) {
+                int equalsIndex = parm.indexOf('=');
+                if (equalsIndex > 0) {
+                    options.addAll(getJvmOptions(parm.substring(equalsIndex + 1)));
+                }
+            }
+        }
+
+        return options;
+    }
+
+    /**
+     * Returns the JVM options found in the input text, such as the content of a jvm.options or server.env file.
+     *
+     * @param text The text.
+     *
+     * @return The JVM options found in the input text.
+     */
+    private static List<String> getJvmOptions(String text) {
+        List<String> options = new ArrayList<String>();
+        for (String token : text.split("[\\s\"']+")) {
+            // server.env lines have the form JVM_ARGS=-Xmx1g, so an option may follow the variable name.
+            int optionIndex = token.indexOf("-X");
+            if (optionIndex == 0 || (optionIndex > 0 && token.charAt(optionIndex - 1) == '=')) {
+                options.add(token.substring(optionIndex));
+            }
+        }
+
+        return options;
+    }
+
+    /**
+     * Returns the input JVM memory size in MB.
+     *
+     * @param size The memory size, such as 512m or 2g.
+     *
+     * @return The memory size in MB, or -1 if the size could not be parsed.
+     */
+    private static long getSizeMb(String size) {
+        if (size.isEmpty()) {
+            return -1;
+        }
+
+        char unit = Character.toLowerCase(size.charAt(size.length() - 1));
+        String digits = Character.isDigit(unit) ? size : size.substring(0, size.length() - 1);
+        try {
+            long value = Long.parseLong(digits);
+            switch (unit) {
+                case 'g':
+                    return value * 1024;
+                case 'm':
+                    return value;
+                case 'k':
+                    return value / 1024;
+                default:
+                    return Character.isDigit(unit) ? value / (1024 * 1024) : -1;
+            }
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Feeds the new lines of the messages.log files of a project's Liberty servers to a dev mode session. Used for dev mode
+ * sessions that run on a terminal, whose output is not accessible. The job does not hold a thread between reads; it
+ * reschedules itself until the session ends.
+ */
+public class ServerMessagesLogTailer extends Job {
+
+    /** Delay in milliseconds between reads. */
+    private static final long READ_INTERVAL_MS = 500;
+
+    /** Maximum number of bytes read per file on each run. */
+    private static final int MAX_READ_BYTES = 1024 * 1024;
+
+    /** The project containing the Liberty server configuration. */
+    private final Project serverProject;
+
+    /** The session to which lines are fed. */
+    private final DevModeSession session;
+
+    /** The position and identity of each messages.log file read so far. */
+    private final Map<File, Position> positions = new HashMap<File, Position>();
+
+    /**
+     * Constructor.
+     *
+     * @param project The project running dev mode.
+     * @param session The session to which lines are fed.
+     */
+    private ServerMessagesLogTailer(Project project, DevModeSession session) {
+        super("Reading Liberty server messages for " + project.getName());
+        this.serverProject = getServerProject(project);
+        this.session = session;
+        setSystem(true);
+        setPriority(Job.DECORATE);
+    }
+
+    /**
+     * Starts feeding the new lines of the input project's messages.log files to the input session. Content logged before
+     * this call is ignored.
+     *
+     * @param project The project running dev mode.
+     * @param session The session to which lines are fed.
+     */
+    public static void start(Project project, DevModeSession session) {
+        start(project, session, false);
+    }
+
+    /**
+     * Starts feeding the lines of the input project's messages.log files to the input session.
+     *
+     * @param project The project running dev mode.
+     * @param session The session to which lines are fed.
+     * @param replay True if the content logged before this call is fed too, so that the session reflects the state of a
+     *        server that was started before the session. False if the content logged before this call is ignored.
+     */
+    public static void start(Project project, DevModeSession session, boolean replay) {
+        if (project == null || session == null || session.isExited()) {
+            return;
+        }
+
+        ServerMessagesLogTailer tailer = new ServerMessagesLogTailer(project, session);
+        String serversPath = tailer.serverProject.getLibertyServersPath();
+        if (serversPath == null) {
+            return;
+        }
+
+        // Skip existing content, unless it is replayed.
+        for (File messagesLog : replay ? new File[0] : tailer.findMessagesLogs()) {
+            tailer.positions.put(messagesLog, new Position(messagesLog.length(), getFileIdentity(messagesLog)));
+        }
+
+        // Do not read anything until the build creates the servers directory. Stop waiting if dev mode ends first.
+        CompletableFuture<Path> serversDirReady = WaitService.getInstance().waitForFile(Paths.get(serversPath));
+        DevModeSessionListener exitListener = new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    serversDirReady.cancel(false);
+                }
+            }
+        };
+        session.addListener(exitListener);
+        serversDirReady.whenComplete((path, t) -> {
+            session.removeListener(exitListener);
+            if (t == null && !session.isExited()) {
+                tailer.schedule();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        if (session.isExited() || monitor.isCanceled()) {
+            return Status.OK_STATUS;
+        }
+
+        for (File messagesLog : findMessagesLogs()) {
+            try {
+                readNewLines(messagesLog);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read " + messagesLog, e);
+                }
+            }
+        }
+
+        if (!session.isExited()) {
+            schedule(READ_INTERVAL_MS);
+        }
+
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Reads the complete lines appended to the input file since the last read and feeds them to the session.
+     *
+     * @param messagesLog The messages.log file.
+     *
+     * @throws IOException
+     */
+    private void readNewLines(File messagesLog) throws IOException {
+        long length = messagesLog.length();
+        String identity = getFileIdentity(messagesLog);
+        Position position = positions.get(messagesLog);
+
+        // Start from the beginning of files that are new, were replaced, or were truncated.
+        if (position == null || !position.identity.equals(identity) || length < position.offset) {
+            position = new Position(0, identity);
+            positions.put(messagesLog, position);
+        }
+
+        if (length == position.offset) {
+            return;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(messagesLog, "r")) {
+            raf.seek(position.offset);
+            byte[] buffer = new byte[(int) Math.min(length - position.offset, MAX_READ_BYTES)];
+            raf.readFully(buffer);
+
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            int consumed = 0;
+            for (int i = 0; i < buffer.length; i++) {
+                byte b = buffer[i];
+                if (b == '\n') {
+                    session.processOutputLine(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    consumed = i + 1;
+                } else if (b != '\r') {
+                    line.write(b);
+                }
+            }
+
+            // Incomplete lines are read again on the next run, unless they do not fit in the buffer.
+            position.offset += (consumed == 0 && buffer.length == MAX_READ_BYTES) ? buffer.length : consumed;
+        }
+    }
+
+    /**
+     * Returns the messages.log files of the servers of the project.
+     *
+     * @return The messages.log files of the servers of the project.
+     */
+    private File[] findMessagesLogs() {
+        String serversPath = serverProject.getLibertyServersPath();
+        if (serversPath == null) {
+            return new File[0];
+        }
+
+        File[] serverDirs = new File(serversPath).listFiles(File::isDirectory);
+        if (serverDirs == null) {
+            return new File[0];
+        }
+
+        File[] messagesLogs = new File[serverDirs.length];
+        int count = 0;
+        for (File serverDir : serverDirs) {
+            File messagesLog = new File(new File(serverDir, "logs"), "messages.log");
+            if (messagesLog.isFile()) {
+                messagesLogs[count++] = messagesLog;
+            }
+        }
+
+        File[] found = new File[count];
+        System.arraycopy(messagesLogs, 0, found, 0, count);
+        return found;
+    }
+
+    /**
+     * Returns a value that changes when the input file is replaced by a new file with the same name. The file key (e.g.
+     * the inode) is used where the file system provides one, and the creation time otherwise. Some file systems update
+     * the reported creation time when the file is written, so it is not used when a file key is available.
+     *
+     * @param file The file.
+     *
+     * @return A value that changes when the input file is replaced by a new file with the same name. Empty if the file
+     *         attributes could not be read.
+     */
+    private static String getFileIdentity(File file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            Object fileKey = attributes.fileKey();
+            return (fileKey != null) ? fileKey.toString() : Long.toString(attributes.creationTime().toMillis());
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Returns the project containing the Liberty server configuration associated with the input project.
+     *
+     * @param project The project running dev mode.
+     *
+     * @return The project containing the Liberty server configuration associated with the input project.
+     */
+    private static Project getServerProject(Project project) {
+        if (project.isParentOfServerModule()) {
+            List<Project> serverProjects = project.getChildLibertyServerProjects();
+            if (serverProjects.size() == 1) {
+                return serverProjects.get(0);
+            }
+        }
+
+        return project;
+    }
+
+    /**
+     * The read position and identity of a messages.log file.
+     */
+    private static class Position {
+
+        /** The offset after the last complete line read. */
+        long offset;
+
+        /** The identity of the file when it was first read. */
+        final String identity;
+
+        /**
+         * Constructor.
+         *
+         * @param offset The offset after the last complete line read.
+         * @param identity The identity of the file.
+         */
+        Position(long offset, String identity) {
+            this.offset = offset;
+            this.identity = identity;
+        }
+    }
+}
@@ -0,0 +1,695 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferenceInitializer;
+
+/**
+ * Keeps one installation of each Liberty runtime version in the plugin state area and points the dev mode starts of all
+ * projects that use that version at it, instead of installing the runtime under the build directory of every project.
+ * The server configuration and output stay in the user directory of each project, at the same location as without the
+ * cache. Only runtimes whose version is pinned by the project are shared, since an unpinned version resolves to a
+ * different runtime over time. Dev mode installs the server features into the runtime as the server starts, so only one
+ * start at a time installs into a shared runtime. Runtimes are reference counted by the dev mode sessions that use them,
+ * and runtimes that were not used for {@link #MAX_UNUSED_AGE_MS} are deleted.
+ */
+public class SharedRuntimeCache {
+
+    /** Time in milliseconds after which a runtime that is not used by any session is deleted. */
+    public static final long MAX_UNUSED_AGE_MS = 14L * 24 * 60 * 60 * 1000;
+
+    /** Runtime artifact used by the Liberty build plugins when the project does not name one. */
+    public static final String DEFAULT_RUNTIME_ARTIFACT = "openliberty-kernel";
+
+    /** Time in milliseconds that a start waits for another start to finish installing into the same shared runtime. */
+    public static final long INSTALL_WAIT_TIMEOUT_MS = 5L * 60 * 1000;
+
+    /** Cache directory name, relative to the plugin state location. */
+    private static final String CACHE_DIR_NAME = "runtimes";
+
+    /** File whose modification time records when a runtime was last used. */
+    private static final String LAST_USED_FILE_NAME = ".lastUsed";
+
+    /** Suffix of the directories into which runtimes are copied before they are added to the cache. */
+    private static final String TEMP_DIR_SUFFIX = ".tmp";
+
+    /** Liberty Maven plugin properties that set where the runtime is installed. */
+    private static final String[] MAVEN_INSTALL_PROPERTIES = { "-DruntimeInstallDirectory=", "-DinstallDirectory=" };
+
+    /** Liberty Gradle plugin properties that set where the runtime is installed. */
+    private static final String[] GRADLE_INSTALL_PROPERTIES = { "-Pliberty.installDir=" };
+
+    /** Maven runtime version property. */
+    private static final Pattern MAVEN_VERSION_PROPERTY = Pattern.compile("<liberty\\.runtime\\.version>\\s*([^<\\s]+)\\s*<");
+
+    /** Maven runtime artifact property. */
+    private static final Pattern MAVEN_ARTIFACT_PROPERTY = Pattern.compile("<liberty\\.runtime\\.artifactId>\\s*([^<\\s]+)\\s*<");
+
+    /** Maven runtimeArtifact plugin configuration. */
+    private static final Pattern MAVEN_RUNTIME_ARTIFACT = Pattern.compile("<runtimeArtifact>(.*?)</runtimeArtifact>", Pattern.DOTALL);
+
+    /** Artifact id element of a Maven runtimeArtifact configuration. */
+    private static final Pattern MAVEN_ARTIFACT_ID = Pattern.compile("<artifactId>\\s*([^<\\s]+)\\s*<");
+
+    /** Version element of a Maven runtimeArtifact configuration. */
+    private static final Pattern MAVEN_VERSION = Pattern.compile("<version>\\s*([^<\\s]+)\\s*<");
+
+    /** Gradle libertyRuntime dependency in map notation. */
+    private static final Pattern GRADLE_RUNTIME_MAP = Pattern.compile("libertyRuntime\\s*\\(?\\s*group\\s*[:=]\\s*['\"][^'\"]+['\"]\\s*,"
+            + "\\s*name\\s*[:=]\\s*['\"]([^'\"]+)['\"]\\s*,\\s*version\\s*[:=]\\s*['\"]([^'\"]+)['\"]");
+
+    /** Gradle libertyRuntime dependency in string notation. */
+    private static final Pattern GRADLE_RUNTIME_STRING = Pattern.compile(
+            "libertyRuntime\\s*\\(?\\s*['\"][^:'\"]+:([^:'\"]+):([^:'\"]+)['\"]");
+
+    /** The runtime keys in use, keyed by the name of the project whose dev mode session uses them. */
+    private final Map<String, String> references = new ConcurrentHashMap<String, String>();
+
+    /** The runtime keys being copied into the cache. */
+    private final Set<String> seeding = ConcurrentHashMap.newKeySet();
+
+    /** The names of the projects whose start may be installing into a shared runtime, keyed by runtime key. */
+    private final Map<String, String> installing = new HashMap<String, String>();
+
+    /** SharedRuntimeCache instance. */
+    private static SharedRuntimeCache instance;
+
+    /**
+     * Constructor.
+     */
+    private SharedRuntimeCache() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized SharedRuntimeCache getInstance() {
+        if (instance == null) {
+            instance = new SharedRuntimeCache();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if the dev mode starts of all projects share Liberty runtime installations. False, otherwise.
+     *
+     * @return True if the dev mode starts of all projects share Liberty runtime installations. False, otherwise.
+     */
+    public static boolean isEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferenceInitializer.SHARED_RUNTIME_CACHE);
+    }
+
+    /**
+     * Returns the directory that holds the shared runtimes.
+     *
+     * @return The directory that holds the shared runtimes, or null if the plugin is not active.
+     */
+    public static File getCacheDir() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return (plugin == null) ? null : plugin.getStateLocation().append(CACHE_DIR_NAME).toFile();
+    }
+
+    /**
+     * Returns true if the shared runtime used by the input project is installed. False, otherwise.
+     *
+     * @param project The project.
+     *
+     * @return True if the shared runtime used by the input project is installed. False, otherwise.
+     */
+    public boolean isInstalled(Project project) {
+        File cacheDir = getCacheDir();
+        String key = getRuntimeKey(project);
+        return cacheDir != null && key != null && isInstalled(new File(cacheDir, key));
+    }
+
+    /**
+     * Returns the installation directory of the shared runtime used by the input project.
+     *
+     * @param project The project.
+     *
+     * @return The wlp directory of the shared runtime used by the input project, or null if it is not installed.
+     */
+    public File getInstalledRuntimeDir(Project project) {
+        if (!isInstalled(project)) {
+            return null;
+        }
+
+        return new File(new File(getCacheDir(), getRuntimeKey(project)), "wlp");
+    }
+
+    /**
+     * Returns the start parameters with the properties that point the dev mode start of the input project at the shared
+     * runtime it uses. The project is recorded as a user of the runtime until {@link #releaseOnExit} releases it. The start
+     * parameters are returned unchanged if the cache is disabled, if they already set the runtime location, if the runtime
+     * version of the project cannot be determined or is not pinned, or if the runtime cannot be used yet. A Maven start
+     * installs the runtime into the cache if it is not there, unless another start is already installing it. Gradle
+     * starts only use runtimes that are already in the cache. If another start is installing features into the runtime,
+     * this call waits until that server is ready, for up to {@link #INSTALL_WAIT_TIMEOUT_MS}, and the project uses its own
+     * runtime if it is still not done.
+     *
+     * @param project The project to start.
+     * @param startParms The start parameters.
+     *
+     * @return The start parameters with the shared runtime properties added.
+     */
+    public String addToStartParms(Project project, String startParms) {
+        String projectName = project.getName();
+        File cacheDir = getCacheDir();
+        String serversPath = project.getLibertyServersPath();
+        if (!isEnabled() || cacheDir == null || serversPath == null) {
+            return startParms;
+        }
+
+        boolean gradle = project.getBuildType() == BuildType.GRADLE;
+        for (String property : gradle ? GRADLE_INSTALL_PROPERTIES : MAVEN_INSTALL_PROPERTIES) {
+            if (startParms.contains(property)) {
+                return startParms;
+            }
+        }
+
+        String key = getRuntimeKey(project);
+        if (key == null) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "The runtime version of project " + projectName + " is unknown or not pinned. The shared runtime is not used.");
+            }
+            return startParms;
+        }
+
+        File runtimeDir = new File(cacheDir, key);
+        synchronized (this) {
+            if (!isInstalled(runtimeDir) && (gradle || references.containsValue(key) || seeding.contains(key))) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                            "Shared runtime " + key + " is not installed yet. Project " + projectName + " uses its own runtime.");
+                }
+                return startParms;
+            }
+
+            if (!awaitInstall(projectName, key)) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Another start is still installing into shared runtime " + key + ". Project "
+                            + projectName + " uses its own runtime.");
+                }
+                return startParms;
+            }
+
+            installing.put(key, projectName);
+            references.put(projectName, key);
+        }
+
+        runtimeDir.mkdirs();
+        touch(runtimeDir);
+
+        // The user directory is the one the project would have without the cache, so that its servers are found as usual.
+        String userDir = Paths.get(serversPath).getParent().toString();
+        String parms = gradle
+                ? "-Pliberty.installDir=" + new File(runtimeDir, "wlp").getPath() + " -Pliberty.userDir=" + userDir
+                : "-DruntimeInstallDirectory=" + runtimeDir.getPath() + " -DuserDirectory=" + userDir;
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Project " + projectName + " uses shared runtime " + key + ": " + parms);
+        }
+
+        return startParms.isEmpty() ? parms : startParms + " " + parms;
+    }
+
+    /**
+     * Waits until no other start is installing into the input shared runtime. Must be called while holding the lock of this
+     * instance.
+     *
+     * @param projectName The name of the project to start.
+     * @param key The runtime key.
+     *
+     * @return True if no other start is installing into the runtime. False if the wait timed out or was interrupted.
+     */
+    private boolean awaitInstall(String projectName, String key) {
+        long deadline = System.currentTimeMillis() + INSTALL_WAIT_TIMEOUT_MS;
+        while (installing.containsKey(key) && !projectName.equals(installing.get(key))) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Records that the start of the input project is no longer installing into its shared runtime, and wakes up the starts
+     * that wait for it.
+     *
+     * @param projectName The project name.
+     */
+    private synchronized void endInstall(String projectName) {
+        if (installing.values().removeIf(projectName::equals)) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Releases the shared runtime used by the input project when the input session ends. If the project did not use a
+     * shared runtime, and the runtime it installed under its build directory is not in the cache yet, the runtime is
+     * copied into the cache once the server is ready.
+     *
+     * @param project The started project.
+     * @param session The dev mode session of the project. If null, the runtime is released immediately.
+     */
+    public void releaseOnExit(Project project, DevModeSession session) {
+        String projectName = project.getName();
+        if (session == null || session.isExited()) {
+            release(projectName);
+            return;
+        }
+
+        boolean seed = isEnabled() && !references.containsKey(projectName);
+        session.addListener(new DevModeSessionListener() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                // The features of the server are installed by the time the server is ready.
+                endInstall(projectName);
+                if (seed) {
+                    scheduleSeeding(project);
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                if (newState == DevModeSession.State.EXITED) {
+                    s.removeListener(this);
+                    release(projectName);
+                }
+            }
+        });
+    }
+
+    /**
+     * Releases the shared runtime used by the input project.
+     *
+     * @param projectName The project name.
+     */
+    public void release(String projectName) {
+        endInstall(projectName);
+        String key = references.remove(projectName);
+        File cacheDir = getCacheDir();
+        if (key != null && cacheDir != null) {
+            touch(new File(cacheDir, key));
+        }
+    }
+
+    /**
+     * Schedules the deletion of the shared runtimes that are not used by any session and were not used for
+     * {@link #MAX_UNUSED_AGE_MS}.
+     */
+    public void scheduleGarbageCollection() {
+        File cacheDir = getCacheDir();
+        if (cacheDir == null || !cacheDir.isDirectory()) {
+            return;
+        }
+
+        Job job = new Job("Deleting unused Liberty runtimes") {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                List<String> deleted = collectGarbage(cacheDir, new HashSet<String>(references.values()), MAX_UNUSED_AGE_MS);
+                if (Trace.isEnabled() && !deleted.isEmpty()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Deleted unused shared runtimes: " + deleted);
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
+    }
+
+    /**
+     * Deletes the runtimes in the input cache directory that are not in use and were not used for the input time, and the
+     * leftovers of interrupted copies.
+     *
+     * @param cacheDir The cache directory.
+     * @param inUse The keys of the runtimes in use.
+     * @param maxUnusedAgeMs The time in milliseconds after which an unused runtime is deleted.
+     *
+     * @return The keys of the deleted runtimes.
+     */
+    public static List<String> collectGarbage(File cacheDir, Collection<String> inUse, long maxUnusedAgeMs) {
+        List<String> deleted = new ArrayList<String>();
+        File[] runtimeDirs = cacheDir.listFiles(File::isDirectory);
+        if (runtimeDirs == null) {
+            return deleted;
+        }
+
+        long now = System.currentTimeMillis();
+        for (File runtimeDir : runtimeDirs) {
+            String key = runtimeDir.getName();
+            if (inUse.contains(key)) {
+                continue;
+            }
+
+            File lastUsedFile = new File(runtimeDir, LAST_USED_FILE_NAME);
+            long lastUsed = lastUsedFile.exists() ? lastUsedFile.lastModified() : runtimeDir.lastModified();
+            if (now - lastUsed < maxUnusedAgeMs) {
+                continue;
+            }
+
+            try {
+                delete(runtimeDir.toPath());
+                deleted.add(key);
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to delete shared runtime " + runtimeDir, e);
+                }
+            }
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Returns the key of the runtime used by the input project: the runtime artifact id and version read from its build
+     * file. Projects that do not name a runtime artifact use {@link #DEFAULT_RUNTIME_ARTIFACT}. Projects that do not pin
+     * the runtime version, or that use a version range or a dynamic version, have no key, since the build plugins then
+     * install whichever version is the latest at the time.
+     *
+     * @param project The project.
+     *
+     * @return The key of the runtime used by the input project, or null if it cannot be determined or is not pinned.
+     */
+    public static String getRuntimeKey(Project project) {
+        String projectPath = project.getPath();
+        if (projectPath == null) {
+            return null;
+        }
+
+        boolean gradle = project.getBuildType() == BuildType.GRADLE;
+        File buildFile = new File(projectPath, gradle ? "build.gradle" : "pom.xml");
+        if (!buildFile.isFile()) {
+            return null;
+        }
+
+        String content;
+        try {
+            content = new String(Files.readAllBytes(buildFile.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the build file of project " + project.getName(), e);
+            }
+            return null;
+        }
+
+        String artifactId = DEFAULT_RUNTIME_ARTIFACT;
+        String version = null;
+        if (gradle) {
+            Matcher matcher = GRADLE_RUNTIME_MAP.matcher(content);
+            if (!matcher.find()) {
+                matcher = GRADLE_RUNTIME_STRING.matcher(content);
+                if (!matcher.find()) {
+                    // Without a runtime dependency in one of the usual notations, the runtime version is not known.
+                    return null;
+                }
+            }
+            artifactId = matcher.group(1);
+            version = matcher.group(2);
+        } else {
+            Matcher runtimeArtifact = MAVEN_RUNTIME_ARTIFACT.matcher(content);
+            if (runtimeArtifact.find()) {
+                Matcher matcher = MAVEN_ARTIFACT_ID.matcher(runtimeArtifact.group(1));
+                artifactId = matcher.find() ? matcher.group(1) : artifactId;
+                matcher = MAVEN_VERSION.matcher(runtimeArtifact.group(1));
+                version = matcher.find() ? matcher.group(1) : version;
+            }
+
+            // The properties override the plugin configuration.
+            Matcher matcher = MAVEN_ARTIFACT_PROPERTY.matcher(content);
+            artifactId = matcher.find() ? matcher.group(1) : artifactId;
+            matcher = MAVEN_VERSION_PROPERTY.matcher(content);
+            version = matcher.find() ? matcher.group(1) : version;
+
+            artifactId = resolveMavenProperty(content, artifactId);
+            version = (version == null) ? null : resolveMavenProperty(content, version);
+        }
+
+        return (artifactId == null || artifactId.contains("$") || !isPinned(version)) ? null : toKey(artifactId, version);
+    }
+
+    /**
+     * Returns true if the input runtime version names a single version. False, otherwise.
+     *
+     * @param version The runtime version. It may be null.
+     *
+     * @return True if the input runtime version names a single version. False if it is missing, unresolved, a version
+     *         range, or a dynamic version such as latest or 23.+.
+     */
+    static boolean isPinned(String version) {
+        if (version == null || version.isBlank() || version.equalsIgnoreCase("latest") || version.equalsIgnoreCase("release")
+                || version.equalsIgnoreCase("latest.release") || version.equalsIgnoreCase("latest.integration")) {
+            return false;
+        }
+
+        for (char c : new char[] { '$', '[', ']', '(', ')', ',', '+' }) {
+            if (version.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the value of the input value if it is a reference to a property defined in the input pom.
+     *
+     * @param pom The pom content.
+     * @param value The value, which may be a property reference such as ${version.openliberty}.
+     *
+     * @return The resolved value, the input value if it is not a property reference, or null if the property is not
+     *         defined in the pom.
+     */
+    private static String resolveMavenProperty(String pom, String value) {
+        if (!value.startsWith("${") || !value.endsWith("}")) {
+            return value;
+        }
+
+        String property = Pattern.quote(value.substring(2, value.length() - 1));
+        Matcher matcher = Pattern.compile("<" + property + ">\\s*([^<\\s]+)\\s*<").matcher(pom);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Returns the cache key of the input runtime artifact and version.
+     *
+     * @param artifactId The runtime artifact id.
+     * @param version The runtime version.
+     *
+     * @return The cache key of the input runtime artifact and version. It is usable as a directory name.
+     */
+    private static String toKey(String artifactId, String version) {
+        return (artifactId + "-" + version).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Returns true if the input cache entry holds an installed runtime. False, otherwise.
+     *
+     * @param runtimeDir The cache entry directory.
+     *
+     * @return True if the input cache entry holds an installed runtime. False, otherwise.
+     */
+    private static boolean isInstalled(File runtimeDir) {
+        return new File(runtimeDir, "wlp/lib").isDirectory();
+    }
+
+    /**
+     * Schedules the copy of the runtime installed under the build directory of the input project into the cache.
+     *
+     * @param project The project.
+     */
+    private void scheduleSeeding(Project project) {
+        File cacheDir = getCacheDir();
+        String key = getRuntimeKey(project);
+        String serversPath = project.getLibertyServersPath();
+        if (cacheDir == null || key == null || serversPath == null || isInstalled(new File(cacheDir, key))
+                || !LibertyRuntimeProvisioner.isProvisioned(project) || !seeding.add(key)) {
+            return;
+        }
+
+        Path wlpDir = Paths.get(serversPath).getParent().getParent();
+        Job job = new Job("Adding Liberty runtime " + key + " to the shared runtimes") {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                Path tempDir = cacheDir.toPath().resolve(key + TEMP_DIR_SUFFIX);
+                try {
+                    delete(tempDir);
+                    copyRuntime(wlpDir, tempDir.resolve("wlp"));
+                    Path runtimeDir = cacheDir.toPath().resolve(key);
+                    synchronized (SharedRuntimeCache.this) {
+                        // A Maven start may have started installing the runtime in the meantime.
+                        if (!references.containsValue(key)) {
+                            delete(runtimeDir);
+                            Files.move(tempDir, runtimeDir, StandardCopyOption.ATOMIC_MOVE);
+                            touch(runtimeDir.toFile());
+                        }
+                    }
+
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Added the runtime of project " + project.getName()
+                                + " to the shared runtimes as " + key);
+                    }
+                } catch (IOException e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to add the runtime of project " + project.getName()
+                                + " to the shared runtimes.", e);
+                    }
+                } finally {
+                    try {
+                        delete(tempDir);
+                    } catch (IOException e) {
+                        // The leftover copy is deleted by the next garbage collection.
+                    }
+                    seeding.remove(key);
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
+    }
+
+    /**
+     * Copies the input runtime installation, without its user directory, to the input target directory.
+     *
+     * @param wlpDir The runtime installation directory.
+     * @param targetDir The target directory.
+     *
+     * @throws IOException If the runtime could not be copied.
+     */
+    private static void copyRuntime(Path wlpDir, Path targetDir) throws IOException {
+        Path userDir = wlpDir.resolve("usr");
+        try (Stream<Path> paths = Files.walk(wlpDir)) {
+            for (Path source : (Iterable<Path>) paths::iterator) {
+                if (source.startsWith(userDir)) {
+                    continue;
+                }
+
+                Path target = targetDir.resolve(wlpDir.relativize(source).toString());
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the input file or directory tree, if it exists.
+     *
+     * @param path The file or directory.
+     *
+     * @throws IOException If the file or directory could not be deleted.
+     */
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    /**
+     * Records that the input runtime was used now.
+     *
+     * @param runtimeDir The runtime directory.
+     */
+    private static void touch(File runtimeDir) {
+        File lastUsedFile = new File(runtimeDir, LAST_USED_FILE_NAME);
+        try {
+            if (!lastUsedFile.createNewFile()) {
+                lastUsedFile.setLastModified(System.currentTimeMillis());
+            }
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to record the use of shared runtime " + runtimeDir, e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("Class: ").append(this.getClass().getName()).append(": ");
+        sb.append("References: ").append(references).append(", ");
+        sb.append("Seeding: ").append(seeding).append(", ");
+        synchronized (this) {
+            sb.append("Installing: ").append(installing);
+        }
+        return sb.toString();
+    }
+}
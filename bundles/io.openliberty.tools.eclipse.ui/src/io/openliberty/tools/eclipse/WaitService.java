@@ -0,0 +1,521 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Waits for sockets to accept connections, for files to appear, and for processes to exit without holding a thread per
+ * wait. Socket connections are attempted in non-blocking mode on a single selector thread. File appearance is detected
+ * through a watch service on a single thread. Process exits are detected by the JVM's process reaper. All waits return
+ * futures. Callers bound the waits with {@link CompletableFuture#orTimeout(long, TimeUnit)} and end them early with
+ * {@link CompletableFuture#cancel(boolean)}.
+ */
+public class WaitService {
+
+    /** Maximum time in milliseconds a single connection attempt may take. */
+    private static final long CONNECT_ATTEMPT_TIMEOUT_MS = 2000;
+
+    /** WaitService instance. */
+    private static WaitService instance;
+
+    /** Tasks to be run on the selector thread. */
+    private final ConcurrentLinkedQueue<Runnable> pendingTasks = new ConcurrentLinkedQueue<Runnable>();
+
+    /** Timed tasks. Only accessed on the selector thread. */
+    private final PriorityQueue<TimedTask> timedTasks = new PriorityQueue<TimedTask>();
+
+    /** Pending file waits. Guarded by the list itself. */
+    private final List<FileWait> fileWaits = new ArrayList<FileWait>();
+
+    /** The directories watched on behalf of pending file waits. Guarded by fileWaits. */
+    private final Map<Path, WatchKey> watchedDirs = new HashMap<Path, WatchKey>();
+
+    /** The selector processing connection attempts. */
+    private volatile Selector selector;
+
+    /** The watch service processing file waits. */
+    private WatchService watchService;
+
+    /**
+     * Constructor.
+     */
+    private WaitService() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized WaitService getInstance() {
+        if (instance == null) {
+            instance = new WaitService();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns a future that completes when the input host and port accept a connection. Refused connections are retried with
+     * a delay that starts at the input initial delay and doubles up to the input maximum delay.
+     *
+     * @param host The host to connect to.
+     * @param port The port to connect to.
+     * @param greeting The bytes written to the connection before it is closed, or null.
+     * @param initialDelayMs The delay in milliseconds before the first attempt and the first retry.
+     * @param maxDelayMs The maximum delay in milliseconds between retries.
+     *
+     * @return A future that completes when the input host and port accept a connection.
+     */
+    public CompletableFuture<Void> waitForConnect(String host, int port, byte[] greeting, long initialDelayMs, long maxDelayMs) {
+        CompletableFuture<Void> future = new CompletableFuture<Void>();
+        ConnectAttempt attempt = new ConnectAttempt(new InetSocketAddress(host, port), greeting, future, initialDelayMs, maxDelayMs);
+
+        try {
+            ensureSelectorStarted();
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        // Release the channel as soon as the wait ends for any reason, including cancellation and timeouts.
+        future.whenComplete((v, t) -> execute(attempt::close));
+        execute(() -> schedule(attempt::start, initialDelayMs));
+
+        return future;
+    }
+
+    /**
+     * Returns a future that completes when the input file exists. Parent directories that do not exist yet are allowed.
+     *
+     * @param file The file or directory to wait for.
+     *
+     * @return A future that completes with the input path when the file exists.
+     */
+    public CompletableFuture<Path> waitForFile(Path file) {
+        CompletableFuture<Path> future = new CompletableFuture<Path>();
+        if (Files.exists(file)) {
+            future.complete(file);
+            return future;
+        }
+
+        try {
+            ensureWatcherStarted();
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        synchronized (fileWaits) {
+            fileWaits.add(new FileWait(file.toAbsolutePath(), future));
+        }
+        processFileWaits();
+
+        // Release the watch keys no longer needed when the wait ends early.
+        future.whenComplete((p, t) -> processFileWaits());
+
+        return future;
+    }
+
+    /**
+     * Returns a future that completes when the input process exits.
+     *
+     * @param process The process.
+     *
+     * @return A future that completes with the input process when it exits.
+     */
+    public CompletableFuture<Process> waitForExit(Process process) {
+        return process.onExit();
+    }
+
+    /**
+     * Runs the input task on the selector thread.
+     *
+     * @param task The task to run.
+     */
+    private void execute(Runnable task) {
+        pendingTasks.add(task);
+        Selector s = selector;
+        if (s != null) {
+            s.wakeup();
+        }
+    }
+
+    /**
+     * Schedules the input task to run on the selector thread after the input delay. Must be called on the selector thread.
+     *
+     * @param task The task to run.
+     * @param delayMs The delay in milliseconds.
+     *
+     * @return The scheduled task.
+     */
+    private TimedTask schedule(Runnable task, long delayMs) {
+        TimedTask timedTask = new TimedTask(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs), task);
+        timedTasks.add(timedTask);
+        return timedTask;
+    }
+
+    /**
+     * Starts the selector thread if not already started.
+     *
+     * @throws IOException
+     */
+    private synchronized void ensureSelectorStarted() throws IOException {
+        if (selector != null) {
+            return;
+        }
+
+        selector = Selector.open();
+        Thread thread = new Thread(this::runSelectorLoop, "Liberty Tools socket wait service");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Processes connection attempts and timed tasks.
+     */
+    private void runSelectorLoop() {
+        while (true) {
+            try {
+                Runnable task;
+                while ((task = pendingTasks.poll()) != null) {
+                    task.run();
+                }
+
+                long now = System.nanoTime();
+                while (!timedTasks.isEmpty() && timedTasks.peek().dueTime <= now) {
+                    TimedTask timedTask = timedTasks.poll();
+                    if (!timedTask.cancelled) {
+                        timedTask.task.run();
+                    }
+                }
+
+                long timeoutMs = 0;
+                if (!timedTasks.isEmpty()) {
+                    timeoutMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(timedTasks.peek().dueTime - System.nanoTime()));
+                }
+
+                if (pendingTasks.isEmpty()) {
+                    selector.select(timeoutMs);
+                } else {
+                    selector.selectNow();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isConnectable()) {
+                        ((ConnectAttempt) key.attachment()).finish();
+                    }
+                }
+            } catch (Throwable t) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error processing socket waits.", t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the file watcher thread if not already started.
+     *
+     * @throws IOException
+     */
+    private synchronized void ensureWatcherStarted() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        Thread thread = new Thread(this::runWatcherLoop, "Liberty Tools file wait service");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Processes file system events.
+     */
+    private void runWatcherLoop() {
+        while (true) {
+            try {
+                WatchKey key = watchService.take();
+                key.pollEvents();
+                key.reset();
+
+                processFileWaits();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Throwable t) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error processing file waits.", t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the file waits whose files exist and watches the closest existing ancestor directory of the files of the
+     * remaining waits.
+     */
+    private void processFileWaits() {
+        List<FileWait> ready;
+        synchronized (fileWaits) {
+            ready = updateFileWaits();
+        }
+
+        // Complete outside the lock. Completion callbacks run on this thread.
+        for (FileWait wait : ready) {
+            wait.future.complete(wait.file);
+        }
+    }
+
+    /**
+     * Removes the file waits that ended or whose files exist and watches the closest existing ancestor directory of the files
+     * of the remaining waits. Must be called while holding the fileWaits lock.
+     *
+     * @return The waits whose files exist.
+     */
+    private List<FileWait> updateFileWaits() {
+        List<FileWait> ready = new ArrayList<FileWait>();
+        Map<Path, WatchKey> neededDirs = new HashMap<Path, WatchKey>();
+
+        Iterator<FileWait> waits = fileWaits.iterator();
+        while (waits.hasNext()) {
+            FileWait wait = waits.next();
+            if (wait.future.isDone()) {
+                waits.remove();
+                continue;
+            }
+            if (Files.exists(wait.file)) {
+                waits.remove();
+                ready.add(wait);
+                continue;
+            }
+
+            Path dir = wait.file.getParent();
+            while (dir != null && !Files.isDirectory(dir)) {
+                dir = dir.getParent();
+            }
+            if (dir == null || neededDirs.containsKey(dir)) {
+                continue;
+            }
+
+            WatchKey key = watchedDirs.remove(dir);
+            if (key == null) {
+                try {
+                    key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+                } catch (IOException e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to watch directory " + dir, e);
+                    }
+                    continue;
+                }
+
+                // The file or one of its parents may have been created before the directory was watched.
+                if (Files.exists(wait.file)) {
+                    waits.remove();
+                    ready.add(wait);
+                }
+            }
+            neededDirs.put(dir, key);
+        }
+
+        for (WatchKey unneeded : watchedDirs.values()) {
+            unneeded.cancel();
+        }
+        watchedDirs.clear();
+        watchedDirs.putAll(neededDirs);
+
+        return ready;
+    }
+
+    /**
+     * A task to be run on the selector thread at a given time.
+     */
+    private static class TimedTask implements Comparable<TimedTask> {
+
+        /** The time at which the task is due, in System.nanoTime() terms. */
+        final long dueTime;
+
+        /** The task. */
+        final Runnable task;
+
+        /** True if the task should not run. */
+        boolean cancelled;
+
+        TimedTask(long dueTime, Runnable task) {
+            this.dueTime = dueTime;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(TimedTask other) {
+            return Long.compare(dueTime, other.dueTime);
+        }
+    }
+
+    /**
+     * A pending file wait.
+     */
+    private static class FileWait {
+
+        /** The file waited for. */
+        final Path file;
+
+        /** The future completed when the file exists. */
+        final CompletableFuture<Path> future;
+
+        FileWait(Path file, CompletableFuture<Path> future) {
+            this.file = file;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Repeated non-blocking connection attempts to a socket address. Only accessed on the selector thread.
+     */
+    private class ConnectAttempt {
+
+        /** The address to connect to. */
+        private final InetSocketAddress address;
+
+        /** The bytes written to the connection before it is closed, or null. */
+        private final byte[] greeting;
+
+        /** The future completed when a connection is established. */
+        private final CompletableFuture<Void> future;
+
+        /** The maximum delay in milliseconds between attempts. */
+        private final long maxDelayMs;
+
+        /** The delay in milliseconds before the next attempt. */
+        private long delayMs;
+
+        /** The channel of the current attempt. */
+        private SocketChannel channel;
+
+        /** The timeout of the current attempt. */
+        private TimedTask attemptTimeout;
+
+        ConnectAttempt(InetSocketAddress address, byte[] greeting, CompletableFuture<Void> future, long initialDelayMs, long maxDelayMs) {
+            this.address = address;
+            this.greeting = greeting;
+            this.future = future;
+            this.delayMs = Math.max(1, initialDelayMs);
+            this.maxDelayMs = Math.max(delayMs, maxDelayMs);
+        }
+
+        /**
+         * Starts a connection attempt.
+         */
+        void start() {
+            if (future.isDone()) {
+                return;
+            }
+
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                if (channel.connect(address)) {
+                    succeeded();
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, this);
+                    attemptTimeout = schedule(this::retry, CONNECT_ATTEMPT_TIMEOUT_MS);
+                }
+            } catch (IOException e) {
+                retry();
+            }
+        }
+
+        /**
+         * Completes a connection attempt that the selector reported as connectable.
+         */
+        void finish() {
+            try {
+                if (channel.finishConnect()) {
+                    succeeded();
+                }
+            } catch (IOException e) {
+                retry();
+            }
+        }
+
+        /**
+         * Completes the wait.
+         */
+        private void succeeded() {
+            try {
+                if (greeting != null) {
+                    channel.write(ByteBuffer.wrap(greeting));
+                }
+            } catch (IOException e) {
+                // The connection was established. That is all that matters.
+            }
+            close();
+            future.complete(null);
+        }
+
+        /**
+         * Ends the current attempt and schedules the next one.
+         */
+        private void retry() {
+            close();
+            if (!future.isDone()) {
+                schedule(this::start, delayMs);
+                delayMs = Math.min(delayMs * 2, maxDelayMs);
+            }
+        }
+
+        /**
+         * Releases the resources of the current attempt.
+         */
+        void close() {
+            if (attemptTimeout != null) {
+                attemptTimeout.cancelled = true;
+                attemptTimeout = null;
+            }
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // Nothing to do.
+                }
+                channel = null;
+            }
+        }
+    }
+}
@@ -72,6 +72,11 @@ public class WorkspaceProjectsModel {
         initProjectModels();
         buildMultiProjectModel(openProjects, classify);
 
+        // Install the runtime of newly classified Liberty server projects in the background, if requested.
+        if (classify) {
+            LibertyRuntimeProvisioner.getInstance().provisionNewProjects(projectsByName.values());
+        }
+
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_TOOLS);
         }
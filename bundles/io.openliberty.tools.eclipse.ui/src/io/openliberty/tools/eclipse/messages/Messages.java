@@ -57,6 +57,20 @@ public class Messages extends NLS {
     public static String plugin_stop_failed;
     public static String plugin_stop_general_error;
 
+    public static String headless_output_not_found;
+    public static String memory_budget_exceeded;
+    public static String build_profile_incompatible;
+    public static String suspend_not_supported;
+    public static String suspend_not_running;
+    public static String suspend_general_error;
+    public static String resume_general_error;
+    public static String restart_server_not_running;
+    public static String restart_server_not_acknowledged;
+    public static String restart_server_general_error;
+
+    /** HeadlessDevModeProcess */
+    public static String headless_console_name;
+
     /** WorkspaceProjectsModel */
     public static String project_analyze_error;
 
@@ -65,6 +79,27 @@ public class Messages extends NLS {
     public static String image_descriptions_error;
     public static String action_general_error;
     public static String dashboard_refresh_error;
+    public static String dashboard_status_queued;
+    public static String dashboard_status_starting;
+    public static String dashboard_status_running;
+    public static String dashboard_status_stopping;
+    public static String dashboard_status_parked;
+    public static String dashboard_status_suspended;
+    public static String dashboard_status_restarting;
+
+    /** DevModeMemoryBudget */
+    public static String memory_usage_title;
+    public static String memory_usage_summary;
+    public static String memory_usage_no_budget;
+    public static String memory_usage_project;
+    public static String memory_usage_project_no_rss;
+
+    /** LogSearchAction */
+    public static String log_search_title;
+    public static String log_search_prompt;
+    public static String log_search_invalid_query;
+    public static String log_search_no_hits;
+    public static String log_search_hits;
 
     /** JRETab */
     public static String java_default_set_error;
@@ -14,12 +14,18 @@ package io.openliberty.tools.eclipse.ui.dashboard;
 
 import org.eclipse.jface.viewers.ITableLabelProvider;
 import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 
+import io.openliberty.tools.eclipse.DevModeIdleMonitor;
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeServerRestarter;
+import io.openliberty.tools.eclipse.DevModeSession;
+import io.openliberty.tools.eclipse.DevModeStartQueue;
 import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.utils.Utils;
 
 /**
@@ -27,6 +33,12 @@ import io.openliberty.tools.eclipse.utils.Utils;
  */
 public class DashboardEntryLabelProvider extends LabelProvider implements ITableLabelProvider {
 
+    /** Column showing the project name. */
+    public static final int NAME_COLUMN = 0;
+
+    /** Column showing the dev mode status of the project. */
+    public static final int STATUS_COLUMN = 1;
+
     /**
      * Image representing a Maven project.
      */
@@ -59,11 +71,10 @@ public class DashboardEntryLabelProvider extends LabelProvider implements ITable
      */
     @Override
     public Image getColumnImage(Object element, int columnIndex) {
-        // Currently, the table under which the dashboard content is organized consists of a single
-        // column and a single row. The content is the string containing the name of the project.
+        // Each row holds the string containing the name of the project. Only the name column has an image.
         String projectName = null;
         Image img = null;
-        if (element != null && element instanceof String) {
+        if (columnIndex == NAME_COLUMN && element != null && element instanceof String) {
             projectName = (String) element;
             Project project = devModeOps.getProjectModel().getProject(projectName);
 
@@ -84,17 +95,57 @@ public class DashboardEntryLabelProvider extends LabelProvider implements ITable
      */
     @Override
     public String getColumnText(Object element, int columnIndex) {
-        // Currently the table consists of a single column and a single row, and the
-        // content is a string containing the name of the project.
-        // Therefore, the columnIndex is not used.
+        // Each row holds the string containing the name of the project.
         String columnText = null;
         if (element != null && element instanceof String) {
-            columnText = element.toString();
+            columnText = (columnIndex == STATUS_COLUMN) ? getStatus(element.toString()) : element.toString();
         }
 
         return columnText;
     }
 
+    /**
+     * Returns the dev mode status of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The dev mode status of the input project. An empty string if dev mode is not running.
+     */
+    private String getStatus(String projectName) {
+        int queuePosition = DevModeStartQueue.getInstance().getQueuePosition(projectName);
+        if (queuePosition > 0) {
+            return NLS.bind(Messages.dashboard_status_queued, queuePosition);
+        }
+
+        DevModeSession session = devModeOps.getSession(projectName);
+        if ((session == null || session.isExited()) && DevModeIdleMonitor.getInstance().isParked(projectName)) {
+            return Messages.dashboard_status_parked;
+        }
+
+        if (session == null) {
+            return DevModeStartQueue.getInstance().isStarting(projectName) ? Messages.dashboard_status_starting : "";
+        }
+
+        if (session.isSuspended() && !session.isExited()) {
+            return Messages.dashboard_status_suspended;
+        }
+
+        if (session.getState() == DevModeSession.State.RUNNING && DevModeServerRestarter.getInstance().isRestarting(projectName)) {
+            return Messages.dashboard_status_restarting;
+        }
+
+        switch (session.getState()) {
+            case STARTING:
+                return Messages.dashboard_status_starting;
+            case RUNNING:
+                return session.isServerReady() ? Messages.dashboard_status_running : Messages.dashboard_status_starting;
+            case STOPPING:
+                return Messages.dashboard_status_stopping;
+            default:
+                return "";
+        }
+    }
+
     @Override
     public void dispose() {
         if (gradleImg != null) {
@@ -13,7 +13,10 @@
 package io.openliberty.tools.eclipse.ui.dashboard;
 
 import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.debug.core.ILaunchManager;
@@ -23,20 +26,32 @@ import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.commands.ActionHandler;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.layout.TableColumnLayout;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnWeightData;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.ui.contexts.IContextService;
 import org.eclipse.ui.handlers.IHandlerService;
 import org.eclipse.ui.part.ViewPart;
 
+import io.openliberty.tools.eclipse.DevModeIdleMonitor;
+import io.openliberty.tools.eclipse.DevModeMemoryBudget;
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeProcessTree;
+import io.openliberty.tools.eclipse.DevModeSession;
+import io.openliberty.tools.eclipse.DevModeStartQueue;
+import io.openliberty.tools.eclipse.HeadlessDevModeController;
 import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.ProjectOperationJob;
 import io.openliberty.tools.eclipse.WorkspaceProjectsModel;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
@@ -82,7 +97,14 @@ public class DashboardView extends ViewPart {
     public static final String APP_MENU_ACTION_VIEW_MVN_IT_REPORT = "View integration test report";
     public static final String APP_MENU_ACTION_VIEW_MVN_UT_REPORT = "View unit test report";
     public static final String APP_MENU_ACTION_VIEW_GRADLE_TEST_REPORT = "View test report";
+    public static final String APP_MENU_ACTION_VIEW_DEV_MODE_OUTPUT = "View dev mode output";
+    public static final String APP_MENU_ACTION_WARM_RESTART = "Warm restart";
+    public static final String APP_MENU_ACTION_SUSPEND = "Suspend";
+    public static final String APP_MENU_ACTION_RESUME = "Resume";
+    public static final String APP_MENU_ACTION_RESTART_SERVER = "Restart server";
     public static final String DASHBORD_TOOLBAR_ACTION_REFRESH = "refresh";
+    public static final String DASHBORD_TOOLBAR_ACTION_SEARCH_LOGS = "search logs";
+    public static final String DASHBORD_TOOLBAR_ACTION_MEMORY_USAGE = "memory usage";
 
     /**
      * view actions.
@@ -98,13 +120,25 @@ public class DashboardView extends ViewPart {
     private Action viewMavenITestReportsAction;
     private Action viewMavenUTestReportsAction;
     private Action viewGradleTestReportsAction;
+    private Action viewDevModeOutputAction;
+    private Action warmRestartAction;
+    private Action suspendAction;
+    private Action resumeAction;
+    private Action restartServerAction;
     private Action refreshAction;
+    private Action searchLogsAction;
+    private Action memoryUsageAction;
 
     /**
      * Table viewer that holds the entries in the dashboard.
      */
     TableViewer viewer;
 
+    /**
+     * Refreshes the dashboard when the start queue or the status of a started project changes.
+     */
+    private Runnable startQueueListener;
+
     /**
      * DevModeOperations reference.
      */
@@ -123,10 +157,33 @@ public class DashboardView extends ViewPart {
      */
     @Override
     public void createPartControl(Composite parent) {
-        viewer = new TableViewer(parent, SWT.SINGLE | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+        viewer = new TableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
         viewer.setContentProvider(ArrayContentProvider.getInstance());
         viewer.setLabelProvider(new DashboardEntryLabelProvider(devModeOps));
 
+        // The first column holds the project name. The second column holds the dev mode status, including the position of
+        // the project in the start queue.
+        TableColumnLayout columnLayout = new TableColumnLayout();
+        parent.setLayout(columnLayout);
+        TableColumn nameColumn = new TableColumn(viewer.getTable(), SWT.LEFT);
+        TableColumn statusColumn = new TableColumn(viewer.getTable(), SWT.LEFT);
+        columnLayout.setColumnData(nameColumn, new ColumnWeightData(70, true));
+        columnLayout.setColumnData(statusColumn, new ColumnWeightData(30, true));
+
+        // Show start queue, dev mode, and parked status changes as they happen.
+        startQueueListener = () -> {
+            Display display = parent.getDisplay();
+            if (!display.isDisposed()) {
+                display.asyncExec(() -> {
+                    if (viewer != null && !viewer.getControl().isDisposed()) {
+                        viewer.refresh(true);
+                    }
+                });
+            }
+        };
+        DevModeStartQueue.getInstance().addChangeListener(startQueueListener);
+        DevModeIdleMonitor.getInstance().addChangeListener(startQueueListener);
+
         devModeOps.refreshDashboardView(true);
 
         createActions();
@@ -148,6 +205,8 @@ public class DashboardView extends ViewPart {
      */
     @Override
     public void dispose() {
+        DevModeStartQueue.getInstance().removeChangeListener(startQueueListener);
+        DevModeIdleMonitor.getInstance().removeChangeListener(startQueueListener);
         super.dispose();
         // null out viewer so we don't try to update upon a resource change listener notification
         viewer = null;
@@ -179,6 +238,8 @@ public class DashboardView extends ViewPart {
     private void addToolbarActions() {
         IToolBarManager tbMgr = getViewSite().getActionBars().getToolBarManager();
         tbMgr.add(refreshAction);
+        tbMgr.add(searchLogsAction);
+        tbMgr.add(memoryUsageAction);
     }
 
     /**
@@ -214,6 +275,28 @@ public class DashboardView extends ViewPart {
                 ErrorHandler.processErrorMessage(NLS.bind(Messages.project_not_gradle_or_maven, projectName), true);
                 return;
             }
+
+            // Only offered for projects that ran dev mode without a terminal.
+            if (HeadlessDevModeController.getInstance().getProcess(projectName) != null) {
+                mgr.add(viewDevModeOutputAction);
+            }
+
+            // Only offered for projects that were stopped because they were idle.
+            if (DevModeIdleMonitor.getInstance().isParked(projectName)) {
+                mgr.add(warmRestartAction);
+            }
+
+            // Only offered for running projects on platforms that support process signals.
+            DevModeSession session = devModeOps.getSession(projectName);
+            if (session != null && !session.isExited() && session.getProcessHandle() != null && DevModeProcessTree.isSignalSupported()) {
+                mgr.add(session.isSuspended() ? resumeAction : suspendAction);
+            }
+
+            // Only offered for running projects whose dev mode input is available and whose server is ready.
+            if (session != null && session.getState() == DevModeSession.State.RUNNING && session.getProcess() != null
+                    && session.isServerReady()) {
+                mgr.add(restartServerAction);
+            }
         }
     }
 
@@ -246,9 +329,10 @@ public class DashboardView extends ViewPart {
         startAction = new Action(APP_MENU_ACTION_START) {
             @Override
             public void run() {
-                IProject iProject = devModeOps.getSelectedDashboardProject();
                 try {
-                    StartAction.run(iProject, null, ILaunchManager.RUN_MODE);
+                    for (IProject iProject : getSelectedProjects()) {
+                        StartAction.run(iProject, null, ILaunchManager.RUN_MODE);
+                    }
                 } catch (Exception e) {
                     String msg = "An error was detected during the " + APP_MENU_ACTION_START + " action.";
                     if (Trace.isEnabled()) {
@@ -378,9 +462,10 @@ public class DashboardView extends ViewPart {
         stopAction = new Action(APP_MENU_ACTION_STOP) {
             @Override
             public void run() {
-                IProject iProject = devModeOps.getSelectedDashboardProject();
                 try {
-                    StopAction.run(iProject);
+                    for (IProject iProject : getSelectedProjects()) {
+                        StopAction.run(iProject);
+                    }
                 } catch (Exception e) {
                     String msg = "An error was detected during the " + APP_MENU_ACTION_STOP + " action.";
                     if (Trace.isEnabled()) {
@@ -399,9 +484,10 @@ public class DashboardView extends ViewPart {
         runTestAction = new Action(APP_MENU_ACTION_RUN_TESTS) {
             @Override
             public void run() {
-                IProject iProject = devModeOps.getSelectedDashboardProject();
                 try {
-                    RunTestsAction.run(iProject);
+                    for (IProject iProject : getSelectedProjects()) {
+                        RunTestsAction.run(iProject);
+                    }
                 } catch (Exception e) {
                     String msg = "An error was detected during the " + APP_MENU_ACTION_RUN_TESTS + " action.";
                     if (Trace.isEnabled()) {
@@ -483,6 +569,112 @@ public class DashboardView extends ViewPart {
         ActionHandler gradleTestReportsHandler = new ActionHandler(viewGradleTestReportsAction);
         handlerService.activateHandler(viewGradleTestReportsAction.getActionDefinitionId(), gradleTestReportsHandler);
 
+        // Menu: View the output of dev mode running without a terminal.
+        viewDevModeOutputAction = new Action(APP_MENU_ACTION_VIEW_DEV_MODE_OUTPUT) {
+            @Override
+            public void run() {
+                IProject iProject = devModeOps.getSelectedDashboardProject();
+                try {
+                    devModeOps.showHeadlessOutput(iProject);
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + APP_MENU_ACTION_VIEW_DEV_MODE_OUTPUT + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, APP_MENU_ACTION_VIEW_DEV_MODE_OUTPUT), e,
+                            true);
+                }
+            }
+        };
+        viewDevModeOutputAction.setImageDescriptor(ActionImg);
+
+        // Menu: Restart a project that was stopped because it was idle.
+        warmRestartAction = new Action(APP_MENU_ACTION_WARM_RESTART) {
+            @Override
+            public void run() {
+                try {
+                    for (IProject iProject : getSelectedProjects()) {
+                        if (iProject != null) {
+                            DevModeIdleMonitor.getInstance().restart(iProject.getName());
+                        }
+                    }
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + APP_MENU_ACTION_WARM_RESTART + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, APP_MENU_ACTION_WARM_RESTART), e, true);
+                }
+            }
+        };
+        warmRestartAction.setImageDescriptor(ActionImg);
+
+        // Menu: Suspend the dev mode processes.
+        suspendAction = new Action(APP_MENU_ACTION_SUSPEND) {
+            @Override
+            public void run() {
+                try {
+                    for (IProject iProject : getSelectedProjects()) {
+                        if (iProject != null) {
+                            new ProjectOperationJob(iProject.getName(), "Suspending Liberty dev mode for " + iProject.getName(),
+                                    () -> devModeOps.suspend(iProject)).schedule();
+                        }
+                    }
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + APP_MENU_ACTION_SUSPEND + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, APP_MENU_ACTION_SUSPEND), e, true);
+                }
+            }
+        };
+        suspendAction.setImageDescriptor(ActionImg);
+
+        // Menu: Resume the suspended dev mode processes.
+        resumeAction = new Action(APP_MENU_ACTION_RESUME) {
+            @Override
+            public void run() {
+                try {
+                    for (IProject iProject : getSelectedProjects()) {
+                        if (iProject != null) {
+                            new ProjectOperationJob(iProject.getName(), "Resuming Liberty dev mode for " + iProject.getName(),
+                                    () -> devModeOps.resume(iProject)).schedule();
+                        }
+                    }
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + APP_MENU_ACTION_RESUME + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, APP_MENU_ACTION_RESUME), e, true);
+                }
+            }
+        };
+        resumeAction.setImageDescriptor(ActionImg);
+
+        // Menu: Restart the server without restarting dev mode.
+        restartServerAction = new Action(APP_MENU_ACTION_RESTART_SERVER) {
+            @Override
+            public void run() {
+                try {
+                    for (IProject iProject : getSelectedProjects()) {
+                        if (iProject != null) {
+                            new ProjectOperationJob(iProject.getName(), "Restarting the Liberty server for " + iProject.getName(),
+                                    () -> devModeOps.restartServer(iProject)).schedule();
+                        }
+                    }
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + APP_MENU_ACTION_RESTART_SERVER + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, APP_MENU_ACTION_RESTART_SERVER), e, true);
+                }
+            }
+        };
+        restartServerAction.setImageDescriptor(ActionImg);
+
         // Toolbar: Refresh the project list.
         refreshAction = new Action(DASHBORD_TOOLBAR_ACTION_REFRESH) {
             @Override
@@ -491,6 +683,68 @@ public class DashboardView extends ViewPart {
             }
         };
         refreshAction.setImageDescriptor(refreshImg);
+
+        // Toolbar: Search the Liberty logs of all projects.
+        searchLogsAction = new Action(DASHBORD_TOOLBAR_ACTION_SEARCH_LOGS) {
+            @Override
+            public void run() {
+                try {
+                    LogSearchAction.run(getSite().getShell());
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + DASHBORD_TOOLBAR_ACTION_SEARCH_LOGS + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, DASHBORD_TOOLBAR_ACTION_SEARCH_LOGS), e,
+                            true);
+                }
+            }
+        };
+        searchLogsAction.setToolTipText(Messages.log_search_title);
+
+        // Toolbar: Show the memory used by the running dev mode instances against the memory budget.
+        memoryUsageAction = new Action(DASHBORD_TOOLBAR_ACTION_MEMORY_USAGE) {
+            @Override
+            public void run() {
+                try {
+                    Map<String, DevModeSession> sessions = new LinkedHashMap<String, DevModeSession>();
+                    Object input = viewer.getInput();
+                    if (input instanceof List) {
+                        for (Object projectName : (List<?>) input) {
+                            DevModeSession session = devModeOps.getSession(projectName.toString());
+                            if (session != null && !session.isExited()) {
+                                sessions.put(projectName.toString(), session);
+                            }
+                        }
+                    }
+                    MessageDialog.openInformation(getSite().getShell(), Messages.memory_usage_title,
+                            DevModeMemoryBudget.getInstance().getUsageReport(sessions));
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + DASHBORD_TOOLBAR_ACTION_MEMORY_USAGE + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, DASHBORD_TOOLBAR_ACTION_MEMORY_USAGE), e,
+                            true);
+                }
+            }
+        };
+        memoryUsageAction.setToolTipText(Messages.memory_usage_title);
+    }
+
+    /**
+     * Returns the projects selected on the dashboard. Start, stop, and run tests are applied to all of them.
+     *
+     * @return The projects selected on the dashboard. If none is found, the list contains the single project the
+     *         dashboard resolves for the current selection, which may be null.
+     */
+    private List<IProject> getSelectedProjects() {
+        List<IProject> iProjects = devModeOps.getSelectedDashboardProjects();
+        if (iProjects.isEmpty()) {
+            iProjects = Collections.singletonList(devModeOps.getSelectedDashboardProject());
+        }
+
+        return iProjects;
     }
 
     public void setInput(List<String> sortedDashboardProjectList) {
@@ -0,0 +1,147 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.dashboard;
+
+import java.util.List;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.InputDialog;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.window.Window;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.dialogs.ElementListSelectionDialog;
+import org.eclipse.ui.ide.IDE;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+import io.openliberty.tools.eclipse.LogIndex;
+import io.openliberty.tools.eclipse.LogIndexer;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.utils.ErrorHandler;
+
+/**
+ * Searches the indexed Liberty logs of all projects and opens the selected match.
+ */
+public class LogSearchAction {
+
+    /** The last query entered by the user. */
+    private static String lastQuery = "";
+
+    /**
+     * Prompts for a query, searches the log index, and opens the selected match in an editor. The index is loaded and
+     * searched in a job, because the first search reads the whole index from disk and waits for the indexer to save it.
+     *
+     * @param shell The parent shell.
+     *
+     * @throws Exception
+     */
+    public static void run(Shell shell) throws Exception {
+        InputDialog inputDialog = new InputDialog(shell, Messages.log_search_title, Messages.log_search_prompt, lastQuery,
+                input -> LogIndex.tokenize(input).isEmpty() ? Messages.log_search_invalid_query : null);
+        if (inputDialog.open() != Window.OK) {
+            return;
+        }
+
+        String query = inputDialog.getValue().trim();
+        lastQuery = query;
+
+        Job job = new Job(Messages.log_search_title) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                long startTime = System.currentTimeMillis();
+                List<LogIndex.Hit> hits = LogIndexer.getInstance().search(query);
+
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_UI, "Log search for: " + query + " returned " + hits.size() + " hits in "
+                            + (System.currentTimeMillis() - startTime) + " ms.");
+                }
+
+                if (!monitor.isCanceled() && !shell.isDisposed()) {
+                    shell.getDisplay().asyncExec(() -> showHits(shell, query, hits));
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+        job.schedule();
+    }
+
+    /**
+     * Shows the input hits and opens the selected one in an editor. Must be called on the UI thread.
+     *
+     * @param shell The parent shell.
+     * @param query The query.
+     * @param hits The hits for the query.
+     */
+    private static void showHits(Shell shell, String query, List<LogIndex.Hit> hits) {
+        if (shell.isDisposed()) {
+            return;
+        }
+
+        if (hits.isEmpty()) {
+            MessageDialog.openInformation(shell, Messages.log_search_title, NLS.bind(Messages.log_search_no_hits, query));
+            return;
+        }
+
+        ElementListSelectionDialog hitsDialog = new ElementListSelectionDialog(shell, new LabelProvider());
+        hitsDialog.setTitle(Messages.log_search_title);
+        hitsDialog.setMessage(NLS.bind(Messages.log_search_hits, hits.size(), query));
+        hitsDialog.setElements(hits.toArray());
+        hitsDialog.setMultipleSelection(false);
+        if (hitsDialog.open() != Window.OK) {
+            return;
+        }
+
+        Object selection = hitsDialog.getFirstResult();
+        if (selection instanceof LogIndex.Hit) {
+            try {
+                openHit((LogIndex.Hit) selection);
+            } catch (Exception e) {
+                String msg = "Unable to open the log search hit " + selection;
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                }
+                ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, Messages.log_search_title), e, true);
+            }
+        }
+    }
+
+    /**
+     * Opens the file associated with the input hit and reveals the matching line.
+     *
+     * @param hit The search hit.
+     *
+     * @throws Exception
+     */
+    private static void openHit(LogIndex.Hit hit) throws Exception {
+        IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+        IFileStore fileStore = EFS.getLocalFileSystem().getStore(new Path(hit.getPath()));
+        IEditorPart editor = IDE.openEditorOnFileStore(page, fileStore);
+
+        // Liberty logs are mostly ASCII. The byte offset of the line is used as the character offset.
+        if (editor instanceof ITextEditor) {
+            ((ITextEditor) editor).selectAndReveal((int) hit.getOffset(), hit.getLineText().length());
+        }
+    }
+}
@@ -67,55 +67,76 @@ public class LaunchConfigurationDelegateLauncher extends LaunchConfigurationDele
         // Processing paths:
         // - Explorer-> Run As-> Run Configurations
         // - Dashboard-> project -> Start...
-        IWorkbench workbench = PlatformUI.getWorkbench();
-        Display display = workbench.getDisplay();
-
-        // Launch dev mode.
-        display.syncExec(new Runnable() {
-            public void run() {
-                try {
-                    validateProjectsMatch(configuration);
-
-                    String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
-                    IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
-                    IProject configProject = root.getProject(configProjectName);
-
-                    StartAction.run(configProject, configuration, mode);
-
-                } catch (Exception e) {
-                    String msg = "An error was detected when configuration was launched" + configuration.getName() + ".";
-                    if (Trace.isEnabled()) {
-                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+        // Only the active project lookup needs the UI thread. The start itself is processed in the background.
+        try {
+            IWorkbench workbench = PlatformUI.getWorkbench();
+            Display display = workbench.getDisplay();
+            Exception[] validationError = new Exception[1];
+            display.syncExec(new Runnable() {
+                public void run() {
+                    try {
+                        validateProjectsMatch(configuration);
+                    } catch (Exception e) {
+                        validationError[0] = e;
                     }
-                    ErrorHandler.processErrorMessage(NLS.bind(Messages.launch_config_error, configuration.getName()), e, true);
-                    return;
                 }
-            }
+            });
 
-            private void validateProjectsMatch(ILaunchConfiguration configuration) throws CoreException {
-                IProject activeProject = Utils.getActiveProject();
-                if (activeProject != null) {
-                    assertProjectsMatch(configuration, activeProject);
-                }
+            if (validationError[0] != null) {
+                throw validationError[0];
             }
 
-            private void assertProjectsMatch(ILaunchConfiguration configuration, IProject selectedProject) throws CoreException {
-                String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
+            String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
+            IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+            IProject configProject = root.getProject(configProjectName);
 
-                if (!configProjectName.equals(selectedProject.getName())) {
-                    String configurationName = configuration.getName();
-                    String msg = "The selected  Run/Debug configuration '" + configurationName
-                            + "' cannot be used to run selected project '" + selectedProject.getName()
-                            + ", because the configuration is associated with project '" + configProjectName
-                            + "'. Create a new configuration, or use an existing configuration associated with the selected project.";
-                    throw new IllegalStateException(msg);
-                }
-            }
+            StartAction.run(configProject, configuration, mode);
 
-        });
+        } catch (Exception e) {
+            String msg = "An error was detected when configuration was launched" + configuration.getName() + ".";
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.launch_config_error, configuration.getName()), e, true);
+        }
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_UI);
         }
     }
+
+    /**
+     * Validates that the project associated with the input configuration is the active project, if there is one.
+     *
+     * @param configuration The configuration being launched.
+     *
+     * @throws CoreException
+     */
+    private void validateProjectsMatch(ILaunchConfiguration configuration) throws CoreException {
+        IProject activeProject = Utils.getActiveProject();
+        if (activeProject != null) {
+            assertProjectsMatch(configuration, activeProject);
+        }
+    }
+
+    /**
+     * Asserts that the project associated with the input configuration is the input project.
+     *
+     * @param configuration The configuration being launched.
+     * @param selectedProject The selected project.
+     *
+     * @throws CoreException
+     */
+    private void assertProjectsMatch(ILaunchConfiguration configuration, IProject selectedProject) throws CoreException {
+        String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
+
+        if (!configProjectName.equals(selectedProject.getName())) {
+            String configurationName = configuration.getName();
+            String msg = "The selected  Run/Debug configuration '" + configurationName
+                    + "' cannot be used to run selected project '" + selectedProject.getName()
+                    + ", because the configuration is associated with project '" + configProjectName
+                    + "'. Create a new configuration, or use an existing configuration associated with the selected project.";
+            throw new IllegalStateException(msg);
+        }
+    }
 }
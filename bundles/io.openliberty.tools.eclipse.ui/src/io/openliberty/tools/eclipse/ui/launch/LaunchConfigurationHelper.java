@@ -39,8 +39,12 @@ public class LaunchConfigurationHelper {
      * 
      * @return The instance of this class.
      */
-    public static LaunchConfigurationHelper getInstance() {
-        return (instance == null) ? new LaunchConfigurationHelper() : instance;
+    public static synchronized LaunchConfigurationHelper getInstance() {
+        if (instance == null) {
+            instance = new LaunchConfigurationHelper();
+        }
+
+        return instance;
     }
 
     /**
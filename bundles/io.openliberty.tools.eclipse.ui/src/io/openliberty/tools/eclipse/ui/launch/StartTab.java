@@ -12,6 +12,8 @@
  *******************************************************************************/
 package io.openliberty.tools.eclipse.ui.launch;
 
+import java.util.Map;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.core.ILaunchConfiguration;
@@ -30,15 +32,21 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Link;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.dialogs.PreferencesUtil;
 
+import io.openliberty.tools.eclipse.BuildAccelerationProfile;
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeStartMetrics;
+import io.openliberty.tools.eclipse.ServerConfigOverlay;
+import io.openliberty.tools.eclipse.ServerJvmFastStartup;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
@@ -62,6 +70,24 @@ public class StartTab extends AbstractLaunchConfigurationTab {
     /** Configuration map key with a value stating whether or not the associated project ran in a container. */
     public static final String PROJECT_RUN_IN_CONTAINER = "io.openliberty.tools.eclipse.launch.project.container.run";
 
+    /** Configuration map key with a value stating whether or not the associated project runs without a terminal. */
+    public static final String PROJECT_RUN_HEADLESS = "io.openliberty.tools.eclipse.launch.project.headless.run";
+
+    /** Configuration map key with a value representing the minutes of inactivity after which dev mode is stopped. */
+    public static final String PROJECT_IDLE_STOP_MINUTES = "io.openliberty.tools.eclipse.launch.project.idle.stop.minutes";
+
+    /** Configuration map key with a value stating whether or not the workspace auto-build is suspended while dev mode runs. */
+    public static final String PROJECT_SUSPEND_AUTO_BUILD = "io.openliberty.tools.eclipse.launch.project.suspend.autobuild";
+
+    /** Configuration map key with a value stating whether or not the development configuration overlay is added to the server. */
+    public static final String PROJECT_CONFIG_OVERLAY = "io.openliberty.tools.eclipse.launch.project.config.overlay";
+
+    /** Configuration map key with a value stating whether or not fast startup options are added to the server JVM. */
+    public static final String PROJECT_FAST_SERVER_STARTUP = "io.openliberty.tools.eclipse.launch.project.fast.server.startup";
+
+    /** Configuration map key with a value representing the build acceleration profile used to start dev mode. */
+    public static final String PROJECT_BUILD_PROFILE = "io.openliberty.tools.eclipse.launch.project.build.profile";
+
     /** Main preference page ID. */
     public static final String MAIN_PREFERENCE_PAGE_ID = "io.openliberty.tools.eclipse.ui.preferences.page";
 
@@ -85,6 +111,24 @@ public class StartTab extends AbstractLaunchConfigurationTab {
     /** Holds the run in container check box. */
     private Button runInContainerCheckBox;
 
+    /** Holds the run without a terminal check box. */
+    private Button runHeadlessCheckBox;
+
+    /** Holds the suspend workspace auto-build check box. */
+    private Button suspendAutoBuildCheckBox;
+
+    /** Holds the development configuration overlay check box. */
+    private Button configOverlayCheckBox;
+
+    /** Holds the fast server JVM startup check box. */
+    private Button fastServerStartupCheckBox;
+
+    /** Holds the idle timeout in minutes. */
+    private Spinner idleStopSpinner;
+
+    /** Holds the build acceleration profile selection. */
+    private Combo buildProfileCombo;
+
     /** DevModeOperations instance. */
     private DevModeOperations devModeOps = DevModeOperations.getInstance();
 
@@ -112,6 +156,12 @@ public class StartTab extends AbstractLaunchConfigurationTab {
         Composite parmsGroupComposite = createGroupComposite(mainComposite, "", 2);
         createInputParmText(parmsGroupComposite);
         createRunInContainerButton(parmsGroupComposite);
+        createRunHeadlessButton(parmsGroupComposite);
+        createSuspendAutoBuildButton(parmsGroupComposite);
+        createConfigOverlayButton(parmsGroupComposite);
+        createFastServerStartupButton(parmsGroupComposite);
+        createIdleStopSpinner(parmsGroupComposite);
+        createBuildProfileCombo(parmsGroupComposite);
 
         createLabelWithPreferenceLink(mainComposite);
     }
@@ -136,6 +186,18 @@ public class StartTab extends AbstractLaunchConfigurationTab {
 
         configuration.setAttribute(PROJECT_RUN_IN_CONTAINER, false);
 
+        configuration.setAttribute(PROJECT_RUN_HEADLESS, false);
+
+        configuration.setAttribute(PROJECT_SUSPEND_AUTO_BUILD, false);
+
+        configuration.setAttribute(PROJECT_CONFIG_OVERLAY, false);
+
+        configuration.setAttribute(PROJECT_FAST_SERVER_STARTUP, false);
+
+        configuration.setAttribute(PROJECT_IDLE_STOP_MINUTES, 0);
+
+        configuration.setAttribute(PROJECT_BUILD_PROFILE, BuildAccelerationProfile.NONE.name());
+
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_UI);
         }
@@ -160,7 +222,30 @@ public class StartTab extends AbstractLaunchConfigurationTab {
             boolean runInContainer = configuration.getAttribute(PROJECT_RUN_IN_CONTAINER, false);
             runInContainerCheckBox.setSelection(runInContainer);
 
+            boolean runHeadless = configuration.getAttribute(PROJECT_RUN_HEADLESS, false);
+            runHeadlessCheckBox.setSelection(runHeadless);
+
+            boolean suspendAutoBuild = configuration.getAttribute(PROJECT_SUSPEND_AUTO_BUILD, false);
+            suspendAutoBuildCheckBox.setSelection(suspendAutoBuild);
+
+            boolean configOverlay = configuration.getAttribute(PROJECT_CONFIG_OVERLAY, false);
+            configOverlayCheckBox.setSelection(configOverlay);
+
+            boolean fastServerStartup = configuration.getAttribute(PROJECT_FAST_SERVER_STARTUP, false);
+            fastServerStartupCheckBox.setSelection(fastServerStartup);
+
+            int idleStopMinutes = configuration.getAttribute(PROJECT_IDLE_STOP_MINUTES, 0);
+            idleStopSpinner.setSelection(idleStopMinutes);
+
             String projectName = configuration.getAttribute(PROJECT_NAME, (String) null);
+
+            BuildAccelerationProfile buildProfile = BuildAccelerationProfile
+                    .fromName(configuration.getAttribute(PROJECT_BUILD_PROFILE, BuildAccelerationProfile.NONE.name()));
+            buildProfileCombo.setItems(getBuildProfileItems(projectName));
+            buildProfileCombo.select(buildProfile.ordinal());
+            fastServerStartupCheckBox.setText(getFastServerStartupText(projectName));
+            fastServerStartupCheckBox.requestLayout();
+
             if (projectName == null) {
                 super.setErrorMessage(
                         "A project must be selected in order to provide a context to associate the run configuration with.  Either use a tree view like Package Explorer or have an editor window.");
@@ -241,11 +326,38 @@ public class StartTab extends AbstractLaunchConfigurationTab {
 
         configuration.setAttribute(PROJECT_RUN_IN_CONTAINER, runInContainerBool);
 
+        boolean runHeadlessBool = runHeadlessCheckBox.getSelection();
+
+        configuration.setAttribute(PROJECT_RUN_HEADLESS, runHeadlessBool);
+
+        boolean suspendAutoBuildBool = suspendAutoBuildCheckBox.getSelection();
+
+        configuration.setAttribute(PROJECT_SUSPEND_AUTO_BUILD, suspendAutoBuildBool);
+
+        boolean configOverlayBool = configOverlayCheckBox.getSelection();
+
+        configuration.setAttribute(PROJECT_CONFIG_OVERLAY, configOverlayBool);
+
+        boolean fastServerStartupBool = fastServerStartupCheckBox.getSelection();
+
+        configuration.setAttribute(PROJECT_FAST_SERVER_STARTUP, fastServerStartupBool);
+
+        int idleStopMinutes = idleStopSpinner.getSelection();
+
+        configuration.setAttribute(PROJECT_IDLE_STOP_MINUTES, idleStopMinutes);
+
+        BuildAccelerationProfile buildProfile = BuildAccelerationProfile.values()[Math.max(0, buildProfileCombo.getSelectionIndex())];
+
+        configuration.setAttribute(PROJECT_BUILD_PROFILE, buildProfile.name());
+
         configuration.setAttribute(PROJECT_START_PARM, startParamStr);
 
         if (Trace.isEnabled()) {
             Trace.getTracer().trace(Trace.TRACE_UI, "In performApply with project name = " + projectNameLabel.getText() + ", text = "
-                    + startParamStr + ", runInContainer = " + runInContainerBool);
+                    + startParamStr + ", runInContainer = " + runInContainerBool + ", runHeadless = " + runHeadlessBool
+                    + ", suspendAutoBuild = " + suspendAutoBuildBool + ", configOverlay = " + configOverlayBool
+                    + ", fastServerStartup = " + fastServerStartupBool + ", idleStopMinutes = " + idleStopMinutes + ", buildProfile = "
+                    + buildProfile);
         }
     }
 
@@ -399,6 +511,223 @@ public class StartTab extends AbstractLaunchConfigurationTab {
         GridDataFactory.swtDefaults().applyTo(emptyColumnLabel);
     }
 
+    /**
+     * Creates the button entry that indicates whether or not dev mode should run without a terminal. When selected, the
+     * dev mode output is only shown when requested from the Liberty dashboard.
+     * 
+     * @param parent The parent composite.
+     */
+    private void createRunHeadlessButton(Composite parent) {
+        runHeadlessCheckBox = new Button(parent, SWT.CHECK);
+        runHeadlessCheckBox.setText("Run &without a terminal");
+        runHeadlessCheckBox.setSelection(false);
+        runHeadlessCheckBox.setFont(font);
+        runHeadlessCheckBox.addSelectionListener(new SelectionAdapter() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                setDirty(true);
+                updateLaunchConfigurationDialog();
+            }
+        });
+        GridDataFactory.swtDefaults().applyTo(runHeadlessCheckBox);
+
+        Label emptyColumnLabel = new Label(parent, SWT.NONE);
+        GridDataFactory.swtDefaults().applyTo(emptyColumnLabel);
+    }
+
+    /**
+     * Creates the button entry that indicates whether or not the workspace auto-build is suspended while dev mode runs.
+     * When selected, only dev mode compiles the changes made to the project.
+     * 
+     * @param parent The parent composite.
+     */
+    private void createSuspendAutoBuildButton(Composite parent) {
+        suspendAutoBuildCheckBox = new Button(parent, SWT.CHECK);
+        suspendAutoBuildCheckBox.setText("&Suspend workspace auto-build while dev mode runs");
+        suspendAutoBuildCheckBox.setSelection(false);
+        suspendAutoBuildCheckBox.setFont(font);
+        suspendAutoBuildCheckBox.addSelectionListener(new SelectionAdapter() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                setDirty(true);
+                updateLaunchConfigurationDialog();
+            }
+        });
+        GridDataFactory.swtDefaults().applyTo(suspendAutoBuildCheckBox);
+
+        Label emptyColumnLabel = new Label(parent, SWT.NONE);
+        GridDataFactory.swtDefaults().applyTo(emptyColumnLabel);
+    }
+
+    /**
+     * Creates the button entry that indicates whether or not the development configuration overlay is added to the
+     * servers of the project while dev mode runs. The overlay content is shown as the tool tip of the button.
+     * 
+     * @param parent The parent composite.
+     */
+    private void createConfigOverlayButton(Composite parent) {
+        configOverlayCheckBox = new Button(parent, SWT.CHECK);
+        configOverlayCheckBox.setText("Add the development server configuration &overlay");
+        configOverlayCheckBox.setToolTipText("Written to configDropins/overrides/" + ServerConfigOverlay.OVERLAY_FILE_NAME
+                + " in each server directory while dev mode runs:\n\n" + ServerConfigOverlay.OVERLAY_CONTENT);
+        configOverlayCheckBox.setSelection(false);
+        configOverlayCheckBox.setFont(font);
+        configOverlayCheckBox.addSelectionListener(new SelectionAdapter() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                setDirty(true);
+                updateLaunchConfigurationDialog();
+            }
+        });
+        GridDataFactory.swtDefaults().applyTo(configOverlayCheckBox);
+
+        Label emptyColumnLabel = new Label(parent, SWT.NONE);
+        GridDataFactory.swtDefaults().applyTo(emptyColumnLabel);
+    }
+
+    /**
+     * Creates the button entry that indicates whether or not options that shorten the startup of the server JVM are added
+     * to the jvm.options file that dev mode generates.
+     * 
+     * @param parent The parent composite.
+     */
+    private void createFastServerStartupButton(Composite parent) {
+        fastServerStartupCheckBox = new Button(parent, SWT.CHECK);
+        fastServerStartupCheckBox.setText(getFastServerStartupText(null));
+        fastServerStartupCheckBox.setToolTipText(String.join(" ", ServerJvmFastStartup.OPTIONS.values()));
+        fastServerStartupCheckBox.setSelection(false);
+        fastServerStartupCheckBox.setFont(font);
+        fastServerStartupCheckBox.addSelectionListener(new SelectionAdapter() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                setDirty(true);
+                updateLaunchConfigurationDialog();
+            }
+        });
+        GridDataFactory.swtDefaults().applyTo(fastServerStartupCheckBox);
+
+        Label emptyColumnLabel = new Label(parent, SWT.NONE);
+        GridDataFactory.swtDefaults().applyTo(emptyColumnLabel);
+    }
+
+    /**
+     * Returns the text of the fast server JVM startup button. The text includes the average server startup times of the
+     * input project with and without the fast startup options, if recorded.
+     * 
+     * @param projectName The project name. It may be null.
+     * 
+     * @return The text of the fast server JVM startup button.
+     */
+    private String getFastServerStartupText(String projectName) {
+        String text = "Fast server &JVM startup";
+        Map<Boolean, Double> averages = (projectName == null) ? Map.of() : DevModeStartMetrics.getAverageServerStartupSeconds(projectName);
+        Double withOptions = averages.get(Boolean.TRUE);
+        Double withoutOptions = averages.get(Boolean.FALSE);
+        if (withOptions == null && withoutOptions == null) {
+            return text;
+        }
+
+        return text + " (average server start: " + ((withOptions == null) ? "-" : String.format("%.1f s", withOptions)) + ", without: "
+                + ((withoutOptions == null) ? "-" : String.format("%.1f s", withoutOptions)) + ")";
+    }
+
+    /**
+     * Creates the labeled entry that holds the number of minutes of inactivity after which dev mode is stopped. Zero
+     * means that dev mode is never stopped for being idle.
+     * 
+     * @param parent The parent composite.
+     */
+    private void createIdleStopSpinner(Composite parent) {
+        Label idleStopLabel = new Label(parent, SWT.NONE);
+        idleStopLabel.setFont(font);
+        idleStopLabel.setText("Stop when &idle for minutes (0 = never):");
+        GridDataFactory.swtDefaults().indent(20, 0).applyTo(idleStopLabel);
+
+        idleStopSpinner = new Spinner(parent, SWT.BORDER);
+        idleStopSpinner.setFont(font);
+        idleStopSpinner.setValues(0, 0, 1440, 0, 5, 60);
+        idleStopSpinner.addModifyListener(new ModifyListener() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void modifyText(ModifyEvent e) {
+                setDirty(true);
+                updateLaunchConfigurationDialog();
+            }
+        });
+        GridDataFactory.swtDefaults().applyTo(idleStopSpinner);
+    }
+
+    /**
+     * Creates the labeled entry that holds the build acceleration profile whose options are added to the build tool
+     * command that runs dev mode.
+     * 
+     * @param parent The parent composite.
+     */
+    private void createBuildProfileCombo(Composite parent) {
+        Label buildProfileLabel = new Label(parent, SWT.NONE);
+        buildProfileLabel.setFont(font);
+        buildProfileLabel.setText("Build &acceleration:");
+        GridDataFactory.swtDefaults().indent(20, 0).applyTo(buildProfileLabel);
+
+        buildProfileCombo = new Combo(parent, SWT.DROP_DOWN | SWT.READ_ONLY);
+        buildProfileCombo.setFont(font);
+        buildProfileCombo.setItems(getBuildProfileItems(null));
+        buildProfileCombo.select(BuildAccelerationProfile.NONE.ordinal());
+        buildProfileCombo.addSelectionListener(new SelectionAdapter() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                setDirty(true);
+                updateLaunchConfigurationDialog();
+            }
+        });
+        GridDataFactory.swtDefaults().applyTo(buildProfileCombo);
+    }
+
+    /**
+     * Returns the build acceleration profile entries to display. Each entry includes the average time it took to start
+     * the input project with that profile, if recorded.
+     * 
+     * @param projectName The project name. It may be null.
+     * 
+     * @return The build acceleration profile entries to display, in profile order.
+     */
+    private String[] getBuildProfileItems(String projectName) {
+        Map<BuildAccelerationProfile, Long> averages = (projectName == null) ? Map.of()
+                : DevModeStartMetrics.getAverageTotalTimes(projectName);
+        BuildAccelerationProfile[] profiles = BuildAccelerationProfile.values();
+        String[] items = new String[profiles.length];
+        for (int i = 0; i < profiles.length; i++) {
+            Long average = averages.get(profiles[i]);
+            items[i] = (average == null) ? profiles[i].getLabel()
+                    : profiles[i].getLabel() + " (average start: " + (average.longValue() / 1000) + " s)";
+        }
+
+        return items;
+    }
+
     /**
      * Returns the default start parameters.
      * 
@@ -19,6 +19,7 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IEditorPart;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.ProjectOperationJob;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher;
@@ -106,7 +107,9 @@ public class OpenMavenUTestReportAction implements ILaunchShortcut {
         DevModeOperations devModeOps = DevModeOperations.getInstance();
         devModeOps.verifyProjectSupport(iProject);
 
-        // Process the actions.
-        devModeOps.openMavenUnitTestReport(iProject);
+        // Process the action after any earlier operation on the same project completes.
+        String projectName = iProject.getName();
+        new ProjectOperationJob(projectName, "Opening the unit test report for " + projectName,
+                () -> devModeOps.openMavenUnitTestReport(iProject)).schedule();
     }
 }
\ No newline at end of file
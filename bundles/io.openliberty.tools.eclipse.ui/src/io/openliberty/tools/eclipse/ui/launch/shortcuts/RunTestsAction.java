@@ -19,6 +19,7 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IEditorPart;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.ProjectOperationJob;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher;
@@ -104,7 +105,8 @@ public class RunTestsAction implements ILaunchShortcut {
         DevModeOperations devModeOps = DevModeOperations.getInstance();
         devModeOps.verifyProjectSupport(iProject);
 
-        // Process the actions.
-        devModeOps.runTests(iProject);
+        // Process the action after any earlier operation on the same project completes.
+        String projectName = iProject.getName();
+        new ProjectOperationJob(projectName, "Running tests for " + projectName, () -> devModeOps.runTests(iProject)).schedule();
     }
 }
\ No newline at end of file
@@ -19,14 +19,11 @@ import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IEditorPart;
 
-import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeStartQueue;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
-import io.openliberty.tools.eclipse.ui.launch.JRETab;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
-import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
-import io.openliberty.tools.eclipse.ui.launch.StartTab;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
 import io.openliberty.tools.eclipse.utils.Utils;
 
@@ -92,9 +89,10 @@ public class StartAction implements ILaunchShortcut {
     }
 
     /**
-     * Processes the start shortcut action.
+     * Processes the start shortcut action. The start is processed in the background.
      * 
      * @param iProject The project to process.
+     * @param iConfiguration The configuration to use, or null if it should be determined from the project.
      * @param mode The operation mode type. Run or debug.
      * 
      * @throws Exception
@@ -109,32 +107,14 @@ public class StartAction implements ILaunchShortcut {
             throw new Exception("Invalid project. Be sure to select a project first.");
         }
 
-        // Validate that the project is supported.
-        DevModeOperations devModeOps = DevModeOperations.getInstance();
-        devModeOps.verifyProjectSupport(iProject);
-
-        // If the configuration was not provided by the caller, determine what configuration to use.
-        LaunchConfigurationHelper launchConfigHelper = LaunchConfigurationHelper.getInstance();
-        ILaunchConfiguration configuration = (iConfiguration != null) ? iConfiguration
-                : launchConfigHelper.getLaunchConfiguration(iProject, mode, RuntimeEnv.LOCAL);
-
-        // Save the time when this configuration was processed.
-        launchConfigHelper.saveConfigProcessingTime(configuration);
-
-        // Retrieve configuration data.
-        boolean runInContainer = configuration.getAttribute(StartTab.PROJECT_RUN_IN_CONTAINER, false);
-        String configParms = configuration.getAttribute(StartTab.PROJECT_START_PARM, (String) null);
-        String javaHomePath = JRETab.resolveJavaHome(configuration);
-
-        // Process the action.
-        if (runInContainer) {
-            devModeOps.startInContainer(iProject, configParms, javaHomePath, mode);
-        } else {
-            devModeOps.start(iProject, configParms, javaHomePath, mode);
-        }
+        // Resolve the configuration, build the command, and launch dev mode off the UI thread once the number of
+        // projects starting at the same time allows it.
+        String actionName = LaunchConfigurationDelegateLauncher.LAUNCH_SHORTCUT_START;
+        DevModeStartQueue.getInstance().submit(iProject.getName(),
+                () -> new StartJob(iProject, iConfiguration, mode, RuntimeEnv.LOCAL, actionName).schedule());
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_UI);
         }
     }
-}
\ No newline at end of file
+}
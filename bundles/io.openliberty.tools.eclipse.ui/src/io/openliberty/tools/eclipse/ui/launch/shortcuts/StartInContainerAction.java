@@ -19,14 +19,11 @@ import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IEditorPart;
 
-import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeStartQueue;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
-import io.openliberty.tools.eclipse.ui.launch.JRETab;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
-import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
-import io.openliberty.tools.eclipse.ui.launch.StartTab;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
 import io.openliberty.tools.eclipse.utils.Utils;
 
@@ -94,7 +91,7 @@ public class StartInContainerAction implements ILaunchShortcut {
     }
 
     /**
-     * Processes the start in container shortcut action.
+     * Processes the start in container shortcut action. The start is processed in the background.
      * 
      * @param iProject The project to process.
      * @param iConfiguration The configuration associated with the project.
@@ -107,21 +104,10 @@ public class StartInContainerAction implements ILaunchShortcut {
             throw new Exception("Invalid project. Be sure to select a project first.");
         }
 
-        // Validate that the project is supported.
-        DevModeOperations devModeOps = DevModeOperations.getInstance();
-        devModeOps.verifyProjectSupport(iProject);
-
-        // If the configuration was not provided by the caller, determine what configuration to use.
-        LaunchConfigurationHelper launchConfigHelper = LaunchConfigurationHelper.getInstance();
-        ILaunchConfiguration configuration = (iConfiguration != null) ? iConfiguration
-                : launchConfigHelper.getLaunchConfiguration(iProject, mode, RuntimeEnv.CONTAINER);
-
-        // Save the time when this configuration was processed.
-        launchConfigHelper.saveConfigProcessingTime(configuration);
-
-        // Process the action.
-        String configParms = configuration.getAttribute(StartTab.PROJECT_START_PARM, (String) null);
-        String javaHomePath = JRETab.resolveJavaHome(configuration);
-        devModeOps.startInContainer(iProject, configParms, javaHomePath, mode);
+        // Resolve the configuration, build the command, and launch dev mode off the UI thread once the number of
+        // projects starting at the same time allows it.
+        String actionName = LaunchConfigurationDelegateLauncher.LAUNCH_SHORTCUT_START_CONTAINER;
+        DevModeStartQueue.getInstance().submit(iProject.getName(),
+                () -> new StartJob(iProject, iConfiguration, mode, RuntimeEnv.CONTAINER, actionName).schedule());
     }
-}
\ No newline at end of file
+}
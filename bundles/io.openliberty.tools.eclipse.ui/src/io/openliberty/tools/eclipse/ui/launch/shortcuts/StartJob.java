@@ -0,0 +1,179 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.launch.shortcuts;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.osgi.util.NLS;
+
+import io.openliberty.tools.eclipse.BuildAccelerationProfile;
+import io.openliberty.tools.eclipse.DevModeIdleMonitor;
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeSession;
+import io.openliberty.tools.eclipse.DevModeStartMetrics;
+import io.openliberty.tools.eclipse.DevModeStartOptions;
+import io.openliberty.tools.eclipse.DevModeStartQueue;
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.ProjectOperationJob;
+import io.openliberty.tools.eclipse.ServerJvmFastStartup;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.ui.launch.JRETab;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
+import io.openliberty.tools.eclipse.ui.launch.StartTab;
+import io.openliberty.tools.eclipse.utils.ErrorHandler;
+
+/**
+ * Runs the start and start in container actions in the background. The launch configuration is resolved, the command
+ * is built, and dev mode is launched on this job. Only terminal creation and dialogs run on the UI thread. Starts are
+ * serialized with the other operations on the same project.
+ */
+class StartJob extends Job {
+
+    /** The project to start. */
+    private final IProject iProject;
+
+    /** The configuration to use, or null if it should be determined from the project. */
+    private final ILaunchConfiguration iConfiguration;
+
+    /** The operation mode type. Run or debug. */
+    private final String mode;
+
+    /** The runtime environment requested by the action. */
+    private final RuntimeEnv runtimeEnv;
+
+    /** The name of the action, used in error messages. */
+    private final String actionName;
+
+    /** The timings of this start. */
+    private final DevModeStartMetrics metrics;
+
+    /**
+     * Constructor.
+     *
+     * @param iProject The project to start.
+     * @param iConfiguration The configuration to use, or null if it should be determined from the project.
+     * @param mode The operation mode type. Run or debug.
+     * @param runtimeEnv The runtime environment requested by the action.
+     * @param actionName The name of the action, used in error messages.
+     */
+    StartJob(IProject iProject, ILaunchConfiguration iConfiguration, String mode, RuntimeEnv runtimeEnv, String actionName) {
+        super("Starting Liberty dev mode for " + iProject.getName());
+        this.iProject = iProject;
+        this.iConfiguration = iConfiguration;
+        this.mode = mode;
+        this.runtimeEnv = runtimeEnv;
+        this.actionName = actionName;
+        this.metrics = DevModeStartMetrics.begin(iProject.getName());
+
+        // Start in order with the other operations on the project.
+        setRule(ProjectOperationJob.getRule(iProject.getName()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_UI, new Object[] { iProject, iConfiguration, mode, runtimeEnv });
+        }
+
+        try {
+            // Validate that the project is supported.
+            DevModeOperations devModeOps = DevModeOperations.getInstance();
+            devModeOps.verifyProjectSupport(iProject);
+
+            // If the configuration was not provided by the caller, determine what configuration to use.
+            LaunchConfigurationHelper launchConfigHelper = LaunchConfigurationHelper.getInstance();
+            ILaunchConfiguration configuration = (iConfiguration != null) ? iConfiguration
+                    : launchConfigHelper.getLaunchConfiguration(iProject, mode, runtimeEnv);
+
+            // Save the time when this configuration was processed.
+            launchConfigHelper.saveConfigProcessingTime(configuration);
+
+            // Retrieve configuration data.
+            boolean runInContainer = (runtimeEnv == RuntimeEnv.CONTAINER)
+                    || configuration.getAttribute(StartTab.PROJECT_RUN_IN_CONTAINER, false);
+            boolean runHeadless = configuration.getAttribute(StartTab.PROJECT_RUN_HEADLESS, false);
+            boolean suspendAutoBuild = configuration.getAttribute(StartTab.PROJECT_SUSPEND_AUTO_BUILD, false);
+            boolean configOverlay = configuration.getAttribute(StartTab.PROJECT_CONFIG_OVERLAY, false);
+            boolean fastServerStartup = configuration.getAttribute(StartTab.PROJECT_FAST_SERVER_STARTUP, false);
+            String configParms = configuration.getAttribute(StartTab.PROJECT_START_PARM, (String) null);
+            String javaHomePath = JRETab.resolveJavaHome(configuration);
+            BuildAccelerationProfile buildProfile = BuildAccelerationProfile
+                    .fromName(configuration.getAttribute(StartTab.PROJECT_BUILD_PROFILE, BuildAccelerationProfile.NONE.name()));
+
+            // Add the server JVM fast startup options, if requested. Server startup times are recorded with the choice.
+            if (fastServerStartup) {
+                Project project = devModeOps.getProjectModel().getProject(iProject.getName());
+                configParms = ServerJvmFastStartup.addToStartParms(project, configParms);
+            }
+            metrics.setFastServerStartup(fastServerStartup);
+            metrics.endStage(DevModeStartMetrics.Stage.RESOLVE);
+
+            if (monitor.isCanceled()) {
+                DevModeStartQueue.getInstance().abandoned(iProject.getName());
+                DevModeStartMetrics.discard(iProject.getName());
+                return Status.CANCEL_STATUS;
+            }
+
+            // Process the action.
+            DevModeStartOptions options = new DevModeStartOptions();
+            options.setRunInContainer(runInContainer);
+            options.setHeadless(runHeadless);
+            options.setBuildProfile(buildProfile);
+            options.setSuspendAutoBuild(suspendAutoBuild);
+            options.setConfigOverlay(configOverlay);
+
+            // A failed offline start is started again online through the start queue, with the same configuration.
+            options.setOnlineRetry(() -> DevModeStartQueue.getInstance().submit(iProject.getName(),
+                    () -> new StartJob(iProject, configuration, mode, runtimeEnv, actionName).schedule()));
+            DevModeSession session = devModeOps.start(iProject, configParms, javaHomePath, mode, options);
+
+            // A start that was refused or failed created no session. The session of an earlier start, if any, is left as it is.
+            if (session == null) {
+                DevModeStartQueue.getInstance().abandoned(iProject.getName());
+                DevModeStartMetrics.discard(iProject.getName());
+                return Status.OK_STATUS;
+            }
+
+            // Keep the start slot until the server is ready.
+            DevModeStartQueue.getInstance().launched(iProject.getName(), session);
+
+            // Stop dev mode when it is idle, if requested. A parked project is restarted with the same configuration.
+            int idleMinutes = configuration.getAttribute(StartTab.PROJECT_IDLE_STOP_MINUTES, 0);
+            DevModeIdleMonitor.getInstance().monitor(iProject.getName(), session, idleMinutes, () -> DevModeStartQueue.getInstance()
+                    .submit(iProject.getName(), () -> new StartJob(iProject, configuration, mode, runtimeEnv, actionName).schedule()));
+        } catch (Exception e) {
+            DevModeStartQueue.getInstance().abandoned(iProject.getName());
+            DevModeStartMetrics.discard(iProject.getName());
+            String msg = "An error was detected when the \"" + actionName + "\" action was processed.";
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.launch_shortcut_error, actionName), e, true);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_UI, iProject);
+        }
+
+        return Status.OK_STATUS;
+    }
+}
@@ -19,6 +19,8 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IEditorPart;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeStartQueue;
+import io.openliberty.tools.eclipse.ProjectOperationJob;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher;
@@ -104,7 +106,13 @@ public class StopAction implements ILaunchShortcut {
         DevModeOperations devModeOps = DevModeOperations.getInstance();
         devModeOps.verifyProjectSupport(iProject);
 
-        // Process the actions.
-        devModeOps.stop(iProject);
+        // A start that is still waiting in the queue is simply removed.
+        String projectName = iProject.getName();
+        if (DevModeStartQueue.getInstance().cancel(projectName)) {
+            return;
+        }
+
+        // Process the action after any earlier operation on the same project completes.
+        new ProjectOperationJob(projectName, "Stopping Liberty dev mode for " + projectName, () -> devModeOps.stop(iProject)).schedule();
     }
 }
\ No newline at end of file
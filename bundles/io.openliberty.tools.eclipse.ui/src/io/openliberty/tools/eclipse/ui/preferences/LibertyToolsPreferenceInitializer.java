@@ -0,0 +1,98 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.preferences;
+
+import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
+import org.eclipse.core.runtime.preferences.DefaultScope;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+
+import io.openliberty.tools.eclipse.BuildToolJvmPreset;
+import io.openliberty.tools.eclipse.LibertyDevPlugin;
+
+/**
+ * Sets the default values of the Liberty Tools preferences.
+ */
+public class LibertyToolsPreferenceInitializer extends AbstractPreferenceInitializer {
+
+    /** Preference key: maximum number of dev mode instances that may be starting at the same time. */
+    public static final String MAX_CONCURRENT_STARTS = "MAXCONCURRENTSTARTS";
+
+    /** Preference key: total memory in MB that the dev mode instances may use. Zero if there is no limit. */
+    public static final String MEMORY_BUDGET = "DEVMODEMEMORYBUDGET";
+
+    /**
+     * Preference key: true if server ports defined through configuration variables are moved to free ports when they are
+     * taken by another dev mode instance or process.
+     */
+    public static final String REASSIGN_SERVER_PORTS = "REASSIGNSERVERPORTS";
+
+    /** Preference key: true if dev mode running without a terminal is kept running when the workbench closes. */
+    public static final String KEEP_DEV_MODE_RUNNING = "KEEPDEVMODERUNNING";
+
+    /** Preference key: name of the JVM option preset applied to the Maven or Gradle JVM that runs dev mode. */
+    public static final String BUILD_TOOL_JVM_PRESET = "BUILDTOOLJVMPRESET";
+
+    /** Preference key: true if dev mode is started offline when the artifacts its build needs are available locally. */
+    public static final String AUTO_OFFLINE = "AUTOOFFLINE";
+
+    /** Preference key: true if the Liberty runtime of new Liberty server projects is installed in the background. */
+    public static final String PROVISION_IN_BACKGROUND = "PROVISIONINBACKGROUND";
+
+    /** Preference key: true if the dev mode starts of all projects share Liberty runtime installations. */
+    public static final String SHARED_RUNTIME_CACHE = "SHAREDRUNTIMECACHE";
+
+    /** Preference key: true if the Liberty features installed by dev mode are kept in a local feature repository. */
+    public static final String FEATURE_CACHE = "FEATURECACHE";
+
+    /** Preference key: true if aggregated dev mode starts leave out the upstream modules that are installed and current. */
+    public static final String SKIP_CURRENT_MODULES = "SKIPCURRENTMODULES";
+
+    /** Preference key: true if the Liberty logs of the workspace projects are indexed in the background for searching. */
+    public static final String LOG_INDEXING = "LOGINDEXING";
+
+    /** Preference key: true while the workspace auto-build is turned off for running dev mode sessions. Not shown to users. */
+    public static final String AUTO_BUILD_SUSPENDED = "AUTOBUILDSUSPENDED";
+
+    /** Number of processor cores per concurrent start used to calculate the default maximum. */
+    public static final int CORES_PER_CONCURRENT_START = 2;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initializeDefaultPreferences() {
+        IEclipsePreferences defaults = DefaultScope.INSTANCE.getNode(LibertyDevPlugin.PLUGIN_ID);
+        defaults.putInt(MAX_CONCURRENT_STARTS, getDefaultMaxConcurrentStarts());
+        defaults.putInt(MEMORY_BUDGET, 0);
+        defaults.putBoolean(REASSIGN_SERVER_PORTS, false);
+        defaults.putBoolean(KEEP_DEV_MODE_RUNNING, false);
+        defaults.put(BUILD_TOOL_JVM_PRESET, BuildToolJvmPreset.NONE.name());
+        defaults.putBoolean(AUTO_OFFLINE, false);
+        defaults.putBoolean(PROVISION_IN_BACKGROUND, false);
+        defaults.putBoolean(SHARED_RUNTIME_CACHE, false);
+        defaults.putBoolean(FEATURE_CACHE, true);
+        defaults.putBoolean(SKIP_CURRENT_MODULES, true);
+        defaults.putBoolean(AUTO_BUILD_SUSPENDED, false);
+        defaults.putBoolean(LOG_INDEXING, true);
+    }
+
+    /**
+     * Returns the default maximum number of dev mode instances that may be starting at the same time. Each start runs a
+     * build tool JVM and a server JVM, so the default is a fraction of the available processor cores.
+     *
+     * @return The default maximum number of dev mode instances that may be starting at the same time.
+     */
+    public static int getDefaultMaxConcurrentStarts() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / CORES_PER_CONCURRENT_START);
+    }
+}
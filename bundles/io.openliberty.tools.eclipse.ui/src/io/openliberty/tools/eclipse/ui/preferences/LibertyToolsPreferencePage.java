@@ -18,12 +18,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
 
+import io.openliberty.tools.eclipse.BuildToolJvmPreset;
 import io.openliberty.tools.eclipse.utils.LibertyPrefDirectoryFieldEditor;
 import io.openliberty.tools.eclipse.utils.Utils;
 
@@ -31,6 +35,17 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
 
     LibertyPrefDirectoryFieldEditor mvnInstallFE;
     LibertyPrefDirectoryFieldEditor gradleInstallFE;
+    IntegerFieldEditor maxConcurrentStartsFE;
+    IntegerFieldEditor memoryBudgetFE;
+    BooleanFieldEditor reassignPortsFE;
+    BooleanFieldEditor keepRunningFE;
+    ComboFieldEditor buildToolJvmPresetFE;
+    BooleanFieldEditor autoOfflineFE;
+    BooleanFieldEditor provisionFE;
+    BooleanFieldEditor sharedRuntimeFE;
+    BooleanFieldEditor featureCacheFE;
+    BooleanFieldEditor skipCurrentModulesFE;
+    BooleanFieldEditor logIndexingFE;
 
     public LibertyToolsPreferencePage() {
 
@@ -43,8 +58,49 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
         mvnInstallFE = new LibertyPrefDirectoryFieldEditor("MVNPATH", "&Maven Install Location:", getFieldEditorParent());
         gradleInstallFE = new LibertyPrefDirectoryFieldEditor("GRADLEPATH", "&Gradle Install Location:", getFieldEditorParent());
 
+        maxConcurrentStartsFE = new IntegerFieldEditor(LibertyToolsPreferenceInitializer.MAX_CONCURRENT_STARTS,
+                "Maximum &concurrent dev mode starts:", getFieldEditorParent());
+        maxConcurrentStartsFE.setValidRange(1, 64);
+        memoryBudgetFE = new IntegerFieldEditor(LibertyToolsPreferenceInitializer.MEMORY_BUDGET,
+                "Dev mode memory &budget in MB (0 for no limit):", getFieldEditorParent());
+        memoryBudgetFE.setValidRange(0, 1048576);
+        reassignPortsFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.REASSIGN_SERVER_PORTS,
+                "Move server &ports taken by other applications to free ports", getFieldEditorParent());
+        keepRunningFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.KEEP_DEV_MODE_RUNNING,
+                "&Keep dev mode running without a terminal when the workbench closes", getFieldEditorParent());
+        BuildToolJvmPreset[] presets = BuildToolJvmPreset.values();
+        String[][] presetEntries = new String[presets.length][];
+        for (int i = 0; i < presets.length; i++) {
+            presetEntries[i] = new String[] { presets[i].getLabel(), presets[i].name() };
+        }
+        buildToolJvmPresetFE = new ComboFieldEditor(LibertyToolsPreferenceInitializer.BUILD_TOOL_JVM_PRESET,
+                "Maven/Gradle &JVM preset:", presetEntries, getFieldEditorParent());
+        autoOfflineFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.AUTO_OFFLINE,
+                "Start dev mode &offline when the build dependencies are available locally", getFieldEditorParent());
+        provisionFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.PROVISION_IN_BACKGROUND,
+                "&Install the Liberty runtime and features of new projects in the background", getFieldEditorParent());
+        sharedRuntimeFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.SHARED_RUNTIME_CACHE,
+                "&Share Liberty runtime installations across projects", getFieldEditorParent());
+        featureCacheFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.FEATURE_CACHE,
+                "Keep installed Liberty &features in a local repository", getFieldEditorParent());
+        skipCurrentModulesFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.SKIP_CURRENT_MODULES,
+                "Do not rebuild &upstream modules that are installed and unchanged", getFieldEditorParent());
+        logIndexingFE = new BooleanFieldEditor(LibertyToolsPreferenceInitializer.LOG_INDEXING,
+                "Index Liberty &logs in the background for searching", getFieldEditorParent());
+
         addField(mvnInstallFE);
         addField(gradleInstallFE);
+        addField(maxConcurrentStartsFE);
+        addField(memoryBudgetFE);
+        addField(reassignPortsFE);
+        addField(keepRunningFE);
+        addField(buildToolJvmPresetFE);
+        addField(autoOfflineFE);
+        addField(provisionFE);
+        addField(sharedRuntimeFE);
+        addField(featureCacheFE);
+        addField(skipCurrentModulesFE);
+        addField(logIndexingFE);
 
     }
 
@@ -67,6 +123,15 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
         boolean installGradleLocValid = false;
 
         String eventProp = event.getProperty();
+        if (event.getSource() == maxConcurrentStartsFE || event.getSource() == memoryBudgetFE || event.getSource() == reassignPortsFE
+                || event.getSource() == keepRunningFE || event.getSource() == buildToolJvmPresetFE || event.getSource() == autoOfflineFE
+                || event.getSource() == provisionFE || event.getSource() == sharedRuntimeFE || event.getSource() == featureCacheFE
+                || event.getSource() == skipCurrentModulesFE || event.getSource() == logIndexingFE) {
+            // The install location validation does not apply.
+            super.propertyChange(event);
+            return;
+        }
+
         if (event.getProperty().equals("field_editor_value")) {
             // field for which validation is required
             if (event.getSource() == mvnInstallFE) {
@@ -16,11 +16,15 @@ import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.tm.internal.terminal.provisional.api.ITerminalConnector;
+import org.eclipse.tm.terminal.connector.process.ProcessConnector;
 import org.eclipse.tm.terminal.view.core.TerminalServiceFactory;
 import org.eclipse.tm.terminal.view.core.interfaces.ITerminalService;
 import org.eclipse.tm.terminal.view.core.interfaces.constants.ITerminalsConnectorConstants;
@@ -31,6 +35,7 @@ import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PlatformUI;
 
+import io.openliberty.tools.eclipse.DevModeSession;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
@@ -64,14 +69,23 @@ public class ProjectTab {
     /** Tab image */
     private Image libertyImage;
 
+    /** The dev mode session running on this terminal. */
+    private final DevModeSession session;
+
     /** States. */
     public static enum State {
-        INACTIVE, STARTED, STOPPED
+        INACTIVE, STARTED, SUSPENDED, STOPPED
     };
 
     /** The NIX shell on which the terminal commands are processed. */
     private final String NIX_SHELL_COMMAND = "/bin/sh";
 
+    /** Number of attempts made to find the terminal process after the terminal connects. */
+    private static final int PROCESS_LOOKUP_ATTEMPTS = 10;
+
+    /** Delay in milliseconds between attempts to find the terminal process. */
+    private static final long PROCESS_LOOKUP_INTERVAL_MS = 200;
+
     /**
      * Constructor.
      *
@@ -82,6 +96,7 @@ public class ProjectTab {
         this.terminalService = TerminalServiceFactory.getService();
         this.tabListener = new TerminalTabListenerImpl(projectName);
         this.libertyImage = Utils.getImage(PlatformUI.getWorkbench().getDisplay(), DashboardView.LIBERTY_LOGO_PATH);
+        this.session = new DevModeSession(projectName);
 
         state = State.INACTIVE;
     }
@@ -137,6 +152,12 @@ public class ProjectTab {
                     // Save the project name in the project tab item object. This is needed to be
                     // able to reliably identify this project tab item during cleanup.
                     projectTab.setData(StartTab.PROJECT_NAME, projectName);
+
+                    // Track the process running dev mode so that the session is notified when it exits.
+                    session.transition(DevModeSession.State.RUNNING);
+                    trackProcess();
+                } else {
+                    session.transition(DevModeSession.State.EXITED);
                 }
             }
         };
@@ -148,6 +169,58 @@ public class ProjectTab {
         }
     }
 
+    /**
+     * Associates the process running on the terminal with the dev mode session. The terminal connector may still be
+     * connecting when the console opens, so the process is looked up in the background for a short while if it is not
+     * immediately available.
+     */
+    private void trackProcess() {
+        Process process = getConnectorProcess();
+        if (process != null) {
+            session.attachProcess(process);
+            return;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                for (int i = 0; i < PROCESS_LOOKUP_ATTEMPTS && !session.isExited(); i++) {
+                    TimeUnit.MILLISECONDS.sleep(PROCESS_LOOKUP_INTERVAL_MS);
+                    Process p = getConnectorProcess();
+                    if (p != null) {
+                        session.attachProcess(p);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "The process running on the terminal for project " + projectName
+                        + " could not be found. The session state relies on terminal tab events.");
+            }
+        });
+    }
+
+    /**
+     * Returns the process associated with the terminal connector, or null if not available.
+     *
+     * @return The process associated with the terminal connector, or null if not available.
+     */
+    private Process getConnectorProcess() {
+        ITerminalConnector terminalConnector = connector;
+        if (terminalConnector == null) {
+            return null;
+        }
+
+        ProcessConnector processConnector = terminalConnector.getAdapter(ProcessConnector.class);
+        if (processConnector == null) {
+            return null;
+        }
+
+        return processConnector.getProcess();
+    }
+
     /**
      * Returns a map of properties needed to launch a terminal.
      *
@@ -267,17 +340,29 @@ public class ProjectTab {
     }
 
     /**
-     * Returns the tab's title text.
+     * Returns the tab's title text. May be called from any thread.
      *
-     * @return The tab's title text.
+     * @return The tab's title text. Null if the tab is not known or was disposed.
      */
     public String getTitle() {
-        String title = null;
-        if (projectTab != null) {
-            title = projectTab.getText();
+        CTabItem item = projectTab;
+        if (item == null) {
+            return null;
         }
 
-        return title;
+        // The tab can only be read on the UI thread. Operations may run on background jobs.
+        if (Display.getCurrent() == null) {
+            Display display = PlatformUI.getWorkbench().getDisplay();
+            if (display.isDisposed()) {
+                return null;
+            }
+
+            String[] title = new String[1];
+            display.syncExec(() -> title[0] = getTitle());
+            return title[0];
+        }
+
+        return item.isDisposed() ? null : item.getText();
     }
 
     /**
@@ -296,18 +381,42 @@ public class ProjectTab {
      */
     public synchronized void setState(State newState) {
         this.state = newState;
+
+        // A stopped terminal is one on which the dev mode exit command was issued.
+        if (newState == State.STOPPED) {
+            session.transition(DevModeSession.State.STOPPING);
+        }
+    }
+
+    /**
+     * Returns the dev mode session running on this terminal.
+     *
+     * @return The dev mode session running on this terminal.
+     */
+    public DevModeSession getSession() {
+        return session;
     }
 
     /**
      * Performs cleanup.
      */
     public void cleanup() {
+        // If the process is not tracked, the terminal going away is the best indication that the session ended.
+        if (!session.isProcessTracked()) {
+            session.transition(DevModeSession.State.EXITED);
+        }
+
         // Remove the registered listener from the calling service.
         terminalService.removeTerminalTabListener(tabListener);
 
-        // Dispose of the liberty image associated with this tab.
+        // Dispose of the liberty image associated with this tab. Cleanup may be requested from a background job.
         if (libertyImage != null) {
-            libertyImage.dispose();
+            Display display = PlatformUI.getWorkbench().getDisplay();
+            if (Display.getCurrent() != null) {
+                libertyImage.dispose();
+            } else {
+                display.asyncExec(() -> libertyImage.dispose());
+            }
         }
     }
 
@@ -315,6 +424,12 @@ public class ProjectTab {
      * Shows the terminal view in the foreground and focuses on it.
      */
     public void showTerminalView() {
+        // The view can only be shown on the UI thread. Operations may run on background jobs.
+        if (Display.getCurrent() == null) {
+            PlatformUI.getWorkbench().getDisplay().syncExec(() -> showTerminalView());
+            return;
+        }
+
         // Bring the main terminal view to the front.
         IWorkbenchPage activePage = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
         if (activePage == null) {
@@ -369,6 +484,7 @@ public class ProjectTab {
         sb.append("Class: ").append(this.getClass().getName()).append(": ");
         sb.append("projectName: ").append(projectName).append(", ");
         sb.append("State: ").append(state).append(", ");
+        sb.append("Session: ").append(session.getState()).append(", ");
         sb.append("Connector: ").append(connector).append(", ");
         sb.append("TabListener: ").append(tabListener);
         return sb.toString();
@@ -33,6 +33,7 @@ import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.DevModeSession;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTab.State;
 import io.openliberty.tools.eclipse.utils.Utils;
@@ -72,7 +73,7 @@ public class ProjectTabController {
      *
      * @return A singleton instance of this class.
      */
-    public static ProjectTabController getInstance() {
+    public static synchronized ProjectTabController getInstance() {
         if (instance == null) {
             instance = new ProjectTabController();
         }
@@ -146,6 +147,22 @@ public class ProjectTabController {
         return projectTabMap.get(projectName);
     }
 
+    /**
+     * Returns the dev mode session associated with the specified project name.
+     *
+     * @param projectName The application project name.
+     *
+     * @return The dev mode session associated with the specified project name, or null if there is none.
+     */
+    public DevModeSession getSession(String projectName) {
+        ProjectTab projectTab = projectTabMap.get(projectName);
+        if (projectTab != null) {
+            return projectTab.getSession();
+        }
+
+        return null;
+    }
+
     public State getTerminalState(String projectName) {
         ProjectTab projectTab = projectTabMap.get(projectName);
         if (projectTab != null) {
@@ -232,15 +249,26 @@ public class ProjectTabController {
     }
 
     /**
-     * Returns true if the tab title associated with the input project name was marked as closed. False, otherwise.
+     * Returns true if the dev mode session running on the terminal tab associated with the input project name ended. False,
+     * otherwise. The session state is driven by the terminal process exit. If the process is not tracked, the tab title is
+     * checked for the closed marker. May be called from any thread.
      *
      * @param projectName The application project name.
      *
-     * @return true if the tab title associated with the input project name was marked as closed. False, otherwise.
+     * @return true if the dev mode session running on the terminal tab associated with the input project name ended. False,
+     *         otherwise.
      */
     public boolean isProjectTabMarkedClosed(String projectName) {
         ProjectTab projectTab = projectTabMap.get(projectName);
         if (projectTab != null) {
+            DevModeSession session = projectTab.getSession();
+            if (session.isExited()) {
+                return true;
+            }
+            if (session.isProcessTracked()) {
+                return false;
+            }
+
             String tabTitle = projectTab.getTitle();
             if (tabTitle != null && tabTitle.startsWith("<Closed>")) {
                 return true;
@@ -276,6 +304,7 @@ public class ProjectTabController {
             try {
                 // Run the exit command on the terminal. This will trigger dev mode cleanup processing.
                 projectTab.writeToStream(DevModeOperations.DEVMODE_COMMAND_EXIT.getBytes(), true);
+                projectTab.getSession().transition(DevModeSession.State.STOPPING);
 
                 // Wait for the command issued to take effect. This also handles some cases where
                 // the terminal tab/view is terminated while dev mode is starting, but the command
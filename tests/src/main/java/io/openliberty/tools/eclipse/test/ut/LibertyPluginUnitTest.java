@@ -21,12 +21,19 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -36,7 +43,30 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 
+import io.openliberty.tools.eclipse.AutoBuildSuspender;
+import io.openliberty.tools.eclipse.BuildAccelerationProfile;
+import io.openliberty.tools.eclipse.BuildToolJvmPreset;
 import io.openliberty.tools.eclipse.DebugModeHandler;
+import io.openliberty.tools.eclipse.DevModeMemoryBudget;
+import io.openliberty.tools.eclipse.DevModeOutputMarkers;
+import io.openliberty.tools.eclipse.DevModeProcessRegistry;
+import io.openliberty.tools.eclipse.DevModeServerRestarter;
+import io.openliberty.tools.eclipse.DevModeSession;
+import io.openliberty.tools.eclipse.DevModeSessionListener;
+import io.openliberty.tools.eclipse.DevModeStartQueue;
+import io.openliberty.tools.eclipse.FeatureRepositoryCache;
+import io.openliberty.tools.eclipse.LibertyRuntimeProvisioner;
+import io.openliberty.tools.eclipse.LocalDependencyIndex;
+import io.openliberty.tools.eclipse.LogIndex;
+import io.openliberty.tools.eclipse.PortReservationManager;
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.ProjectOperationJob;
+import io.openliberty.tools.eclipse.ReactorUpToDateChecker;
+import io.openliberty.tools.eclipse.ServerConfigOverlay;
+import io.openliberty.tools.eclipse.ServerJvmFastStartup;
+import io.openliberty.tools.eclipse.ServerMessagesLogTailer;
+import io.openliberty.tools.eclipse.SharedRuntimeCache;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
@@ -237,6 +267,759 @@ public class LibertyPluginUnitTest {
                 + " was not returned. Configuration returned:: " + cfgNameFoundT5Dev);
     }
 
+    /**
+     * Tests that log entries are indexed incrementally and can be searched by message ID, exception class name and word.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLogIndexSearch() throws Exception {
+        LogIndex index = new LogIndex();
+        File messagesLog = createFile("messages.log",
+                "[10/1/23 10:00:00:000 EDT] 00000001 com.ibm.ws.kernel.feature.internal.FeatureManager A CWWKF0011I: The defaultServer server is ready to run a smarter planet.",
+                "[10/1/23 10:00:01:000 EDT] 00000022 com.ibm.ws.webcontainer.servlet E SRVE0777E: Exception thrown by application class 'demo.Servlet.doGet:12'",
+                "java.lang.NullPointerException: Cannot invoke method on null object");
+
+        // Test 1. Initial indexing.
+        Assertions.assertTrue(index.update(messagesLog), "The index should have been updated.");
+        List<LogIndex.Hit> hits = index.search("CWWKF0011I", 10);
+        Assertions.assertTrue(hits.size() == 1, "One hit was expected for the message ID. Hits: " + hits);
+        Assertions.assertTrue(hits.get(0).getOffset() == 0, "The hit should have pointed to the first line. Offset: " + hits.get(0).getOffset());
+        hits = index.search("NullPointerException", 10);
+        Assertions.assertTrue(hits.size() == 1 && hits.get(0).getLineText().startsWith("java.lang.NullPointerException"),
+                "One hit was expected for the exception class simple name. Hits: " + hits);
+        hits = index.search("java.lang.NullPointerException null", 10);
+        Assertions.assertTrue(hits.size() == 1, "One hit was expected for the exception class name and word. Hits: " + hits);
+        Assertions.assertTrue(index.search("CWWKF0011I SRVE0777E", 10).isEmpty(), "No line contains both message IDs.");
+
+        // Test 2. Unchanged files are not re-indexed.
+        Assertions.assertFalse(index.update(messagesLog), "The index should not have been updated.");
+
+        // Test 3. Appended content is indexed incrementally.
+        Files.write(messagesLog.toPath(), Arrays.asList("[10/1/23 10:05:00:000 EDT] 00000001 A CWWKE0036I: The server defaultServer stopped."),
+                java.nio.file.StandardOpenOption.APPEND);
+        Assertions.assertTrue(index.update(messagesLog), "The index should have been updated.");
+        hits = index.search("cwwke0036i", 10);
+        Assertions.assertTrue(hits.size() == 1 && hits.get(0).getLineText().contains("stopped"),
+                "One hit was expected for the appended message ID. Hits: " + hits);
+
+        // Test 4. Save and load.
+        File indexFile = new File(tempDir, "logindex.bin");
+        index.save(indexFile);
+        LogIndex loadedIndex = new LogIndex();
+        loadedIndex.load(indexFile);
+        Assertions.assertTrue(loadedIndex.search("SRVE0777E", 10).size() == 1, "The loaded index should have returned one hit.");
+
+        // Test 5. Rotated (truncated) files are re-indexed from the beginning.
+        createFile("messages.log", "[10/1/23 11:00:00:000 EDT] 00000001 A CWWKF0012I: The server installed the following features.");
+        loadedIndex.update(messagesLog);
+        Assertions.assertTrue(loadedIndex.search("CWWKF0011I", 10).isEmpty(), "Hits should not point to replaced content.");
+        Assertions.assertTrue(loadedIndex.search("CWWKF0012I", 10).size() == 1, "One hit was expected for the new content.");
+
+        // Test 6. Replaced files are re-indexed from the beginning even if the new file is larger. The old file is moved
+        // away rather than deleted so that the new file cannot reuse its identity.
+        Files.move(messagesLog.toPath(), new File(tempDir, "messages_rotated.log").toPath());
+        createFile("messages.log", "[10/1/23 12:00:00:000 EDT] 00000001 A CWWKZ0001I: Application demo started in 1.234 seconds.",
+                "[10/1/23 12:00:01:000 EDT] 00000001 A CWWKT0016I: Web application available (default_host): http://localhost:9080/demo/",
+                "[10/1/23 12:00:02:000 EDT] 00000001 A CWWKF0011I: The defaultServer server is ready to run a smarter planet.");
+        Assertions.assertTrue(loadedIndex.update(messagesLog), "The index should have been updated.");
+        hits = loadedIndex.search("CWWKZ0001I", 10);
+        Assertions.assertTrue(hits.size() == 1 && hits.get(0).getOffset() == 0,
+                "One hit at the first line was expected for the head of the replaced file. Hits: " + hits);
+        Assertions.assertTrue(loadedIndex.search("CWWKF0012I", 10).isEmpty(), "Hits should not point to replaced content.");
+    }
+
+    /**
+     * Tests the recognition of dev mode readiness markers in dev mode and server output.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDevModeOutputMarkers() throws Exception {
+        String debugPortLine = "[INFO] Liberty debug port: [ 7777 ]";
+        String readyLine = "[INFO] [AUDIT   ] CWWKF0011I: The defaultServer server is ready to run a smarter planet. The defaultServer server started in 5.432 seconds.";
+        String stoppedLine = "[INFO] [AUDIT   ] CWWKE0036I: The server defaultServer stopped after 1 minutes, 2.345 seconds.";
+        String otherLine = "[INFO] Running liberty:dev";
+
+        // Test 1. Parsing.
+        Assertions.assertTrue(DevModeOutputMarkers.parseDebugPort(debugPortLine) == 7777, "The debug port should have been parsed.");
+        Assertions.assertTrue(DevModeOutputMarkers.parseDebugPort(otherLine) == -1, "No debug port should have been parsed.");
+        Assertions.assertTrue(DevModeOutputMarkers.isServerReady(readyLine), "The server ready line should have been recognized.");
+        Assertions.assertTrue(DevModeOutputMarkers.parseStartupSeconds(readyLine) == 5.432, "The startup time should have been parsed.");
+        Assertions.assertTrue(DevModeOutputMarkers.isServerStopped(stoppedLine), "The server stopped line should have been recognized.");
+        Assertions.assertFalse(DevModeOutputMarkers.isCandidate(otherLine), "The line should have been skipped.");
+
+        // Test 2. Session events.
+        List<String> events = new ArrayList<String>();
+        DevModeSession session = new DevModeSession("testProject");
+        session.addListener(new DevModeSessionListener() {
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+                events.add(newState.toString());
+            }
+
+            @Override
+            public void debugPortReported(DevModeSession s, int debugPort) {
+                events.add("port:" + debugPort);
+            }
+
+            @Override
+            public void serverReady(DevModeSession s, double startupSeconds) {
+                events.add("ready");
+            }
+
+            @Override
+            public void serverStopped(DevModeSession s) {
+                events.add("stopped");
+            }
+        });
+        session.processOutputLine(otherLine);
+        session.processOutputLine(debugPortLine);
+        session.processOutputLine(readyLine);
+        Assertions.assertTrue(session.isServerReady(), "The session should have reported that the server is ready.");
+        session.processOutputLine(stoppedLine);
+        Assertions.assertFalse(session.isServerReady(), "The session should have reported that the server stopped.");
+        session.transition(DevModeSession.State.EXITED);
+        Assertions.assertTrue(events.equals(Arrays.asList("port:7777", "ready", "stopped", "EXITED")), "Unexpected events: " + events);
+    }
+
+    /**
+     * Tests that each line appended to a tailed messages.log file is fed to the session once.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testServerMessagesLogTailerAppend() throws Exception {
+        Path serversDir = Files.createTempDirectory("tailerServers");
+        Path messagesLog = serversDir.resolve("defaultServer/logs/messages.log");
+        Files.createDirectories(messagesLog.getParent());
+        Files.writeString(messagesLog, "[1/1/23 0:00:00:000 UTC] 00000001 A CWWKE0036I: Logged before the tailer started.\n");
+
+        Project project = mock(Project.class);
+        when(project.getName()).thenReturn("tailerProject");
+        when(project.getLibertyServersPath()).thenReturn(serversDir.toString());
+
+        List<String> events = new ArrayList<String>();
+        DevModeSession session = new DevModeSession("tailerProject");
+        session.addListener(new DevModeSessionListener() {
+            @Override
+            public void stateChanged(DevModeSession s, DevModeSession.State oldState, DevModeSession.State newState) {
+            }
+
+            @Override
+            public void serverStopped(DevModeSession s) {
+                synchronized (events) {
+                    events.add("stopped");
+                }
+            }
+        });
+
+        try {
+            ServerMessagesLogTailer.start(project, session);
+            for (int i = 0; i < 3; i++) {
+                String line = "[1/1/23 0:00:00:000 UTC] 00000001 A CWWKE0036I: The server stopped after " + i + " seconds.\n";
+                Files.writeString(messagesLog, line, StandardOpenOption.APPEND);
+                Thread.sleep(1500);
+            }
+
+            synchronized (events) {
+                Assertions.assertTrue(events.equals(Arrays.asList("stopped", "stopped", "stopped")), "Unexpected events: " + events);
+            }
+        } finally {
+            session.transition(DevModeSession.State.EXITED);
+            Files.walk(serversDir).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that operations on the same project are serialized and operations on different projects are not.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testProjectOperationRules() throws Exception {
+        ISchedulingRule rule1 = ProjectOperationJob.getRule("project1");
+        ISchedulingRule rule2 = ProjectOperationJob.getRule("project2");
+
+        Assertions.assertTrue(rule1 == ProjectOperationJob.getRule("project1"), "The same rule should be returned for the same project.");
+        Assertions.assertTrue(rule1.isConflicting(ProjectOperationJob.getRule("project1")), "Rules of the same project should conflict.");
+        Assertions.assertFalse(rule1.isConflicting(rule2), "Rules of different projects should not conflict.");
+        Assertions.assertFalse(rule1.contains(rule2), "Rules of different projects should not contain each other.");
+    }
+
+    /**
+     * Tests that the start queue limits the number of projects starting at the same time.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testStartQueue() throws Exception {
+        DevModeStartQueue queue = DevModeStartQueue.getInstance();
+        List<String> started = new ArrayList<String>();
+        queue.setMaxConcurrentStarts(1);
+
+        try {
+            queue.submit("queueProject1", () -> started.add("queueProject1"));
+            queue.submit("queueProject2", () -> started.add("queueProject2"));
+            queue.submit("queueProject3", () -> started.add("queueProject3"));
+            Assertions.assertTrue(started.equals(Arrays.asList("queueProject1")), "Only one project should have started: " + started);
+            Assertions.assertTrue(queue.getQueuePosition("queueProject2") == 1, "The second project should be first in the queue.");
+            Assertions.assertTrue(queue.getQueuePosition("queueProject3") == 2, "The third project should be second in the queue.");
+
+            // A queued project that is stopped leaves the queue.
+            Assertions.assertTrue(queue.cancel("queueProject2"), "The second project should have been removed from the queue.");
+
+            // The next project starts when the session of the first one reports that the server is ready.
+            DevModeSession session = new DevModeSession("queueProject1");
+            session.transition(DevModeSession.State.RUNNING);
+            queue.launched("queueProject1", session);
+            Assertions.assertTrue(started.size() == 1, "No other project should have started yet: " + started);
+
+            // A second start of the first project that is refused keeps the slot waiting for the server of the first start.
+            queue.submit("queueProject1", () -> queue.abandoned("queueProject1"));
+            Assertions.assertTrue(started.size() == 1, "No other project should have started after a refused start: " + started);
+            session.processOutputLine("CWWKF0011I: The defaultServer server is ready to run a smarter planet.");
+            Assertions.assertTrue(started.equals(Arrays.asList("queueProject1", "queueProject3")), "Unexpected starts: " + started);
+        } finally {
+            queue.release("queueProject1");
+            queue.release("queueProject3");
+            queue.setMaxConcurrentStarts(0);
+        }
+    }
+
+    /**
+     * Tests that a port reserved for one project is not handed to another project until the session of the first project
+     * ends.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testPortReservation() throws Exception {
+        PortReservationManager portManager = PortReservationManager.getInstance();
+
+        try {
+            int port1 = portManager.reserve("portProject1", -1);
+            int port2 = portManager.reserve("portProject2", port1);
+            Assertions.assertTrue(port1 != port2, "The port reserved for the first project was reserved again: " + port1);
+
+            // The ports of the first project are released when its session ends.
+            DevModeSession session = new DevModeSession("portProject1");
+            portManager.releaseOnExit("portProject1", session);
+            Assertions.assertTrue(portManager.getReservedPorts("portProject1").contains(port1), "The port should still be reserved.");
+            session.transition(DevModeSession.State.EXITED);
+            Assertions.assertTrue(portManager.getReservedPorts("portProject1").isEmpty(), "The port should have been released.");
+        } finally {
+            portManager.release("portProject1");
+            portManager.release("portProject2");
+        }
+    }
+
+    /**
+     * Tests that the memory budget is divided among the started projects and that the allocations are returned when the
+     * sessions end.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testMemoryBudget() throws Exception {
+        DevModeMemoryBudget memoryBudget = DevModeMemoryBudget.getInstance();
+        memoryBudget.setBudget(2 * DevModeMemoryBudget.INSTANCE_ALLOCATION_MB);
+
+        try {
+            Assertions.assertTrue(memoryBudget.allocate("memProject1", false) == DevModeMemoryBudget.INSTANCE_ALLOCATION_MB);
+            Assertions.assertTrue(memoryBudget.allocate("memProject2", false) == DevModeMemoryBudget.INSTANCE_ALLOCATION_MB);
+            Assertions.assertTrue(memoryBudget.allocate("memProject3", false) == -1, "The budget should have been exhausted.");
+
+            // The allocation of the first project is returned when its session ends.
+            DevModeSession session = new DevModeSession("memProject1");
+            memoryBudget.releaseOnExit("memProject1", session);
+            session.transition(DevModeSession.State.EXITED);
+            Assertions.assertTrue(memoryBudget.allocate("memProject3", false) == DevModeMemoryBudget.INSTANCE_ALLOCATION_MB,
+                    "The allocation of the first project should have been released. " + memoryBudget);
+        } finally {
+            memoryBudget.release("memProject1");
+            memoryBudget.release("memProject2");
+            memoryBudget.release("memProject3");
+            memoryBudget.setBudget(-1);
+        }
+    }
+
+    /**
+     * Tests that recorded processes are only matched while their process id and start time match a live process.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testProcessRegistryEntries() throws Exception {
+        ProcessHandle current = ProcessHandle.current();
+        String entry = DevModeProcessRegistry.toEntry(current);
+        Assertions.assertTrue(DevModeProcessRegistry.findProcess(entry).isPresent(), "The current process should match entry " + entry);
+
+        // A process id reused by a process started at another time must not match.
+        String reused = current.pid() + "@1";
+        Assertions.assertTrue(DevModeProcessRegistry.findProcess(reused).isEmpty(), "Entry " + reused + " should not match.");
+        Assertions.assertTrue(DevModeProcessRegistry.findProcess("notAPid").isEmpty());
+    }
+
+    /**
+     * Tests that a session attached to a process it did not start follows the state of that process.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testSessionAttachedToProcessHandle() throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-version").redirectErrorStream(true).start();
+
+        DevModeSession session = new DevModeSession("reattachedProject");
+        session.attachProcessHandle(process.toHandle());
+        Assertions.assertTrue(session.isProcessTracked(), "The process should be tracked. " + session);
+        Assertions.assertTrue(session.getProcess() == null, "Only the process handle should be known. " + session);
+
+        process.getInputStream().readAllBytes();
+        process.waitFor();
+        process.toHandle().onExit().get();
+        for (int i = 0; i < 50 && !session.isExited(); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertTrue(session.isExited(), "The session should have exited with its process. " + session);
+    }
+
+    /**
+     * Tests that the handle of a process that does not support handles, such as the terminal connector's, is reported as
+     * unknown instead of failing.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testSessionProcessWithoutHandle() throws Exception {
+        java.util.concurrent.CountDownLatch exited = new java.util.concurrent.CountDownLatch(1);
+        Process process = new Process() {
+            @Override
+            public java.io.OutputStream getOutputStream() {
+                return java.io.OutputStream.nullOutputStream();
+            }
+
+            @Override
+            public java.io.InputStream getInputStream() {
+                return java.io.InputStream.nullInputStream();
+            }
+
+            @Override
+            public java.io.InputStream getErrorStream() {
+                return java.io.InputStream.nullInputStream();
+            }
+
+            @Override
+            public int waitFor() throws InterruptedException {
+                exited.await();
+                return 0;
+            }
+
+            @Override
+            public int exitValue() {
+                if (exited.getCount() > 0) {
+                    throw new IllegalThreadStateException();
+                }
+                return 0;
+            }
+
+            @Override
+            public void destroy() {
+                exited.countDown();
+            }
+        };
+
+        try {
+            DevModeSession session = new DevModeSession("spawnerProject");
+            session.attachProcess(process);
+            Assertions.assertTrue(session.isProcessTracked(), "The process should be tracked. " + session);
+            Assertions.assertNull(session.getProcessHandle(), "The handle should be unknown. " + session);
+        } finally {
+            process.destroy();
+        }
+    }
+
+    /**
+     * Tests that a server restart is tracked until the server reports that it stopped and is ready again.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerRestartTracking() throws Exception {
+        DevModeSession session = new DevModeSession("restartProject");
+        session.transition(DevModeSession.State.RUNNING);
+        DevModeServerRestarter restarter = DevModeServerRestarter.getInstance();
+
+        try {
+            restarter.watch("restartProject", session);
+            session.processOutputLine("[AUDIT   ] CWWKF0011I: The defaultServer server is ready to run a smarter planet.");
+            Assertions.assertTrue(restarter.isRestarting("restartProject"), "A ready message before the stop should be ignored.");
+
+            session.processOutputLine("[AUDIT   ] CWWKE0036I: The server defaultServer stopped after 5.2 seconds.");
+            session.processOutputLine("[AUDIT   ] CWWKF0011I: The defaultServer server started in 3.1 seconds.");
+            Assertions.assertFalse(restarter.isRestarting("restartProject"), "The restart should have completed. " + restarter);
+        } finally {
+            restarter.cancel("restartProject");
+        }
+    }
+
+    /**
+     * Tests that build acceleration profile options are added to the start parameters once, using the options of the
+     * project's build type.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBuildAccelerationProfileOptions() throws Exception {
+        String mavenParms = BuildAccelerationProfile.FAST.addToStartParms(BuildType.MAVEN, "-DhotTests=true -T 4");
+        Assertions.assertEquals(
+                "-DhotTests=true -T 4 -o -Denforcer.skip=true -Dcheckstyle.skip=true -Dmaven.javadoc.skip=true", mavenParms);
+
+        String gradleParms = BuildAccelerationProfile.PARALLEL.addToStartParms(BuildType.GRADLE, "");
+        Assertions.assertEquals("--parallel --build-cache", gradleParms);
+
+        Assertions.assertEquals("--offline", BuildAccelerationProfile.OFFLINE.addToStartParms(BuildType.GRADLE, "--offline"));
+        Assertions.assertEquals(BuildAccelerationProfile.NONE, BuildAccelerationProfile.fromName("unknown"));
+    }
+
+    /**
+     * Tests that the options of a build tool JVM preset do not override options already set for the same JVM setting.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBuildToolJvmPresetRespectsExistingOptions() throws Exception {
+        List<String> added = BuildToolJvmPreset.LONG_SESSION.getOptionsToAdd(Arrays.asList("-Xmx2g", "-XX:+UseParallelGC"));
+        Assertions.assertEquals(Arrays.asList("-XX:+UseStringDeduplication", "-Xms256m"), added);
+
+        added = BuildToolJvmPreset.FAST_STARTUP.getOptionsToAdd(Arrays.asList("-XX:TieredStopAtLevel=4", "-Xshare:off"));
+        Assertions.assertEquals(Arrays.asList("-XX:+UseSerialGC"), added);
+
+        Assertions.assertTrue(BuildToolJvmPreset.NONE.getOptionsToAdd(new ArrayList<String>()).isEmpty());
+    }
+
+    /**
+     * Tests that a project is reported as ready to start offline only when the Liberty plugin and runtime are in the local
+     * Maven repository.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLocalDependencyIndexOfflineReadiness() throws Exception {
+        Path repo = Files.createTempDirectory("m2repo");
+        String savedRepo = System.getProperty("maven.repo.local");
+        System.setProperty("maven.repo.local", repo.toString());
+
+        Project project = mock(Project.class);
+        when(project.getName()).thenReturn("offlineProject");
+        when(project.getBuildType()).thenReturn(BuildType.MAVEN);
+        when(project.getPath()).thenReturn(repo.toString());
+        when(project.getLibertyServersPath()).thenReturn(repo.resolve("target/liberty/wlp/usr/servers").toString());
+
+        LocalDependencyIndex index = LocalDependencyIndex.getInstance();
+        try {
+            index.invalidate("offlineProject");
+            Assertions.assertFalse(index.isOfflineReady(project), "The Liberty Maven plugin is not in the repository.");
+
+            Files.createDirectories(repo.resolve("io/openliberty/tools/liberty-maven-plugin/3.8"));
+            Files.createDirectories(repo.resolve("io/openliberty/openliberty-kernel/23.0.0.9"));
+            index.invalidate("offlineProject");
+            Assertions.assertTrue(index.isOfflineReady(project), index.getMissingArtifacts(project));
+        } finally {
+            index.invalidate("offlineProject");
+            if (savedRepo == null) {
+                System.clearProperty("maven.repo.local");
+            } else {
+                System.setProperty("maven.repo.local", savedRepo);
+            }
+            Files.walk(repo).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that the local Maven repository set in the user settings file is used.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLocalDependencyIndexSettingsRepository() throws Exception {
+        Path home = Files.createTempDirectory("m2home");
+        String savedHome = System.getProperty("user.home");
+        String savedRepo = System.getProperty("maven.repo.local");
+        System.setProperty("user.home", home.toString());
+        System.clearProperty("maven.repo.local");
+
+        try {
+            Files.createDirectories(home.resolve(".m2"));
+            Files.writeString(home.resolve(".m2/settings.xml"),
+                    "<settings>\n  <localRepository>${user.home}/custom-repo</localRepository>\n</settings>\n");
+            Assertions.assertEquals(home.resolve("custom-repo").toFile(), LocalDependencyIndex.getMavenRepository());
+        } finally {
+            System.setProperty("user.home", savedHome);
+            if (savedRepo != null) {
+                System.setProperty("maven.repo.local", savedRepo);
+            }
+            Files.walk(home).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that a project is considered provisioned once the Liberty runtime is installed under its build directory.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testRuntimeProvisioningCheck() throws Exception {
+        Path projectDir = Files.createTempDirectory("provisionProject");
+        Path wlpDir = projectDir.resolve("target/liberty/wlp");
+
+        Project project = mock(Project.class);
+        when(project.getLibertyServersPath()).thenReturn(wlpDir.resolve("usr/servers").toString());
+
+        try {
+            Assertions.assertFalse(LibertyRuntimeProvisioner.isProvisioned(project), "The runtime is not installed.");
+
+            Files.createDirectories(wlpDir.resolve("lib"));
+            Assertions.assertTrue(LibertyRuntimeProvisioner.isProvisioned(project), "The runtime is installed.");
+
+            Assertions.assertEquals("libertyCreate installFeature", LibertyRuntimeProvisioner.getProvisioningArgs(BuildType.GRADLE));
+        } finally {
+            Files.walk(projectDir).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that shared runtimes are keyed by the runtime artifact and pinned version of the project, and that only
+     * runtimes that are not in use and were not used recently are deleted.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testSharedRuntimeCacheKeyAndGarbageCollection() throws Exception {
+        Path projectDir = Files.createTempDirectory("sharedRuntimeProject");
+        Path cacheDir = Files.createTempDirectory("sharedRuntimes");
+
+        Project project = mock(Project.class);
+        when(project.getPath()).thenReturn(projectDir.toString());
+        when(project.getBuildType()).thenReturn(BuildType.MAVEN);
+
+        try {
+            Files.writeString(projectDir.resolve("pom.xml"), "<project><properties><version.ol>23.0.0.9</version.ol></properties>"
+                    + "<runtimeArtifact><groupId>io.openliberty</groupId><artifactId>openliberty-runtime</artifactId>"
+                    + "<version>${version.ol}</version></runtimeArtifact></project>");
+            Assertions.assertEquals("openliberty-runtime-23.0.0.9", SharedRuntimeCache.getRuntimeKey(project));
+
+            // Runtimes whose version is not pinned are not shared.
+            Files.writeString(projectDir.resolve("pom.xml"), "<project><build><plugins><plugin>"
+                    + "<artifactId>liberty-maven-plugin</artifactId></plugin></plugins></build></project>");
+            Assertions.assertNull(SharedRuntimeCache.getRuntimeKey(project), "A runtime without a version should have no key.");
+
+            when(project.getBuildType()).thenReturn(BuildType.GRADLE);
+            Files.writeString(projectDir.resolve("build.gradle"),
+                    "dependencies { libertyRuntime 'io.openliberty:openliberty-kernel:23.+' }");
+            Assertions.assertNull(SharedRuntimeCache.getRuntimeKey(project), "A dynamic runtime version should have no key.");
+
+            Files.writeString(projectDir.resolve("build.gradle"),
+                    "dependencies { libertyRuntime 'io.openliberty:openliberty-kernel:23.0.0.10' }");
+            Assertions.assertEquals("openliberty-kernel-23.0.0.10", SharedRuntimeCache.getRuntimeKey(project));
+
+            Files.createDirectories(cacheDir.resolve("openliberty-kernel-23.0.0.9/wlp/lib"));
+            Files.createDirectories(cacheDir.resolve("openliberty-kernel-23.0.0.10/wlp/lib"));
+            cacheDir.resolve("openliberty-kernel-23.0.0.9").toFile().setLastModified(0);
+            cacheDir.resolve("openliberty-kernel-23.0.0.10").toFile().setLastModified(0);
+
+            List<String> deleted = SharedRuntimeCache.collectGarbage(cacheDir.toFile(), List.of("openliberty-kernel-23.0.0.10"),
+                    SharedRuntimeCache.MAX_UNUSED_AGE_MS);
+            Assertions.assertEquals(List.of("openliberty-kernel-23.0.0.9"), deleted);
+            Assertions.assertTrue(Files.isDirectory(cacheDir.resolve("openliberty-kernel-23.0.0.10/wlp/lib")), "The runtime is in use.");
+        } finally {
+            Files.walk(projectDir).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            Files.walk(cacheDir).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that feature artifacts collected into the local feature repository are put back into the local Maven
+     * repository only if their checksum still matches.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testFeatureRepositoryCacheRestoresVerifiedArtifacts() throws Exception {
+        Path tempDir = Files.createTempDirectory("featureCache");
+        File repository = tempDir.resolve("repository").toFile();
+        File cacheDir = tempDir.resolve("features").toFile();
+        Path versionDir = Files.createDirectories(tempDir.resolve("repository/io/openliberty/features/servlet-6.0/23.0.0.9"));
+        Path esa = versionDir.resolve("servlet-6.0-23.0.0.9.esa");
+
+        try {
+            Files.writeString(esa, "servlet");
+            Assertions.assertEquals(1, FeatureRepositoryCache.collectFromMavenRepository(repository, cacheDir, "23.0.0.9"));
+
+            Files.delete(esa);
+            Assertions.assertEquals(1, FeatureRepositoryCache.restoreToMavenRepository(cacheDir, repository));
+            Assertions.assertEquals("servlet", Files.readString(esa));
+
+            // A cached artifact that no longer matches its checksum is removed instead of restored.
+            Files.delete(esa);
+            Path cached = cacheDir.toPath().resolve("io/openliberty/features/servlet-6.0/23.0.0.9/servlet-6.0-23.0.0.9.esa");
+            Files.delete(cached);
+            Files.writeString(cached, "corrupted");
+            Assertions.assertEquals(0, FeatureRepositoryCache.restoreToMavenRepository(cacheDir, repository));
+            Assertions.assertFalse(Files.exists(esa), "The corrupted artifact was restored.");
+            Assertions.assertFalse(Files.exists(cached), "The corrupted artifact was not removed.");
+        } finally {
+            Files.walk(tempDir).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that upstream modules are left out of an aggregated start only when their installed artifact is newer than
+     * their sources, and that -am is dropped once all of them are.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testReactorUpToDateCheckerSkipsInstalledModules() throws Exception {
+        Path rootDir = Files.createTempDirectory("reactor");
+        Path repository = rootDir.resolve("repository");
+
+        try {
+            Files.writeString(rootDir.resolve("pom.xml"), "<project><groupId>demo</groupId><artifactId>parent</artifactId>"
+                    + "<version>1.0</version><packaging>pom</packaging>"
+                    + "<modules><module>util</module><module>app</module></modules></project>");
+            Files.createDirectories(rootDir.resolve("util/src/main/java"));
+            Files.createDirectories(rootDir.resolve("app/src/main/java"));
+            Files.writeString(rootDir.resolve("util/pom.xml"),
+                    "<project><groupId>demo</groupId><artifactId>util</artifactId><version>1.0</version></project>");
+            Files.writeString(rootDir.resolve("app/pom.xml"), "<project><groupId>demo</groupId><artifactId>app</artifactId>"
+                    + "<version>1.0</version><packaging>war</packaging><dependencies><dependency><groupId>demo</groupId>"
+                    + "<artifactId>util</artifactId></dependency></dependencies></project>");
+            rootDir.resolve("util/pom.xml").toFile().setLastModified(1000000L);
+            rootDir.resolve("util/src/main/java").toFile().setLastModified(1000000L);
+
+            ReactorUpToDateChecker checker = ReactorUpToDateChecker.getInstance();
+            String parms = "-f ../pom.xml -am -pl app";
+            Assertions.assertEquals(parms, checker.skipCurrentModules(rootDir.resolve("app"), parms, repository.toFile()),
+                    "The util module is not installed.");
+
+            Files.createDirectories(repository.resolve("demo/util/1.0"));
+            Files.writeString(repository.resolve("demo/util/1.0/util-1.0.jar"), "");
+            Assertions.assertEquals("-f ../pom.xml -pl app",
+                    checker.skipCurrentModules(rootDir.resolve("app"), parms, repository.toFile()));
+        } finally {
+            Files.walk(rootDir).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that the workspace auto-build stays suspended while any session that requested it is running, and that it is
+     * turned back on when the last of them ends.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testAutoBuildSuspendedWhileSessionsRun() throws Exception {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        boolean autoBuilding = workspace.getDescription().isAutoBuilding();
+        setAutoBuilding(workspace, true);
+        AutoBuildSuspender suspender = AutoBuildSuspender.getInstance();
+
+        try {
+            DevModeSession session1 = new DevModeSession("buildProject1");
+            DevModeSession session2 = new DevModeSession("buildProject2");
+            suspender.suspendWhileRunning("buildProject1", session1);
+            suspender.suspendWhileRunning("buildProject2", session2);
+            Assertions.assertFalse(workspace.getDescription().isAutoBuilding(), "The auto-build should have been suspended.");
+
+            session1.transition(DevModeSession.State.EXITED);
+            Assertions.assertFalse(suspender.isSuspendedFor("buildProject1"));
+            Assertions.assertFalse(workspace.getDescription().isAutoBuilding(), "The second session still needs the auto-build off.");
+
+            session2.transition(DevModeSession.State.EXITED);
+            Assertions.assertTrue(workspace.getDescription().isAutoBuilding(), "The auto-build should have been turned back on.");
+        } finally {
+            suspender.releaseAll();
+            setAutoBuilding(workspace, autoBuilding);
+        }
+    }
+
+    /**
+     * Tests that the development configuration overlay is only written to servers that exist, and that removing it keeps
+     * the other files in the configDropins/overrides directory.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerConfigOverlay() throws Exception {
+        Path serversDir = Files.createTempDirectory("servers");
+
+        try {
+            Path server1 = Files.createDirectories(serversDir.resolve("server1"));
+            Path server2 = Files.createDirectories(serversDir.resolve("server2"));
+            Path notCreated = Files.createDirectories(serversDir.resolve("notCreated"));
+            Files.writeString(server1.resolve("server.xml"), "<server/>");
+            Files.writeString(server2.resolve("server.xml"), "<server/>");
+            Path userOverride = Files.createDirectories(server2.resolve("configDropins/overrides")).resolve("user.xml");
+            Files.writeString(userOverride, "<server/>");
+
+            Assertions.assertEquals(2, ServerConfigOverlay.writeOverlays(serversDir.toFile()));
+            Path overlay1 = server1.resolve("configDropins/overrides/" + ServerConfigOverlay.OVERLAY_FILE_NAME);
+            Assertions.assertEquals(ServerConfigOverlay.OVERLAY_CONTENT, Files.readString(overlay1));
+            Assertions.assertFalse(Files.exists(notCreated.resolve("configDropins")), "The server create command would fail.");
+
+            Assertions.assertEquals(2, ServerConfigOverlay.removeOverlays(serversDir.toFile()));
+            Assertions.assertFalse(Files.exists(server1.resolve("configDropins")), "The empty configDropins directory was kept.");
+            Assertions.assertTrue(Files.exists(userOverride), "The user override file was removed.");
+            Assertions.assertEquals(0, ServerConfigOverlay.removeOverlays(serversDir.toFile()));
+
+            // Before a start, the overlay is written to the existing servers only.
+            Project project = mock(Project.class);
+            when(project.getName()).thenReturn("overlayProject");
+            when(project.getLibertyServersPath()).thenReturn(serversDir.toString());
+            ServerConfigOverlay overlay = ServerConfigOverlay.getInstance();
+            Assertions.assertEquals(Set.of("server1", "server2"), overlay.prepareStart(project, true));
+            Assertions.assertTrue(Files.exists(overlay1), "The overlay should have been written before the start.");
+            Assertions.assertNull(overlay.prepareStart(project, false), "No servers should have been prepared.");
+            Assertions.assertFalse(Files.exists(overlay1), "The overlay left behind should have been removed.");
+        } finally {
+            Files.walk(serversDir).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that the server JVM fast startup options are added through liberty.jvm properties, except for the settings
+     * that the project already configures, and that the serial collector is left out for large heaps.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerJvmFastStartupOptions() throws Exception {
+        Assertions.assertEquals("-Dliberty.jvm.fastStartTiered=-XX:TieredStopAtLevel=1 -Dliberty.jvm.fastStartShare=-Xshare:auto "
+                + "-Dliberty.jvm.fastStartGc=-XX:+UseSerialGC", ServerJvmFastStartup.addToStartParms(BuildType.MAVEN, "", List.of()));
+
+        Assertions.assertEquals("--hotTests -Pliberty.jvm.fastStartShare=-Xshare:auto",
+                ServerJvmFastStartup.addToStartParms(BuildType.GRADLE, "--hotTests", List.of("-Xmx2g", "-XX:TieredStopAtLevel=4")));
+
+        Assertions.assertEquals("-Dliberty.jvm.fastStartShare=-Xshare:off -Dliberty.jvm.fastStartTiered=-XX:TieredStopAtLevel=1",
+                ServerJvmFastStartup.addToStartParms(BuildType.MAVEN, "-Dliberty.jvm.fastStartShare=-Xshare:off", List.of("-XX:+UseG1GC")));
+    }
+
+    /**
+     * Turns the workspace auto-build on or off.
+     * 
+     * @param workspace The workspace.
+     * @param autoBuilding True to turn the auto-build on. False to turn it off.
+     * 
+     * @throws CoreException
+     */
+    private void setAutoBuilding(IWorkspace workspace, boolean autoBuilding) throws CoreException {
+        IWorkspaceDescription description = workspace.getDescription();
+        description.setAutoBuilding(autoBuilding);
+        workspace.setDescription(description);
+    }
+
     /**
      * Returns a list of launch configurations.
      * 